@@ -17,6 +17,7 @@ import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.gemfire.function.scan.RegionScanIterator;
 
 import com.gemstone.gemfire.cache.Region;
 import com.gemstone.gemfire.cache.query.Query;
@@ -108,6 +109,18 @@ public interface GemfireOperations {
 	 */
 	<E> SelectResults<E> query(String query);
 
+	/**
+	 * Scans all entries of the Region bucket by bucket through the {@link org.springframework.data.gemfire.function.scan.BucketScanFunction},
+	 * as an alternative to a {@literal SELECT *} query on large partitioned Regions. A failed scan can be resumed from its checkpoint
+	 * through a {@link org.springframework.data.gemfire.function.execution.GemfireOnRegionFunctionTemplate}.
+	 *
+	 * @param <K> type parameter specifying the type of the Region keys.
+	 * @param <V> type parameter specifying the type of the Region values.
+	 * @return a lazy iterator over the entries of the Region, which must be closed if not exhausted.
+	 * @see org.springframework.data.gemfire.function.execution.GemfireOnRegionOperations#scan(int)
+	 */
+	<K, V> RegionScanIterator<K, V> scan();
+
 	/**
 	 * Execute the action specified by the given action object within a Region.
 	 *
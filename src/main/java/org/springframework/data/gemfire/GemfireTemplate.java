@@ -25,6 +25,8 @@ import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.gemfire.function.execution.GemfireOnRegionFunctionTemplate;
+import org.springframework.data.gemfire.function.scan.RegionScanIterator;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -287,6 +289,14 @@ public class GemfireTemplate extends GemfireAccessor implements GemfireOperation
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see org.springframework.data.gemfire.GemfireOperations#scan()
+	 */
+	@Override
+	public <K, V> RegionScanIterator<K, V> scan() {
+		return new GemfireOnRegionFunctionTemplate(getRegion()).scan();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.springframework.data.gemfire.GemfireOperations#find(java.lang.String, java.lang.Object)
 	 */
@@ -28,6 +28,7 @@ import org.springframework.beans.factory.wiring.BeanWiringInfoResolver;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.gemfire.support.InjectionPlan;
 import org.springframework.data.gemfire.support.SpringContextBootstrappingInitializer;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -159,33 +160,42 @@ public abstract class LazyWiringDeclarableSupport implements ApplicationListener
 	 * @see org.springframework.beans.factory.wiring.BeanConfigurerSupport
 	 * @see org.springframework.beans.factory.wiring.BeanWiringInfo
 	 * @see org.springframework.beans.factory.wiring.BeanWiringInfoResolver
+	 * @see org.springframework.data.gemfire.support.InjectionPlan
 	 */
 	void doInit(final BeanFactory beanFactory, final Properties parameters) {
 		synchronized (this) {
 			if (isNotInitialized()) {
-				BeanConfigurerSupport beanConfigurer = new BeanConfigurerSupport();
-
-				beanConfigurer.setBeanFactory(beanFactory);
-
 				final String templateBeanName = parameters.getProperty(BEAN_NAME_PARAMETER);
 
-				if (StringUtils.hasText(templateBeanName)) {
-					if (beanFactory.containsBean(templateBeanName)) {
-						beanConfigurer.setBeanWiringInfoResolver(new BeanWiringInfoResolver() {
-							@Override public BeanWiringInfo resolveWiringInfo(final Object beanInstance) {
-								return new BeanWiringInfo(templateBeanName);
-							}
-						});
-					}
-					else {
-						throw new IllegalArgumentException(String.format(
-							"No bean with name '%1$s' was found in the Spring context '%2$s'.", templateBeanName, beanFactory));
-					}
+				InjectionPlan injectionPlan = (StringUtils.hasText(templateBeanName) ? null
+					: InjectionPlan.forClass(getClass(), beanFactory));
+
+				if (injectionPlan != null) {
+					injectionPlan.inject(this);
 				}
+				else {
+					BeanConfigurerSupport beanConfigurer = new BeanConfigurerSupport();
+
+					beanConfigurer.setBeanFactory(beanFactory);
+
+					if (StringUtils.hasText(templateBeanName)) {
+						if (beanFactory.containsBean(templateBeanName)) {
+							beanConfigurer.setBeanWiringInfoResolver(new BeanWiringInfoResolver() {
+								@Override public BeanWiringInfo resolveWiringInfo(final Object beanInstance) {
+									return new BeanWiringInfo(templateBeanName);
+								}
+							});
+						}
+						else {
+							throw new IllegalArgumentException(String.format(
+								"No bean with name '%1$s' was found in the Spring context '%2$s'.", templateBeanName, beanFactory));
+						}
+					}
 
-				beanConfigurer.afterPropertiesSet();
-				beanConfigurer.configureBean(this);
-				beanConfigurer.destroy();
+					beanConfigurer.afterPropertiesSet();
+					beanConfigurer.configureBean(this);
+					beanConfigurer.destroy();
+				}
 
 				initialized = true;
 			}
@@ -46,6 +46,7 @@ import com.gemstone.gemfire.cache.RegionShortcut;
 import com.gemstone.gemfire.cache.Scope;
 import com.gemstone.gemfire.cache.asyncqueue.AsyncEventQueue;
 import com.gemstone.gemfire.cache.wan.GatewaySender;
+import com.gemstone.gemfire.compression.Compressor;
 import com.gemstone.gemfire.internal.cache.UserSpecifiedRegionAttributes;
 
 /**
@@ -80,6 +81,8 @@ public abstract class RegionFactoryBean<K, V> extends RegionLookupFactoryBean<K,
 
 	private CacheWriter<K, V> cacheWriter;
 
+	private Compressor compressor;
+
 	private DataPolicy dataPolicy;
 
 	private Object[] asyncEventQueues;
@@ -154,6 +157,10 @@ public abstract class RegionFactoryBean<K, V> extends RegionLookupFactoryBean<K,
 			regionFactory.setCacheWriter(cacheWriter);
 		}
 
+		if (compressor != null) {
+			regionFactory.setCompressor(compressor);
+		}
+
 		resolveDataPolicy(regionFactory, persistent, dataPolicy);
 
 		if (isDiskStoreConfigurationAllowed()) {
@@ -607,6 +614,18 @@ public abstract class RegionFactoryBean<K, V> extends RegionLookupFactoryBean<K,
 		this.cacheWriter = cacheWriter;
 	}
 
+	/**
+	 * Sets the compressor used to compress the values of the region used by this factory. Used only
+	 * when a new region is created. Overrides the settings specified through
+	 * {@link #setAttributes(RegionAttributes)}.
+	 *
+	 * @param compressor the compressor to set on a newly created region
+	 * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+	 */
+	public void setCompressor(Compressor compressor) {
+		this.compressor = compressor;
+	}
+
 	/**
 	 * Indicates whether the Region referred to by this factory bean will be closed on shutdown (default true).
 	 *
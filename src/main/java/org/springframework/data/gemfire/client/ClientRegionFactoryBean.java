@@ -42,6 +42,7 @@ import com.gemstone.gemfire.cache.client.ClientCache;
 import com.gemstone.gemfire.cache.client.ClientRegionFactory;
 import com.gemstone.gemfire.cache.client.ClientRegionShortcut;
 import com.gemstone.gemfire.cache.client.Pool;
+import com.gemstone.gemfire.compression.Compressor;
 
 /**
  * Client extension for GemFire Regions.
@@ -83,6 +84,8 @@ public class ClientRegionFactoryBean<K, V> extends RegionLookupFactoryBean<K, V>
 
 	private CacheWriter<K, V> cacheWriter;
 
+	private Compressor compressor;
+
 	private ClientRegionShortcut shortcut = null;
 
 	private DataPolicy dataPolicy;
@@ -140,6 +143,10 @@ public class ClientRegionFactoryBean<K, V> extends RegionLookupFactoryBean<K, V>
 
 		addCacheListeners(clientRegionFactory);
 
+		if (compressor != null) {
+			clientRegionFactory.setCompressor(compressor);
+		}
+
 		if (diskStoreName != null) {
 			clientRegionFactory.setDiskStoreName(diskStoreName);
 		}
@@ -470,6 +477,18 @@ public class ClientRegionFactoryBean<K, V> extends RegionLookupFactoryBean<K, V>
 		this.cacheWriter = cacheWriter;
 	}
 
+	/**
+	 * Sets the Compressor used to compress the values stored in the client's Region. Used only when a new
+	 * Region is created. Overrides the Compressor specified through {@link #setAttributes(RegionAttributes)}.
+	 *
+	 * @param compressor the GemFire Compressor used to compress the Region's values.
+	 * @see com.gemstone.gemfire.compression.Compressor
+	 * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+	 */
+	public void setCompressor(Compressor compressor) {
+		this.compressor = compressor;
+	}
+
 	/**
 	 * Sets the Data Policy. Used only when a new Region is created.
 	 *
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.compression;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe counters recording the effectiveness of a {@link ThresholdCompressor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+ */
+public class CompressionStatistics {
+
+	private final AtomicLong compressedBytes = new AtomicLong();
+	private final AtomicLong compressedCount = new AtomicLong();
+	private final AtomicLong decompressedCount = new AtomicLong();
+	private final AtomicLong skippedCount = new AtomicLong();
+	private final AtomicLong uncompressedBytes = new AtomicLong();
+
+	/* (non-Javadoc) */
+	void recordCompressed(int originalLength, int compressedLength) {
+		compressedCount.incrementAndGet();
+		uncompressedBytes.addAndGet(originalLength);
+		compressedBytes.addAndGet(compressedLength);
+	}
+
+	/* (non-Javadoc) */
+	void recordSkipped() {
+		skippedCount.incrementAndGet();
+	}
+
+	/* (non-Javadoc) */
+	void recordDecompressed() {
+		decompressedCount.incrementAndGet();
+	}
+
+	/**
+	 * @return the number of values stored compressed.
+	 */
+	public long getCompressedCount() {
+		return compressedCount.get();
+	}
+
+	/**
+	 * @return the number of values stored uncompressed, being below the threshold or incompressible.
+	 */
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	/**
+	 * @return the number of compressed values decompressed.
+	 */
+	public long getDecompressedCount() {
+		return decompressedCount.get();
+	}
+
+	/**
+	 * @return the total size, in bytes, of the compressed values before compression.
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes.get();
+	}
+
+	/**
+	 * @return the total size, in bytes, of the compressed values after compression.
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.get();
+	}
+
+	/**
+	 * Returns the compression ratio of the compressed values, i.e. their compressed size divided by
+	 * their original size, or 1.0 if no value has been compressed yet.
+	 *
+	 * @return the compression ratio.
+	 */
+	public double getCompressionRatio() {
+		long uncompressedBytes = getUncompressedBytes();
+		return (uncompressedBytes > 0 ? (double) getCompressedBytes() / uncompressedBytes : 1.0d);
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void reset() {
+		compressedBytes.set(0);
+		compressedCount.set(0);
+		decompressedCount.set(0);
+		skippedCount.set(0);
+		uncompressedBytes.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("{ compressed = %1$d, skipped = %2$d, decompressed = %3$d, ratio = %4$.3f }",
+			getCompressedCount(), getSkippedCount(), getDecompressedCount(), getCompressionRatio());
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.compression;
+
+import java.util.Arrays;
+
+/**
+ * Pure-Java implementation of the LZF compression format, favouring speed over compression ratio.
+ *
+ * A compressed block consists of literal runs (a control byte {@literal 000LLLLL} followed by {@literal L + 1}
+ * literal bytes) and back references (a control byte {@literal LLLOOOOO}, an optional extra length byte when
+ * {@literal LLL} is 7, and the low offset byte), copying {@literal length + 2} bytes starting {@literal offset + 1}
+ * bytes behind the current output position.
+ *
+ * @author agent
+ */
+public abstract class LzfCodec {
+
+	private static final int HASH_BITS = 14;
+	private static final int HASH_SIZE = 1 << HASH_BITS;
+	private static final int MAX_LITERAL = 32;
+	private static final int MAX_OFFSET = 1 << 13;
+	private static final int MAX_REFERENCE = (1 << 8) + (1 << 3);
+
+	private static final ThreadLocal<int[]> HASH_TABLE = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[HASH_SIZE];
+		}
+	};
+
+	/**
+	 * Returns the maximum size of the compressed form of an input of the given length.
+	 *
+	 * @param length the length of the input.
+	 * @return the maximum compressed length.
+	 */
+	public static int maxCompressedLength(int length) {
+		return length + (length / MAX_LITERAL) + 1;
+	}
+
+	/**
+	 * Compresses {@literal length} bytes of the input starting at {@literal offset} into the output array.
+	 *
+	 * @param input the bytes to compress.
+	 * @param offset the offset of the first byte to compress.
+	 * @param length the number of bytes to compress.
+	 * @param output the array receiving the compressed bytes; must hold at least
+	 * {@link #maxCompressedLength(int)} bytes from {@literal outputOffset}.
+	 * @param outputOffset the offset in the output array to start writing at.
+	 * @return the position in the output array after the last compressed byte.
+	 */
+	public static int compress(byte[] input, int offset, int length, byte[] output, int outputOffset) {
+		int[] hashTable = HASH_TABLE.get();
+		Arrays.fill(hashTable, -1);
+
+		int end = offset + length;
+		int position = offset;
+		int outputPosition = outputOffset + 1;
+		int literals = 0;
+
+		while (position < end - 2) {
+			int hash = hash(input, position);
+			int reference = hashTable[hash];
+			hashTable[hash] = position;
+
+			int distance = position - reference - 1;
+
+			if (reference >= offset && distance < MAX_OFFSET
+					&& input[reference] == input[position]
+					&& input[reference + 1] == input[position + 1]
+					&& input[reference + 2] == input[position + 2]) {
+
+				int maxLength = Math.min(end - position, MAX_REFERENCE);
+				int matchLength = 3;
+
+				while (matchLength < maxLength && input[reference + matchLength] == input[position + matchLength]) {
+					matchLength++;
+				}
+
+				outputPosition = closeLiteralRun(output, outputPosition, literals);
+				literals = 0;
+
+				int encodedLength = matchLength - 2;
+
+				if (encodedLength < 7) {
+					output[outputPosition++] = (byte) ((encodedLength << 5) | (distance >>> 8));
+				}
+				else {
+					output[outputPosition++] = (byte) ((7 << 5) | (distance >>> 8));
+					output[outputPosition++] = (byte) (encodedLength - 7);
+				}
+
+				output[outputPosition++] = (byte) distance;
+				outputPosition++; // reserve the control byte of the next literal run
+
+				int matchEnd = position + matchLength;
+
+				// index the positions covered by the match so later matches can reference them
+				for (position++; position < matchEnd && position < end - 2; position++) {
+					hashTable[hash(input, position)] = position;
+				}
+
+				position = matchEnd;
+			}
+			else {
+				output[outputPosition++] = input[position++];
+
+				if (++literals == MAX_LITERAL) {
+					outputPosition = closeLiteralRun(output, outputPosition, literals);
+					literals = 0;
+					outputPosition++;
+				}
+			}
+		}
+
+		while (position < end) {
+			output[outputPosition++] = input[position++];
+
+			if (++literals == MAX_LITERAL) {
+				outputPosition = closeLiteralRun(output, outputPosition, literals);
+				literals = 0;
+				outputPosition++;
+			}
+		}
+
+		if (literals > 0) {
+			return closeLiteralRun(output, outputPosition, literals);
+		}
+
+		// drop the control byte reserved for the empty literal run
+		return outputPosition - 1;
+	}
+
+	/**
+	 * Decompresses {@literal length} bytes of LZF compressed input starting at {@literal offset}.
+	 *
+	 * @param input the compressed bytes.
+	 * @param offset the offset of the first compressed byte.
+	 * @param length the number of compressed bytes.
+	 * @param output the array receiving the decompressed bytes; must be exactly the size of the original input.
+	 * @throws IllegalArgumentException if the input is not valid LZF compressed data.
+	 */
+	public static void decompress(byte[] input, int offset, int length, byte[] output) {
+		int end = offset + length;
+		int position = offset;
+		int outputPosition = 0;
+
+		try {
+			while (position < end) {
+				int control = input[position++] & 0xFF;
+
+				if (control < (1 << 5)) {
+					int literals = control + 1;
+					System.arraycopy(input, position, output, outputPosition, literals);
+					position += literals;
+					outputPosition += literals;
+				}
+				else {
+					int matchLength = control >>> 5;
+
+					if (matchLength == 7) {
+						matchLength += input[position++] & 0xFF;
+					}
+
+					matchLength += 2;
+
+					int reference = outputPosition - (((control & 0x1F) << 8) | (input[position++] & 0xFF)) - 1;
+
+					if (reference < 0) {
+						throw new IllegalArgumentException("Invalid LZF back reference");
+					}
+
+					// byte by byte, since the source and target ranges may overlap
+					for (int count = 0; count < matchLength; count++) {
+						output[outputPosition++] = output[reference++];
+					}
+				}
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Corrupt LZF compressed data", e);
+		}
+
+		if (outputPosition != output.length) {
+			throw new IllegalArgumentException(String.format(
+				"LZF compressed data decompressed to %1$d bytes; expected %2$d", outputPosition, output.length));
+		}
+	}
+
+	private static int hash(byte[] input, int position) {
+		int value = ((input[position] & 0xFF) << 16) | ((input[position + 1] & 0xFF) << 8) | (input[position + 2] & 0xFF);
+		return ((value * 0x9E3779B1) >>> (32 - HASH_BITS));
+	}
+
+	/**
+	 * Writes the control byte of the literal run ending at the given output position, if the run is not empty.
+	 *
+	 * @return the output position of the reserved control byte if the run is empty, otherwise the given position.
+	 */
+	private static int closeLiteralRun(byte[] output, int outputPosition, int literals) {
+		if (literals > 0) {
+			output[outputPosition - literals - 1] = (byte) (literals - 1);
+			return outputPosition;
+		}
+
+		return outputPosition - 1;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.compression;
+
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.compression.CompressionException;
+import com.gemstone.gemfire.compression.Compressor;
+
+/**
+ * GemFire {@link Compressor} compressing values of at least a configurable size with the pure-Java {@link LzfCodec},
+ * storing smaller (and incompressible) values as is. Every encoded value starts with a format byte, so values
+ * compressed and stored as is can be mixed freely.
+ *
+ * Can be used as the {@link Compressor} of a Region (see {@link org.springframework.data.gemfire.RegionFactoryBean}
+ * and {@link org.springframework.data.gemfire.client.ClientRegionFactoryBean}) as well as for compressing
+ * {@link org.springframework.data.gemfire.mapping.Compressed} entity properties with the
+ * {@link org.springframework.data.gemfire.mapping.MappingPdxSerializer}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.compression.CompressionStatistics
+ * @see org.springframework.data.gemfire.compression.LzfCodec
+ * @see com.gemstone.gemfire.compression.Compressor
+ */
+public class ThresholdCompressor implements Compressor {
+
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	static final byte FORMAT_UNCOMPRESSED = 0;
+	static final byte FORMAT_LZF = 1;
+
+	private final CompressionStatistics statistics = new CompressionStatistics();
+
+	private volatile int threshold = DEFAULT_THRESHOLD;
+
+	/**
+	 * Sets the size, in bytes, from which on values are compressed. Default is 1024.
+	 *
+	 * @param threshold the minimum size of the values to compress.
+	 */
+	public void setThreshold(int threshold) {
+		Assert.isTrue(threshold >= 0, "threshold must be greater than or equal to 0");
+		this.threshold = threshold;
+	}
+
+	/* (non-Javadoc) */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Returns the statistics recording the effectiveness of this compressor.
+	 *
+	 * @return the {@link CompressionStatistics} of this compressor.
+	 */
+	public CompressionStatistics getStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public byte[] compress(byte[] input) {
+		if (input.length >= threshold) {
+			byte[] output = new byte[6 + LzfCodec.maxCompressedLength(input.length)];
+
+			output[0] = FORMAT_LZF;
+
+			int headerLength = writeVarInt(input.length, output, 1);
+			int length = LzfCodec.compress(input, 0, input.length, output, headerLength);
+
+			if (length < input.length + 1) {
+				statistics.recordCompressed(input.length, length);
+				return Arrays.copyOf(output, length);
+			}
+		}
+
+		statistics.recordSkipped();
+
+		byte[] output = new byte[input.length + 1];
+
+		output[0] = FORMAT_UNCOMPRESSED;
+		System.arraycopy(input, 0, output, 1, input.length);
+
+		return output;
+	}
+
+	@Override
+	public byte[] decompress(byte[] input) {
+		if (input.length == 0) {
+			throw new CompressionException("Compressed value is missing the format header");
+		}
+
+		if (input[0] == FORMAT_UNCOMPRESSED) {
+			return Arrays.copyOfRange(input, 1, input.length);
+		}
+
+		if (input[0] != FORMAT_LZF) {
+			throw new CompressionException(String.format("Unknown compression format [%1$d]", input[0]));
+		}
+
+		try {
+			int[] length = new int[1];
+			int position = readVarInt(input, 1, length);
+			byte[] output = new byte[length[0]];
+
+			LzfCodec.decompress(input, position, input.length - position, output);
+			statistics.recordDecompressed();
+
+			return output;
+		}
+		catch (RuntimeException e) {
+			throw new CompressionException("Failed to decompress LZF compressed value", e);
+		}
+	}
+
+	private static int writeVarInt(int value, byte[] output, int position) {
+		while ((value & ~0x7F) != 0) {
+			output[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		output[position++] = (byte) value;
+
+		return position;
+	}
+
+	private static int readVarInt(byte[] input, int position, int[] value) {
+		int result = 0;
+
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = input[position++];
+			result |= (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				value[0] = result;
+				return position;
+			}
+		}
+
+		throw new IllegalArgumentException("Malformed varint length");
+	}
+}
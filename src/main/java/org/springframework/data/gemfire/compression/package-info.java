@@ -0,0 +1,7 @@
+/**
+ * Compression support for region values and mapped entity properties.
+ *
+ * Provides a pure-Java LZF codec and a threshold based GemFire {@link com.gemstone.gemfire.compression.Compressor}.
+ */
+package org.springframework.data.gemfire.compression;
+
@@ -14,9 +14,9 @@ package org.springframework.data.gemfire.function;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -24,148 +24,151 @@ import org.springframework.util.ObjectUtils;
 import com.gemstone.gemfire.cache.execute.ResultSender;
 
 /**
- * Sends collection results using a {@link ResultSender} in chunks determined by batchSize
+ * Sends collection results using a {@link ResultSender} in chunks determined by batchSize and, for arrays
+ * of primitives, by the maximum chunk size in bytes.
+ *
+ * Array chunks are copied in bulk with {@link System#arraycopy(Object, int, Object, int, int)} into a new array
+ * of the same component type; random access lists are chunked through {@link List#subList(int, int)} views.
+ * The final chunk is always sent with {@link ResultSender#lastResult(Object)}.
  * 
  * @author David Turanski
+ * @author agent
  * @since 1.3.0
  */
 class BatchingResultSender  {
+
 	private final int batchSize;
+
+	private final long maxChunkBytes;
+
 	private ResultSender<Object> resultSender;
 	
 	public BatchingResultSender(int batchSize, ResultSender<Object> resultSender) {
+		this(batchSize, 0, resultSender);
+	}
+
+	public BatchingResultSender(int batchSize, long maxChunkBytes, ResultSender<Object> resultSender) {
 		Assert.notNull(resultSender, "resultSender cannot be null");
 		Assert.isTrue(batchSize >= 0, "batchSize must be >= 0");
+		Assert.isTrue(maxChunkBytes >= 0, "maxChunkBytes must be >= 0");
 		this.batchSize = batchSize;
+		this.maxChunkBytes = maxChunkBytes;
 		this.resultSender = resultSender;
 	}
-	
- 
+
 	public void sendResults(Iterable<?> result) {
 		if (batchSize == 0) {
 			resultSender.lastResult(result);
 			return;
-		}	
-	
+		}
+
+		if (result instanceof List && result instanceof RandomAccess) {
+			sendListResults((List<?>) result);
+			return;
+		}
+
 		List<Object> chunk = new ArrayList<Object>(batchSize);
-		
+
 		for (Iterator<?> it = result.iterator(); it.hasNext();) {
-		    if (chunk.size() < batchSize) {
-				chunk.add(it.next());
-		    }		    
-			 
-			if (chunk.size() == batchSize || !it.hasNext()) {
-                if (it.hasNext()) {
-                		resultSender.sendResult(chunk);
-                } else {
-                		resultSender.lastResult(chunk);
-                }
-           		chunk.clear();
+			chunk.add(it.next());
+
+			if (chunk.size() == batchSize && it.hasNext()) {
+				resultSender.sendResult(chunk);
+				// a new chunk, since a result sent to a local caller is not copied
+				chunk = new ArrayList<Object>(batchSize);
 			}
 		}
+
+		resultSender.lastResult(chunk);
+	}
+
+	private void sendListResults(List<?> result) {
+		int size = result.size();
+		int from = 0;
+
+		do {
+			int to = (int) Math.min(size, (long) from + batchSize);
+			// the sub list view is copied in bulk, since it is not serializable
+			List<Object> chunk = new ArrayList<Object>(result.subList(from, to));
+
+			if (to == size) {
+				resultSender.lastResult(chunk);
+			}
+			else {
+				resultSender.sendResult(chunk);
+			}
+
+			from = to;
+		}
+		while (from < size);
 	}
 
-	
 	public void sendArrayResults(Object result) {
-		
-		if (batchSize == 0) {
+		Assert.isTrue(ObjectUtils.isArray(result));
+
+		int chunkLength = getChunkLength(result.getClass().getComponentType());
+
+		if (chunkLength == 0) {
 			resultSender.lastResult(result);
 			return;
 		}
-		
-		Assert.isTrue(ObjectUtils.isArray(result));		
-		
+
 		int length = Array.getLength(result);
-		
-		for (int from =0; from <  length; from += batchSize) {		
-			int to = Math.min(length,from + batchSize);
-			Object chunk = copyOfRange(result,from, to);
+		int from = 0;
+
+		do {
+			int to = (int) Math.min(length, (long) from + chunkLength);
+			Object chunk = copyOfRange(result, from, to);
 
-			if (to == length -1) {
+			if (to == length) {
 				resultSender.lastResult(chunk);
-			} else {
+			}
+			else {
 				resultSender.sendResult(chunk);
-			}	
+			}
+
+			from = to;
 		}
+		while (from < length);
 	}
 
-
 	/**
-	 * @param result
-	 * @param from
-	 * @param to
-	 * @return
+	 * Determines the number of array elements sent per chunk, bounded by the batch size and, for arrays
+	 * of primitives, by the maximum chunk size in bytes.
+	 *
+	 * @param componentType the component type of the array.
+	 * @return the number of elements per chunk, or 0 if the array is sent as a whole.
 	 */
-	private Object copyOfRange(Object result, int from, int to) {
-				
-		Class<?> arrayClass = result.getClass();
-		int size = to - from;
-		
-		if (int[].class.isAssignableFrom(arrayClass)) {
-			int[] array = new int[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getInt(result, from + i);
-            }
-			return array;
-		}
-		
-		if (float[].class.isAssignableFrom(arrayClass)) {
-			float[] array = new float[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getFloat(result, from + i);
-            }
-			return array;
-		}
-		
-		if (double[].class.isAssignableFrom(arrayClass)) {
-			double[] array = new double[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getDouble(result, from + i);
-            }
-			return array;
-		}
-		
-		if (boolean[].class.isAssignableFrom(arrayClass)) {
-			boolean[] array = new boolean[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getBoolean(result, from + i);
-            }
-			return array;
-		}
-		
-		if (byte[].class.isAssignableFrom(arrayClass)) {
-			byte[] array = new byte[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getByte(result, from + i);
-            }
-			return array;
+	int getChunkLength(Class<?> componentType) {
+		int chunkLength = batchSize;
+
+		if (maxChunkBytes > 0 && componentType.isPrimitive()) {
+			int lengthBySize = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+				maxChunkBytes / sizeOfPrimitive(componentType)));
+
+			chunkLength = (chunkLength == 0 ? lengthBySize : Math.min(chunkLength, lengthBySize));
 		}
-		
-		if (short[].class.isAssignableFrom(arrayClass)) {
-			short[] array = new short[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getShort(result, from + i);
-            }
-			return array;
+
+		return chunkLength;
+	}
+
+	static int sizeOfPrimitive(Class<?> primitiveType) {
+		if (long.class.equals(primitiveType) || double.class.equals(primitiveType)) {
+			return 8;
 		}
-		
-		if (long[].class.isAssignableFrom(arrayClass)) {
-			long[] array = new long[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getLong(result, from + i);
-            }
-			return array;
+		else if (int.class.equals(primitiveType) || float.class.equals(primitiveType)) {
+			return 4;
 		}
-		
-		if (char[].class.isAssignableFrom(arrayClass)) {
-			char[] array = new char[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getChar(result, from + i);
-            }
-			return array;
+		else if (short.class.equals(primitiveType) || char.class.equals(primitiveType)) {
+			return 2;
 		}
-		
-	    return Arrays.copyOfRange((Object[])result, from, to);
-	 
+
+		return 1;
+	}
+
+	private Object copyOfRange(Object array, int from, int to) {
+		Object chunk = Array.newInstance(array.getClass().getComponentType(), to - from);
+		System.arraycopy(array, from, chunk, 0, to - from);
+		return chunk;
 	}
 }
@@ -20,7 +20,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.data.gemfire.function.annotation.Filter;
 import org.springframework.data.gemfire.function.annotation.RegionData;
-import org.springframework.data.gemfire.util.ArrayUtils;
 import org.springframework.util.Assert;
 
 import com.gemstone.gemfire.cache.Region;
@@ -30,7 +29,12 @@ import com.gemstone.gemfire.cache.execute.ResultSender;
 import com.gemstone.gemfire.cache.partition.PartitionRegionHelper;
 
 /**
+ * Resolves the arguments of a function method, injecting the Region (data set), filter, {@link FunctionContext}
+ * and {@link ResultSender} parameters. Which parameter slot receives which value is planned once, when the resolver
+ * is created, so resolving the arguments of an invocation fills a single array.
+ *
  * @author David Turanski
+ * @author agent
  * @since 1.3.0
  *
  */
@@ -38,11 +42,23 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 
 	private static final Log logger = LogFactory.getLog(FunctionContextInjectingArgumentResolver.class);
 
+	static final int ARGUMENT_SLOT = 0;
+	static final int REGION_SLOT = 1;
+	static final int FILTER_SLOT = 2;
+	static final int FUNCTION_CONTEXT_SLOT = 3;
+	static final int RESULT_SENDER_SLOT = 4;
+
 	private final int filterParameterPosition;
 	private final int functionContextParameterPosition;
 	private final int regionParameterPosition;
 	private final int resultSenderParameterPosition;
 
+	private final int argumentCount;
+	private final int regionContextArgumentCount;
+
+	private final int[] slots;
+	private final int[] regionContextSlots;
+
 	private final Method method;
 
 	public FunctionContextInjectingArgumentResolver(Method method) {
@@ -73,6 +89,44 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 		functionContextParameterPosition = getArgumentTypePosition(method, FunctionContext.class);
 
 		resultSenderParameterPosition = getArgumentTypePosition(method, ResultSender.class);
+
+		int parameterCount = method.getParameterTypes().length;
+
+		regionContextSlots = new int[parameterCount];
+
+		setSlot(regionContextSlots, regionParameterPosition, REGION_SLOT);
+		setSlot(regionContextSlots, filterParameterPosition, FILTER_SLOT);
+		setSlot(regionContextSlots, functionContextParameterPosition, FUNCTION_CONTEXT_SLOT);
+		setSlot(regionContextSlots, resultSenderParameterPosition, RESULT_SENDER_SLOT);
+
+		// the Region and filter are only injected for a RegionFunctionContext and are otherwise function arguments
+		slots = new int[parameterCount];
+
+		setSlot(slots, functionContextParameterPosition, FUNCTION_CONTEXT_SLOT);
+		setSlot(slots, resultSenderParameterPosition, RESULT_SENDER_SLOT);
+
+		regionContextArgumentCount = countArgumentSlots(regionContextSlots);
+		argumentCount = countArgumentSlots(slots);
+	}
+
+	/* (non-Javadoc) */
+	private static void setSlot(int[] slots, int position, int slot) {
+		if (position >= 0) {
+			slots[position] = slot;
+		}
+	}
+
+	/* (non-Javadoc) */
+	private static int countArgumentSlots(int[] slots) {
+		int count = 0;
+
+		for (int slot : slots) {
+			if (slot == ARGUMENT_SLOT) {
+				count++;
+			}
+		}
+
+		return count;
 	}
 
 	@Override
@@ -82,32 +136,41 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 
 	@Override
 	public Object[] resolveFunctionArguments(FunctionContext functionContext) {
-		Object[] args = super.resolveFunctionArguments(functionContext);
+		Object[] functionArguments = super.resolveFunctionArguments(functionContext);
 
-		if (functionContext instanceof RegionFunctionContext) {
-			if (this.regionParameterPosition >= 0) {
-				args = ArrayUtils.insert(args, regionParameterPosition, getRegionForContext(
-					(RegionFunctionContext) functionContext));
-			}
+		boolean regionFunctionContext = (functionContext instanceof RegionFunctionContext);
+		int[] slots = (regionFunctionContext ? this.regionContextSlots : this.slots);
+		int argumentCount = (regionFunctionContext ? this.regionContextArgumentCount : this.argumentCount);
 
-			if (this.filterParameterPosition >= 0) {
-				args = ArrayUtils.insert(args, filterParameterPosition,
-					((RegionFunctionContext) functionContext).getFilter());
-			}
-		}
+		Assert.isTrue(functionArguments.length == argumentCount, String.format(
+			"wrong number of arguments for method %s. Expected %d, but was %d", method.getName(),
+				slots.length, functionArguments.length + (slots.length - argumentCount)));
 
-		if (this.functionContextParameterPosition >= 0) {
-			args = ArrayUtils.insert(args, functionContextParameterPosition, functionContext);
+		if (argumentCount == slots.length) {
+			return functionArguments;
 		}
 
-		if (this.resultSenderParameterPosition >= 0) {
-			args = ArrayUtils.insert(args, resultSenderParameterPosition, functionContext.getResultSender());
+		Object[] args = new Object[slots.length];
+
+		for (int index = 0, argumentIndex = 0; index < slots.length; index++) {
+			switch (slots[index]) {
+				case REGION_SLOT:
+					args[index] = getRegionForContext((RegionFunctionContext) functionContext);
+					break;
+				case FILTER_SLOT:
+					args[index] = ((RegionFunctionContext) functionContext).getFilter();
+					break;
+				case FUNCTION_CONTEXT_SLOT:
+					args[index] = functionContext;
+					break;
+				case RESULT_SENDER_SLOT:
+					args[index] = functionContext.getResultSender();
+					break;
+				default:
+					args[index] = functionArguments[argumentIndex++];
+			}
 		}
 
-		Assert.isTrue(args.length == method.getParameterTypes().length, String.format(
-			"wrong number of arguments for method %s. Expected %d, but was %d", method.getName(),
-				method.getParameterTypes().length, args.length));
-
 		return args;
 	}
 
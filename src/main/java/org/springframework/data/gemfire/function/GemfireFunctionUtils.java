@@ -63,6 +63,13 @@ public abstract class GemfireFunctionUtils {
 			function.setBatchSize(batchSize);
 		}
 
+		if (attributes.containsKey("maxChunkBytes")) {
+			long maxChunkBytes = ((Number) attributes.get("maxChunkBytes")).longValue();
+			Assert.isTrue(maxChunkBytes >= 0, String.format("maxChunkBytes must be a non-negative value %1$s.%2$s",
+				target.getClass().getName(), method.getName()));
+			function.setMaxChunkBytes(maxChunkBytes);
+		}
+
 		if (attributes.containsKey("hasResult")) {
 			// only set if true  TODO figure out why???
 			if (Boolean.TRUE.equals(attributes.get("hasResult"))) {
@@ -17,6 +17,8 @@
 package org.springframework.data.gemfire.function;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.util.ClassUtils;
 
@@ -38,6 +40,9 @@ import com.gemstone.gemfire.pdx.PdxInstance;
 @SuppressWarnings("unused")
 class PdxFunctionArgumentResolver extends DefaultFunctionArgumentResolver {
 
+	private final ConcurrentMap<String, Boolean> deserializationNecessaryByClassName =
+		new ConcurrentHashMap<String, Boolean>();
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -47,20 +52,26 @@ class PdxFunctionArgumentResolver extends DefaultFunctionArgumentResolver {
 	public Object[] resolveFunctionArguments(final FunctionContext functionContext) {
 		Object[] functionArguments = super.resolveFunctionArguments(functionContext);
 
-		if (isPdxSerializerConfigured()) {
-			int index = 0;
+		// whether a PdxSerializer is configured is only determined when there actually is a PDX argument
+		Boolean pdxSerializerConfigured = null;
+		int index = 0;
+
+		for (Object functionArgument : functionArguments) {
+			if (functionArgument instanceof PdxInstance) {
+				if (pdxSerializerConfigured == null) {
+					pdxSerializerConfigured = isPdxSerializerConfigured();
+				}
 
-			for (Object functionArgument : functionArguments) {
-				if (functionArgument instanceof PdxInstance) {
+				if (pdxSerializerConfigured) {
 					String className = ((PdxInstance) functionArgument).getClassName();
 
 					if (isDeserializationNecessary(className)) {
 						functionArguments[index] = ((PdxInstance) functionArgument).getObject();
 					}
 				}
-
-				index++;
 			}
+
+			index++;
 		}
 
 		return functionArguments;
@@ -98,8 +109,17 @@ class PdxFunctionArgumentResolver extends DefaultFunctionArgumentResolver {
 	 * @see #functionAnnotatedMethodHasParameterOfType(String)
 	 */
 	boolean isDeserializationNecessary(final String className) {
-		return (isOnClasspath(className) && functionAnnotatedMethodHasParameterOfType(className));
+		Boolean deserializationNecessary = deserializationNecessaryByClassName.get(className);
+
+		if (deserializationNecessary == null) {
+			deserializationNecessary = (functionAnnotatedMethodHasParameterOfType(className)
+				&& isOnClasspath(className));
+			deserializationNecessaryByClassName.putIfAbsent(className, deserializationNecessary);
+		}
+
+		return deserializationNecessary;
 	}
+
 	/*
 	 * (non-Javadoc)
 	 *
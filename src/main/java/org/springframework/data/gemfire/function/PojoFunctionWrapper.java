@@ -13,9 +13,12 @@
 package org.springframework.data.gemfire.function;
 
 import java.lang.reflect.Method;
+import java.util.Iterator;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.data.gemfire.function.statistics.FunctionStatistics;
+import org.springframework.data.gemfire.function.statistics.FunctionStatisticsRegistry;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -23,6 +26,7 @@ import org.springframework.util.StringUtils;
 import com.gemstone.gemfire.cache.execute.Function;
 import com.gemstone.gemfire.cache.execute.FunctionContext;
 import com.gemstone.gemfire.cache.execute.ResultSender;
+import com.gemstone.gemfire.cache.util.ObjectSizer;
 
 /**
  * Invokes a POJO's given method as a Gemfire remote function. 
@@ -46,8 +50,14 @@ public class PojoFunctionWrapper implements Function {
 
 	private volatile int batchSize;
 
+	private volatile long maxChunkBytes;
+
+	private volatile ObjectSizer objectSizer = ObjectSizer.DEFAULT;
+
 	private final FunctionArgumentResolver functionArgumentResolver;
 
+	private final FunctionStatistics statistics;
+
 	private final Method method;
 
 	private final Object target;
@@ -58,16 +68,39 @@ public class PojoFunctionWrapper implements Function {
 		this.functionArgumentResolver = new FunctionContextInjectingArgumentResolver(method);
 		this.target = target;
 		this.method = method;
+		// accessibility is only checked once, rather than on every invocation
+		ReflectionUtils.makeAccessible(method);
 		this.id = (StringUtils.hasText(id) ? id : method.getName());
 		this.HA = false;
 		this.hasResult = !(method.getReturnType().equals(void.class));
 		this.optimizeForWrite = false;
+		this.statistics = FunctionStatisticsRegistry.SERVER.getStatistics(this.id);
 	}
 
 	public void setBatchSize(int batchSize) {
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * Sets the maximum estimated size in bytes of the chunks in which lazily produced results
+	 * ({@link Iterator}, {@link ResultProducer} or, when set, {@link Iterable}) and arrays of primitives are sent.
+	 *
+	 * @param maxChunkBytes the maximum chunk size in bytes, or 0 to bound chunks by batch size only.
+	 */
+	public void setMaxChunkBytes(long maxChunkBytes) {
+		this.maxChunkBytes = maxChunkBytes;
+	}
+
+	/**
+	 * Sets the {@link ObjectSizer} used to estimate the size of the results when the chunk size is bounded
+	 * in bytes. Defaults to {@link ObjectSizer#DEFAULT}.
+	 *
+	 * @param objectSizer the {@link ObjectSizer} estimating the size of the results.
+	 */
+	public void setObjectSizer(ObjectSizer objectSizer) {
+		this.objectSizer = objectSizer;
+	}
+
 	public void setHA(boolean HA) {
 		this.HA = HA;
 	}
@@ -100,14 +133,38 @@ public class PojoFunctionWrapper implements Function {
 		return this.optimizeForWrite;
 	}
 
+	/**
+	 * Returns the statistics of the executions of this Function. The execution time includes sending the results,
+	 * since lazily produced results are only computed while being sent.
+	 *
+	 * @return the {@link FunctionStatistics} of this Function.
+	 */
+	public FunctionStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	@Override
 	public void execute(final FunctionContext functionContext) {
-		Object[] args = this.functionArgumentResolver.resolveFunctionArguments(functionContext);
+		long start = System.nanoTime();
+
+		try {
+			Object[] args = this.functionArgumentResolver.resolveFunctionArguments(functionContext);
+
+			long resolved = System.nanoTime();
 
-		Object result = invokeTargetMethod(args);
+			this.statistics.recordArgumentResolution(resolved - start);
 
-		if (hasResult()) {
-			sendResults(functionContext.getResultSender(), result);
+			Object result = invokeTargetMethod(args);
+
+			if (hasResult()) {
+				sendResults(newStatisticsRecordingResultSender(functionContext.getResultSender()), result);
+			}
+
+			this.statistics.recordExecution(System.nanoTime() - resolved);
+		}
+		catch (RuntimeException e) {
+			this.statistics.recordFailure();
+			throw e;
 		}
 	}
 
@@ -130,10 +187,21 @@ public class PojoFunctionWrapper implements Function {
 		}
 		else {
 			if (ObjectUtils.isArray(result)) {
-				new BatchingResultSender(batchSize, resultSender).sendArrayResults(result);
+				new BatchingResultSender(batchSize, maxChunkBytes, resultSender).sendArrayResults(result);
+			}
+			else if (result instanceof Iterator) {
+				newStreamingResultSender(resultSender).sendResults((Iterator<?>) result);
+			}
+			else if (result instanceof ResultProducer) {
+				newStreamingResultSender(resultSender).sendResults((ResultProducer<?>) result);
 			}
 			else if (Iterable.class.isAssignableFrom(result.getClass())) {
-				new BatchingResultSender(batchSize, resultSender).sendResults((Iterable<?>) result);
+				if (maxChunkBytes > 0) {
+					newStreamingResultSender(resultSender).sendResults(((Iterable<?>) result).iterator());
+				}
+				else {
+					new BatchingResultSender(batchSize, resultSender).sendResults((Iterable<?>) result);
+				}
 			}
 			else {
 				resultSender.lastResult(result);
@@ -141,4 +209,13 @@ public class PojoFunctionWrapper implements Function {
 		}
 	}
 
+	private ResultSender<Object> newStatisticsRecordingResultSender(ResultSender<Object> resultSender) {
+		return new StatisticsRecordingResultSender(this.statistics,
+			(FunctionStatisticsRegistry.SERVER.isResultBytesRecorded() ? objectSizer : null), resultSender);
+	}
+
+	private StreamingResultSender newStreamingResultSender(ResultSender<Object> resultSender) {
+		return new StreamingResultSender(batchSize, maxChunkBytes, objectSizer, resultSender);
+	}
+
 }
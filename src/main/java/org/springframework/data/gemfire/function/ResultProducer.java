@@ -0,0 +1,51 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+/**
+ * Callback style result type for {@link org.springframework.data.gemfire.function.annotation.GemfireFunction}
+ * methods producing a large number of results. Instead of materializing the results, the function returns
+ * a {@link ResultProducer}, which is invoked after the function method returns and hands each result to the
+ * {@link Sink}, which sends the results to the caller in bounded chunks as they are produced.
+ *
+ * @author agent
+ * @param <T> the type of the results
+ * @see org.springframework.data.gemfire.function.StreamingResultSender
+ * @since 1.9.0
+ */
+public interface ResultProducer<T> {
+
+	/**
+	 * Produces the results, handing each one to the given {@link Sink}.
+	 *
+	 * @param sink the {@link Sink} receiving the results.
+	 */
+	void produce(Sink<? super T> sink);
+
+	/**
+	 * Receives the results of a {@link ResultProducer}.
+	 *
+	 * @param <T> the type of the results
+	 */
+	interface Sink<T> {
+
+		/**
+		 * Accepts the next result.
+		 *
+		 * @param result the next result.
+		 */
+		void accept(T result);
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import org.springframework.data.gemfire.function.statistics.FunctionStatistics;
+
+import com.gemstone.gemfire.cache.execute.ResultSender;
+import com.gemstone.gemfire.cache.util.ObjectSizer;
+
+/**
+ * {@link ResultSender} recording the number and, given an {@link ObjectSizer}, the estimated size
+ * of the result chunks sent by a Function in its {@link FunctionStatistics}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatistics
+ * @since 1.9.0
+ */
+class StatisticsRecordingResultSender implements ResultSender<Object> {
+
+	private final FunctionStatistics statistics;
+
+	private final ObjectSizer objectSizer;
+
+	private final ResultSender<Object> resultSender;
+
+	/**
+	 * @param statistics the {@link FunctionStatistics} of the Function.
+	 * @param objectSizer the {@link ObjectSizer} estimating the size of the chunks, or {@literal null}
+	 * to only count the chunks.
+	 * @param resultSender the {@link ResultSender} sending the chunks.
+	 */
+	StatisticsRecordingResultSender(FunctionStatistics statistics, ObjectSizer objectSizer,
+			ResultSender<Object> resultSender) {
+
+		this.statistics = statistics;
+		this.objectSizer = objectSizer;
+		this.resultSender = resultSender;
+	}
+
+	@Override
+	public void sendResult(Object oneResult) {
+		resultSender.sendResult(oneResult);
+		record(oneResult);
+	}
+
+	@Override
+	public void lastResult(Object lastResult) {
+		resultSender.lastResult(lastResult);
+		record(lastResult);
+	}
+
+	@Override
+	public void sendException(Throwable t) {
+		resultSender.sendException(t);
+	}
+
+	private void record(Object chunk) {
+		statistics.recordResultChunks(1, (objectSizer != null && chunk != null ? objectSizer.sizeof(chunk) : 0));
+	}
+}
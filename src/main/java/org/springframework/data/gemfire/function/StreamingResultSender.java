@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.execute.ResultSender;
+import com.gemstone.gemfire.cache.util.ObjectSizer;
+
+/**
+ * Sends lazily produced results (an {@link Iterator} or a {@link ResultProducer}) using a {@link ResultSender}
+ * in chunks bounded by a number of results and/or an estimated number of bytes, so that at most two chunks
+ * are held in memory whatever the total number of results.
+ *
+ * A full chunk is only sent once the next result is available, so the final chunk is always sent with
+ * {@link ResultSender#lastResult(Object)}; an empty result is sent as an empty last chunk.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.BatchingResultSender
+ * @see org.springframework.data.gemfire.function.ResultProducer
+ * @since 1.9.0
+ */
+class StreamingResultSender implements ResultProducer.Sink<Object> {
+
+	static final int DEFAULT_BATCH_SIZE = 100;
+
+	private final int batchSize;
+
+	private final long maxChunkBytes;
+
+	private final ObjectSizer objectSizer;
+
+	private final ResultSender<Object> resultSender;
+
+	private long chunkBytes;
+
+	private List<Object> chunk;
+
+	private List<Object> fullChunk;
+
+	/**
+	 * Constructs a {@link StreamingResultSender}.
+	 *
+	 * @param batchSize the maximum number of results per chunk, or 0 if unbounded by count.
+	 * @param maxChunkBytes the maximum estimated size of a chunk in bytes, or 0 if unbounded by size.
+	 * If neither bound is set, chunks of {@value #DEFAULT_BATCH_SIZE} results are sent.
+	 * @param objectSizer the {@link ObjectSizer} estimating the size of the results.
+	 * @param resultSender the {@link ResultSender} sending the chunks.
+	 */
+	StreamingResultSender(int batchSize, long maxChunkBytes, ObjectSizer objectSizer,
+			ResultSender<Object> resultSender) {
+
+		Assert.notNull(resultSender, "resultSender cannot be null");
+		Assert.isTrue(batchSize >= 0, "batchSize must be >= 0");
+		Assert.isTrue(maxChunkBytes >= 0, "maxChunkBytes must be >= 0");
+		Assert.isTrue(maxChunkBytes == 0 || objectSizer != null, "objectSizer is required to bound the chunk size");
+
+		this.batchSize = (batchSize == 0 && maxChunkBytes == 0 ? DEFAULT_BATCH_SIZE : batchSize);
+		this.maxChunkBytes = maxChunkBytes;
+		this.objectSizer = objectSizer;
+		this.resultSender = resultSender;
+		this.chunk = newChunk();
+	}
+
+	public void sendResults(Iterator<?> results) {
+		try {
+			while (results.hasNext()) {
+				accept(results.next());
+			}
+
+			finish();
+		}
+		finally {
+			if (results instanceof Closeable) {
+				try {
+					((Closeable) results).close();
+				}
+				catch (IOException ignore) {
+				}
+			}
+		}
+	}
+
+	public void sendResults(ResultProducer<?> producer) {
+		producer.produce(this);
+		finish();
+	}
+
+	@Override
+	public void accept(Object result) {
+		if (fullChunk != null) {
+			resultSender.sendResult(fullChunk);
+			fullChunk = null;
+		}
+
+		chunk.add(result);
+
+		if (maxChunkBytes > 0) {
+			chunkBytes += objectSizer.sizeof(result);
+		}
+
+		if ((batchSize > 0 && chunk.size() >= batchSize) || (maxChunkBytes > 0 && chunkBytes >= maxChunkBytes)) {
+			fullChunk = chunk;
+			chunk = newChunk();
+			chunkBytes = 0;
+		}
+	}
+
+	void finish() {
+		if (fullChunk != null && chunk.isEmpty()) {
+			resultSender.lastResult(fullChunk);
+		}
+		else {
+			if (fullChunk != null) {
+				resultSender.sendResult(fullChunk);
+			}
+
+			resultSender.lastResult(chunk);
+		}
+
+		fullChunk = null;
+		chunk = newChunk();
+		chunkBytes = 0;
+	}
+
+	private List<Object> newChunk() {
+		return new ArrayList<Object>(batchSize > 0 ? batchSize : 10);
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+import org.springframework.util.Assert;
+
+/**
+ * Definition of a map-reduce style aggregation of Region data: a {@link Mapper} and {@link Combiner} computing
+ * partial aggregates per group on each member hosting the data, and a {@link Reducer} reducing the partial
+ * aggregates on the caller.
+ *
+ * @author agent
+ * @param <K> the type of the Region keys
+ * @param <V> the type of the Region values
+ * @param <G> the type of the groups
+ * @param <A> the type of the aggregates
+ * @see org.springframework.data.gemfire.function.execution.GemfireOnRegionOperations#aggregate(Aggregation, java.util.Set)
+ * @since 1.9.0
+ */
+public class Aggregation<K, V, G, A> {
+
+	private final Mapper<K, V, G, A> mapper;
+
+	private final Combiner<A> combiner;
+
+	private final Reducer<A> reducer;
+
+	/**
+	 * Constructs an {@link Aggregation}.
+	 *
+	 * @param mapper the {@link Mapper} mapping the Region entries.
+	 * @param combiner the {@link Combiner} computing the partial aggregates on the members.
+	 * @param reducer the {@link Reducer} reducing the partial aggregates on the caller.
+	 */
+	public Aggregation(Mapper<K, V, G, A> mapper, Combiner<A> combiner, Reducer<A> reducer) {
+		Assert.notNull(mapper, "mapper must not be null");
+		Assert.notNull(combiner, "combiner must not be null");
+		Assert.notNull(reducer, "reducer must not be null");
+
+		this.mapper = mapper;
+		this.combiner = combiner;
+		this.reducer = reducer;
+	}
+
+	public Mapper<K, V, G, A> getMapper() {
+		return mapper;
+	}
+
+	public Combiner<A> getCombiner() {
+		return combiner;
+	}
+
+	public Reducer<A> getReducer() {
+		return reducer;
+	}
+
+}
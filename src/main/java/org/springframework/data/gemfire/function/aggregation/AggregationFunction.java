@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.execute.Function;
+import com.gemstone.gemfire.cache.execute.FunctionContext;
+import com.gemstone.gemfire.cache.execute.RegionFunctionContext;
+import com.gemstone.gemfire.cache.partition.PartitionRegionHelper;
+
+/**
+ * Region {@link Function} computing the partial aggregates of an {@link Aggregation} over the local data
+ * of the executing member. The {@link Mapper} and {@link Combiner} are passed as the Function arguments,
+ * and the partial aggregates are sent back as a single {@link Map} of group to aggregate.
+ *
+ * On a partitioned Region, only the local (primary) buckets of the member are aggregated, as determined by
+ * {@link PartitionRegionHelper#getLocalDataForContext(RegionFunctionContext)}; when the execution has a filter,
+ * only the entries of the filtered keys are aggregated.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.aggregation.Aggregation
+ * @see com.gemstone.gemfire.cache.partition.PartitionRegionHelper
+ * @since 1.9.0
+ */
+@SuppressWarnings("serial")
+public class AggregationFunction implements Function {
+
+	public static final String ID = AggregationFunction.class.getName();
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void execute(FunctionContext functionContext) {
+		Assert.isInstanceOf(RegionFunctionContext.class, functionContext,
+			"the aggregation Function must be executed on a Region");
+
+		Object[] arguments = (Object[]) functionContext.getArguments();
+
+		Assert.isTrue(arguments != null && arguments.length == 2, "the Mapper and Combiner arguments are required");
+
+		RegionFunctionContext regionFunctionContext = (RegionFunctionContext) functionContext;
+
+		Map<Object, Object> partialAggregates = aggregate(getLocalData(regionFunctionContext),
+			regionFunctionContext.getFilter(), (Mapper<Object, Object, Object, Object>) arguments[0],
+				(Combiner<Object>) arguments[1]);
+
+		functionContext.getResultSender().lastResult(partialAggregates);
+	}
+
+	/* (non-Javadoc) */
+	static Region<Object, Object> getLocalData(RegionFunctionContext regionFunctionContext) {
+		Region<Object, Object> region = regionFunctionContext.getDataSet();
+
+		return (PartitionRegionHelper.isPartitionedRegion(region)
+			? PartitionRegionHelper.<Object, Object>getLocalDataForContext(regionFunctionContext) : region);
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
+	static <K, V, G, A> Map<G, A> aggregate(Map<K, V> data, Set<?> filter, Mapper<K, V, G, A> mapper,
+			final Combiner<A> combiner) {
+
+		final Map<G, A> partialAggregates = new HashMap<G, A>();
+
+		Mapper.Emitter<G, A> emitter = new Mapper.Emitter<G, A>() {
+			@Override
+			public void emit(G group, A value) {
+				A aggregate = partialAggregates.get(group);
+				partialAggregates.put(group, (aggregate != null || partialAggregates.containsKey(group)
+					? combiner.combine(aggregate, value) : value));
+			}
+		};
+
+		if (filter != null && !filter.isEmpty()) {
+			for (Object key : filter) {
+				V value = data.get(key);
+
+				if (value != null) {
+					mapper.map((K) key, value, emitter);
+				}
+			}
+		}
+		else {
+			for (Map.Entry<K, V> entry : data.entrySet()) {
+				mapper.map(entry.getKey(), entry.getValue(), emitter);
+			}
+		}
+
+		return partialAggregates;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean hasResult() {
+		return true;
+	}
+
+	@Override
+	public boolean isHA() {
+		return true;
+	}
+
+	@Override
+	public boolean optimizeForWrite() {
+		return false;
+	}
+
+}
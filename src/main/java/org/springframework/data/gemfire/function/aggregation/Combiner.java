@@ -0,0 +1,39 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+import java.io.Serializable;
+
+/**
+ * Combines the values emitted by a {@link Mapper} into the partial aggregate of a group, on the member
+ * hosting the data.
+ *
+ * Combiners are sent to the members with the Function arguments; implementations must be serializable
+ * and their classes available to the members.
+ *
+ * @author agent
+ * @param <A> the type of the aggregates
+ * @since 1.9.0
+ */
+public interface Combiner<A> extends Serializable {
+
+	/**
+	 * Combines an emitted value into the partial aggregate of its group.
+	 *
+	 * @param aggregate the partial aggregate of the group.
+	 * @param value the emitted value.
+	 * @return the combined partial aggregate.
+	 */
+	A combine(A aggregate, A value);
+
+}
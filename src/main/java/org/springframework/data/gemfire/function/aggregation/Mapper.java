@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+import java.io.Serializable;
+
+/**
+ * Maps a Region entry to zero or more values, each contributing to the aggregate of a group.
+ *
+ * Mappers are executed on the members hosting the data and are therefore sent to them with the Function arguments;
+ * implementations must be serializable and their classes available to the members.
+ *
+ * @author agent
+ * @param <K> the type of the Region keys
+ * @param <V> the type of the Region values
+ * @param <G> the type of the groups
+ * @param <A> the type of the aggregates
+ * @since 1.9.0
+ */
+public interface Mapper<K, V, G, A> extends Serializable {
+
+	/**
+	 * Maps the given Region entry, emitting its contributions to the aggregates.
+	 *
+	 * @param key the key of the entry.
+	 * @param value the value of the entry.
+	 * @param emitter the {@link Emitter} receiving the contributions.
+	 */
+	void map(K key, V value, Emitter<G, A> emitter);
+
+	/**
+	 * Receives the contributions of the mapped entries.
+	 *
+	 * @param <G> the type of the groups
+	 * @param <A> the type of the aggregates
+	 */
+	interface Emitter<G, A> {
+
+		/**
+		 * Emits a value contributing to the aggregate of the given group.
+		 *
+		 * @param group the group.
+		 * @param value the contribution to the aggregate of the group.
+		 */
+		void emit(G group, A value);
+
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+/**
+ * Reduces the partial aggregates of a group computed by the members into the aggregate of the group,
+ * on the caller.
+ *
+ * @author agent
+ * @param <A> the type of the aggregates
+ * @since 1.9.0
+ */
+public interface Reducer<A> {
+
+	/**
+	 * Reduces a partial aggregate of a member into the aggregate of its group.
+	 *
+	 * @param aggregate the aggregate of the group reduced so far.
+	 * @param partialAggregate the partial aggregate of a member.
+	 * @return the reduced aggregate.
+	 */
+	A reduce(A aggregate, A partialAggregate);
+
+}
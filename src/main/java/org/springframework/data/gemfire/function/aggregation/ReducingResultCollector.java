@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.aggregation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+import com.gemstone.gemfire.cache.execute.ResultCollector;
+import com.gemstone.gemfire.distributed.DistributedMember;
+
+/**
+ * {@link ResultCollector} reducing the partial aggregates sent by the members executing
+ * the {@link AggregationFunction} into the aggregates of an {@link Aggregation} as they arrive,
+ * so the partial aggregates of all members are never held at once.
+ *
+ * Since the {@link AggregationFunction} is highly available, GemFire may {@link #clearResults() clear} the results
+ * to retry the execution while a caller is already waiting for them; the caller then waits for the end of
+ * the results of the retry.
+ *
+ * @author agent
+ * @param <G> the type of the groups
+ * @param <A> the type of the aggregates
+ * @see org.springframework.data.gemfire.function.aggregation.AggregationFunction
+ * @since 1.9.0
+ */
+public class ReducingResultCollector<G, A> implements ResultCollector<Object, Map<G, A>> {
+
+	private final Reducer<A> reducer;
+
+	// incremented when the results are cleared; the results have ended when endedGeneration equals generation
+	private long generation;
+
+	private long endedGeneration = -1;
+
+	private Map<G, A> aggregates = new HashMap<G, A>();
+
+	private Throwable failure;
+
+	/**
+	 * Constructs a {@link ReducingResultCollector} with the given {@link Reducer}.
+	 *
+	 * @param reducer the {@link Reducer} reducing the partial aggregates.
+	 */
+	public ReducingResultCollector(Reducer<A> reducer) {
+		Assert.notNull(reducer, "reducer must not be null");
+		this.reducer = reducer;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized void addResult(DistributedMember memberId, Object result) {
+		if (result instanceof Throwable) {
+			failure = (failure != null ? failure : (Throwable) result);
+		}
+		else if (result instanceof Map) {
+			for (Map.Entry<G, A> entry : ((Map<G, A>) result).entrySet()) {
+				A aggregate = aggregates.get(entry.getKey());
+
+				aggregates.put(entry.getKey(), (aggregate != null || aggregates.containsKey(entry.getKey())
+					? reducer.reduce(aggregate, entry.getValue()) : entry.getValue()));
+			}
+		}
+		else if (result != null) {
+			failure = (failure != null ? failure : new IllegalStateException(String.format(
+				"unexpected result of type [%1$s] from member %2$s", result.getClass().getName(), memberId)));
+		}
+	}
+
+	@Override
+	public synchronized void endResults() {
+		endedGeneration = generation;
+		notifyAll();
+	}
+
+	@Override
+	public synchronized void clearResults() {
+		aggregates = new HashMap<G, A>();
+		failure = null;
+		generation++;
+	}
+
+	@Override
+	public synchronized Map<G, A> getResult() throws FunctionException {
+		try {
+			while (!isEnded()) {
+				wait();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException("Interrupted while waiting for the partial aggregates", e);
+		}
+
+		return getAggregates();
+	}
+
+	@Override
+	public synchronized Map<G, A> getResult(long timeout, TimeUnit unit) throws FunctionException, InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		while (!isEnded()) {
+			long remainingNanos = deadline - System.nanoTime();
+
+			if (remainingNanos <= 0) {
+				throw new FunctionException(String.format("All partial aggregates not received within %1$d %2$s",
+					timeout, unit));
+			}
+
+			TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+		}
+
+		return getAggregates();
+	}
+
+	/* must be called holding the monitor of this collector */
+	private boolean isEnded() {
+		return (endedGeneration == generation);
+	}
+
+	/* must be called holding the monitor of this collector */
+	private Map<G, A> getAggregates() {
+		if (failure != null) {
+			throw (failure instanceof FunctionException ? (FunctionException) failure
+				: new FunctionException("Aggregation failed", failure));
+		}
+
+		return aggregates;
+	}
+
+}
@@ -0,0 +1,5 @@
+/**
+ * Map-reduce style aggregation of Region data, computing partial aggregates over the local data of each member
+ * and reducing them on the caller, so only aggregates are sent over the wire.
+ */
+package org.springframework.data.gemfire.function.aggregation;
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a method of a Function execution interface (e.g. {@link OnRegion} or {@link OnServers}) into caching
+ * of its results on the client, keyed by the Function ID and the arguments of the invocation. Concurrent
+ * invocations with equal arguments are collapsed into a single Function execution.
+ *
+ * Only idempotent Functions, whose results depend on nothing but their arguments and change rarely,
+ * should be cached. Cached results can be invalidated explicitly, e.g. on Region or CQ events with a
+ * {@link org.springframework.data.gemfire.function.execution.FunctionResultCacheInvalidatingListener}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.execution.FunctionResultCache
+ * @since 1.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedResult {
+
+	/**
+	 * The time, in milliseconds, the result of an invocation is cached.
+	 *
+	 * @return the time to live of the cached results in milliseconds.
+	 */
+	long timeToLive() default 60000L;
+
+}
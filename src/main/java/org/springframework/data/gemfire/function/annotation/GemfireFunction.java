@@ -55,6 +55,16 @@ public @interface GemfireFunction {
 	 */
 	int batchSize() default 0;
 
+	/**
+	 * Controls the maximum estimated size, in bytes, of the chunks in which lazily produced results
+	 * ({@link java.util.Iterator} or {@link org.springframework.data.gemfire.function.ResultProducer})
+	 * and arrays of primitives are sent. Lazily produced results are sent in chunks of 100 results if neither this attribute
+	 * nor {@link #batchSize()} is set.
+	 *
+	 * @return a long value indicating the maximum size of a chunk of results in bytes, or 0 if unbounded.
+	 */
+	long maxChunkBytes() default 0;
+
 	/**
 	 * Normally follows the method return type, i.e., false if void, true otherwise. This allows overriding
 	 * a void method which uses the resultSender directly.
@@ -13,14 +13,22 @@
 package org.springframework.data.gemfire.function.execution;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.data.gemfire.function.statistics.FunctionStatistics;
+import org.springframework.data.gemfire.function.statistics.FunctionStatisticsRegistry;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
 
 import com.gemstone.gemfire.cache.execute.Execution;
 import com.gemstone.gemfire.cache.execute.Function;
@@ -91,8 +99,34 @@ abstract class AbstractFunctionExecution {
 		return execute(true);
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Executes the Function, recording the execution in the client-side {@link FunctionStatistics} of the Function.
+	 * Each result received counts as a result chunk.
+	 */
 	<T> Iterable<T> execute(Boolean returnResult) {
+		FunctionStatistics statistics = getStatistics();
+
+		long start = System.nanoTime();
+
+		try {
+			Iterable<T> results = doExecute(returnResult);
+
+			statistics.recordExecution(System.nanoTime() - start);
+
+			if (results instanceof Collection) {
+				statistics.recordResultChunks(((Collection<?>) results).size(), 0);
+			}
+
+			return results;
+		}
+		catch (RuntimeException e) {
+			recordFailure(statistics, e, start);
+			throw e;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Iterable<T> doExecute(Boolean returnResult) {
 		Execution execution = getExecution();
 
 		execution = execution.withArgs(getArgs());
@@ -127,11 +161,11 @@ abstract class AbstractFunctionExecution {
 				try {
 					results = (Iterable<T>) resultCollector.getResult(this.timeout, TimeUnit.MILLISECONDS);
 				}
-				catch (FunctionException e) {
-					throw new RuntimeException(e);
-				}
 				catch (InterruptedException e) {
-					throw new RuntimeException(e);
+					// e.g. an asynchronous execution has been cancelled
+					Thread.currentThread().interrupt();
+					throw new FunctionException(String.format("Interrupted while waiting for the results of Function %1$s",
+						getFunctionDescription()), e);
 				}
 			}
 			else {
@@ -142,7 +176,7 @@ abstract class AbstractFunctionExecution {
 		}
 		catch (FunctionException e) {
 			//TODO Come up with a better way to determine that the function should not return a result;
-			if (!e.getMessage().equals(NO_RESULT_MESSAGE)) {
+			if (!NO_RESULT_MESSAGE.equals(e.getMessage())) {
 				throw e;
 			}
 		}
@@ -150,6 +184,59 @@ abstract class AbstractFunctionExecution {
 		return results;
 	}
 
+	/**
+	 * Executes the Function on a thread of the given {@link Executor}, handing the results to the caller
+	 * through a {@link StreamingResultCollector} as they arrive. The Function must have a result.
+	 *
+	 * @param <T> the type of the results.
+	 * @param executor the {@link Executor} executing the Function, since the Function execution of a client
+	 * only returns once all results are received.
+	 * @param capacity the maximum number of buffered results.
+	 * @param bufferTimeout the time, in milliseconds, the execution waits for the caller to consume a result
+	 * when the buffer is full, before failing.
+	 * @return a {@link CloseableIterator} over the results.
+	 */
+	<T> CloseableIterator<T> executeStreaming(Executor executor, int capacity, long bufferTimeout) {
+		Assert.isTrue(isRegisteredFunction() || function.hasResult(), NO_RESULT_MESSAGE);
+
+		final StreamingResultCollector<T> resultCollector = new StreamingResultCollector<T>(capacity, bufferTimeout);
+
+		Execution execution = getExecution().withArgs(getArgs()).withCollector(resultCollector);
+
+		final Execution streamingExecution = (getKeys() == null ? execution : execution.withFilter(getKeys()));
+
+		final FunctionStatistics statistics = getStatistics();
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				long start = System.nanoTime();
+
+				try {
+					if (isRegisteredFunction()) {
+						streamingExecution.execute(functionId);
+					}
+					else {
+						streamingExecution.execute(function);
+					}
+
+					statistics.recordExecution(System.nanoTime() - start);
+				}
+				catch (Throwable t) {
+					statistics.recordFailure();
+					resultCollector.fail(t);
+
+					if (t instanceof Error) {
+						throw (Error) t;
+					}
+				}
+			}
+		});
+
+		return (this.timeout > 0 ? resultCollector.getResult(this.timeout, TimeUnit.MILLISECONDS)
+			: resultCollector.getResult());
+	}
+
 	@SuppressWarnings("unchecked")
 	<T> T executeAndExtract() {
 		Iterable<T> results = execute();
@@ -161,14 +248,81 @@ abstract class AbstractFunctionExecution {
 		Object result = results.iterator().next();
 
 		if (result instanceof Throwable) {
-			throw new FunctionException(String.format("Execution of Function %1$s failed",
-				(function != null ? function.getClass().getName() : String.format("with ID '%1$s'", functionId))),
-					(Throwable) result);
+			throw new FunctionException(String.format("Execution of Function %1$s failed", getFunctionDescription()),
+				(Throwable) result);
 		}
 
 		return (T) result;
 	}
 
+	/**
+	 * Executes the Function on a thread of the given {@link Executor}. Cancelling the returned future with
+	 * interruption stops waiting for the results of the Function. The caller must set a timeout, since
+	 * a thread waiting on {@link ResultCollector#getResult()} without one may never be released. The timeout
+	 * starts when the execution is submitted, so the time spent waiting for a thread counts against it.
+	 *
+	 * @param <T> the type of the results.
+	 * @param executor the {@link Executor} executing the Function.
+	 * @return a {@link ListenableFuture} of the results.
+	 * @see #execute()
+	 */
+	<T> ListenableFuture<Iterable<T>> executeAsync(Executor executor) {
+		Assert.state(this.timeout > 0, "an asynchronous Function execution requires a timeout");
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+
+		ListenableFutureTask<Iterable<T>> future = new ListenableFutureTask<Iterable<T>>(new Callable<Iterable<T>>() {
+			@Override
+			public Iterable<T> call() throws Exception {
+				setRemainingTimeout(deadline);
+				return execute();
+			}
+		});
+
+		executor.execute(future);
+
+		return future;
+	}
+
+	/**
+	 * Executes the Function with an expected singleton result on a thread of the given {@link Executor}.
+	 *
+	 * @param <T> the type of the result.
+	 * @param executor the {@link Executor} executing the Function.
+	 * @return a {@link ListenableFuture} of the result.
+	 * @see #executeAndExtract()
+	 */
+	<T> ListenableFuture<T> executeAndExtractAsync(Executor executor) {
+		Assert.state(this.timeout > 0, "an asynchronous Function execution requires a timeout");
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+
+		ListenableFutureTask<T> future = new ListenableFutureTask<T>(new Callable<T>() {
+			@Override
+			public T call() throws Exception {
+				setRemainingTimeout(deadline);
+				return executeAndExtract();
+			}
+		});
+
+		executor.execute(future);
+
+		return future;
+	}
+
+	/* the time an asynchronous execution waited for a thread counts against its timeout */
+	private void setRemainingTimeout(long deadline) {
+		long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+		if (remaining <= 0) {
+			getStatistics().recordTimeout();
+			throw new FunctionException(String.format("Function %1$s timed out waiting for a thread to execute on",
+				getFunctionDescription()));
+		}
+
+		setTimeout(remaining);
+	}
+
 	protected abstract Execution getExecution();
 
 	protected AbstractFunctionExecution setArgs(Object... args) {
@@ -200,6 +354,32 @@ abstract class AbstractFunctionExecution {
 		return null;
 	}
 
+	/* statistics are kept per Function ID, or per Function class for an unregistered Function without ID */
+	private FunctionStatistics getStatistics() {
+		Assert.state(StringUtils.hasText(functionId) || function != null,
+			"either a Function or the ID of a registered Function is required");
+
+		String statisticsId = (StringUtils.hasText(functionId) ? functionId
+			: (StringUtils.hasText(function.getId()) ? function.getId() : function.getClass().getName()));
+
+		return FunctionStatisticsRegistry.CLIENT.getStatistics(statisticsId);
+	}
+
+	/* a FunctionException thrown once the timeout elapsed is taken as the results not being received in time */
+	private void recordFailure(FunctionStatistics statistics, RuntimeException e, long start) {
+		if (e instanceof FunctionException && this.timeout > 0
+				&& TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= this.timeout) {
+			statistics.recordTimeout();
+		}
+		else {
+			statistics.recordFailure();
+		}
+	}
+
+	private String getFunctionDescription() {
+		return (function != null ? function.getClass().getName() : String.format("with ID '%1$s'", functionId));
+	}
+
 	private boolean isRegisteredFunction() {
 		return function == null;
 	}
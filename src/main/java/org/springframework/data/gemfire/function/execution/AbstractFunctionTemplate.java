@@ -12,8 +12,17 @@
  */
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import com.gemstone.gemfire.cache.execute.Function;
 import com.gemstone.gemfire.cache.execute.ResultCollector;
@@ -28,12 +37,25 @@ import com.gemstone.gemfire.cache.execute.ResultCollector;
  */
 abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 
+	public static final long DEFAULT_ASYNC_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+	// the executions block on the network, so the pool is sized for concurrent waits rather than for the processors
+	static final int DEFAULT_TASK_EXECUTOR_POOL_SIZE = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
 	protected Log log = LogFactory.getLog(this.getClass());
 
 	protected long timeout;
 
 	protected volatile ResultCollector<?, ?> resultCollector;
 
+	private volatile long asyncTimeout = DEFAULT_ASYNC_TIMEOUT;
+
+	private volatile int streamingBufferCapacity = StreamingResultCollector.DEFAULT_CAPACITY;
+
+	private volatile long streamingBufferTimeout = StreamingResultCollector.DEFAULT_BUFFER_TIMEOUT;
+
+	private volatile Executor taskExecutor;
+
 	@Override
 	public <T> Iterable<T> execute(Function function, Object... args) {
 		 return execute(getFunctionExecution().setArgs(args).setFunction(function));
@@ -59,6 +81,53 @@ abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 		execute(getFunctionExecution().setArgs(args).setFunctionId(functionId), false);
 	}
 
+	@Override
+	public <T> ListenableFuture<Iterable<T>> executeAsync(Function function, Object... args) {
+		return executeAsync(getFunctionExecution().setArgs(args).setFunction(function));
+	}
+
+	@Override
+	public <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Object... args) {
+		return executeAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
+	@Override
+	public <T> ListenableFuture<T> executeAndExtractAsync(String functionId, Object... args) {
+		return executeAndExtractAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
+	@Override
+	public <T> ListenableFuture<Iterable<T>> executeAsync(Function function, Object[] args, long timeout,
+			TimeUnit unit) {
+
+		return executeAsync(getFunctionExecution().setArgs(args).setFunction(function), unit.toMillis(timeout));
+	}
+
+	@Override
+	public <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Object[] args, long timeout,
+			TimeUnit unit) {
+
+		return executeAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId), unit.toMillis(timeout));
+	}
+
+	@Override
+	public <T> ListenableFuture<T> executeAndExtractAsync(String functionId, Object[] args, long timeout,
+			TimeUnit unit) {
+
+		return executeAndExtractAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId),
+			unit.toMillis(timeout));
+	}
+
+	@Override
+	public <T> CloseableIterator<T> executeStreaming(Function function, Object... args) {
+		return executeStreaming(getFunctionExecution().setArgs(args).setFunction(function));
+	}
+
+	@Override
+	public <T> CloseableIterator<T> executeStreaming(String functionId, Object... args) {
+		return executeStreaming(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
 	@Override
 	public <T> T execute(GemfireFunctionCallback<T> callback) {
 		return callback.doInGemfire(getFunctionExecution().getExecution());
@@ -76,6 +145,30 @@ abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 		 return execution.setTimeout(timeout).setResultCollector(resultCollector).executeAndExtract();
 	}
 
+	protected <T> ListenableFuture<Iterable<T>> executeAsync(AbstractFunctionExecution execution) {
+		return executeAsync(execution, getAsyncTimeout());
+	}
+
+	protected <T> ListenableFuture<Iterable<T>> executeAsync(AbstractFunctionExecution execution, long timeout) {
+		Assert.isTrue(timeout > 0, "timeout must be greater than 0");
+		return execution.setTimeout(timeout).setResultCollector(resultCollector).executeAsync(getTaskExecutor());
+	}
+
+	protected <T> ListenableFuture<T> executeAndExtractAsync(AbstractFunctionExecution execution) {
+		return executeAndExtractAsync(execution, getAsyncTimeout());
+	}
+
+	protected <T> ListenableFuture<T> executeAndExtractAsync(AbstractFunctionExecution execution, long timeout) {
+		Assert.isTrue(timeout > 0, "timeout must be greater than 0");
+		return execution.setTimeout(timeout).setResultCollector(resultCollector)
+			.executeAndExtractAsync(getTaskExecutor());
+	}
+
+	protected <T> CloseableIterator<T> executeStreaming(AbstractFunctionExecution execution) {
+		return execution.setTimeout(timeout).executeStreaming(getTaskExecutor(), streamingBufferCapacity,
+			streamingBufferTimeout);
+	}
+
 	public void setResultCollector(ResultCollector<?,?> resultCollector) {
 		this.resultCollector = resultCollector;
 	}
@@ -88,6 +181,80 @@ abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 		this.timeout = timeout;
 	}
 
+	/**
+	 * Sets the maximum time in milliseconds an asynchronous Function execution waits for its results when
+	 * no {@link #setTimeout(long) timeout} is set, so that an execution whose results never arrive does not
+	 * hold on to a thread of the {@link #setTaskExecutor(Executor) task executor} indefinitely.
+	 * Defaults to {@value #DEFAULT_ASYNC_TIMEOUT} milliseconds.
+	 *
+	 * @param asyncTimeout the maximum time in milliseconds to wait for the results of an asynchronous execution.
+	 * @see #executeAsync(String, Object...)
+	 */
+	public void setAsyncTimeout(long asyncTimeout) {
+		Assert.isTrue(asyncTimeout > 0, "asyncTimeout must be greater than 0");
+		this.asyncTimeout = asyncTimeout;
+	}
+
+	/* an asynchronous execution always waits for its results with a timeout */
+	protected long getAsyncTimeout() {
+		return (timeout > 0 ? timeout : asyncTimeout);
+	}
+
+	/**
+	 * Sets the maximum number of results buffered by a streaming Function execution, beyond which receiving
+	 * the results waits for the caller to consume them.
+	 * Defaults to {@value StreamingResultCollector#DEFAULT_CAPACITY}.
+	 *
+	 * @param streamingBufferCapacity the maximum number of buffered results.
+	 * @see #executeStreaming(String, Object...)
+	 */
+	public void setStreamingBufferCapacity(int streamingBufferCapacity) {
+		Assert.isTrue(streamingBufferCapacity > 0, "streamingBufferCapacity must be greater than 0");
+		this.streamingBufferCapacity = streamingBufferCapacity;
+	}
+
+	/**
+	 * Sets the time, in milliseconds, a streaming Function execution waits for the caller to consume a result
+	 * when its buffer is full, before the execution fails. 0 fails the execution as soon as the buffer is full.
+	 * Defaults to {@value StreamingResultCollector#DEFAULT_BUFFER_TIMEOUT}.
+	 *
+	 * @param streamingBufferTimeout the time to wait for a free buffer slot.
+	 * @see #executeStreaming(String, Object...)
+	 */
+	public void setStreamingBufferTimeout(long streamingBufferTimeout) {
+		Assert.isTrue(streamingBufferTimeout >= 0, "streamingBufferTimeout must be greater than or equal to 0");
+		this.streamingBufferTimeout = streamingBufferTimeout;
+	}
+
+	/**
+	 * Sets the {@link Executor} running asynchronous and streaming Function executions. Defaults to a pool of
+	 * (at least 16) daemon threads, four per available processor, since each execution blocks a thread while
+	 * waiting for its results, queuing the executions that exceed the pool size. The timeout of an asynchronous
+	 * execution includes the time it is queued.
+	 *
+	 * @param taskExecutor the {@link Executor} running asynchronous and streaming Function executions.
+	 * @see #executeAsync(String, Object...)
+	 * @see #executeStreaming(String, Object...)
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	protected synchronized Executor getTaskExecutor() {
+		if (taskExecutor == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(getClass().getSimpleName() + "-");
+			threadFactory.setDaemon(true);
+
+			ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(DEFAULT_TASK_EXECUTOR_POOL_SIZE,
+				DEFAULT_TASK_EXECUTOR_POOL_SIZE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			taskExecutor = threadPoolExecutor;
+		}
+
+		return taskExecutor;
+	}
+
 	protected abstract AbstractFunctionExecution getFunctionExecution();
 
 }
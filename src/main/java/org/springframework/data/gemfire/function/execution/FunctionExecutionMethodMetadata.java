@@ -15,7 +15,9 @@ package org.springframework.data.gemfire.function.execution;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Future;
 
+import org.springframework.data.gemfire.function.annotation.CachedResult;
 import org.springframework.data.gemfire.function.annotation.FunctionId;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
@@ -68,11 +70,44 @@ abstract class FunctionExecutionMethodMetadata<T extends MethodMetadata > {
 
 class MethodMetadata {
 
+	private final boolean async;
+
+	private final long resultTimeToLive;
+
 	private String functionId;
 
 	public MethodMetadata(Method method) {
 		String annotatedFunctionId = annotatedFunctionId(method);
 		this.functionId = (annotatedFunctionId == null) ? null : annotatedFunctionId;
+		this.async = Future.class.isAssignableFrom(method.getReturnType());
+
+		CachedResult cachedResult = method.getAnnotation(CachedResult.class);
+
+		Assert.isTrue(cachedResult == null || !async, String.format(
+			"the results of asynchronous method %s cannot be cached", method.getName()));
+
+		this.resultTimeToLive = (cachedResult != null ? cachedResult.timeToLive() : 0L);
+	}
+
+	/**
+	 * @return whether the results of the method are cached
+	 */
+	public boolean isResultCached() {
+		return (resultTimeToLive > 0);
+	}
+
+	/**
+	 * @return the time, in milliseconds, the results of the method are cached
+	 */
+	public long getResultTimeToLive() {
+		return resultTimeToLive;
+	}
+
+	/**
+	 * @return whether the method returns a {@link Future}, i.e. executes the function asynchronously
+	 */
+	public boolean isAsync() {
+		return async;
 	}
 
 	/**
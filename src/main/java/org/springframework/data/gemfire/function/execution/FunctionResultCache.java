@@ -0,0 +1,314 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+
+/**
+ * Client side cache of Function results, keyed by execution target (e.g. the template executing the Function
+ * on a Region), Function ID and arguments, used by Function execution proxies for methods annotated with
+ * {@link org.springframework.data.gemfire.function.annotation.CachedResult}.
+ *
+ * Results expire after their time to live and the least recently used results are evicted beyond the maximum
+ * number of entries. Concurrent invocations with equal arguments are collapsed into a single execution whose
+ * result is shared. Invalidation discards the cached results and the results of executions still in flight.
+ *
+ * Since a cached result is handed to every caller, {@link Iterable} and {@link Map} results are cached and returned
+ * as unmodifiable views ({@link List}, {@link Set}, {@link Map} and other {@link Collection} results) or copies
+ * (any other {@link Iterable}).
+ *
+ * A single cache can be shared by several proxies (see
+ * {@link GemfireFunctionProxyFactoryBean#setResultCache(FunctionResultCache)}), e.g. to invalidate it with
+ * a {@link FunctionResultCacheInvalidatingListener}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.annotation.CachedResult
+ * @see org.springframework.data.gemfire.function.execution.FunctionResultCacheInvalidatingListener
+ * @since 1.9.0
+ */
+public class FunctionResultCache {
+
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	private final ConcurrentMap<Key, FutureTask<Object>> executions = new ConcurrentHashMap<Key, FutureTask<Object>>();
+
+	private final Map<Key, Entry> entries;
+
+	private long generation;
+
+	/**
+	 * Constructs a {@link FunctionResultCache} holding up to {@value #DEFAULT_MAX_ENTRIES} results.
+	 */
+	public FunctionResultCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Constructs a {@link FunctionResultCache} holding up to the given number of results.
+	 *
+	 * @param maxEntries the maximum number of cached results.
+	 */
+	@SuppressWarnings("serial")
+	public FunctionResultCache(final int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return (size() > maxEntries);
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached result of the Function invocation, or executes the Function and caches its result.
+	 * If an equal invocation is already executing, its result is awaited instead.
+	 *
+	 * @param functionId the ID of the Function.
+	 * @param args the arguments of the invocation.
+	 * @param timeToLive the time, in milliseconds, the result is cached.
+	 * @param execution the execution of the Function.
+	 * @return the (cached) result of the Function invocation.
+	 * @see #get(Object, String, Object[], long, Callable)
+	 */
+	public Object get(String functionId, Object[] args, long timeToLive, Callable<Object> execution) {
+		return get(null, functionId, args, timeToLive, execution);
+	}
+
+	/**
+	 * Returns the cached result of the Function invocation on the given target, or executes the Function and
+	 * caches its result. If an equal invocation is already executing, its result is awaited instead.
+	 *
+	 * @param target the target the Function is executed on, compared by identity (e.g. the template executing
+	 * the Function on a Region), so that a cache shared by several targets keeps their results apart;
+	 * may be {@literal null}.
+	 * @param functionId the ID of the Function.
+	 * @param args the arguments of the invocation.
+	 * @param timeToLive the time, in milliseconds, the result is cached.
+	 * @param execution the execution of the Function.
+	 * @return the (cached) result of the Function invocation.
+	 */
+	public Object get(Object target, String functionId, Object[] args, long timeToLive,
+			final Callable<Object> execution) {
+
+		Key key = new Key(target, functionId, args);
+		long generation;
+
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+
+			if (entry != null) {
+				if (entry.expiration > System.currentTimeMillis()) {
+					return entry.value;
+				}
+
+				entries.remove(key);
+			}
+
+			generation = this.generation;
+		}
+
+		FutureTask<Object> newExecution = new FutureTask<Object>(new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				return unmodifiable(execution.call());
+			}
+		});
+		FutureTask<Object> existingExecution = executions.putIfAbsent(key, newExecution);
+
+		if (existingExecution != null) {
+			return getResult(existingExecution);
+		}
+
+		try {
+			newExecution.run();
+
+			Object result = getResult(newExecution);
+
+			synchronized (entries) {
+				// results of executions started before an invalidation are not cached
+				if (generation == this.generation) {
+					entries.put(key, new Entry(result, System.currentTimeMillis() + timeToLive));
+				}
+			}
+
+			return result;
+		}
+		finally {
+			executions.remove(key, newExecution);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Object getResult(FutureTask<Object> execution) {
+		try {
+			return execution.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException("Interrupted while waiting for the result of a concurrent execution", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new FunctionException(cause);
+		}
+	}
+
+	/**
+	 * Invalidates all cached results.
+	 */
+	public void invalidate() {
+		synchronized (entries) {
+			generation++;
+			entries.clear();
+			executions.clear();
+		}
+	}
+
+	/**
+	 * Invalidates the cached results of the Function with the given ID.
+	 *
+	 * @param functionId the ID of the Function.
+	 */
+	public void invalidate(String functionId) {
+		synchronized (entries) {
+			generation++;
+
+			for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext();) {
+				if (it.next().functionId.equals(functionId)) {
+					it.remove();
+				}
+			}
+
+			for (Iterator<Key> it = executions.keySet().iterator(); it.hasNext();) {
+				if (it.next().functionId.equals(functionId)) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of cached results, including expired results not evicted yet.
+	 *
+	 * @return the number of cached results.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/* shares a result between callers without letting one caller modify the result seen by the others */
+	@SuppressWarnings("unchecked")
+	static Object unmodifiable(Object result) {
+		if (result instanceof List) {
+			return Collections.unmodifiableList((List<Object>) result);
+		}
+		else if (result instanceof Set) {
+			return Collections.unmodifiableSet((Set<Object>) result);
+		}
+		else if (result instanceof Collection) {
+			return Collections.unmodifiableCollection((Collection<Object>) result);
+		}
+		else if (result instanceof Map) {
+			return Collections.unmodifiableMap((Map<Object, Object>) result);
+		}
+		else if (result instanceof Iterable) {
+			List<Object> copy = new ArrayList<Object>();
+
+			for (Object element : (Iterable<Object>) result) {
+				copy.add(element);
+			}
+
+			return Collections.unmodifiableList(copy);
+		}
+
+		return result;
+	}
+
+	static final class Key {
+
+		private final Object target;
+		private final String functionId;
+		private final Object[] args;
+		private final int hashCode;
+
+		Key(Object target, String functionId, Object[] args) {
+			Assert.notNull(functionId, "functionId must not be null");
+			this.target = target;
+			this.functionId = functionId;
+			this.args = (args != null ? args.clone() : new Object[0]);
+			this.hashCode = 31 * (31 * System.identityHashCode(target) + functionId.hashCode())
+				+ Arrays.deepHashCode(this.args);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) obj;
+
+			return (this.target == that.target && this.functionId.equals(that.functionId)
+				&& Arrays.deepEquals(this.args, that.args));
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	static final class Entry {
+
+		private final Object value;
+		private final long expiration;
+
+		Entry(Object value, long expiration) {
+			this.value = value;
+			this.expiration = expiration;
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import org.springframework.data.gemfire.listener.ContinuousQueryListener;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.EntryEvent;
+import com.gemstone.gemfire.cache.RegionEvent;
+import com.gemstone.gemfire.cache.query.CqEvent;
+import com.gemstone.gemfire.cache.util.CacheListenerAdapter;
+
+/**
+ * Invalidates the results of a {@link FunctionResultCache} when the data the Functions are computed from changes,
+ * either as a {@link com.gemstone.gemfire.cache.CacheListener} on a Region or as a {@link ContinuousQueryListener}
+ * of a CQ.
+ *
+ * @author agent
+ * @param <K> the type of the Region keys
+ * @param <V> the type of the Region values
+ * @see org.springframework.data.gemfire.function.execution.FunctionResultCache
+ * @since 1.9.0
+ */
+public class FunctionResultCacheInvalidatingListener<K, V> extends CacheListenerAdapter<K, V>
+		implements ContinuousQueryListener {
+
+	private final FunctionResultCache resultCache;
+
+	private final String[] functionIds;
+
+	/**
+	 * Constructs a listener invalidating the results of the given Functions, or of all Functions if none are given.
+	 *
+	 * @param resultCache the {@link FunctionResultCache} to invalidate.
+	 * @param functionIds the IDs of the Functions whose results are invalidated.
+	 */
+	public FunctionResultCacheInvalidatingListener(FunctionResultCache resultCache, String... functionIds) {
+		Assert.notNull(resultCache, "resultCache must not be null");
+		this.resultCache = resultCache;
+		this.functionIds = (functionIds != null ? functionIds : new String[0]);
+	}
+
+	protected void invalidate() {
+		if (functionIds.length == 0) {
+			resultCache.invalidate();
+		}
+		else {
+			for (String functionId : functionIds) {
+				resultCache.invalidate(functionId);
+			}
+		}
+	}
+
+	@Override
+	public void afterCreate(EntryEvent<K, V> event) {
+		invalidate();
+	}
+
+	@Override
+	public void afterUpdate(EntryEvent<K, V> event) {
+		invalidate();
+	}
+
+	@Override
+	public void afterDestroy(EntryEvent<K, V> event) {
+		invalidate();
+	}
+
+	@Override
+	public void afterInvalidate(EntryEvent<K, V> event) {
+		invalidate();
+	}
+
+	@Override
+	public void afterRegionClear(RegionEvent<K, V> event) {
+		invalidate();
+	}
+
+	@Override
+	public void onEvent(CqEvent event) {
+		invalidate();
+	}
+
+}
@@ -12,6 +12,10 @@
  */
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import com.gemstone.gemfire.cache.execute.Function;
 
@@ -72,6 +76,108 @@ public interface GemfireFunctionOperations {
 	 */
 	public void executeWithNoResult(String functionId, Object... args);
 
+	/**
+	 * Execute an unregistered GemFire Function asynchronously. The returned future completes with the contents
+	 * of the ResultsCollector; {@link java.util.concurrent.Future#get(long, java.util.concurrent.TimeUnit)} bounds
+	 * the wait of the caller, and cancelling the future with interruption stops waiting for the results.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param function the GemFire Function object to execute.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link ListenableFuture} of the contents of the ResultsCollector.
+	 */
+	public <T> ListenableFuture<Iterable<T>> executeAsync(Function function, Object... args);
+
+	/**
+	 * Execute a GemFire Function registered with the given ID asynchronously.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link ListenableFuture} of the results.
+	 * @see #executeAsync(Function, Object...)
+	 */
+	public <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Object... args);
+
+	/**
+	 * Execute a GemFire Function registered with the given ID and with an expected singleton result asynchronously.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link ListenableFuture} of the first item in the results collector.
+	 * @see #executeAsync(Function, Object...)
+	 */
+	public <T> ListenableFuture<T> executeAndExtractAsync(String functionId, Object... args);
+
+	/**
+	 * Execute an unregistered GemFire Function asynchronously, waiting at most the given timeout for its results.
+	 * The timeout starts when the execution is submitted, so it includes the time the execution waits for a thread.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param function the GemFire Function object to execute.
+	 * @param args an array of Object arguments to the Function call.
+	 * @param timeout the maximum time to wait for the results.
+	 * @param unit the unit of the timeout.
+	 * @return a {@link ListenableFuture} of the contents of the ResultsCollector.
+	 * @see #executeAsync(Function, Object...)
+	 */
+	public <T> ListenableFuture<Iterable<T>> executeAsync(Function function, Object[] args, long timeout, TimeUnit unit);
+
+	/**
+	 * Execute a GemFire Function registered with the given ID asynchronously, waiting at most the given timeout
+	 * for its results.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @param timeout the maximum time to wait for the results.
+	 * @param unit the unit of the timeout.
+	 * @return a {@link ListenableFuture} of the results.
+	 * @see #executeAsync(Function, Object[], long, TimeUnit)
+	 */
+	public <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Object[] args, long timeout, TimeUnit unit);
+
+	/**
+	 * Execute a GemFire Function registered with the given ID and with an expected singleton result asynchronously,
+	 * waiting at most the given timeout for its result.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @param timeout the maximum time to wait for the result.
+	 * @param unit the unit of the timeout.
+	 * @return a {@link ListenableFuture} of the first item in the results collector.
+	 * @see #executeAsync(Function, Object[], long, TimeUnit)
+	 */
+	public <T> ListenableFuture<T> executeAndExtractAsync(String functionId, Object[] args, long timeout, TimeUnit unit);
+
+	/**
+	 * Execute an unregistered GemFire Function, handing the results to the caller as they arrive from each member.
+	 * The results are buffered up to a bounded capacity, beyond which receiving the results waits for the caller
+	 * to consume them, up to a timeout after which the iterator fails with a
+	 * {@link com.gemstone.gemfire.cache.execute.FunctionException}. Closing the iterator discards all further results.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param function the GemFire Function object to execute.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CloseableIterator} over the results, blocking until the next result arrives.
+	 * @see org.springframework.data.gemfire.function.execution.StreamingResultCollector
+	 */
+	public <T> CloseableIterator<T> executeStreaming(Function function, Object... args);
+
+	/**
+	 * Execute a GemFire Function registered with the given ID, handing the results to the caller as they arrive
+	 * from each member.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CloseableIterator} over the results, blocking until the next result arrives.
+	 * @see #executeStreaming(Function, Object...)
+	 */
+	public <T> CloseableIterator<T> executeStreaming(String functionId, Object... args);
+
     /**
      * Execute a GemFire Function using a native GemFire {@link com.gemstone.gemfire.cache.execute.Execution} instance.
 	 *
@@ -13,6 +13,7 @@
 package org.springframework.data.gemfire.function.execution;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -51,6 +52,8 @@ public class GemfireFunctionProxyFactoryBean implements FactoryBean<Object>, Met
 
 	private FunctionExecutionMethodMetadata<MethodMetadata> methodMetadata;
 
+	private volatile FunctionResultCache resultCache;
+
 	/**
 	 * @param functionExecutionInterface the proxied interface
 	 * @param gemfireFunctionOperations an interface used to delegate the function invocation (typically a GemFire function template)
@@ -83,12 +86,55 @@ public class GemfireFunctionProxyFactoryBean implements FactoryBean<Object>, Met
 			logger.debug("invoking method " + invocation.getMethod().getName());
 		}
 
-		return invokeFunction(invocation.getMethod(), invocation.getArguments());
+		final Method method = invocation.getMethod();
+		final Object[] args = invocation.getArguments();
+
+		MethodMetadata metadata = methodMetadata.getMethodMetadata(method);
+
+		if (metadata != null && metadata.isResultCached()) {
+			return getResultCache().get(getGemfireFunctionOperations(), metadata.getFunctionId(), args,
+				metadata.getResultTimeToLive(), new Callable<Object>() {
+					@Override
+					public Object call() throws Exception {
+						return invokeFunction(method, args);
+					}
+				});
+		}
+
+		return invokeFunction(method, args);
+	}
+
+	/**
+	 * Sets the {@link FunctionResultCache} caching the results of the methods annotated with
+	 * {@link org.springframework.data.gemfire.function.annotation.CachedResult}, e.g. to share it between proxies
+	 * or to invalidate it on Region or CQ events. Defaults to a {@link FunctionResultCache} per proxy.
+	 *
+	 * @param resultCache the {@link FunctionResultCache} caching the Function results.
+	 * @see org.springframework.data.gemfire.function.execution.FunctionResultCacheInvalidatingListener
+	 */
+	public void setResultCache(FunctionResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Returns the {@link FunctionResultCache} caching the results of the methods annotated with
+	 * {@link org.springframework.data.gemfire.function.annotation.CachedResult}.
+	 *
+	 * @return the {@link FunctionResultCache} caching the Function results.
+	 */
+	public synchronized FunctionResultCache getResultCache() {
+		if (resultCache == null) {
+			resultCache = new FunctionResultCache();
+		}
+
+		return resultCache;
 	}
 
 	protected Object invokeFunction(Method method, Object[] args) {
-		return this.gemfireFunctionOperations.executeAndExtract(
-			methodMetadata.getMethodMetadata(method).getFunctionId(), args);
+		MethodMetadata metadata = methodMetadata.getMethodMetadata(method);
+
+		return (metadata.isAsync() ? this.gemfireFunctionOperations.executeAndExtractAsync(metadata.getFunctionId(), args)
+			: this.gemfireFunctionOperations.executeAndExtract(metadata.getFunctionId(), args));
 	}
 
 	@Override
@@ -12,12 +12,23 @@
  */
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.data.gemfire.function.aggregation.Aggregation;
+import org.springframework.data.gemfire.function.aggregation.AggregationFunction;
+import org.springframework.data.gemfire.function.aggregation.ReducingResultCollector;
+import org.springframework.data.gemfire.function.scan.BucketScanFunction;
+import org.springframework.data.gemfire.function.scan.RegionScanIterator;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import com.gemstone.gemfire.cache.Region;
 import com.gemstone.gemfire.cache.execute.Function;
+import com.gemstone.gemfire.cache.execute.FunctionException;
 
 /**
  * @author David Turanski
@@ -25,6 +36,18 @@ import com.gemstone.gemfire.cache.execute.Function;
  */
 public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate implements GemfireOnRegionOperations {
 
+	public static final int DEFAULT_SCAN_BUCKETS_IN_FLIGHT = 4;
+
+	public static final int DEFAULT_SCAN_CHUNK_SIZE = 1000;
+
+	public static final int DEFAULT_SCAN_RETRIES = 2;
+
+	private volatile int scanBucketsInFlight = DEFAULT_SCAN_BUCKETS_IN_FLIGHT;
+
+	private volatile int scanChunkSize = DEFAULT_SCAN_CHUNK_SIZE;
+
+	private volatile int scanRetries = DEFAULT_SCAN_RETRIES;
+
 	private Region<?, ?> region;
 
 	/**
@@ -56,6 +79,95 @@ public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate im
 				.setTimeout(timeout).setArgs(args));
 	}
 
+	@Override
+	public <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Set<?> keys, Object... args) {
+		return executeAsync(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId)
+				.setArgs(args));
+	}
+
+	@Override
+	public <T> CloseableIterator<T> executeStreaming(String functionId, Set<?> keys, Object... args) {
+		return executeStreaming(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId)
+				.setArgs(args));
+	}
+
+	@Override
+	public <K, V, G, A> Map<G, A> aggregate(Aggregation<K, V, G, A> aggregation, Set<?> keys) {
+		Assert.notNull(aggregation, "Aggregation must not be null");
+
+		ReducingResultCollector<G, A> resultCollector = new ReducingResultCollector<G, A>(aggregation.getReducer());
+
+		// the partial aggregates are reduced by the collector as they arrive
+		new RegionFunctionExecution(region).setKeys(keys).setFunction(new AggregationFunction())
+			.setArgs(aggregation.getMapper(), aggregation.getCombiner()).setResultCollector(resultCollector)
+				.execute(false);
+
+		try {
+			return (timeout > 0 ? resultCollector.getResult(timeout, TimeUnit.MILLISECONDS)
+				: resultCollector.getResult());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException("Interrupted while waiting for the partial aggregates", e);
+		}
+	}
+
+	@Override
+	public <K, V> RegionScanIterator<K, V> scan() {
+		return scan(0);
+	}
+
+	@Override
+	public <K, V> RegionScanIterator<K, V> scan(int fromBucket) {
+		final int chunkSize = this.scanChunkSize;
+
+		RegionScanIterator.BucketReader reader = new RegionScanIterator.BucketReader() {
+			@Override
+			public int getTotalNumberOfBuckets() {
+				return BucketScanFunction.getTotalNumberOfBuckets(new RegionFunctionExecution(region)
+					.setFunction(new BucketScanFunction()).setTimeout(timeout).setArgs().execute());
+			}
+
+			@Override
+			public List<Map<?, ?>> read(int bucketId) {
+				return BucketScanFunction.getChunks(bucketId, new RegionFunctionExecution(region)
+					.setFunction(new BucketScanFunction()).setTimeout(timeout).setArgs(bucketId, chunkSize).execute());
+			}
+		};
+
+		return new RegionScanIterator<K, V>(reader, getTaskExecutor(), fromBucket, scanBucketsInFlight, scanRetries);
+	}
+
+	/**
+	 * Sets the maximum number of buckets read ahead in parallel by a scan. Defaults to 4.
+	 *
+	 * @param scanBucketsInFlight the maximum number of buckets in flight.
+	 */
+	public void setScanBucketsInFlight(int scanBucketsInFlight) {
+		Assert.isTrue(scanBucketsInFlight > 0, "scanBucketsInFlight must be greater than 0");
+		this.scanBucketsInFlight = scanBucketsInFlight;
+	}
+
+	/**
+	 * Sets the maximum number of entries sent per result chunk by a scan. Defaults to 1000.
+	 *
+	 * @param scanChunkSize the maximum number of entries per chunk.
+	 */
+	public void setScanChunkSize(int scanChunkSize) {
+		Assert.isTrue(scanChunkSize > 0, "scanChunkSize must be greater than 0");
+		this.scanChunkSize = scanChunkSize;
+	}
+
+	/**
+	 * Sets the number of times a failed bucket read is retried by a scan. Defaults to 2.
+	 *
+	 * @param scanRetries the number of retries.
+	 */
+	public void setScanRetries(int scanRetries) {
+		Assert.isTrue(scanRetries >= 0, "scanRetries must not be negative");
+		this.scanRetries = scanRetries;
+	}
+
 	@Override
 	protected AbstractFunctionExecution getFunctionExecution() {
 		return new RegionFunctionExecution(this.region);
@@ -12,8 +12,14 @@
  */
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.Map;
 import java.util.Set;
 
+import org.springframework.data.gemfire.function.aggregation.Aggregation;
+import org.springframework.data.gemfire.function.scan.RegionScanIterator;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.concurrent.ListenableFuture;
+
 import com.gemstone.gemfire.cache.execute.Function;
 
 /**
@@ -25,5 +31,43 @@ public interface GemfireOnRegionOperations extends GemfireFunctionOperations {
 	public abstract <T> Iterable<T> execute(Function function, Set<?> keys, Object... args);
 	public abstract void executeWithNoResult(String functionId, Set<?> keys, Object... args);
 	public abstract <T> T executeAndextract(String functionId, Set<?> keys, Object... args);
+	public abstract <T> ListenableFuture<Iterable<T>> executeAsync(String functionId, Set<?> keys, Object... args);
+	public abstract <T> CloseableIterator<T> executeStreaming(String functionId, Set<?> keys, Object... args);
+
+	/**
+	 * Aggregates the data of the Region, computing partial aggregates over the local data of each member hosting
+	 * the data and reducing them on the caller, so only the aggregates are sent over the wire.
+	 *
+	 * @param <K> the type of the Region keys.
+	 * @param <V> the type of the Region values.
+	 * @param <G> the type of the groups.
+	 * @param <A> the type of the aggregates.
+	 * @param aggregation the {@link Aggregation} to compute.
+	 * @param keys the keys of the entries to aggregate, or {@literal null} to aggregate all entries.
+	 * @return the aggregates by group.
+	 * @see org.springframework.data.gemfire.function.aggregation.AggregationFunction
+	 */
+	public abstract <K, V, G, A> Map<G, A> aggregate(Aggregation<K, V, G, A> aggregation, Set<?> keys);
+
+	/**
+	 * Scans all entries of the Region bucket by bucket, reading a bounded number of buckets ahead in parallel.
+	 *
+	 * @param <K> the type of the Region keys.
+	 * @param <V> the type of the Region values.
+	 * @return a lazy iterator over the entries of the Region, which must be closed if not exhausted.
+	 * @see org.springframework.data.gemfire.function.scan.BucketScanFunction
+	 */
+	public abstract <K, V> RegionScanIterator<K, V> scan();
+
+	/**
+	 * Scans the entries of the Region from the given bucket, e.g. to resume a failed scan from its checkpoint.
+	 *
+	 * @param <K> the type of the Region keys.
+	 * @param <V> the type of the Region values.
+	 * @param fromBucket the first bucket to scan.
+	 * @return a lazy iterator over the entries of the Region, which must be closed if not exhausted.
+	 * @see org.springframework.data.gemfire.function.scan.RegionScanException#getCheckpoint()
+	 */
+	public abstract <K, V> RegionScanIterator<K, V> scan(int fromBucket);
 
 }
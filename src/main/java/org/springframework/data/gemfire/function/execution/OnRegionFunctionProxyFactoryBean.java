@@ -35,7 +35,7 @@ public class OnRegionFunctionProxyFactoryBean extends GemfireFunctionProxyFactor
 	}
 
 	@Override
-	protected Iterable<?> invokeFunction(Method method, Object[] args) {
+	protected Object invokeFunction(Method method, Object[] args) {
 		GemfireOnRegionOperations gemfireOnRegionOperations = (GemfireOnRegionOperations) getGemfireFunctionOperations();
 
 		OnRegionMethodMetadata onRegionMethodMetadata = methodMetadata.getMethodMetadata(method);
@@ -53,6 +53,11 @@ public class OnRegionFunctionProxyFactoryBean extends GemfireFunctionProxyFactor
 			args = ArrayUtils.remove(args, filterArgPosition);
 		}
 
+		if (onRegionMethodMetadata.isAsync()) {
+			return (filter == null ? gemfireOnRegionOperations.executeAsync(functionId, args)
+				: gemfireOnRegionOperations.executeAsync(functionId, filter, args));
+		}
+
 		return (filter == null ?  gemfireOnRegionOperations.execute(functionId, args)
 			: gemfireOnRegionOperations.execute(functionId, filter, args));
 	}
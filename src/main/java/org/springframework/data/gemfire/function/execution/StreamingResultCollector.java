@@ -0,0 +1,310 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+import com.gemstone.gemfire.cache.execute.ResultCollector;
+import com.gemstone.gemfire.distributed.DistributedMember;
+
+/**
+ * {@link ResultCollector} handing the results of a Function execution to the caller as they arrive from each member,
+ * through a {@link CloseableIterator}, rather than after all members have finished.
+ *
+ * Results are buffered up to a bounded capacity. When the caller falls behind and the buffer is full,
+ * {@link #addResult(DistributedMember, Object)} blocks the thread receiving the results, i.e. the thread executing
+ * the Function on a client, until the caller consumes a result, so the members are slowed down to the pace of the
+ * caller. Only if no result is consumed within the buffer timeout are the results ended with a
+ * {@link FunctionException}, rethrown from the iterator, and all further results discarded. With a buffer timeout
+ * of 0, a full buffer fails the results immediately, which never blocks the receiving thread. Closing the iterator
+ * discards the buffered and all further results.
+ *
+ * When GemFire retries the execution on other members after a member failed, the results received so far are
+ * cleared. If the caller has already consumed some of them, the retry would deliver those results again,
+ * so the results are failed instead.
+ *
+ * A result that is a {@link Throwable} (e.g. sent by a member with {@code ResultSender#sendException(Throwable)})
+ * is rethrown from the iterator as a {@link FunctionException}.
+ *
+ * @author agent
+ * @param <T> the type of the results
+ * @see com.gemstone.gemfire.cache.execute.ResultCollector
+ * @see org.springframework.data.util.CloseableIterator
+ * @since 1.9.0
+ */
+public class StreamingResultCollector<T> implements ResultCollector<Object, CloseableIterator<T>> {
+
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	public static final long DEFAULT_BUFFER_TIMEOUT = 60000L;
+
+	private static final Object END_OF_RESULTS = new Object();
+
+	private static final Object NULL_RESULT = new Object();
+
+	// free buffer slots; the END_OF_RESULTS or Failure marker ending the results takes none
+	private final Semaphore slots;
+
+	private final BlockingQueue<Object> results = new LinkedBlockingQueue<Object>();
+
+	private final int capacity;
+
+	private final long bufferTimeout;
+
+	private volatile boolean closed;
+
+	private volatile boolean consumed;
+
+	private volatile boolean ended;
+
+	/**
+	 * Constructs a {@link StreamingResultCollector} buffering up to {@value #DEFAULT_CAPACITY} results.
+	 */
+	public StreamingResultCollector() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a {@link StreamingResultCollector} buffering up to the given number of results, waiting up to
+	 * {@value #DEFAULT_BUFFER_TIMEOUT} ms for a free slot when the buffer is full.
+	 *
+	 * @param capacity the maximum number of buffered results.
+	 */
+	public StreamingResultCollector(int capacity) {
+		this(capacity, DEFAULT_BUFFER_TIMEOUT);
+	}
+
+	/**
+	 * Constructs a {@link StreamingResultCollector} buffering up to the given number of results.
+	 *
+	 * @param capacity the maximum number of buffered results.
+	 * @param bufferTimeout the time, in milliseconds, to wait for a free slot when the buffer is full before
+	 * failing the results; 0 to fail the results as soon as the buffer is full.
+	 */
+	public StreamingResultCollector(int capacity, long bufferTimeout) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		Assert.isTrue(bufferTimeout >= 0, "bufferTimeout must be greater than or equal to 0");
+		this.capacity = capacity;
+		this.bufferTimeout = bufferTimeout;
+		this.slots = new Semaphore(capacity);
+	}
+
+	/**
+	 * Buffers the given result, waiting up to the buffer timeout for the caller to consume a result
+	 * when the buffer is full.
+	 */
+	@Override
+	public void addResult(DistributedMember memberId, Object result) {
+		if (!closed && !ended) {
+			try {
+				if (!slots.tryAcquire(bufferTimeout, TimeUnit.MILLISECONDS)) {
+					end(new Failure(new FunctionException(String.format(
+						"No result consumed within %1$d ms while %2$d results were buffered", bufferTimeout, capacity))));
+				}
+				else if (!closed && !ended) {
+					results.offer(result != null ? result : NULL_RESULT);
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				end(new Failure(new FunctionException("Interrupted while waiting to buffer a result", e)));
+			}
+		}
+	}
+
+	@Override
+	public void endResults() {
+		end(END_OF_RESULTS);
+	}
+
+	/**
+	 * Ends the results with the given failure, e.g. when the Function execution could not be started,
+	 * which is rethrown from the iterator.
+	 *
+	 * @param cause the failure of the Function execution.
+	 */
+	public void fail(Throwable cause) {
+		end(new Failure(cause));
+	}
+
+	/**
+	 * Discards the buffered results before GemFire retries the execution, unless the caller has already consumed
+	 * some results, which the retry would deliver again, in which case the results are failed.
+	 */
+	@Override
+	public synchronized void clearResults() {
+		if (!closed && !ended) {
+			if (consumed) {
+				end(new Failure(new FunctionException(
+					"Function execution retried after results were consumed; the results would be repeated")));
+			}
+			else {
+				results.clear();
+				slots.drainPermits();
+				slots.release(capacity);
+			}
+		}
+	}
+
+	@Override
+	public CloseableIterator<T> getResult() throws FunctionException {
+		return new ResultIterator(0);
+	}
+
+	/**
+	 * Returns the iterator over the results, which waits at most the given timeout for each next result.
+	 *
+	 * @param timeout the maximum time to wait for each next result.
+	 * @param unit the unit of the timeout.
+	 * @return the iterator over the results.
+	 */
+	@Override
+	public CloseableIterator<T> getResult(long timeout, TimeUnit unit) throws FunctionException {
+		return new ResultIterator(unit.toMillis(timeout));
+	}
+
+	/**
+	 * Determines whether the results are no longer consumed.
+	 *
+	 * @return a boolean indicating whether the iterator over the results has been closed.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/* only the first END_OF_RESULTS or Failure marker ends the results; waiting producers discard their results */
+	private synchronized void end(Object marker) {
+		if (!closed && !ended) {
+			ended = true;
+			results.offer(marker);
+			slots.release(capacity);
+		}
+	}
+
+	/**
+	 * Failure of the Function execution, ending the results.
+	 */
+	private static final class Failure {
+
+		private final Throwable cause;
+
+		Failure(Throwable cause) {
+			this.cause = cause;
+		}
+	}
+
+	/**
+	 * Blocking iterator over the buffered results.
+	 */
+	private class ResultIterator implements CloseableIterator<T> {
+
+		private final long timeout;
+
+		private Object next;
+
+		ResultIterator(long timeout) {
+			this.timeout = timeout;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !closed) {
+				next = take();
+			}
+
+			if (next instanceof Failure) {
+				Throwable cause = ((Failure) next).cause;
+				close();
+				throw (cause instanceof FunctionException ? (FunctionException) cause : new FunctionException(cause));
+			}
+
+			return (next != null && next != END_OF_RESULTS);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			Object result = next;
+
+			next = null;
+
+			if (result == NULL_RESULT) {
+				return null;
+			}
+
+			if (result instanceof Throwable) {
+				close();
+				throw new FunctionException("Function execution failed", (Throwable) result);
+			}
+
+			return (T) result;
+		}
+
+		/* (non-Javadoc) */
+		private Object take() {
+			try {
+				Object result;
+
+				if (timeout > 0) {
+					result = results.poll(timeout, TimeUnit.MILLISECONDS);
+
+					if (result == null) {
+						close();
+						throw new FunctionException(String.format("No result received within %1$d ms", timeout));
+					}
+				}
+				else {
+					result = results.take();
+				}
+
+				if (result != END_OF_RESULTS && !(result instanceof Failure)) {
+					consumed = true;
+					slots.release();
+				}
+
+				return result;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new FunctionException("Interrupted while waiting for results", e);
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Not Implemented!");
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+			next = END_OF_RESULTS;
+			results.clear();
+			// releases a producer waiting for a free slot, which then discards its result
+			slots.release(capacity);
+		}
+	}
+}
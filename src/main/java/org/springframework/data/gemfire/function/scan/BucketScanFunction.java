@@ -0,0 +1,236 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.scan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.execute.Function;
+import com.gemstone.gemfire.cache.execute.FunctionContext;
+import com.gemstone.gemfire.cache.execute.FunctionException;
+import com.gemstone.gemfire.cache.execute.RegionFunctionContext;
+import com.gemstone.gemfire.cache.execute.ResultSender;
+import com.gemstone.gemfire.cache.partition.PartitionRegionHelper;
+import com.gemstone.gemfire.internal.cache.BucketRegion;
+import com.gemstone.gemfire.internal.cache.PartitionedRegion;
+import com.gemstone.gemfire.internal.cache.PartitionedRegionDataStore;
+
+/**
+ * Region {@link Function} reading the entries of a single bucket of a partitioned Region on the member hosting
+ * its primary copy. A Region that is not partitioned is read as a single bucket.
+ *
+ * Invoked without a bucket id, the Function returns the total number of buckets of the Region.
+ * Invoked with the arguments [bucket id, chunk size], each member sends the entries of the bucket in {@link Map}
+ * chunks of at most chunk size entries if it hosts the primary copy of the bucket, followed by a {@link Boolean}
+ * last result telling whether it did, so that the caller can detect buckets that moved, or were read
+ * twice, while the primary was being reassigned. GemFire creates buckets lazily, on the first entry put into them;
+ * a member that finds that no member hosts the bucket sends {@link #UNALLOCATED_BUCKET} instead, and the bucket
+ * is read as empty.
+ *
+ * Public GemFire API only exposes the local primary data of a partitioned Region as a whole, so reading
+ * a single bucket and determining whether it is allocated depends on GemFire's internal
+ * {@link PartitionedRegion} API ({@link PartitionedRegionDataStore}, {@link BucketRegion} and the region advisor).
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.scan.RegionScanIterator
+ * @since 1.9.0
+ */
+@SuppressWarnings("serial")
+public class BucketScanFunction implements Function {
+
+	public static final String ID = BucketScanFunction.class.getName();
+
+	/**
+	 * Last result of a member reporting that the bucket is not hosted by any member, i.e. has never been allocated.
+	 */
+	public static final String UNALLOCATED_BUCKET = "UNALLOCATED_BUCKET";
+
+	@Override
+	public void execute(FunctionContext functionContext) {
+		Assert.isInstanceOf(RegionFunctionContext.class, functionContext,
+			"the bucket scan Function must be executed on a Region");
+
+		Region<?, ?> region = ((RegionFunctionContext) functionContext).getDataSet();
+		Object[] arguments = (Object[]) functionContext.getArguments();
+		ResultSender<Object> resultSender = functionContext.getResultSender();
+
+		if (arguments == null || arguments.length == 0 || arguments[0] == null) {
+			resultSender.lastResult(getTotalNumberOfBuckets(region));
+		}
+		else {
+			Assert.isTrue(arguments.length == 2, "the bucket id and chunk size arguments are required");
+
+			int bucketId = (Integer) arguments[0];
+
+			Map<?, ?> bucket = getLocalPrimaryBucket(region, bucketId);
+
+			if (bucket != null) {
+				sendEntries(bucket, (Integer) arguments[1], resultSender);
+				resultSender.lastResult(Boolean.TRUE);
+			}
+			else {
+				resultSender.lastResult(isAllocated(region, bucketId) ? Boolean.FALSE : UNALLOCATED_BUCKET);
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	static int getTotalNumberOfBuckets(Region<?, ?> region) {
+		return (PartitionRegionHelper.isPartitionedRegion(region)
+			? region.getAttributes().getPartitionAttributes().getTotalNumBuckets() : 1);
+	}
+
+	/* (non-Javadoc) */
+	static Map<?, ?> getLocalPrimaryBucket(Region<?, ?> region, int bucketId) {
+		if (region instanceof PartitionedRegion) {
+			PartitionedRegionDataStore dataStore = ((PartitionedRegion) region).getDataStore();
+			BucketRegion bucket = (dataStore != null ? dataStore.getLocalBucketById(bucketId) : null);
+
+			return (bucket != null && bucket.getBucketAdvisor().isPrimary() ? bucket : null);
+		}
+
+		return (bucketId == 0 ? region : null);
+	}
+
+	/* a bucket hosted by no member, not even a redundant copy, has never been created (internal API) */
+	static boolean isAllocated(Region<?, ?> region, int bucketId) {
+		if (region instanceof PartitionedRegion) {
+			PartitionedRegion partitionedRegion = (PartitionedRegion) region;
+			PartitionedRegionDataStore dataStore = partitionedRegion.getDataStore();
+
+			return ((dataStore != null && dataStore.getLocalBucketById(bucketId) != null)
+				|| !partitionedRegion.getRegionAdvisor().getBucketOwners(bucketId).isEmpty());
+		}
+
+		return true;
+	}
+
+	/* (non-Javadoc) */
+	static void sendEntries(Map<?, ?> data, int chunkSize, ResultSender<Object> resultSender) {
+		Map<Object, Object> chunk = new HashMap<Object, Object>();
+
+		for (Map.Entry<?, ?> entry : data.entrySet()) {
+			// skip invalidated entries
+			if (entry.getValue() != null) {
+				chunk.put(entry.getKey(), entry.getValue());
+
+				if (chunk.size() >= chunkSize) {
+					resultSender.sendResult(chunk);
+					chunk = new HashMap<Object, Object>();
+				}
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			resultSender.sendResult(chunk);
+		}
+	}
+
+	/**
+	 * Returns the total number of buckets from the results of an execution without a bucket id.
+	 *
+	 * @param results the results of the Function execution.
+	 * @return the total number of buckets of the Region.
+	 */
+	public static int getTotalNumberOfBuckets(Iterable<?> results) {
+		int totalNumberOfBuckets = 0;
+
+		for (Object result : results) {
+			if (result instanceof Throwable) {
+				throw new FunctionException("failed to get the number of buckets", (Throwable) result);
+			}
+
+			totalNumberOfBuckets = Math.max(totalNumberOfBuckets, (Integer) result);
+		}
+
+		return totalNumberOfBuckets;
+	}
+
+	/**
+	 * Returns the chunks of entries of a bucket from the results of an execution with the bucket id, provided that
+	 * exactly one member read the bucket as its primary, or no chunks if the bucket has never been allocated.
+	 *
+	 * @param bucketId the id of the bucket read.
+	 * @param results the results of the Function execution.
+	 * @return the chunks of entries of the bucket.
+	 * @throws FunctionException if no member, or more than one member, read the allocated bucket.
+	 */
+	public static List<Map<?, ?>> getChunks(int bucketId, Iterable<?> results) {
+		List<Map<?, ?>> chunks = new ArrayList<Map<?, ?>>();
+		boolean allocated = false;
+		boolean unallocated = false;
+		int readCount = 0;
+
+		for (Object result : results) {
+			if (result instanceof Map) {
+				chunks.add((Map<?, ?>) result);
+			}
+			else if (Boolean.TRUE.equals(result)) {
+				readCount++;
+			}
+			else if (Boolean.FALSE.equals(result)) {
+				allocated = true;
+			}
+			else if (UNALLOCATED_BUCKET.equals(result)) {
+				unallocated = true;
+			}
+			else if (result instanceof Throwable) {
+				throw new FunctionException(String.format("failed to read bucket %1$d", bucketId), (Throwable) result);
+			}
+		}
+
+		// unless another member saw the bucket being created in the meantime
+		if (readCount == 0 && unallocated && !allocated) {
+			return chunks;
+		}
+
+		if (readCount != 1) {
+			throw new FunctionException(String.format("bucket %1$d was read by %2$d members instead of 1;"
+				+ " its primary may be moving", bucketId, readCount));
+		}
+
+		return chunks;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean hasResult() {
+		return true;
+	}
+
+	/**
+	 * Failed bucket reads are retried by the {@link RegionScanIterator}, bucket by bucket.
+	 */
+	@Override
+	public boolean isHA() {
+		return false;
+	}
+
+	/**
+	 * Only members hosting primary buckets can read a bucket.
+	 */
+	@Override
+	public boolean optimizeForWrite() {
+		return true;
+	}
+
+}
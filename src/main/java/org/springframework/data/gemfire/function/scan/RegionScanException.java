@@ -0,0 +1,40 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.scan;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+
+/**
+ * Thrown when a Region scan fails, carrying the bucket checkpoint from which the scan can be resumed.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.scan.RegionScanIterator#getCheckpoint()
+ * @since 1.9.0
+ */
+@SuppressWarnings("serial")
+public class RegionScanException extends FunctionException {
+
+	private final int checkpoint;
+
+	public RegionScanException(String message, int checkpoint, Throwable cause) {
+		super(message, cause);
+		this.checkpoint = checkpoint;
+	}
+
+	/**
+	 * @return the first bucket whose entries were not all returned, from which the scan can be resumed.
+	 */
+	public int getCheckpoint() {
+		return checkpoint;
+	}
+}
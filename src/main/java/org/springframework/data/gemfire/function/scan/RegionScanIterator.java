@@ -0,0 +1,253 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.scan;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.Assert;
+
+/**
+ * Lazy {@link CloseableIterator} over the entries of a Region, read bucket by bucket through a {@link BucketReader}
+ * with a bounded number of buckets read ahead in parallel. Entries are returned in bucket order, so at most
+ * the entries of the buckets in flight are held in memory.
+ *
+ * A failed bucket read is retried up to the configured number of times before the scan fails with
+ * a {@link RegionScanException}. The scan can then be resumed from {@link #getCheckpoint()}, the first bucket
+ * whose entries were not all returned; the entries of that bucket already returned are returned again.
+ *
+ * @param <K> the type of the Region keys.
+ * @param <V> the type of the Region values.
+ * @author agent
+ * @see org.springframework.data.gemfire.function.scan.BucketScanFunction
+ * @since 1.9.0
+ */
+public class RegionScanIterator<K, V> implements CloseableIterator<Map.Entry<K, V>> {
+
+	static final long RETRY_INTERVAL = 100L;
+
+	private boolean closed;
+
+	private volatile int checkpoint;
+
+	private int nextBucket;
+
+	private final int bucketsInFlight;
+	private final int maxRetries;
+	private final int totalNumberOfBuckets;
+
+	private final BucketReader reader;
+
+	private final Executor executor;
+
+	private final LinkedList<BucketRead> reads = new LinkedList<BucketRead>();
+
+	private BucketRead currentRead;
+
+	private Iterator<Map<?, ?>> chunks = Collections.<Map<?, ?>>emptyList().iterator();
+
+	private Iterator<? extends Map.Entry<?, ?>> entries = Collections.<Map.Entry<?, ?>>emptyList().iterator();
+
+	/**
+	 * Constructs an iterator scanning the Region from the given bucket.
+	 *
+	 * @param reader the {@link BucketReader} reading the buckets.
+	 * @param executor the {@link Executor} reading the buckets in parallel.
+	 * @param fromBucket the first bucket to read, e.g. the checkpoint of a failed scan.
+	 * @param bucketsInFlight the maximum number of buckets read ahead.
+	 * @param maxRetries the number of times a failed bucket read is retried.
+	 */
+	public RegionScanIterator(BucketReader reader, Executor executor, int fromBucket, int bucketsInFlight,
+			int maxRetries) {
+
+		Assert.notNull(reader, "BucketReader must not be null");
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(fromBucket >= 0, "fromBucket must not be negative");
+		Assert.isTrue(bucketsInFlight > 0, "bucketsInFlight must be greater than 0");
+		Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+
+		this.reader = reader;
+		this.executor = executor;
+		this.bucketsInFlight = bucketsInFlight;
+		this.maxRetries = maxRetries;
+		this.totalNumberOfBuckets = reader.getTotalNumberOfBuckets();
+		this.checkpoint = fromBucket;
+		this.nextBucket = fromBucket;
+
+		readAhead();
+	}
+
+	private void readAhead() {
+		while (reads.size() < bucketsInFlight && nextBucket < totalNumberOfBuckets) {
+			BucketRead read = new BucketRead(nextBucket, newReadTask(nextBucket));
+			nextBucket++;
+			reads.add(read);
+			executor.execute(read);
+		}
+	}
+
+	private Callable<List<Map<?, ?>>> newReadTask(final int bucketId) {
+		return new Callable<List<Map<?, ?>>>() {
+			@Override
+			public List<Map<?, ?>> call() throws Exception {
+				for (int attempt = 0; ; attempt++) {
+					try {
+						return reader.read(bucketId);
+					}
+					catch (RuntimeException e) {
+						if (attempt >= maxRetries) {
+							throw e;
+						}
+
+						Thread.sleep(RETRY_INTERVAL * (attempt + 1));
+					}
+				}
+			}
+		};
+	}
+
+	@Override
+	public synchronized boolean hasNext() {
+		while (!entries.hasNext()) {
+			if (chunks.hasNext()) {
+				entries = chunks.next().entrySet().iterator();
+			}
+			else if (closed || reads.isEmpty()) {
+				return false;
+			}
+			else {
+				advanceCheckpoint();
+				currentRead = reads.removeFirst();
+				readAhead();
+				chunks = awaitChunks(currentRead).iterator();
+				advanceCheckpoint();
+			}
+		}
+
+		return true;
+	}
+
+	private List<Map<?, ?>> awaitChunks(BucketRead read) {
+		try {
+			return read.get();
+		}
+		catch (ExecutionException e) {
+			close();
+			throw new RegionScanException(String.format("failed to read bucket %1$d after %2$d attempts",
+				read.bucketId, maxRetries + 1), read.bucketId, e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+			throw new RegionScanException(String.format("interrupted while reading bucket %1$d", read.bucketId),
+				read.bucketId, e);
+		}
+	}
+
+	/* the current bucket is done once all its entries have been returned */
+	private void advanceCheckpoint() {
+		if (currentRead != null && !entries.hasNext() && !chunks.hasNext()) {
+			checkpoint = currentRead.bucketId + 1;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized Map.Entry<K, V> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		Map.Entry<K, V> entry = (Map.Entry<K, V>) entries.next();
+
+		advanceCheckpoint();
+
+		return entry;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Region scans are read-only");
+	}
+
+	/**
+	 * @return the first bucket whose entries were not all returned, from which the scan can be resumed.
+	 */
+	public int getCheckpoint() {
+		return checkpoint;
+	}
+
+	/**
+	 * @return the total number of buckets of the Region.
+	 */
+	public int getTotalNumberOfBuckets() {
+		return totalNumberOfBuckets;
+	}
+
+	/**
+	 * Stops the scan, cancelling the bucket reads in flight.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+
+		for (BucketRead read : reads) {
+			read.cancel(true);
+		}
+
+		reads.clear();
+		chunks = Collections.<Map<?, ?>>emptyList().iterator();
+		entries = Collections.<Map.Entry<?, ?>>emptyList().iterator();
+	}
+
+	/**
+	 * Reads the buckets of a Region, typically through the {@link BucketScanFunction}.
+	 */
+	public interface BucketReader {
+
+		/**
+		 * @return the total number of buckets of the Region.
+		 */
+		int getTotalNumberOfBuckets();
+
+		/**
+		 * Reads the entries of the given bucket.
+		 *
+		 * @param bucketId the id of the bucket.
+		 * @return the chunks of entries of the bucket.
+		 * @throws RuntimeException if the bucket could not be read.
+		 */
+		List<Map<?, ?>> read(int bucketId);
+
+	}
+
+	/* (non-Javadoc) */
+	static class BucketRead extends FutureTask<List<Map<?, ?>>> {
+
+		final int bucketId;
+
+		BucketRead(int bucketId, Callable<List<Map<?, ?>>> task) {
+			super(task);
+			this.bucketId = bucketId;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Bucket by bucket scans of (partitioned) Regions from clients, reading a bounded number of buckets in parallel
+ * and resuming from a bucket checkpoint after failures.
+ */
+package org.springframework.data.gemfire.function.scan;
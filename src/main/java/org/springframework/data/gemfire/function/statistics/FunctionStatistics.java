@@ -0,0 +1,320 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gemstone.gemfire.Statistics;
+
+/**
+ * Thread-safe statistics of the executions of a single Function, on either the server or the client side
+ * (see {@link FunctionStatisticsRegistry}). Once bound to GemFire {@link Statistics}
+ * by the {@link GemfireFunctionStatisticsExporter}, all counters are mirrored to the GemFire statistics
+ * so they are sampled into the statistics archive.
+ *
+ * On the client side, statistics are kept per Function ID, or per Function class name for an unregistered Function
+ * without ID. The client cannot observe the chunks GemFire receives, so each result is counted as a chunk, and only
+ * when the results are a {@link java.util.Collection} (e.g. not for a custom
+ * {@link com.gemstone.gemfire.cache.execute.ResultCollector} reducing the results); no result bytes are recorded.
+ * A timeout is inferred from a failed execution that took at least the configured timeout, since GemFire reports
+ * timeouts as a plain {@link com.gemstone.gemfire.cache.execute.FunctionException}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatisticsRegistry
+ * @see org.springframework.data.gemfire.function.statistics.LatencyHistogram
+ * @since 1.9.0
+ */
+public class FunctionStatistics implements FunctionStatisticsMBean {
+
+	static final int EXECUTIONS = 0;
+	static final int FAILURES = 1;
+	static final int TIMEOUTS = 2;
+	static final int ARGUMENT_RESOLUTION_TIME = 3;
+	static final int EXECUTION_TIME = 4;
+	static final int RESULT_CHUNKS = 5;
+	static final int RESULT_BYTES = 6;
+
+	/* names of the GemFire statistics, indexed by the constants above */
+	static final String[] STATISTIC_NAMES = { "executions", "failures", "timeouts", "argumentResolutionTime",
+		"executionTime", "resultChunks", "resultBytes" };
+
+	private final AtomicLong argumentResolutionTime = new AtomicLong();
+	private final AtomicLong executionCount = new AtomicLong();
+	private final AtomicLong executionTime = new AtomicLong();
+	private final AtomicLong failureCount = new AtomicLong();
+	private final AtomicLong maxExecutionTime = new AtomicLong();
+	private final AtomicLong resultBytes = new AtomicLong();
+	private final AtomicLong resultChunkCount = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	private final LatencyHistogram executionTimes = new LatencyHistogram();
+
+	private final String functionId;
+	private final String side;
+
+	private volatile GemfireStatistics gemfireStatistics;
+
+	FunctionStatistics(String side, String functionId) {
+		this.side = side;
+		this.functionId = functionId;
+	}
+
+	/**
+	 * Records the resolution of the arguments of an execution.
+	 *
+	 * @param nanos the time spent resolving the arguments in nanoseconds.
+	 */
+	public void recordArgumentResolution(long nanos) {
+		argumentResolutionTime.addAndGet(nanos);
+		mirror(ARGUMENT_RESOLUTION_TIME, nanos);
+	}
+
+	/**
+	 * Records a completed execution.
+	 *
+	 * @param nanos the duration of the execution in nanoseconds.
+	 */
+	public void recordExecution(long nanos) {
+		executionCount.incrementAndGet();
+		executionTime.addAndGet(nanos);
+		executionTimes.record(nanos);
+
+		for (long max = maxExecutionTime.get(); nanos > max; max = maxExecutionTime.get()) {
+			if (maxExecutionTime.compareAndSet(max, nanos)) {
+				break;
+			}
+		}
+
+		mirror(EXECUTIONS, 1);
+		mirror(EXECUTION_TIME, nanos);
+	}
+
+	/**
+	 * Records a failed execution.
+	 */
+	public void recordFailure() {
+		failureCount.incrementAndGet();
+		mirror(FAILURES, 1);
+	}
+
+	/**
+	 * Records an execution whose results were not all received in time.
+	 */
+	public void recordTimeout() {
+		timeoutCount.incrementAndGet();
+		mirror(TIMEOUTS, 1);
+	}
+
+	/**
+	 * Records result chunks sent or received.
+	 *
+	 * @param chunks the number of chunks.
+	 * @param bytes the (estimated) size of the chunks in bytes, or 0 if not known.
+	 */
+	public void recordResultChunks(long chunks, long bytes) {
+		resultChunkCount.addAndGet(chunks);
+		resultBytes.addAndGet(bytes);
+		mirror(RESULT_CHUNKS, chunks);
+		mirror(RESULT_BYTES, bytes);
+	}
+
+	private void mirror(int statistic, long delta) {
+		GemfireStatistics gemfireStatistics = this.gemfireStatistics;
+
+		if (gemfireStatistics != null && delta != 0) {
+			gemfireStatistics.inc(statistic, delta);
+		}
+	}
+
+	/**
+	 * Mirrors the counters to the given GemFire {@link Statistics}, initialized with the current values.
+	 *
+	 * @param statistics the GemFire {@link Statistics} or {@literal null} to stop mirroring.
+	 */
+	synchronized void bind(Statistics statistics) {
+		if (statistics == null) {
+			gemfireStatistics = null;
+		}
+		else {
+			GemfireStatistics gemfireStatistics = new GemfireStatistics(statistics);
+
+			gemfireStatistics.set(EXECUTIONS, getExecutionCount());
+			gemfireStatistics.set(FAILURES, getFailureCount());
+			gemfireStatistics.set(TIMEOUTS, getTimeoutCount());
+			gemfireStatistics.set(ARGUMENT_RESOLUTION_TIME, argumentResolutionTime.get());
+			gemfireStatistics.set(EXECUTION_TIME, executionTime.get());
+			gemfireStatistics.set(RESULT_CHUNKS, getResultChunkCount());
+			gemfireStatistics.set(RESULT_BYTES, getResultBytes());
+
+			this.gemfireStatistics = gemfireStatistics;
+		}
+	}
+
+	/**
+	 * @return the GemFire {@link Statistics} the counters are mirrored to, or {@literal null}.
+	 */
+	Statistics getGemfireStatistics() {
+		GemfireStatistics gemfireStatistics = this.gemfireStatistics;
+		return (gemfireStatistics != null ? gemfireStatistics.statistics : null);
+	}
+
+	@Override
+	public String getFunctionId() {
+		return functionId;
+	}
+
+	/**
+	 * @return the side the executions are recorded on, i.e. "server" or "client".
+	 */
+	@Override
+	public String getSide() {
+		return side;
+	}
+
+	@Override
+	public long getExecutionCount() {
+		return executionCount.get();
+	}
+
+	@Override
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	@Override
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * @return the total time spent resolving arguments in microseconds.
+	 */
+	@Override
+	public long getArgumentResolutionTime() {
+		return TimeUnit.NANOSECONDS.toMicros(argumentResolutionTime.get());
+	}
+
+	/**
+	 * @return the total duration of the executions in microseconds.
+	 */
+	@Override
+	public long getExecutionTime() {
+		return TimeUnit.NANOSECONDS.toMicros(executionTime.get());
+	}
+
+	/**
+	 * @return the average duration of the executions in microseconds, or 0 if none completed.
+	 */
+	@Override
+	public double getAverageExecutionTime() {
+		long executionCount = getExecutionCount();
+		return (executionCount > 0 ? executionTime.get() / 1000.0d / executionCount : 0.0d);
+	}
+
+	@Override
+	public long getExecutionTime50thPercentile() {
+		return getExecutionTimePercentile(50.0d);
+	}
+
+	@Override
+	public long getExecutionTime99thPercentile() {
+		return getExecutionTimePercentile(99.0d);
+	}
+
+	/**
+	 * @return the maximum duration of an execution in microseconds.
+	 */
+	@Override
+	public long getMaxExecutionTime() {
+		return TimeUnit.NANOSECONDS.toMicros(maxExecutionTime.get());
+	}
+
+	@Override
+	public long getResultChunkCount() {
+		return resultChunkCount.get();
+	}
+
+	@Override
+	public long getResultBytes() {
+		return resultBytes.get();
+	}
+
+	/**
+	 * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive).
+	 * @return the (approximate) percentile of the execution durations in microseconds.
+	 * @see LatencyHistogram#getPercentile(double)
+	 */
+	@Override
+	public long getExecutionTimePercentile(double percentile) {
+		return executionTimes.getPercentile(percentile);
+	}
+
+	/**
+	 * @return the histogram of the execution durations.
+	 */
+	public LatencyHistogram getExecutionTimes() {
+		return executionTimes;
+	}
+
+	/**
+	 * Resets all counters, leaving the GemFire statistics, which are monotonic counters, untouched.
+	 */
+	@Override
+	public void reset() {
+		argumentResolutionTime.set(0);
+		executionCount.set(0);
+		executionTime.set(0);
+		failureCount.set(0);
+		maxExecutionTime.set(0);
+		resultBytes.set(0);
+		resultChunkCount.set(0);
+		timeoutCount.set(0);
+		executionTimes.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("{ function = %1$s, side = %2$s, executions = %3$d, failures = %4$d, timeouts = %5$d,"
+			+ " p50 = %6$dus, p99 = %7$dus }", getFunctionId(), getSide(), getExecutionCount(), getFailureCount(),
+				getTimeoutCount(), getExecutionTime50thPercentile(), getExecutionTime99thPercentile());
+	}
+
+	/**
+	 * GemFire {@link Statistics} with the ids of the statistics resolved once.
+	 */
+	static final class GemfireStatistics {
+
+		private final Statistics statistics;
+
+		private final int[] ids = new int[STATISTIC_NAMES.length];
+
+		GemfireStatistics(Statistics statistics) {
+			this.statistics = statistics;
+
+			for (int statistic = 0; statistic < ids.length; statistic++) {
+				ids[statistic] = statistics.nameToId(STATISTIC_NAMES[statistic]);
+			}
+		}
+
+		void inc(int statistic, long delta) {
+			if (!statistics.isClosed()) {
+				statistics.incLong(ids[statistic], delta);
+			}
+		}
+
+		void set(int statistic, long value) {
+			statistics.setLong(ids[statistic], value);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+/**
+ * JMX management interface of {@link FunctionStatistics}. Times are reported in microseconds.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatistics
+ * @since 1.9.0
+ */
+public interface FunctionStatisticsMBean {
+
+	String getFunctionId();
+
+	String getSide();
+
+	long getExecutionCount();
+
+	long getFailureCount();
+
+	long getTimeoutCount();
+
+	long getArgumentResolutionTime();
+
+	long getExecutionTime();
+
+	double getAverageExecutionTime();
+
+	long getExecutionTime50thPercentile();
+
+	long getExecutionTime99thPercentile();
+
+	long getMaxExecutionTime();
+
+	long getResultChunkCount();
+
+	long getResultBytes();
+
+	long getExecutionTimePercentile(double percentile);
+
+	void reset();
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Registers the {@link FunctionStatistics} of each Function as an MBean named
+ * {@literal org.springframework.data.gemfire:type=FunctionStatistics,side=<side>,function=<function ID>},
+ * including the statistics of Functions first executed after this exporter was initialized.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatisticsMBean
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatisticsRegistry
+ * @since 1.9.0
+ */
+public class FunctionStatisticsMBeanExporter implements InitializingBean, DisposableBean,
+		FunctionStatisticsRegistry.Listener {
+
+	public static final String DEFAULT_DOMAIN = "org.springframework.data.gemfire";
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private List<FunctionStatisticsRegistry> registries = Arrays.asList(FunctionStatisticsRegistry.SERVER,
+		FunctionStatisticsRegistry.CLIENT);
+
+	private MBeanServer server;
+
+	private final Set<ObjectName> registeredNames = new CopyOnWriteArraySet<ObjectName>();
+
+	private String domain = DEFAULT_DOMAIN;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (server == null) {
+			server = ManagementFactory.getPlatformMBeanServer();
+		}
+
+		for (FunctionStatisticsRegistry registry : registries) {
+			registry.addListener(this);
+
+			for (FunctionStatistics statistics : registry.getAllStatistics()) {
+				statisticsCreated(statistics);
+			}
+		}
+	}
+
+	@Override
+	public void statisticsCreated(FunctionStatistics statistics) {
+		try {
+			ObjectName name = getObjectName(statistics);
+
+			if (!server.isRegistered(name)) {
+				server.registerMBean(statistics, name);
+				registeredNames.add(name);
+			}
+		}
+		catch (JMException e) {
+			logger.warn(String.format("failed to register the statistics of Function [%1$s] with JMX",
+				statistics.getFunctionId()), e);
+		}
+	}
+
+	/**
+	 * Returns the name of the MBean of the given statistics.
+	 *
+	 * @param statistics the {@link FunctionStatistics} to name.
+	 * @return the {@link ObjectName} of the MBean.
+	 * @throws JMException if the name is malformed.
+	 */
+	protected ObjectName getObjectName(FunctionStatistics statistics) throws JMException {
+		return new ObjectName(String.format("%1$s:type=FunctionStatistics,side=%2$s,function=%3$s", domain,
+			statistics.getSide(), ObjectName.quote(statistics.getFunctionId())));
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (FunctionStatisticsRegistry registry : registries) {
+			registry.removeListener(this);
+		}
+
+		for (ObjectName name : registeredNames) {
+			try {
+				server.unregisterMBean(name);
+			}
+			catch (JMException ignore) {
+			}
+		}
+
+		registeredNames.clear();
+	}
+
+	/**
+	 * Sets the JMX domain of the MBeans. Defaults to {@value #DEFAULT_DOMAIN}.
+	 *
+	 * @param domain the JMX domain.
+	 */
+	public void setDomain(String domain) {
+		this.domain = domain;
+	}
+
+	/**
+	 * Sets the registries whose statistics are exported. Defaults to both the server and client registries.
+	 *
+	 * @param registries the {@link FunctionStatisticsRegistry FunctionStatisticsRegistries} to export.
+	 */
+	public void setRegistries(List<FunctionStatisticsRegistry> registries) {
+		this.registries = registries;
+	}
+
+	/**
+	 * Sets the {@link MBeanServer} the MBeans are registered with. Defaults to the platform {@link MBeanServer}.
+	 *
+	 * @param server the {@link MBeanServer}.
+	 */
+	public void setServer(MBeanServer server) {
+		this.server = server;
+	}
+}
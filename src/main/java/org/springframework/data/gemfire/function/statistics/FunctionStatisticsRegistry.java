@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.util.Assert;
+
+/**
+ * Registry of the {@link FunctionStatistics} per Function ID. The {@link #SERVER} registry holds the statistics
+ * of the Functions executed by this member (recorded by the
+ * {@link org.springframework.data.gemfire.function.PojoFunctionWrapper}), the {@link #CLIENT} registry those of
+ * the Functions executed on behalf of this member through the Function templates.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatistics
+ * @since 1.9.0
+ */
+public class FunctionStatisticsRegistry {
+
+	public static final FunctionStatisticsRegistry CLIENT = new FunctionStatisticsRegistry("client");
+
+	public static final FunctionStatisticsRegistry SERVER = new FunctionStatisticsRegistry("server");
+
+	private volatile boolean resultBytesRecorded;
+
+	private final ConcurrentMap<String, FunctionStatistics> statistics =
+		new ConcurrentHashMap<String, FunctionStatistics>();
+
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+	private final String side;
+
+	FunctionStatisticsRegistry(String side) {
+		this.side = side;
+	}
+
+	/**
+	 * Returns the statistics of the Function with the given ID, creating them on first use.
+	 *
+	 * @param functionId the ID of the Function.
+	 * @return the {@link FunctionStatistics} of the Function.
+	 */
+	public FunctionStatistics getStatistics(String functionId) {
+		Assert.hasText(functionId, "functionId must not be empty");
+
+		FunctionStatistics functionStatistics = statistics.get(functionId);
+
+		if (functionStatistics == null) {
+			FunctionStatistics newFunctionStatistics = new FunctionStatistics(side, functionId);
+
+			functionStatistics = statistics.putIfAbsent(functionId, newFunctionStatistics);
+
+			if (functionStatistics == null) {
+				functionStatistics = newFunctionStatistics;
+
+				for (Listener listener : listeners) {
+					listener.statisticsCreated(functionStatistics);
+				}
+			}
+		}
+
+		return functionStatistics;
+	}
+
+	/**
+	 * @return a snapshot of the statistics of all Functions.
+	 */
+	public Collection<FunctionStatistics> getAllStatistics() {
+		return new ArrayList<FunctionStatistics>(statistics.values());
+	}
+
+	/**
+	 * @return the side the statistics are recorded on, i.e. "server" or "client".
+	 */
+	public String getSide() {
+		return side;
+	}
+
+	/**
+	 * Sets whether the (estimated) size of the result chunks is recorded. Since estimating the size of the results
+	 * may cost as much as sending them, it is not recorded by default.
+	 *
+	 * @param resultBytesRecorded whether to record the size of the result chunks.
+	 */
+	public void setResultBytesRecorded(boolean resultBytesRecorded) {
+		this.resultBytesRecorded = resultBytesRecorded;
+	}
+
+	public boolean isResultBytesRecorded() {
+		return resultBytesRecorded;
+	}
+
+	/**
+	 * Adds a {@link Listener} notified whenever statistics are created for a Function.
+	 * The statistics existing at that time are returned by {@link #getAllStatistics()}.
+	 *
+	 * @param listener the {@link Listener} to add.
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Resets the statistics of all Functions.
+	 */
+	public void reset() {
+		for (FunctionStatistics functionStatistics : statistics.values()) {
+			functionStatistics.reset();
+		}
+	}
+
+	/**
+	 * Callback notified of the creation of {@link FunctionStatistics}.
+	 */
+	public interface Listener {
+
+		void statisticsCreated(FunctionStatistics statistics);
+
+	}
+}
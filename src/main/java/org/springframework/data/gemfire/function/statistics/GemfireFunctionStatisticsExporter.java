@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.StatisticDescriptor;
+import com.gemstone.gemfire.Statistics;
+import com.gemstone.gemfire.StatisticsFactory;
+import com.gemstone.gemfire.StatisticsType;
+import com.gemstone.gemfire.cache.GemFireCache;
+
+/**
+ * Exports the {@link FunctionStatistics} of each Function as GemFire custom statistics of type
+ * {@value #STATISTICS_TYPE_NAME}, with the text id {@literal <side>:<function ID>}, so they are sampled into
+ * the statistics archive of the member. Times are archived in nanoseconds; the latency histograms, which
+ * GemFire statistics cannot represent, are only exposed through JMX.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatistics
+ * @see com.gemstone.gemfire.StatisticsFactory
+ * @since 1.9.0
+ */
+public class GemfireFunctionStatisticsExporter implements InitializingBean, DisposableBean,
+		FunctionStatisticsRegistry.Listener {
+
+	public static final String STATISTICS_TYPE_NAME = "SpringFunctionStatistics";
+
+	private GemFireCache cache;
+
+	private List<FunctionStatisticsRegistry> registries = Arrays.asList(FunctionStatisticsRegistry.SERVER,
+		FunctionStatisticsRegistry.CLIENT);
+
+	private StatisticsFactory statisticsFactory;
+
+	private StatisticsType statisticsType;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (statisticsFactory == null) {
+			Assert.notNull(cache, "either the cache or the StatisticsFactory is required");
+			statisticsFactory = cache.getDistributedSystem();
+		}
+
+		statisticsType = getStatisticsType(statisticsFactory);
+
+		for (FunctionStatisticsRegistry registry : registries) {
+			registry.addListener(this);
+
+			for (FunctionStatistics statistics : registry.getAllStatistics()) {
+				statisticsCreated(statistics);
+			}
+		}
+	}
+
+	static synchronized StatisticsType getStatisticsType(StatisticsFactory statisticsFactory) {
+		StatisticsType statisticsType = statisticsFactory.findType(STATISTICS_TYPE_NAME);
+
+		if (statisticsType == null) {
+			String[] names = FunctionStatistics.STATISTIC_NAMES;
+
+			statisticsType = statisticsFactory.createType(STATISTICS_TYPE_NAME,
+				"Statistics of the executions of a Function", new StatisticDescriptor[] {
+					statisticsFactory.createLongCounter(names[FunctionStatistics.EXECUTIONS],
+						"Number of completed executions", "operations"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.FAILURES],
+						"Number of failed executions", "operations"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.TIMEOUTS],
+						"Number of executions whose results were not received in time", "operations"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.ARGUMENT_RESOLUTION_TIME],
+						"Total time spent resolving the arguments of the executions", "nanoseconds"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.EXECUTION_TIME],
+						"Total duration of the completed executions", "nanoseconds"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.RESULT_CHUNKS],
+						"Number of result chunks sent or received", "chunks"),
+					statisticsFactory.createLongCounter(names[FunctionStatistics.RESULT_BYTES],
+						"Estimated size of the result chunks sent", "bytes")
+				});
+		}
+
+		return statisticsType;
+	}
+
+	@Override
+	public synchronized void statisticsCreated(FunctionStatistics statistics) {
+		if (statistics.getGemfireStatistics() == null) {
+			statistics.bind(statisticsFactory.createAtomicStatistics(statisticsType,
+				String.format("%1$s:%2$s", statistics.getSide(), statistics.getFunctionId())));
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (FunctionStatisticsRegistry registry : registries) {
+			registry.removeListener(this);
+
+			for (FunctionStatistics functionStatistics : registry.getAllStatistics()) {
+				Statistics statistics = functionStatistics.getGemfireStatistics();
+
+				if (statistics != null) {
+					functionStatistics.bind(null);
+					statistics.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the cache whose {@link com.gemstone.gemfire.distributed.DistributedSystem} creates the statistics.
+	 *
+	 * @param cache the {@link GemFireCache}.
+	 */
+	public void setCache(GemFireCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Sets the registries whose statistics are exported. Defaults to both the server and client registries.
+	 *
+	 * @param registries the {@link FunctionStatisticsRegistry FunctionStatisticsRegistries} to export.
+	 */
+	public void setRegistries(List<FunctionStatisticsRegistry> registries) {
+		this.registries = registries;
+	}
+
+	/**
+	 * Sets the {@link StatisticsFactory} creating the statistics, instead of the distributed system of the cache.
+	 *
+	 * @param statisticsFactory the {@link StatisticsFactory}.
+	 */
+	public void setStatisticsFactory(StatisticsFactory statisticsFactory) {
+		this.statisticsFactory = statisticsFactory;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe, fixed size histogram of latencies with power of two buckets in microseconds, i.e. bucket 0 counts
+ * latencies below 1 microsecond and bucket {@literal n} counts latencies from 2^(n-1) up to 2^n microseconds.
+ * Percentiles are therefore reported as the upper bound of the bucket they fall in, so within a factor of 2.
+ *
+ * @author agent
+ * @since 1.9.0
+ */
+public class LatencyHistogram {
+
+	static final int BUCKET_COUNT = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		buckets.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0))));
+	}
+
+	static int bucketOf(long micros) {
+		return Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+	}
+
+	static long upperBoundOf(int bucket) {
+		return (1L << bucket);
+	}
+
+	/**
+	 * @return the number of recorded latencies.
+	 */
+	public long getCount() {
+		long count = 0;
+
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			count += buckets.get(bucket);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the given percentile of the recorded latencies, as the upper bound of the bucket it falls in.
+	 *
+	 * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive).
+	 * @return the percentile in microseconds, or 0 if no latency has been recorded.
+	 */
+	public long getPercentile(double percentile) {
+		Assert.isTrue(percentile > 0 && percentile <= 100, "percentile must be greater than 0 and at most 100");
+
+		long[] counts = getBucketCounts();
+		long total = 0;
+
+		for (long count : counts) {
+			total += count;
+		}
+
+		long rank = (long) Math.ceil(total * percentile / 100.0d);
+		long seen = 0;
+
+		for (int bucket = 0; bucket < counts.length && total > 0; bucket++) {
+			seen += counts[bucket];
+
+			if (seen >= rank) {
+				return upperBoundOf(bucket);
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * @return a snapshot of the number of latencies recorded per bucket.
+	 */
+	public long[] getBucketCounts() {
+		long[] counts = new long[BUCKET_COUNT];
+
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			counts[bucket] = buckets.get(bucket);
+		}
+
+		return counts;
+	}
+
+	/**
+	 * Resets all buckets.
+	 */
+	public void reset() {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			buckets.set(bucket, 0);
+		}
+	}
+}
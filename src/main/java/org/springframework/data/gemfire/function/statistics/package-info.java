@@ -0,0 +1,5 @@
+/**
+ * Per Function ID statistics of Function executions, recorded by the server-side POJO Function wrappers
+ * and the client-side Function executions, and exported through JMX and GemFire statistics.
+ */
+package org.springframework.data.gemfire.function.statistics;
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.query.CqEvent;
+
+/**
+ * {@link ContinuousQueryListener} collecting CQ events into windows, bounded by size and time, that are delivered
+ * to a {@link ContinuousQueryBatchListener}. A window is delivered once it holds the maximum number of events,
+ * or once the maximum delay elapsed since its first event, whichever comes first.
+ *
+ * With coalescing enabled, a window only keeps the latest event per key, in the order of the latest events,
+ * so the maximum batch size bounds the number of distinct keys of a window. Events without a key (e.g. errors)
+ * are never coalesced.
+ *
+ * Registered with a {@link ContinuousQueryListenerContainer}, the events are collected on the GemFire dispatch
+ * thread and the windows are delivered, in order, on the task executor of the container. Otherwise, windows are
+ * delivered on the thread completing them.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryBatchListener
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer
+ * @since 1.9.0
+ */
+public class BatchingContinuousQueryListener implements ContinuousQueryListener, DisposableBean {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	public static final long DEFAULT_MAX_BATCH_DELAY = 100L;
+
+	private boolean coalescing;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private long maxBatchDelay = DEFAULT_MAX_BATCH_DELAY;
+
+	// incremented whenever a window is delivered, so that pending timed deliveries of earlier windows are ignored
+	private long windowId;
+
+	private final ContinuousQueryBatchListener delegate;
+
+	private volatile Executor executor;
+
+	private final Map<Object, CqEvent> window = new LinkedHashMap<Object, CqEvent>();
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Constructs a listener delivering windows of at most {@value #DEFAULT_MAX_BATCH_SIZE} events
+	 * and {@value #DEFAULT_MAX_BATCH_DELAY} milliseconds to the given batch listener.
+	 *
+	 * @param delegate the {@link ContinuousQueryBatchListener} receiving the windows.
+	 */
+	public BatchingContinuousQueryListener(ContinuousQueryBatchListener delegate) {
+		Assert.notNull(delegate, "ContinuousQueryBatchListener must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Constructs a listener delivering windows bounded by the given size and delay to the given batch listener.
+	 *
+	 * @param delegate the {@link ContinuousQueryBatchListener} receiving the windows.
+	 * @param maxBatchSize the maximum number of events (or distinct keys when coalescing) of a window.
+	 * @param maxBatchDelay the maximum delay in milliseconds between the first event of a window and its delivery.
+	 * @param coalescing whether only the latest event per key of a window is delivered.
+	 */
+	public BatchingContinuousQueryListener(ContinuousQueryBatchListener delegate, int maxBatchSize,
+			long maxBatchDelay, boolean coalescing) {
+
+		this(delegate);
+		setMaxBatchSize(maxBatchSize);
+		setMaxBatchDelay(maxBatchDelay);
+		setCoalescing(coalescing);
+	}
+
+	@Override
+	public void onEvent(CqEvent event) {
+		synchronized (window) {
+			Object key = (coalescing && event.getKey() != null ? event.getKey() : new Object());
+
+			// re-inserted, so the window stays in the order of the latest events
+			window.remove(key);
+			window.put(key, event);
+
+			if (window.size() >= maxBatchSize) {
+				deliverWindow();
+			}
+			else if (window.size() == 1) {
+				scheduleDelivery(windowId);
+			}
+		}
+	}
+
+	private void scheduleDelivery(final long scheduledWindowId) {
+		getScheduler().schedule(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (window) {
+					if (windowId == scheduledWindowId) {
+						deliverWindow();
+					}
+				}
+			}
+		}, maxBatchDelay, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				BatchingContinuousQueryListener.class.getSimpleName() + "-");
+
+			threadFactory.setDaemon(true);
+			scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+		}
+
+		return scheduler;
+	}
+
+	/* delivered while holding the window lock, so that windows are delivered in order */
+	private void deliverWindow() {
+		if (!window.isEmpty()) {
+			final List<CqEvent> events = new ArrayList<CqEvent>(window.values());
+
+			window.clear();
+			windowId++;
+
+			Executor executor = this.executor;
+
+			if (executor != null) {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						delegate.onEvents(events);
+					}
+				});
+			}
+			else {
+				delegate.onEvents(events);
+			}
+		}
+	}
+
+	/**
+	 * Delivers the current window, if not empty.
+	 */
+	public void flush() {
+		synchronized (window) {
+			deliverWindow();
+		}
+	}
+
+	/**
+	 * Delivers the current window and stops the timer delivering windows.
+	 */
+	@Override
+	public void destroy() {
+		flush();
+
+		synchronized (this) {
+			if (scheduler != null) {
+				scheduler.shutdownNow();
+				scheduler = null;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of events (or distinct keys when coalescing) of the current window.
+	 */
+	public int getPendingEventCount() {
+		synchronized (window) {
+			return window.size();
+		}
+	}
+
+	public ContinuousQueryBatchListener getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Sets whether only the latest event per key of a window is delivered. Defaults to false.
+	 *
+	 * @param coalescing whether events are coalesced by key.
+	 */
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	public boolean isCoalescing() {
+		return coalescing;
+	}
+
+	/**
+	 * Sets the {@link Executor} delivering the windows, which must run them in order. Set by the
+	 * {@link ContinuousQueryListenerContainer} when not configured.
+	 *
+	 * @param executor the {@link Executor} delivering the windows, or {@literal null} to deliver them
+	 * on the thread completing them.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the maximum delay, in milliseconds, between the first event of a window and its delivery.
+	 * Defaults to {@value #DEFAULT_MAX_BATCH_DELAY}.
+	 *
+	 * @param maxBatchDelay the maximum delay in milliseconds.
+	 */
+	public void setMaxBatchDelay(long maxBatchDelay) {
+		Assert.isTrue(maxBatchDelay > 0, "maxBatchDelay must be greater than 0");
+		this.maxBatchDelay = maxBatchDelay;
+	}
+
+	public long getMaxBatchDelay() {
+		return maxBatchDelay;
+	}
+
+	/**
+	 * Sets the maximum number of events (or distinct keys when coalescing) of a window.
+	 * Defaults to {@value #DEFAULT_MAX_BATCH_SIZE}.
+	 *
+	 * @param maxBatchSize the maximum size of a window.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+}
@@ -33,6 +33,7 @@ import com.gemstone.gemfire.cache.query.CqQuery;
 public class ContinuousQueryDefinition implements InitializingBean {
 
 	private boolean durable = false;
+	private boolean initialResults = false;
 
 	private ContinuousQueryListener listener;
 
@@ -65,6 +66,13 @@ public class ContinuousQueryDefinition implements InitializingBean {
 		afterPropertiesSet();
 	}
 
+	public ContinuousQueryDefinition(String name, String query, ContinuousQueryListener listener, boolean durable,
+			boolean initialResults) {
+
+		this(name, query, listener, durable);
+		this.initialResults = initialResults;
+	}
+
 	public void afterPropertiesSet() {
 		Assert.hasText(query, "A non-empty query is required.");
 		Assert.notNull(listener, "A non-null listener is required.");
@@ -79,6 +87,17 @@ public class ContinuousQueryDefinition implements InitializingBean {
 		return durable;
 	}
 
+	/**
+	 * Determines whether the CQ is executed with initial results, which are delivered to the listener,
+	 * as CREATE events, before the events of the CQ.
+	 *
+	 * @return a boolean indicating if the CQ is executed with initial results.
+	 * @see com.gemstone.gemfire.cache.query.CqQuery#executeWithInitialResults()
+	 */
+	public boolean isInitialResults() {
+		return initialResults;
+	}
+
 	/**
 	 * Gets the name for the CQ.
 	 *
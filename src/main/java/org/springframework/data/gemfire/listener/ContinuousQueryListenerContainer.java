@@ -16,11 +16,24 @@
 
 package org.springframework.data.gemfire.listener;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,18 +44,20 @@ import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.SmartLifecycle;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.gemfire.GemfireQueryException;
 import org.springframework.data.gemfire.GemfireUtils;
 import org.springframework.data.gemfire.client.support.DefaultableDelegatingPoolAdapter;
 import org.springframework.data.gemfire.client.support.DelegatingPoolAdapter;
 import org.springframework.data.gemfire.config.GemfireConstants;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ErrorHandler;
 import org.springframework.util.StringUtils;
 
+import com.gemstone.gemfire.DataSerializer;
+import com.gemstone.gemfire.cache.Operation;
 import com.gemstone.gemfire.cache.RegionService;
 import com.gemstone.gemfire.cache.client.Pool;
 import com.gemstone.gemfire.cache.client.PoolManager;
@@ -51,8 +66,10 @@ import com.gemstone.gemfire.cache.query.CqAttributesFactory;
 import com.gemstone.gemfire.cache.query.CqEvent;
 import com.gemstone.gemfire.cache.query.CqListener;
 import com.gemstone.gemfire.cache.query.CqQuery;
+import com.gemstone.gemfire.cache.query.CqResults;
 import com.gemstone.gemfire.cache.query.QueryException;
 import com.gemstone.gemfire.cache.query.QueryService;
+import com.gemstone.gemfire.cache.query.Struct;
 
 /**
  * Container providing asynchronous behaviour for GemFire continuous queries.
@@ -63,7 +80,7 @@ import com.gemstone.gemfire.cache.query.QueryService;
  * @see org.springframework.beans.factory.DisposableBean
  * @see org.springframework.beans.factory.InitializingBean
  * @see org.springframework.context.SmartLifecycle
- * @see org.springframework.core.task.SimpleAsyncTaskExecutor
+ * @see org.springframework.data.gemfire.listener.StripedTaskExecutor
  * @see org.springframework.core.task.TaskExecutor
  * @see com.gemstone.gemfire.cache.RegionService
  * @see com.gemstone.gemfire.cache.client.Pool
@@ -81,6 +98,9 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 	public static final String DEFAULT_THREAD_NAME_PREFIX = String.format("%1$s-", ClassUtils.getShortName(
 		ContinuousQueryListenerContainer.class));
 
+	// Default maximum number of CQs executed in parallel on start.
+	public static final int DEFAULT_STARTUP_CONCURRENCY = 4;
+
 	private boolean autoStartup = true;
 
 	private volatile boolean initialized = false;
@@ -89,16 +109,30 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 	private int phase = Integer.MAX_VALUE;
 
+	private int queueCapacity = StripedTaskExecutor.DEFAULT_QUEUE_CAPACITY;
+	private int startupConcurrency = DEFAULT_STARTUP_CONCURRENCY;
+
 	private BeanFactory beanFactory;
 
 	private ErrorHandler errorHandler;
 
 	private Executor taskExecutor;
 
+	private File overflowDirectory;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private Queue<CqQuery> continuousQueries = new ConcurrentLinkedQueue<CqQuery>();
 
+	// dispatchers of the CQs executed with initial results
+	private Map<CqQuery, EventDispatcherAdapter> initialResultsDispatchers =
+		new ConcurrentHashMap<CqQuery, EventDispatcherAdapter>();
+
+	// listeners by CQ name, to restore the events spilled to disk
+	private Map<String, ContinuousQueryListener> listeners = new ConcurrentHashMap<String, ContinuousQueryListener>();
+
 	private QueryService queryService;
 
 	private Set<ContinuousQueryDefinition> continuousQueryDefinitions = new LinkedHashSet<ContinuousQueryDefinition>();
@@ -165,20 +199,41 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 			manageExecutor = true;
 		}
 
+		if (taskExecutor instanceof StripedTaskExecutor
+				&& ((StripedTaskExecutor) taskExecutor).getTaskCodec() == null) {
+
+			((StripedTaskExecutor) taskExecutor).setTaskCodec(new EventTaskCodec());
+		}
+
 		return taskExecutor;
 	}
 
 	/**
 	 * Creates a default TaskExecutor. Called if no explicit TaskExecutor has been configured.
-	 * <p>The default implementation builds a {@link org.springframework.core.task.SimpleAsyncTaskExecutor}
-	 * with the specified bean name (or the class name, if no bean name is specified) as thread name prefix.</p>
+	 * <p>The default implementation builds a {@link StripedTaskExecutor} with one stripe per processor
+	 * and the specified bean name (or the class name, if no bean name is specified) as thread name prefix,
+	 * so that the events of a key are processed in order, by a bounded number of threads. The queue capacity,
+	 * overflow policy and overflow directory of the executor are those of this container.</p>
 	 *
 	 * @return an instance of the TaskExecutor used to process CQ events asynchronously.
-	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#SimpleAsyncTaskExecutor(String)
+	 * @see org.springframework.data.gemfire.listener.StripedTaskExecutor
 	 */
 	protected TaskExecutor createDefaultTaskExecutor() {
-		return new SimpleAsyncTaskExecutor(beanName != null ? String.format("%1$s-", beanName)
-			: DEFAULT_THREAD_NAME_PREFIX);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(beanName != null
+			? String.format("%1$s-", beanName) : DEFAULT_THREAD_NAME_PREFIX);
+
+		threadFactory.setDaemon(true);
+
+		StripedTaskExecutor taskExecutor = new StripedTaskExecutor(Runtime.getRuntime().availableProcessors(),
+			queueCapacity, threadFactory);
+
+		taskExecutor.setOverflowPolicy(overflowPolicy);
+
+		if (overflowDirectory != null) {
+			taskExecutor.setOverflowDirectory(overflowDirectory);
+		}
+
+		return taskExecutor;
 	}
 
 	private void initContinuousQueries(Set<ContinuousQueryDefinition> continuousQueryDefinitions) {
@@ -207,15 +262,72 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 	}
 
+	/* executes the CQs, in parallel up to the startup concurrency, as each execution is a round trip to the server */
 	private void doStart() {
-		for (CqQuery cq : continuousQueries) {
-			executeQuery(cq);
+		List<CqQuery> queries = new ArrayList<CqQuery>(continuousQueries);
+		int concurrency = Math.min(startupConcurrency, queries.size());
+
+		if (concurrency <= 1) {
+			for (CqQuery cq : queries) {
+				executeQuery(cq);
+			}
+		}
+		else {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(String.format("%1$sStartup-",
+				beanName != null ? String.format("%1$s-", beanName) : DEFAULT_THREAD_NAME_PREFIX));
+
+			threadFactory.setDaemon(true);
+
+			ExecutorService executor = Executors.newFixedThreadPool(concurrency, threadFactory);
+
+			try {
+				List<Future<?>> executions = new ArrayList<Future<?>>(queries.size());
+
+				for (final CqQuery cq : queries) {
+					executions.add(executor.submit(new Runnable() {
+						public void run() {
+							executeQuery(cq);
+						}
+					}));
+				}
+
+				for (Future<?> execution : executions) {
+					awaitExecution(execution);
+				}
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private void awaitExecution(Future<?> execution) {
+		try {
+			execution.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+
+			throw new GemfireQueryException("Could not execute query", new RuntimeException(ex.getCause()));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new GemfireQueryException("Interrupted while executing queries", new RuntimeException(ex));
 		}
 	}
 
 	private void executeQuery(CqQuery cq) {
 		try {
-			cq.execute();
+			EventDispatcherAdapter dispatcher = initialResultsDispatchers.get(cq);
+
+			if (dispatcher != null) {
+				executeQueryWithInitialResults(cq, dispatcher);
+			}
+			else {
+				cq.execute();
+			}
 		}
 		catch (QueryException ex) {
 			throw new GemfireQueryException(String.format("Could not execute query [%1$s]; state is [%2$s].",
@@ -227,6 +339,24 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 	}
 
+	/* events of the CQ are held until its initial results are dispatched, so the results precede the events */
+	private void executeQueryWithInitialResults(CqQuery cq, EventDispatcherAdapter dispatcher) throws QueryException {
+		dispatcher.holdEvents();
+
+		try {
+			CqResults<Object> results = cq.executeWithInitialResults();
+
+			for (Object result : results) {
+				dispatcher.dispatchInitialResult(cq, result);
+			}
+
+			dispatcher.flush();
+		}
+		finally {
+			dispatcher.releaseEvents();
+		}
+	}
+
 	public synchronized void stop() {
 		if (isRunning()) {
 			doStop();
@@ -275,6 +405,8 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 
 		continuousQueries.clear();
+		initialResultsDispatchers.clear();
+		listeners.clear();
 	}
 
 	private void destroyExecutor() throws Exception {
@@ -421,9 +553,10 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 	/**
 	 * Sets the Task Executor used for running the event listeners when messages are received.
-	 * If no task executor is set, an instance of {@link SimpleAsyncTaskExecutor} will be used by default.
+	 * If no task executor is set, an instance of {@link StripedTaskExecutor} will be used by default.
 	 * The task executor can be adjusted depending on the work done by the listeners and the number of
-	 * messages coming in.
+	 * messages coming in. Events are only guaranteed to be processed in order per key by a
+	 * {@link StripedTaskExecutor}.
 	 *
 	 * @param taskExecutor The Task Executor used to run event listeners when query results messages are received.
 	 * @see java.util.concurrent.Executor
@@ -432,6 +565,61 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * Returns the Task Executor used for running the event listeners, e.g. to monitor the queue depths, high-water
+	 * marks and lag of a {@link StripedTaskExecutor}.
+	 *
+	 * @return the Task Executor used to run event listeners, or {@literal null} if not yet initialized.
+	 */
+	public Executor getTaskExecutor() {
+		return taskExecutor;
+	}
+
+	/**
+	 * Sets the directory of the overflow files of the default task executor with the
+	 * {@link OverflowPolicy#SPILL_TO_DISK} policy. Defaults to the temporary directory of the JVM.
+	 *
+	 * @param overflowDirectory the directory of the overflow files.
+	 */
+	public void setOverflowDirectory(File overflowDirectory) {
+		this.overflowDirectory = overflowDirectory;
+	}
+
+	/**
+	 * Sets the policy of the default task executor for events received while the queue of their stripe is full,
+	 * i.e. while the listeners fall behind. Defaults to {@link OverflowPolicy#BLOCK}. With
+	 * {@link OverflowPolicy#COALESCE_BY_KEY}, an event replaces a queued event for the same key and listener.
+	 *
+	 * @param overflowPolicy the {@link OverflowPolicy} of the default task executor.
+	 * @see org.springframework.data.gemfire.listener.OverflowPolicy
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the maximum number of events queued in memory per stripe of the default task executor.
+	 * Defaults to {@link StripedTaskExecutor#DEFAULT_QUEUE_CAPACITY}.
+	 *
+	 * @param queueCapacity the maximum number of events queued per stripe.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Sets the maximum number of Continuous Queries (CQ) executed in parallel when the container starts.
+	 * Defaults to {@link #DEFAULT_STARTUP_CONCURRENCY}.
+	 *
+	 * @param startupConcurrency the maximum number of CQs executed in parallel on start; 1 executes them serially.
+	 */
+	public void setStartupConcurrency(int startupConcurrency) {
+		Assert.isTrue(startupConcurrency > 0, "startupConcurrency must be greater than 0");
+		this.startupConcurrency = startupConcurrency;
+	}
+
 	/**
 	 * Adds a Continuous Query (CQ) definition to the (potentially running) container. If the container is running,
 	 * the listener starts receiving (matching) messages as soon as possible.
@@ -456,7 +644,15 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		try {
 			CqAttributesFactory continuousQueryAttributesFactory = new CqAttributesFactory();
 
-			continuousQueryAttributesFactory.addCqListener(new EventDispatcherAdapter(definition.getListener()));
+			ContinuousQueryListener listener = definition.getListener();
+
+			if (listener instanceof BatchingContinuousQueryListener) {
+				initBatchExecutor((BatchingContinuousQueryListener) listener);
+			}
+
+			EventDispatcherAdapter dispatcher = new EventDispatcherAdapter(listener);
+
+			continuousQueryAttributesFactory.addCqListener(dispatcher);
 
 			CqAttributes continuousQueryAttributes = continuousQueryAttributesFactory.create();
 
@@ -466,6 +662,14 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 			continuousQueries.add(cq);
 
+			if (definition.isInitialResults()) {
+				initialResultsDispatchers.put(cq, dispatcher);
+			}
+
+			if (cq.getName() != null) {
+				listeners.put(cq.getName(), listener);
+			}
+
 			return cq;
 		}
 		catch (RuntimeException ex) {
@@ -476,12 +680,55 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 	}
 
-	private void dispatchEvent(final ContinuousQueryListener listener, final CqEvent event) {
-		taskExecutor.execute(new Runnable() {
-			public void run() {
-				executeListener(listener, event);
-			}
-		});
+	/* delivers the windows of the batching listener on the task executor, in order when the executor is striped */
+	private void initBatchExecutor(final BatchingContinuousQueryListener listener) {
+		if (listener.getExecutor() == null) {
+			listener.setExecutor(new Executor() {
+				public void execute(final Runnable batch) {
+					Runnable task = new Runnable() {
+						public void run() {
+							try {
+								batch.run();
+							}
+							catch (Throwable ex) {
+								handleListenerException(ex);
+							}
+						}
+					};
+
+					if (taskExecutor instanceof StripedTaskExecutor) {
+						((StripedTaskExecutor) taskExecutor).execute(listener, task);
+					}
+					else {
+						taskExecutor.execute(task);
+					}
+				}
+			});
+		}
+	}
+
+	private void dispatchEvent(ContinuousQueryListener listener, CqEvent event) {
+		// batching listeners only collect the event, dispatching whole windows to the task executor
+		if (listener instanceof BatchingContinuousQueryListener) {
+			listener.onEvent(event);
+			return;
+		}
+
+		Runnable task = new EventTask(listener, event);
+
+		if (taskExecutor instanceof StripedTaskExecutor) {
+			StripedTaskExecutor stripedTaskExecutor = (StripedTaskExecutor) taskExecutor;
+
+			// an event only supersedes queued events for the same key and listener
+			Object coalescingKey = (event.getKey() != null
+				&& OverflowPolicy.COALESCE_BY_KEY.equals(stripedTaskExecutor.getOverflowPolicy())
+					? Arrays.asList(listener, event.getKey()) : null);
+
+			stripedTaskExecutor.execute(event.getKey(), coalescingKey, task);
+		}
+		else {
+			taskExecutor.execute(task);
+		}
 	}
 
 	/**
@@ -535,23 +782,192 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 	}
 
+	/**
+	 * Task notifying a listener of a CQ event.
+	 */
+	private class EventTask implements Runnable {
+
+		private final ContinuousQueryListener listener;
+
+		private final CqEvent event;
+
+		private EventTask(ContinuousQueryListener listener, CqEvent event) {
+			this.listener = listener;
+			this.event = event;
+		}
+
+		public void run() {
+			executeListener(listener, event);
+		}
+	}
+
+	/**
+	 * Writes the CQ events of {@link EventTask EventTasks} spilled to disk, restoring them with the CQ and listener
+	 * registered under the name of the CQ.
+	 */
+	private class EventTaskCodec implements StripedTaskExecutor.TaskCodec {
+
+		public boolean write(Runnable task, DataOutput out) throws IOException {
+			if (!(task instanceof EventTask) || ((EventTask) task).event.getCq() == null) {
+				return false;
+			}
+
+			CqEvent event = ((EventTask) task).event;
+
+			out.writeUTF(event.getCq().getName());
+			DataSerializer.writeObject(event.getBaseOperation(), out);
+			DataSerializer.writeObject(event.getQueryOperation(), out);
+			DataSerializer.writeObject(event.getKey(), out);
+			DataSerializer.writeObject(event.getNewValue(), out);
+			DataSerializer.writeByteArray(event.getDeltaValue(), out);
+			DataSerializer.writeObject(event.getThrowable(), out);
+
+			return true;
+		}
+
+		public Runnable read(DataInput in) throws IOException, ClassNotFoundException {
+			String name = in.readUTF();
+
+			SyntheticCqEvent event = new SyntheticCqEvent(queryService.getCq(name),
+				DataSerializer.<Operation>readObject(in), DataSerializer.<Operation>readObject(in),
+					DataSerializer.readObject(in), DataSerializer.readObject(in), DataSerializer.readByteArray(in),
+						DataSerializer.<Throwable>readObject(in));
+
+			ContinuousQueryListener listener = listeners.get(name);
+
+			// the CQ was closed while its events were on disk
+			return (listener != null && event.getCq() != null ? new EventTask(listener, event) : null);
+		}
+	}
+
+	/**
+	 * CQ event created by the container, i.e. an initial result of a CQ or an event read back from disk.
+	 */
+	private static class SyntheticCqEvent implements CqEvent {
+
+		private final byte[] deltaValue;
+
+		private final CqQuery cq;
+
+		private final Object key;
+		private final Object newValue;
+
+		private final Operation baseOperation;
+		private final Operation queryOperation;
+
+		private final Throwable throwable;
+
+		private SyntheticCqEvent(CqQuery cq, Operation baseOperation, Operation queryOperation, Object key,
+				Object newValue, byte[] deltaValue, Throwable throwable) {
+
+			this.cq = cq;
+			this.baseOperation = baseOperation;
+			this.queryOperation = queryOperation;
+			this.key = key;
+			this.newValue = newValue;
+			this.deltaValue = deltaValue;
+			this.throwable = throwable;
+		}
+
+		public CqQuery getCq() {
+			return cq;
+		}
+
+		public Operation getBaseOperation() {
+			return baseOperation;
+		}
+
+		public Operation getQueryOperation() {
+			return queryOperation;
+		}
+
+		public Object getKey() {
+			return key;
+		}
+
+		public Object getNewValue() {
+			return newValue;
+		}
+
+		public Throwable getThrowable() {
+			return throwable;
+		}
+
+		public byte[] getDeltaValue() {
+			return deltaValue;
+		}
+	}
+
 	private class EventDispatcherAdapter implements CqListener {
 
 		private final ContinuousQueryListener delegate;
 
+		// events received while the initial results are dispatched; cleared once they are dispatched in turn
+		private volatile List<CqEvent> heldEvents;
+
 		private EventDispatcherAdapter(final ContinuousQueryListener delegate) {
 			this.delegate = delegate;
 		}
 
 		public void onError(CqEvent event) {
-			dispatchEvent(delegate, event);
+			if (!hold(event)) {
+				dispatchEvent(delegate, event);
+			}
 		}
 
 		public void onEvent(CqEvent event) {
-			dispatchEvent(delegate, event);
+			if (!hold(event)) {
+				dispatchEvent(delegate, event);
+			}
+		}
+
+		private boolean hold(CqEvent event) {
+			if (heldEvents != null) {
+				synchronized (this) {
+					if (heldEvents != null) {
+						heldEvents.add(event);
+						return true;
+					}
+				}
+			}
+
+			return false;
+		}
+
+		synchronized void holdEvents() {
+			heldEvents = new ArrayList<CqEvent>();
+		}
+
+		/* dispatches the held events before events received concurrently, which wait for the lock */
+		synchronized void releaseEvents() {
+			List<CqEvent> events = heldEvents;
+
+			if (events != null) {
+				for (CqEvent event : events) {
+					dispatchEvent(delegate, event);
+				}
+
+				heldEvents = null;
+			}
+		}
+
+		void dispatchInitialResult(CqQuery cq, Object result) {
+			Object key = (result instanceof Struct ? ((Struct) result).get("key") : null);
+			Object value = (result instanceof Struct ? ((Struct) result).get("value") : result);
+
+			dispatchEvent(delegate, new SyntheticCqEvent(cq, Operation.CREATE, Operation.CREATE, key, value,
+				null, null));
+		}
+
+		/* delivers the pending window of a batching listener, e.g. so initial results are not batched with events */
+		void flush() {
+			if (delegate instanceof BatchingContinuousQueryListener) {
+				((BatchingContinuousQueryListener) delegate).flush();
+			}
 		}
 
 		public void close() {
+			flush();
 		}
 	}
 
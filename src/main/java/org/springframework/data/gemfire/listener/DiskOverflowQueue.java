@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * FIFO queue of tasks written to a local file through a {@link StripedTaskExecutor.TaskCodec}, backing the
+ * {@link OverflowPolicy#SPILL_TO_DISK} policy of a stripe. Records are appended as length-prefixed bytes and read
+ * back in order; the file is truncated whenever the queue is drained, and the space of the records read is reclaimed,
+ * by moving the remaining records to the start of the file, once it takes up at least half of a large file, so that
+ * a queue that never drains does not grow the file without bound. Not thread-safe; guarded by the stripe,
+ * except for {@link #size()}, which may be read without the lock for monitoring.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.StripedTaskExecutor
+ * @since 1.9.0
+ */
+class DiskOverflowQueue {
+
+	static final long DEFAULT_COMPACTION_THRESHOLD = 4 * 1024 * 1024;
+
+	private volatile int size;
+
+	// the enqueue time of the oldest task, valid while the queue is not empty
+	private long headEnqueued;
+
+	private final long compactionThreshold;
+
+	private long readPosition;
+	private long writePosition;
+
+	private final File file;
+
+	private final RandomAccessFile data;
+
+	private final StripedTaskExecutor.TaskCodec codec;
+
+	DiskOverflowQueue(File directory, String prefix, StripedTaskExecutor.TaskCodec codec) throws IOException {
+		this(directory, prefix, codec, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/* the file is compacted once the records read take up at least the given number of bytes */
+	DiskOverflowQueue(File directory, String prefix, StripedTaskExecutor.TaskCodec codec, long compactionThreshold)
+			throws IOException {
+
+		this.compactionThreshold = compactionThreshold;
+		this.file = File.createTempFile(prefix, ".overflow", directory);
+		this.file.deleteOnExit();
+		this.data = new RandomAccessFile(file, "rw");
+		this.codec = codec;
+	}
+
+	/**
+	 * Appends the given task.
+	 *
+	 * @param task the task to write.
+	 * @param enqueued the {@link System#nanoTime()} at which the task was submitted.
+	 * @return false if the codec cannot write the task.
+	 * @throws IOException if the task could not be written.
+	 */
+	boolean offer(Runnable task, long enqueued) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeLong(enqueued);
+
+		if (!codec.write(task, out)) {
+			return false;
+		}
+
+		out.flush();
+
+		data.seek(writePosition);
+		data.writeInt(bytes.size());
+		data.write(bytes.toByteArray());
+
+		writePosition = data.getFilePointer();
+
+		if (size == 0) {
+			headEnqueued = enqueued;
+		}
+
+		size++;
+
+		return true;
+	}
+
+	/**
+	 * Reads the oldest task.
+	 *
+	 * @return the oldest task, or {@literal null} if empty; the task is a no-op if the codec could not restore it.
+	 * @throws IOException if the task could not be read.
+	 * @throws ClassNotFoundException if the class of a serialized object of the task cannot be found.
+	 */
+	StripedTaskExecutor.QueuedTask poll() throws IOException, ClassNotFoundException {
+		if (size == 0) {
+			return null;
+		}
+
+		data.seek(readPosition);
+
+		byte[] bytes = new byte[data.readInt()];
+
+		data.readFully(bytes);
+
+		readPosition = data.getFilePointer();
+
+		if (--size == 0) {
+			clear();
+		}
+		else {
+			// each record starts with the enqueue time of its task, after the length
+			data.seek(readPosition + 4);
+			headEnqueued = data.readLong();
+
+			if (readPosition >= compactionThreshold && readPosition >= writePosition - readPosition) {
+				compact();
+			}
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+		long enqueued = in.readLong();
+		Runnable task = codec.read(in);
+
+		return new StripedTaskExecutor.QueuedTask(null, (task != null ? task : NO_OP), enqueued);
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which the oldest task was submitted; only meaningful
+	 * if the queue is not empty.
+	 */
+	long oldestEnqueued() {
+		return headEnqueued;
+	}
+
+	void clear() throws IOException {
+		size = 0;
+		readPosition = 0;
+		writePosition = 0;
+		data.setLength(0);
+	}
+
+	/* moves the records not yet read to the start of the file, copying at most as many bytes as were read */
+	private void compact() throws IOException {
+		byte[] buffer = new byte[8192];
+		long length = writePosition - readPosition;
+
+		for (long copied = 0; copied < length; ) {
+			int count = (int) Math.min(buffer.length, length - copied);
+
+			data.seek(readPosition + copied);
+			data.readFully(buffer, 0, count);
+			data.seek(copied);
+			data.write(buffer, 0, count);
+
+			copied += count;
+		}
+
+		data.setLength(length);
+
+		readPosition = 0;
+		writePosition = length;
+	}
+
+	long length() throws IOException {
+		return data.length();
+	}
+
+	void close() throws IOException {
+		try {
+			data.close();
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	private static final Runnable NO_OP = new Runnable() {
+		public void run() {
+		}
+	};
+
+}
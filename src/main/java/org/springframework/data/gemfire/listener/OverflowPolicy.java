@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+/**
+ * Policies of the {@link StripedTaskExecutor} for tasks submitted while the queue of their stripe is full,
+ * i.e. while the listeners fall behind the events.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.StripedTaskExecutor#setOverflowPolicy(OverflowPolicy)
+ * @since 1.9.0
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * Blocks the submitting thread, e.g. the GemFire dispatch thread, until there is room in the queue,
+	 * pushing back on the server.
+	 */
+	BLOCK,
+
+	/**
+	 * Discards the oldest queued task to make room for the submitted task.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Replaces a queued task of the same coalescing key, e.g. an older event for the same key and listener,
+	 * with the submitted task, so that at most one task per key is queued; blocks when the queue is full
+	 * of distinct keys.
+	 */
+	COALESCE_BY_KEY,
+
+	/**
+	 * Writes the submitted task to a local overflow file, through the {@link StripedTaskExecutor.TaskCodec},
+	 * to be run in order once the queued tasks have run; blocks for tasks the codec cannot write.
+	 */
+	SPILL_TO_DISK
+
+}
@@ -0,0 +1,686 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskExecutor} running tasks on a fixed number of stripes, each a single worker thread with a bounded queue.
+ * Tasks submitted with a key through {@link #execute(Object, Runnable)} are routed to a stripe by the hash of the key,
+ * so tasks for the same key run one at a time in submission order while tasks for different keys run in parallel.
+ * Tasks submitted without a key are spread round-robin over the stripes.
+ *
+ * What happens to a task submitted while the queue of its stripe is full is determined by the {@link OverflowPolicy}.
+ * By default, the submitting thread blocks until there is room, pushing back on the producer instead of buffering
+ * without limit.
+ *
+ * The worker threads are created, on first use of their stripe, by the configured {@link ThreadFactory}, e.g. a
+ * virtual thread factory on a JVM supporting them.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer
+ * @see org.springframework.data.gemfire.listener.OverflowPolicy
+ * @since 1.9.0
+ */
+public class StripedTaskExecutor implements TaskExecutor, DisposableBean {
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final AtomicInteger highWaterMark = new AtomicInteger();
+
+	private final AtomicInteger nextStripe = new AtomicInteger();
+
+	private final AtomicLong coalescedCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong maxLag = new AtomicLong();
+	private final AtomicLong spilledCount = new AtomicLong();
+
+	private File overflowDirectory = new File(System.getProperty("java.io.tmpdir"));
+
+	private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	private final Stripe[] stripes;
+
+	private volatile TaskCodec taskCodec;
+
+	private final ThreadFactory threadFactory;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Constructs an executor with one stripe per available processor and the default queue capacity.
+	 *
+	 * @param threadNamePrefix the prefix of the names of the worker threads.
+	 */
+	public StripedTaskExecutor(String threadNamePrefix) {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY,
+			newDaemonThreadFactory(threadNamePrefix));
+	}
+
+	/**
+	 * Constructs an executor with the given number of stripes.
+	 *
+	 * @param stripeCount the number of stripes, i.e. the maximum number of tasks running in parallel.
+	 * @param queueCapacity the maximum number of tasks queued per stripe.
+	 * @param threadFactory the {@link ThreadFactory} creating the worker threads.
+	 */
+	public StripedTaskExecutor(int stripeCount, int queueCapacity, ThreadFactory threadFactory) {
+		Assert.isTrue(stripeCount > 0, "stripeCount must be greater than 0");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+		Assert.notNull(threadFactory, "ThreadFactory must not be null");
+
+		this.threadFactory = threadFactory;
+		this.stripes = new Stripe[stripeCount];
+
+		for (int index = 0; index < stripeCount; index++) {
+			stripes[index] = new Stripe(index, queueCapacity);
+		}
+	}
+
+	private static ThreadFactory newDaemonThreadFactory(String threadNamePrefix) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	/**
+	 * Runs the given task on the next stripe, round-robin.
+	 *
+	 * @param task the task to run.
+	 */
+	@Override
+	public void execute(Runnable task) {
+		submit(stripes[(nextStripe.getAndIncrement() & Integer.MAX_VALUE) % stripes.length], null, task);
+	}
+
+	/**
+	 * Runs the given task on the stripe of the given key, after all tasks previously submitted for the same key.
+	 *
+	 * @param key the key ordering the task, or {@literal null} to run the task on the next stripe.
+	 * @param task the task to run.
+	 */
+	public void execute(Object key, Runnable task) {
+		execute(key, null, task);
+	}
+
+	/**
+	 * Runs the given task on the stripe of the given key, after all tasks previously submitted for the same key.
+	 * With the {@link OverflowPolicy#COALESCE_BY_KEY} policy, the task replaces a queued task of the same
+	 * coalescing key, which must then be submitted with the same key.
+	 *
+	 * @param key the key ordering the task, or {@literal null} to run the task on the next stripe.
+	 * @param coalescingKey the key of the tasks the task supersedes, or {@literal null} if it supersedes none.
+	 * @param task the task to run.
+	 */
+	public void execute(Object key, Object coalescingKey, Runnable task) {
+		if (key == null) {
+			execute(task);
+		}
+		else {
+			submit(stripes[stripeOf(key)], coalescingKey, task);
+		}
+	}
+
+	/* (non-Javadoc) */
+	int stripeOf(Object key) {
+		int hash = key.hashCode();
+		// spread the higher bits, as HashMap does, since keys often differ in the higher bits only
+		hash ^= (hash >>> 16);
+		return (hash & Integer.MAX_VALUE) % stripes.length;
+	}
+
+	private void submit(Stripe stripe, Object coalescingKey, Runnable task) {
+		if (shutdown) {
+			throw new TaskRejectedException("StripedTaskExecutor has been shut down");
+		}
+
+		try {
+			stripe.put(coalescingKey, task);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TaskRejectedException("Interrupted while waiting for room in the queue of the stripe", e);
+		}
+
+		stripe.start();
+	}
+
+	private void recordQueueDepth(int depth) {
+		for (int max = highWaterMark.get(); depth > max; max = highWaterMark.get()) {
+			if (highWaterMark.compareAndSet(max, depth)) {
+				break;
+			}
+		}
+	}
+
+	private void recordLag(long lag) {
+		for (long max = maxLag.get(); lag > max; max = maxLag.get()) {
+			if (maxLag.compareAndSet(max, lag)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of stripes.
+	 */
+	public int getStripeCount() {
+		return stripes.length;
+	}
+
+	/**
+	 * @return the number of tasks queued in memory over all stripes.
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+
+		for (Stripe stripe : stripes) {
+			depth += stripe.size();
+		}
+
+		return depth;
+	}
+
+	/**
+	 * @param stripe the index of the stripe.
+	 * @return the number of tasks queued in memory on the given stripe.
+	 */
+	public int getQueueDepth(int stripe) {
+		return stripes[stripe].size();
+	}
+
+	/**
+	 * @return the number of tasks written to the overflow files over all stripes, waiting to run.
+	 */
+	public int getOverflowDepth() {
+		int depth = 0;
+
+		for (Stripe stripe : stripes) {
+			depth += stripe.overflowSize();
+		}
+
+		return depth;
+	}
+
+	/**
+	 * @return the maximum number of tasks queued in memory on a single stripe since creation or the last reset.
+	 */
+	public int getHighWaterMark() {
+		return highWaterMark.get();
+	}
+
+	/**
+	 * Resets the high-water mark.
+	 */
+	public void resetHighWaterMark() {
+		highWaterMark.set(0);
+	}
+
+	/**
+	 * @return the time, in milliseconds, the oldest task waiting on any stripe has been waiting.
+	 */
+	public long getLag() {
+		long now = System.nanoTime();
+		long lag = 0;
+
+		for (Stripe stripe : stripes) {
+			lag = Math.max(lag, stripe.lag(now));
+		}
+
+		return TimeUnit.NANOSECONDS.toMillis(lag);
+	}
+
+	/**
+	 * @return the maximum time, in milliseconds, a task waited before running since creation or the last reset.
+	 */
+	public long getMaxLag() {
+		return TimeUnit.NANOSECONDS.toMillis(maxLag.get());
+	}
+
+	/**
+	 * @return the number of tasks that replaced a queued task of the same coalescing key.
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/**
+	 * @return the number of queued tasks discarded to make room for newer tasks.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * @return the number of tasks written to the overflow files.
+	 */
+	public long getSpilledCount() {
+		return spilledCount.get();
+	}
+
+	/**
+	 * Resets the high-water mark, the maximum lag and the counts of coalesced, dropped and spilled tasks.
+	 */
+	public void resetStatistics() {
+		highWaterMark.set(0);
+		maxLag.set(0);
+		coalescedCount.set(0);
+		droppedCount.set(0);
+		spilledCount.set(0);
+	}
+
+	/**
+	 * Sets the policy for tasks submitted while the queue of their stripe is full. Defaults to
+	 * {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param overflowPolicy the {@link OverflowPolicy}.
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Sets the directory of the overflow files of the {@link OverflowPolicy#SPILL_TO_DISK} policy.
+	 * Defaults to the temporary directory of the JVM.
+	 *
+	 * @param overflowDirectory the directory of the overflow files.
+	 */
+	public void setOverflowDirectory(File overflowDirectory) {
+		Assert.notNull(overflowDirectory, "overflowDirectory must not be null");
+		this.overflowDirectory = overflowDirectory;
+	}
+
+	public File getOverflowDirectory() {
+		return overflowDirectory;
+	}
+
+	/**
+	 * Sets the {@link TaskCodec} writing tasks to, and reading them from, the overflow files of the
+	 * {@link OverflowPolicy#SPILL_TO_DISK} policy. Without a codec, the policy blocks.
+	 *
+	 * @param taskCodec the {@link TaskCodec}.
+	 */
+	public void setTaskCodec(TaskCodec taskCodec) {
+		this.taskCodec = taskCodec;
+	}
+
+	public TaskCodec getTaskCodec() {
+		return taskCodec;
+	}
+
+	/**
+	 * Stops the worker threads, discarding the queued tasks.
+	 */
+	@Override
+	public void destroy() {
+		shutdown = true;
+
+		int discarded = 0;
+
+		for (Stripe stripe : stripes) {
+			discarded += stripe.stop();
+		}
+
+		if (discarded > 0 && logger.isDebugEnabled()) {
+			logger.debug(String.format("Discarded %1$d queued tasks on shutdown", discarded));
+		}
+	}
+
+	/**
+	 * Writes tasks to, and reads them from, the overflow files of the {@link OverflowPolicy#SPILL_TO_DISK} policy.
+	 */
+	public interface TaskCodec {
+
+		/**
+		 * Writes the given task.
+		 *
+		 * @param task the task to write.
+		 * @param out the {@link DataOutput} to write to.
+		 * @return false if the task cannot be written, in which case it is queued in memory, once the tasks
+		 * spilled before it have run.
+		 * @throws IOException if the task could not be written.
+		 */
+		boolean write(Runnable task, DataOutput out) throws IOException;
+
+		/**
+		 * Reads a task written by {@link #write(Runnable, DataOutput)}.
+		 *
+		 * @param in the {@link DataInput} to read from.
+		 * @return the task, or {@literal null} if it is obsolete, e.g. its listener is gone.
+		 * @throws IOException if the task could not be read.
+		 * @throws ClassNotFoundException if the class of a serialized object of the task cannot be found.
+		 */
+		Runnable read(DataInput in) throws IOException, ClassNotFoundException;
+
+	}
+
+	/* (non-Javadoc) */
+	static class QueuedTask {
+
+		final Object coalescingKey;
+
+		final long enqueued;
+
+		Runnable task;
+
+		QueuedTask(Object coalescingKey, Runnable task, long enqueued) {
+			this.coalescingKey = coalescingKey;
+			this.task = task;
+			this.enqueued = enqueued;
+		}
+	}
+
+	/**
+	 * A bounded queue of tasks run in order by a single worker thread, overflowing to disk with
+	 * the {@link OverflowPolicy#SPILL_TO_DISK} policy.
+	 */
+	class Stripe implements Runnable {
+
+		private final int capacity;
+		private final int index;
+
+		private final ArrayDeque<QueuedTask> queue = new ArrayDeque<QueuedTask>();
+
+		private final Map<Object, QueuedTask> queuedByCoalescingKey = new HashMap<Object, QueuedTask>();
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition notEmpty = lock.newCondition();
+		private final Condition notFull = lock.newCondition();
+
+		// read without the lock by getOverflowDepth()
+		private volatile DiskOverflowQueue overflow;
+
+		private volatile Thread worker;
+
+		Stripe(int index, int capacity) {
+			this.index = index;
+			this.capacity = capacity;
+		}
+
+		void put(Object coalescingKey, Runnable task) throws InterruptedException {
+			OverflowPolicy overflowPolicy = getOverflowPolicy();
+			boolean coalescing = (coalescingKey != null && OverflowPolicy.COALESCE_BY_KEY.equals(overflowPolicy));
+			long enqueued = System.nanoTime();
+
+			lock.lockInterruptibly();
+
+			try {
+				if (coalescing) {
+					QueuedTask queued = queuedByCoalescingKey.get(coalescingKey);
+
+					if (queued != null) {
+						queued.task = task;
+						coalescedCount.incrementAndGet();
+						return;
+					}
+				}
+
+				boolean spilling = OverflowPolicy.SPILL_TO_DISK.equals(overflowPolicy);
+
+				// once spilling, tasks keep going to disk until the overflow is drained, so they run in order
+				if (spilling && (queue.size() >= capacity || overflowSize() > 0) && spill(task, enqueued)) {
+					notEmpty.signal();
+					return;
+				}
+
+				// a task that cannot be spilled waits for the spilled tasks to run, so it does not overtake them
+				while (queue.size() >= capacity || (spilling && overflowSize() > 0)) {
+					if (OverflowPolicy.DROP_OLDEST.equals(overflowPolicy)) {
+						dequeue();
+						droppedCount.incrementAndGet();
+					}
+					else {
+						notFull.await();
+
+						if (shutdown) {
+							throw new TaskRejectedException("StripedTaskExecutor has been shut down");
+						}
+					}
+				}
+
+				QueuedTask queued = new QueuedTask(coalescing ? coalescingKey : null, task, enqueued);
+
+				queue.add(queued);
+
+				if (coalescing) {
+					queuedByCoalescingKey.put(coalescingKey, queued);
+				}
+
+				recordQueueDepth(queue.size());
+				notEmpty.signal();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean spill(Runnable task, long enqueued) {
+			TaskCodec taskCodec = getTaskCodec();
+
+			if (taskCodec != null) {
+				try {
+					if (overflow == null) {
+						overflow = new DiskOverflowQueue(getOverflowDirectory(),
+							String.format("StripedTaskExecutor-%1$d-", index), taskCodec);
+					}
+
+					if (overflow.offer(task, enqueued)) {
+						spilledCount.incrementAndGet();
+						return true;
+					}
+				}
+				catch (IOException e) {
+					logger.warn("Failed to write a task to the overflow file; queueing it in memory", e);
+				}
+			}
+
+			return false;
+		}
+
+		private QueuedTask dequeue() {
+			QueuedTask queued = queue.poll();
+
+			if (queued != null) {
+				if (queued.coalescingKey != null) {
+					queuedByCoalescingKey.remove(queued.coalescingKey);
+				}
+
+				notFull.signal();
+			}
+
+			return queued;
+		}
+
+		private QueuedTask take() throws InterruptedException {
+			lock.lockInterruptibly();
+
+			try {
+				while (true) {
+					QueuedTask queued = dequeue();
+
+					if (queued != null) {
+						return queued;
+					}
+
+					if (overflowSize() > 0) {
+						try {
+							queued = overflow.poll();
+
+							if (overflowSize() == 0) {
+								notFull.signalAll();
+							}
+
+							return queued;
+						}
+						catch (Exception e) {
+							logger.error(String.format("Failed to read a task from the overflow file [%1$s];"
+								+ " discarding %2$d spilled tasks", overflow.getFile(), overflow.size()), e);
+
+							clearOverflow();
+						}
+					}
+					else {
+						notEmpty.await();
+					}
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void clearOverflow() {
+			try {
+				overflow.clear();
+			}
+			catch (IOException e) {
+				logger.warn(String.format("Failed to truncate the overflow file [%1$s]", overflow.getFile()), e);
+			}
+
+			notFull.signalAll();
+		}
+
+		int size() {
+			lock.lock();
+
+			try {
+				return queue.size();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		int overflowSize() {
+			DiskOverflowQueue overflow = this.overflow;
+			return (overflow != null ? overflow.size() : 0);
+		}
+
+		/* the lag of the oldest task waiting in memory or in the overflow file */
+		long lag(long now) {
+			lock.lock();
+
+			try {
+				QueuedTask oldest = queue.peek();
+				long lag = (oldest != null ? now - oldest.enqueued : 0L);
+
+				if (overflowSize() > 0) {
+					lag = Math.max(lag, now - overflow.oldestEnqueued());
+				}
+
+				return lag;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		void start() {
+			if (worker == null) {
+				synchronized (this) {
+					if (worker == null && !shutdown) {
+						Thread worker = threadFactory.newThread(this);
+						worker.start();
+						this.worker = worker;
+					}
+				}
+			}
+		}
+
+		int stop() {
+			synchronized (this) {
+				if (worker != null) {
+					worker.interrupt();
+				}
+			}
+
+			lock.lock();
+
+			try {
+				int discarded = queue.size() + overflowSize();
+
+				queue.clear();
+				queuedByCoalescingKey.clear();
+
+				if (overflow != null) {
+					try {
+						overflow.close();
+					}
+					catch (IOException e) {
+						logger.warn(String.format("Failed to delete the overflow file [%1$s]", overflow.getFile()), e);
+					}
+
+					overflow = null;
+				}
+
+				// wake up blocked producers, which are then rejected
+				notFull.signalAll();
+
+				return discarded;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+			while (!shutdown) {
+				try {
+					QueuedTask queued = take();
+
+					recordLag(System.nanoTime() - queued.enqueued);
+					queued.task.run();
+				}
+				catch (InterruptedException e) {
+					// interrupted on shutdown
+				}
+				catch (Throwable e) {
+					logger.warn("Uncaught exception in a task of the StripedTaskExecutor", e);
+				}
+			}
+		}
+	}
+}
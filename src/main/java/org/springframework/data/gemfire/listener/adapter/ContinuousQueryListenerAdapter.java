@@ -26,6 +26,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.gemfire.listener.ContinuousQueryBatchListener;
 import org.springframework.data.gemfire.listener.ContinuousQueryListener;
 import org.springframework.data.gemfire.listener.GemfireListenerExecutionFailedException;
 import org.springframework.util.Assert;
@@ -66,18 +67,28 @@ import com.gemstone.gemfire.cache.query.CqQuery;
  *    void handleEvent(CqEvent event, Operation baseOp, Operation queryOp, Object key, Object newValue);
  * }</pre>
  *
+ * <p>As a {@link ContinuousQueryBatchListener}, e.g. wrapped in a
+ * {@link org.springframework.data.gemfire.listener.BatchingContinuousQueryListener}, the adapter delegates
+ * each batch of events to a listener method of the same name taking a single <code>List</code> argument,
+ * like <code>void handleEvent(List&lt;CqEvent&gt; events)</code>, if present, or else to the listener methods
+ * above, one event at a time.</p>
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @author Oliver Gierke
  * @author John Blum
  */
-public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
+public class ContinuousQueryListenerAdapter implements ContinuousQueryListener, ContinuousQueryBatchListener {
 
 	// Out-of-the-box value for the default listener handler method "handleEvent".
 	public static final String DEFAULT_LISTENER_METHOD_NAME = "handleEvent";
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
+	private boolean batchMethodResolved;
+
+	private Method batchMethod;
+
 	private MethodInvoker invoker;
 
 	private Object delegate;
@@ -113,6 +124,7 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		Assert.notNull(delegate, "'delegate' must not be null");
 		this.delegate = delegate;
 		this.invoker = null;
+		this.batchMethodResolved = false;
 	}
 
 	/**
@@ -134,6 +146,7 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 	public void setDefaultListenerMethod(String defaultListenerMethod) {
 		this.defaultListenerMethod = defaultListenerMethod;
 		this.invoker = null;
+		this.batchMethodResolved = false;
 	}
 
 	/**
@@ -182,6 +195,91 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		}
 	}
 
+	/**
+	 * {@link ContinuousQueryBatchListener} entry point.
+	 * <p>Delegates the batch of events to the target listener method taking a single <code>List</code> argument,
+	 * if present, or else to {@link #onEvent(CqEvent)} for each event of the batch. In case of an exception,
+	 * the {@link #handleListenerException(Throwable)} method will be invoked.
+	 *
+	 * @param events the incoming batch of GemFire events
+	 * @see #handleListenerException
+	 */
+	public void onEvents(List<CqEvent> events) {
+		try {
+			// Check whether the delegate is a ContinuousQueryBatchListener implementation itself.
+			// If so, this adapter will simply act as a pass-through.
+			if (delegate != this && delegate instanceof ContinuousQueryBatchListener) {
+				((ContinuousQueryBatchListener) delegate).onEvents(events);
+			}
+			else {
+				Method method = getBatchListenerMethod();
+
+				if (method != null) {
+					invokeBatchListenerMethod(method, events);
+				}
+				else {
+					for (CqEvent event : events) {
+						onEvent(event);
+					}
+				}
+			}
+		}
+		catch (Throwable cause) {
+			handleListenerException(cause);
+		}
+	}
+
+	/* resolved once, as the batch listener method is looked up for every batch */
+	private Method getBatchListenerMethod() {
+		if (!batchMethodResolved) {
+			final String methodName = getDefaultListenerMethod();
+			final List<Method> methods = new ArrayList<Method>(1);
+
+			if (methodName != null) {
+				ReflectionUtils.doWithMethods(delegate.getClass(), new MethodCallback() {
+					public void doWith(Method method) throws IllegalArgumentException, IllegalAccessException {
+						methods.add(method);
+					}
+				}, new MethodFilter() {
+					public boolean matches(Method method) {
+						return (Modifier.isPublic(method.getModifiers()) && methodName.equals(method.getName())
+							&& method.getParameterTypes().length == 1
+							&& !Object.class.equals(method.getParameterTypes()[0])
+							&& method.getParameterTypes()[0].isAssignableFrom(List.class));
+					}
+				});
+			}
+
+			if (!methods.isEmpty()) {
+				ReflectionUtils.makeAccessible(methods.get(0));
+			}
+
+			batchMethod = (methods.isEmpty() ? null : methods.get(0));
+			batchMethodResolved = true;
+		}
+
+		return batchMethod;
+	}
+
+	private void invokeBatchListenerMethod(Method method, List<CqEvent> events) {
+		try {
+			method.invoke(delegate, events);
+		}
+		catch (InvocationTargetException e) {
+			if (e.getTargetException() instanceof DataAccessException) {
+				throw (DataAccessException) e.getTargetException();
+			}
+			else {
+				throw new GemfireListenerExecutionFailedException(
+					String.format("Listener method [%1$s] threw Exception...", method.getName()), e.getTargetException());
+			}
+		}
+		catch (Throwable e) {
+			throw new GemfireListenerExecutionFailedException(
+				String.format("Failed to invoke the target listener method [%1$s]", method.getName()), e);
+		}
+	}
+
 	/**
 	 * Determine the name of the listener method that is supposed to
 	 * handle the given event.
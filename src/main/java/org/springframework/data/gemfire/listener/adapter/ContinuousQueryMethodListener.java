@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.adapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.gemfire.listener.ContinuousQueryListener;
+import org.springframework.data.gemfire.listener.GemfireListenerExecutionFailedException;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import com.gemstone.gemfire.cache.Operation;
+import com.gemstone.gemfire.cache.query.CqEvent;
+import com.gemstone.gemfire.cache.query.CqQuery;
+import com.gemstone.gemfire.pdx.PdxInstance;
+
+/**
+ * {@link ContinuousQueryListener} invoking a single listener method, whose arguments are resolved from
+ * the parameter types once, on construction. Unlike the {@link ContinuousQueryListenerAdapter}, no method
+ * is looked up or matched per event; an event only runs the precomputed argument resolvers and the invocation.
+ *
+ * Parameters are resolved by type:
+ *
+ * <ul>
+ *     <li>{@link CqEvent} - the event itself</li>
+ *     <li>{@link Operation} - the base operation, then the query operation</li>
+ *     <li>{@link CqQuery} - the CQ</li>
+ *     <li>{@link Throwable} - the error of the event, if any</li>
+ *     <li><code>byte[]</code> - the delta value</li>
+ *     <li>any other type - the new value, deserialized from PDX unless the parameter is a {@link PdxInstance};
+ *     with two such parameters, the key, then the new value</li>
+ * </ul>
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.annotation.ContinuousQuery
+ * @since 1.9.0
+ */
+public class ContinuousQueryMethodListener implements ContinuousQueryListener {
+
+	private final Method method;
+
+	private final Object delegate;
+
+	private final ArgumentResolver[] argumentResolvers;
+
+	/**
+	 * Constructs a listener invoking the given method on the given object.
+	 *
+	 * @param delegate the object declaring the listener method.
+	 * @param method the listener method.
+	 * @throws IllegalArgumentException if the parameters of the method cannot be resolved from CQ events.
+	 */
+	public ContinuousQueryMethodListener(Object delegate, Method method) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		Assert.notNull(method, "'method' must not be null");
+
+		ReflectionUtils.makeAccessible(method);
+
+		this.delegate = delegate;
+		this.method = method;
+		this.argumentResolvers = resolveArguments(method);
+	}
+
+	private static ArgumentResolver[] resolveArguments(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		ArgumentResolver[] resolvers = new ArgumentResolver[parameterTypes.length];
+
+		int operations = 0;
+		int payloads = 0;
+
+		for (Class<?> parameterType : parameterTypes) {
+			if (!(Operation.class.equals(parameterType) || CqEvent.class.equals(parameterType)
+					|| CqQuery.class.equals(parameterType) || Throwable.class.equals(parameterType)
+					|| byte[].class.equals(parameterType))) {
+				payloads++;
+			}
+		}
+
+		Assert.isTrue(payloads <= 2, String.format(
+			"Listener method [%1$s] must not have more than 2 key or value parameters", method));
+
+		// with a single payload parameter, it receives the new value; with two, the key then the new value
+		boolean key = (payloads == 2);
+
+		for (int index = 0; index < parameterTypes.length; index++) {
+			Class<?> parameterType = parameterTypes[index];
+
+			if (Operation.class.equals(parameterType)) {
+				Assert.isTrue(operations < 2, String.format(
+					"Listener method [%1$s] must not have more than 2 Operation parameters", method));
+				resolvers[index] = (operations++ == 0 ? BASE_OPERATION : QUERY_OPERATION);
+			}
+			else if (CqEvent.class.equals(parameterType)) {
+				resolvers[index] = EVENT;
+			}
+			else if (CqQuery.class.equals(parameterType)) {
+				resolvers[index] = QUERY;
+			}
+			else if (Throwable.class.equals(parameterType)) {
+				resolvers[index] = THROWABLE;
+			}
+			else if (byte[].class.equals(parameterType)) {
+				resolvers[index] = DELTA_VALUE;
+			}
+			else if (key) {
+				resolvers[index] = KEY;
+				key = false;
+			}
+			else {
+				resolvers[index] = (PdxInstance.class.equals(parameterType) ? NEW_VALUE : DESERIALIZED_NEW_VALUE);
+			}
+		}
+
+		return resolvers;
+	}
+
+	/**
+	 * Invokes the listener method with the arguments resolved from the event.
+	 *
+	 * @param event the CQ event.
+	 * @throws GemfireListenerExecutionFailedException if the listener method failed.
+	 */
+	@Override
+	public void onEvent(CqEvent event) {
+		Object[] args = new Object[argumentResolvers.length];
+
+		for (int index = 0; index < args.length; index++) {
+			args[index] = argumentResolvers[index].resolve(event);
+		}
+
+		try {
+			method.invoke(delegate, args);
+		}
+		catch (InvocationTargetException e) {
+			if (e.getTargetException() instanceof DataAccessException) {
+				throw (DataAccessException) e.getTargetException();
+			}
+			else {
+				throw new GemfireListenerExecutionFailedException(
+					String.format("Listener method [%1$s] threw Exception...", method.getName()), e.getTargetException());
+			}
+		}
+		catch (Throwable e) {
+			throw new GemfireListenerExecutionFailedException(
+				String.format("Failed to invoke the target listener method [%1$s]", method.getName()), e);
+		}
+	}
+
+	public Object getDelegate() {
+		return delegate;
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+	/* (non-Javadoc) */
+	interface ArgumentResolver {
+		Object resolve(CqEvent event);
+	}
+
+	static final ArgumentResolver BASE_OPERATION = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getBaseOperation();
+		}
+	};
+
+	static final ArgumentResolver DELTA_VALUE = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getDeltaValue();
+		}
+	};
+
+	static final ArgumentResolver DESERIALIZED_NEW_VALUE = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			Object newValue = event.getNewValue();
+			return (newValue instanceof PdxInstance ? ((PdxInstance) newValue).getObject() : newValue);
+		}
+	};
+
+	static final ArgumentResolver EVENT = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event;
+		}
+	};
+
+	static final ArgumentResolver KEY = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getKey();
+		}
+	};
+
+	static final ArgumentResolver NEW_VALUE = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getNewValue();
+		}
+	};
+
+	static final ArgumentResolver QUERY = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getCq();
+		}
+	};
+
+	static final ArgumentResolver QUERY_OPERATION = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getQueryOperation();
+		}
+	};
+
+	static final ArgumentResolver THROWABLE = new ArgumentResolver() {
+		public Object resolve(CqEvent event) {
+			return event.getThrowable();
+		}
+	};
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a bean method as the listener of a Continuous Query (CQ). The method is registered, at startup,
+ * with the {@link org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer} and receives
+ * the contents of each CQ event, resolved according to its parameter types:
+ *
+ * <ul>
+ *     <li>{@link com.gemstone.gemfire.cache.query.CqEvent} - the event itself</li>
+ *     <li>{@link com.gemstone.gemfire.cache.Operation} - the base operation, then the query operation</li>
+ *     <li>{@link com.gemstone.gemfire.cache.query.CqQuery} - the CQ</li>
+ *     <li>{@link Throwable} - the error of the event, if any</li>
+ *     <li><code>byte[]</code> - the delta value</li>
+ *     <li>any other type - the new value, deserialized from PDX if need be; with two such parameters,
+ *     the key, then the new value</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * &#64;ContinuousQuery(query = "SELECT * FROM /Orders o WHERE o.amount &gt; 1000")
+ * public void onLargeOrder(Long id, Order order, Operation operation) { ... }
+ * </pre>
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.annotation.EnableContinuousQueries
+ * @see org.springframework.data.gemfire.listener.annotation.ContinuousQueryListenerBeanPostProcessor
+ * @since 1.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ContinuousQuery {
+
+	/**
+	 * The OQL query of the CQ.
+	 *
+	 * @return the OQL query.
+	 */
+	String query();
+
+	/**
+	 * The name of the CQ. If not provided, GemFire generates the name.
+	 *
+	 * @return the name of the CQ.
+	 */
+	String name() default "";
+
+	/**
+	 * Attribute to determine whether the CQ is durable.
+	 *
+	 * @return a boolean value indicating whether the CQ is durable.
+	 */
+	boolean durable() default false;
+
+	/**
+	 * Attribute to determine whether the CQ is executed with initial results, delivered to the method
+	 * as CREATE events before the events of the CQ.
+	 *
+	 * @return a boolean value indicating whether the CQ is executed with initial results.
+	 */
+	boolean initialResults() default false;
+
+	/**
+	 * The bean name of the {@link org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer}
+	 * registering the CQ. If not provided, the single container of the application context is used.
+	 *
+	 * @return the bean name of the container.
+	 */
+	String container() default "";
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.annotation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.gemfire.listener.ContinuousQueryDefinition;
+import org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer;
+import org.springframework.data.gemfire.listener.adapter.ContinuousQueryMethodListener;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link BeanPostProcessor} discovering bean methods annotated with {@link ContinuousQuery} and registering them,
+ * once all singletons are instantiated, with their {@link ContinuousQueryListenerContainer}. Listener methods of beans
+ * created afterwards (i.e. lazy-init singletons) are registered right away, and the container executes their CQs
+ * if it is already running. Each method is wrapped in a {@link ContinuousQueryMethodListener} resolving
+ * its arguments up front.
+ *
+ * Only singleton beans may declare listener methods. The CQs live as long as their container, which holds no
+ * reference to the bean scope, so every instance of a prototype (or otherwise scoped) bean would register another CQ
+ * that is never closed.
+ *
+ * The annotations are looked up on the target class of proxied beans. The listener methods of a JDK dynamic proxy
+ * must be declared by one of its interfaces.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.annotation.ContinuousQuery
+ * @see org.springframework.data.gemfire.listener.adapter.ContinuousQueryMethodListener
+ * @since 1.9.0
+ */
+public class ContinuousQueryListenerBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware,
+		SmartInitializingSingleton {
+
+	private static final String CONTINUOUS_QUERY_ANNOTATION_NAME = ContinuousQuery.class.getName();
+
+	private BeanFactory beanFactory;
+
+	private final List<AnnotatedListener> listeners = new ArrayList<AnnotatedListener>();
+
+	private boolean singletonsInstantiated;
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessBeforeInitialization(java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessAfterInitialization(java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		for (Method method : ReflectionUtils.getUniqueDeclaredMethods(AopUtils.getTargetClass(bean))) {
+			ContinuousQuery annotation = AnnotationUtils.findAnnotation(method, ContinuousQuery.class);
+
+			if (annotation != null) {
+				Assert.isTrue(Modifier.isPublic(method.getModifiers()), String.format(
+					"The method %1$s annotated with %2$s must be public", method.getName(),
+						CONTINUOUS_QUERY_ANNOTATION_NAME));
+
+				Assert.isTrue(isSingleton(beanName), String.format(
+					"The method %1$s annotated with %2$s must be declared by a singleton bean; bean [%3$s] is not",
+						method.getName(), CONTINUOUS_QUERY_ANNOTATION_NAME, beanName));
+
+				AnnotatedListener listener = new AnnotatedListener(annotation,
+					new ContinuousQueryMethodListener(bean, getInvocableMethod(bean, beanName, method)));
+
+				synchronized (listeners) {
+					if (!singletonsInstantiated) {
+						listeners.add(listener);
+						continue;
+					}
+				}
+
+				register(listener);
+			}
+		}
+
+		return bean;
+	}
+
+	/* beans unknown to the BeanFactory by name (e.g. inner beans) live as long as their enclosing bean */
+	private boolean isSingleton(String beanName) {
+		return (beanFactory == null || !beanFactory.containsBean(beanName) || beanFactory.isSingleton(beanName));
+	}
+
+	/* the method of the (proxy) class of the bean corresponding to the annotated method of the target class */
+	private static Method getInvocableMethod(Object bean, String beanName, Method method) {
+		Method invocableMethod = ReflectionUtils.findMethod(bean.getClass(), method.getName(),
+			method.getParameterTypes());
+
+		Assert.state(invocableMethod != null, String.format(
+			"The method %1$s annotated with %2$s is not exposed by the proxy of bean [%3$s];"
+				+ " declare it on a proxied interface or proxy the target class", method.getName(),
+					CONTINUOUS_QUERY_ANNOTATION_NAME, beanName));
+
+		return invocableMethod;
+	}
+
+	/**
+	 * Registers the discovered listener methods with their containers, which execute the CQs on start.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		List<AnnotatedListener> discoveredListeners;
+
+		synchronized (listeners) {
+			singletonsInstantiated = true;
+			discoveredListeners = new ArrayList<AnnotatedListener>(listeners);
+			listeners.clear();
+		}
+
+		for (AnnotatedListener listener : discoveredListeners) {
+			register(listener);
+		}
+	}
+
+	private void register(AnnotatedListener listener) {
+		ContinuousQuery annotation = listener.annotation;
+
+		getContainer(annotation.container()).addListener(new ContinuousQueryDefinition(
+			StringUtils.hasText(annotation.name()) ? annotation.name() : null, annotation.query(),
+				listener.listener, annotation.durable(), annotation.initialResults()));
+	}
+
+	private ContinuousQueryListenerContainer getContainer(String containerBeanName) {
+		Assert.state(beanFactory != null, "BeanFactory is required to register @ContinuousQuery listener methods");
+
+		return (StringUtils.hasText(containerBeanName)
+			? beanFactory.getBean(containerBeanName, ContinuousQueryListenerContainer.class)
+			: beanFactory.getBean(ContinuousQueryListenerContainer.class));
+	}
+
+	/* (non-Javadoc) */
+	private static class AnnotatedListener {
+
+		final ContinuousQuery annotation;
+
+		final ContinuousQueryMethodListener listener;
+
+		AnnotatedListener(ContinuousQuery annotation, ContinuousQueryMethodListener listener) {
+			this.annotation = annotation;
+			this.listener = listener;
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.annotation;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+
+/**
+ * Registers the {@link ContinuousQueryListenerBeanPostProcessor} for {@link EnableContinuousQueries}, once
+ * per registry, so that importing {@link EnableContinuousQueries} more than once does not register each CQ twice.
+ *
+ * @author agent
+ * @since 1.9.0
+ */
+public class ContinuousQueryListenerBeanPostProcessorRegistrar implements ImportBeanDefinitionRegistrar {
+
+	public static final String CONTINUOUS_QUERY_LISTENER_BEAN_POST_PROCESSOR_BEAN_NAME =
+		"org.springframework.data.gemfire.listener.annotation.internalContinuousQueryListenerBeanPostProcessor";
+
+	/* (non-Javadoc)
+	 * @see org.springframework.context.annotation.ImportBeanDefinitionRegistrar#registerBeanDefinitions(org.springframework.core.type.AnnotationMetadata, org.springframework.beans.factory.support.BeanDefinitionRegistry)
+	 */
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+		if (!registry.containsBeanDefinition(CONTINUOUS_QUERY_LISTENER_BEAN_POST_PROCESSOR_BEAN_NAME)) {
+			BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(
+				ContinuousQueryListenerBeanPostProcessor.class);
+
+			builder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+			registry.registerBeanDefinition(CONTINUOUS_QUERY_LISTENER_BEAN_POST_PROCESSOR_BEAN_NAME,
+				builder.getBeanDefinition());
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation marking an entity property whose value is written to PDX compressed by the
+ * {@link MappingPdxSerializer}. The property is stored as a {@literal byte[]} PDX field: {@link String}s
+ * are encoded as UTF-8, {@literal byte[]} as is and any other value (e.g. collections) with
+ * the GemFire {@link com.gemstone.gemfire.DataSerializer}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.MappingPdxSerializer#setCompressor(com.gemstone.gemfire.compression.Compressor)
+ * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+public @interface Compressed {
+
+}
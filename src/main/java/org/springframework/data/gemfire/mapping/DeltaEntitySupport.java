@@ -0,0 +1,223 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.util.ObjectUtils;
+
+import com.gemstone.gemfire.DataSerializer;
+import com.gemstone.gemfire.Delta;
+import com.gemstone.gemfire.InvalidDeltaException;
+
+/**
+ * Base class for mapped entities whose updates are propagated as GemFire {@link Delta}s containing only
+ * the changed (dirty) properties, rather than the whole serialized value.
+ *
+ * Dirty properties are tracked by comparing the current property values with a snapshot taken by
+ * {@link #markClean()}, which the {@link org.springframework.data.gemfire.repository.support.SimpleGemfireRepository}
+ * calls when the entity is loaded with {@code findOne} or saved. Collections, maps and arrays are copied into
+ * the snapshot, so in-place modifications are detected; other property values (e.g. nested objects) are compared
+ * with {@link Object#equals(Object)} against the snapshotted reference, so in-place modifications of those
+ * must be reported with {@link #markDirty(String)}.
+ *
+ * Entities without a snapshot, or without changes, report no delta, in which case GemFire sends
+ * the full value. The entity class must be available to the servers to apply the delta.
+ *
+ * @author agent
+ * @see com.gemstone.gemfire.Delta
+ * @see org.springframework.data.gemfire.mapping.GemfireMappingContext
+ */
+public abstract class DeltaEntitySupport implements Delta {
+
+	private static final GemfireMappingContext DEFAULT_MAPPING_CONTEXT = new GemfireMappingContext();
+
+	@Transient
+	private transient Map<String, Object> snapshot;
+
+	@Transient
+	private transient Set<String> explicitlyDirtyProperties;
+
+	/**
+	 * Returns the {@link GemfireMappingContext} used to access the properties of this entity.
+	 *
+	 * @return the {@link GemfireMappingContext} for this entity.
+	 */
+	protected GemfireMappingContext getMappingContext() {
+		return DEFAULT_MAPPING_CONTEXT;
+	}
+
+	/* (non-Javadoc) */
+	private GemfirePersistentEntity<?> getPersistentEntity() {
+		return getMappingContext().getPersistentEntity(getClass());
+	}
+
+	/**
+	 * Takes a snapshot of the current property values, which subsequent changes are tracked against.
+	 */
+	public synchronized void markClean() {
+		final PersistentPropertyAccessor accessor = getPersistentEntity().getPropertyAccessor(this);
+		final Map<String, Object> snapshot = new HashMap<String, Object>();
+
+		getPersistentEntity().doWithProperties(new PropertyHandler<GemfirePersistentProperty>() {
+			@Override
+			public void doWithPersistentProperty(GemfirePersistentProperty persistentProperty) {
+				snapshot.put(persistentProperty.getName(), copyOf(accessor.getProperty(persistentProperty)));
+			}
+		});
+
+		this.snapshot = snapshot;
+		this.explicitlyDirtyProperties = null;
+	}
+
+	/**
+	 * Marks the given property as dirty, for changes that cannot be detected by comparing the property value
+	 * with its snapshot (e.g. modifications of a nested object).
+	 *
+	 * @param propertyName the name of the modified property.
+	 */
+	public synchronized void markDirty(String propertyName) {
+		if (explicitlyDirtyProperties == null) {
+			explicitlyDirtyProperties = new LinkedHashSet<String>();
+		}
+
+		explicitlyDirtyProperties.add(propertyName);
+	}
+
+	/**
+	 * Determines whether changes of this entity are tracked, i.e. whether a snapshot has been taken.
+	 *
+	 * @return a boolean indicating whether changes of this entity are tracked.
+	 */
+	public synchronized boolean isTracked() {
+		return (snapshot != null);
+	}
+
+	/**
+	 * Returns the names of the properties changed since the last snapshot.
+	 *
+	 * @return the names of the dirty properties; empty if this entity is not tracked.
+	 */
+	public synchronized Set<String> getDirtyProperties() {
+		if (snapshot == null) {
+			return Collections.emptySet();
+		}
+
+		final PersistentPropertyAccessor accessor = getPersistentEntity().getPropertyAccessor(this);
+		final Set<String> dirtyProperties = new LinkedHashSet<String>();
+
+		if (explicitlyDirtyProperties != null) {
+			dirtyProperties.addAll(explicitlyDirtyProperties);
+		}
+
+		getPersistentEntity().doWithProperties(new PropertyHandler<GemfirePersistentProperty>() {
+			@Override
+			public void doWithPersistentProperty(GemfirePersistentProperty persistentProperty) {
+				if (!ObjectUtils.nullSafeEquals(snapshot.get(persistentProperty.getName()),
+						accessor.getProperty(persistentProperty))) {
+
+					dirtyProperties.add(persistentProperty.getName());
+				}
+			}
+		});
+
+		return dirtyProperties;
+	}
+
+	@Override
+	public boolean hasDelta() {
+		return !getDirtyProperties().isEmpty();
+	}
+
+	@Override
+	public void toDelta(DataOutput out) throws IOException {
+		GemfirePersistentEntity<?> entity = getPersistentEntity();
+		PersistentPropertyAccessor accessor = entity.getPropertyAccessor(this);
+		Set<String> dirtyProperties = getDirtyProperties();
+
+		out.writeInt(dirtyProperties.size());
+
+		for (String propertyName : dirtyProperties) {
+			out.writeUTF(propertyName);
+			DataSerializer.writeObject(accessor.getProperty(entity.getPersistentProperty(propertyName)), out);
+		}
+	}
+
+	@Override
+	public void fromDelta(DataInput in) throws IOException, InvalidDeltaException {
+		GemfirePersistentEntity<?> entity = getPersistentEntity();
+		PersistentPropertyAccessor accessor = entity.getPropertyAccessor(this);
+
+		try {
+			for (int count = in.readInt(); count > 0; count--) {
+				String propertyName = in.readUTF();
+				GemfirePersistentProperty persistentProperty = entity.getPersistentProperty(propertyName);
+
+				if (persistentProperty == null) {
+					throw new InvalidDeltaException(String.format("Unknown property [%1$s] of entity type [%2$s]",
+						propertyName, getClass().getName()));
+				}
+
+				accessor.setProperty(persistentProperty, DataSerializer.readObject(in));
+			}
+		}
+		catch (ClassNotFoundException e) {
+			throw new InvalidDeltaException(e);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private static Object copyOf(Object value) {
+		if (value instanceof Set) {
+			return new LinkedHashSet<Object>((Set<?>) value);
+		}
+		else if (value instanceof List) {
+			return new ArrayList<Object>((List<?>) value);
+		}
+		else if (value instanceof Collection) {
+			return new ArrayList<Object>((Collection<?>) value);
+		}
+		else if (value instanceof Map) {
+			return new LinkedHashMap<Object, Object>((Map<?, ?>) value);
+		}
+		else if (value != null && value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+
+			System.arraycopy(value, 0, copy, 0, length);
+
+			return copy;
+		}
+
+		return value;
+	}
+}
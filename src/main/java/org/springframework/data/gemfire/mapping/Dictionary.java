@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation marking a low-cardinality {@link String} entity property (e.g. a status code, country or currency)
+ * that the {@link MappingPdxSerializer} writes to PDX as a small integer id assigned by a {@link StringDictionary}
+ * instead of the {@link String} value itself. Read values are the canonical {@link String} instances
+ * held by the dictionary. Annotating a property of any other type is rejected when the entity is mapped.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.MappingPdxSerializer#setDictionary(StringDictionary)
+ * @see org.springframework.data.gemfire.mapping.RegionStringDictionary
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+public @interface Dictionary {
+
+	/**
+	 * The name of the dictionary the property values are encoded with. Properties using the same name share
+	 * the ids of their values. Defaults to the fully-qualified name of the entity type followed by
+	 * the property name (e.g. "example.Order.currency").
+	 *
+	 * @return the name of the dictionary.
+	 */
+	String value() default "";
+
+}
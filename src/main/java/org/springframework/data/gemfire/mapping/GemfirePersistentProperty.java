@@ -23,7 +23,9 @@ import org.springframework.data.mapping.Association;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.data.mapping.model.AnnotationBasedPersistentProperty;
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.util.StringUtils;
 
 /**
  * {@link PersistentProperty} implementation to for Gemfire related metadata.
@@ -32,6 +34,8 @@ import org.springframework.data.mapping.model.SimpleTypeHolder;
  */
 public class GemfirePersistentProperty extends AnnotationBasedPersistentProperty<GemfirePersistentProperty> {
 
+	private volatile String dictionaryName;
+
 	/* (non-Javadoc) */
 	private static SimpleTypeHolder resolveSimpleTypeHolder(SimpleTypeHolder source) {
 		return (source instanceof GemfireSimpleTypeHolder ? source
@@ -45,10 +49,60 @@ public class GemfirePersistentProperty extends AnnotationBasedPersistentProperty
 	 * @param propertyDescriptor PropertyDescriptor for the entity's persistent property.
 	 * @param owner the entity owning the persistent property.
 	 * @param simpleTypeHolder type holder for primitive types.
+	 * @throws MappingException if a property annotated with {@link Dictionary} is not a {@link String}.
 	 */
 	public GemfirePersistentProperty(Field field, PropertyDescriptor propertyDescriptor,
 			PersistentEntity<?, GemfirePersistentProperty> owner, SimpleTypeHolder simpleTypeHolder) {
 		super(field, propertyDescriptor, owner, resolveSimpleTypeHolder(simpleTypeHolder));
+
+		if (isDictionaryEncoded() && !String.class.equals(getType())) {
+			throw new MappingException(String.format(
+				"@Dictionary property [%1$s] of entity [%2$s] must be of type String, but was [%3$s]",
+					getName(), owner.getType().getName(), getType().getName()));
+		}
+	}
+
+	/**
+	 * Determines whether the value of this property is written compressed.
+	 *
+	 * @return a boolean indicating whether this property is annotated with {@link Compressed}.
+	 * @see org.springframework.data.gemfire.mapping.Compressed
+	 */
+	public boolean isCompressed() {
+		return (findAnnotation(Compressed.class) != null);
+	}
+
+	/**
+	 * Determines whether the value of this property is encoded with a {@link StringDictionary}.
+	 *
+	 * @return a boolean indicating whether this property is annotated with {@link Dictionary}.
+	 * @see org.springframework.data.gemfire.mapping.Dictionary
+	 */
+	public boolean isDictionaryEncoded() {
+		return (findAnnotation(Dictionary.class) != null);
+	}
+
+	/**
+	 * Returns the name of the dictionary used to encode the value of this property.
+	 *
+	 * @return the name of the dictionary or {@literal null} if this property is not dictionary encoded.
+	 * @see #isDictionaryEncoded()
+	 */
+	public String getDictionaryName() {
+		String dictionaryName = this.dictionaryName;
+
+		if (dictionaryName == null) {
+			Dictionary dictionary = findAnnotation(Dictionary.class);
+
+			if (dictionary != null) {
+				dictionaryName = (StringUtils.hasText(dictionary.value()) ? dictionary.value()
+					: String.format("%1$s.%2$s", getOwner().getType().getName(), getName()));
+
+				this.dictionaryName = dictionaryName;
+			}
+		}
+
+		return dictionaryName;
 	}
 
 	/*
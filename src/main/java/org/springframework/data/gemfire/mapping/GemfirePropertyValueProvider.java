@@ -15,29 +15,37 @@
  */
 package org.springframework.data.gemfire.mapping;
 
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mapping.model.PropertyValueProvider;
 import org.springframework.util.Assert;
 
 import com.gemstone.gemfire.pdx.PdxReader;
 
 /**
- * {@link PropertyValueProvider} to read property values from a {@link PdxReader}.
+ * {@link PropertyValueProvider} to read property values from a {@link PdxReader}, decoding them the same
+ * way the {@link MappingPdxSerializer} decodes properties that are not constructor arguments.
  * 
  * @author Oliver Gierke
  * @author David Turanski
+ * @author agent
  */
 class GemfirePropertyValueProvider implements PropertyValueProvider<GemfirePersistentProperty> {
 
+	private final MappingPdxSerializer serializer;
+
 	private final PdxReader reader;
 
 	/**
 	 * Creates a new {@link GemfirePropertyValueProvider} with the given {@link PdxReader}.
 	 * 
 	 * @param reader must not be {@literal null}.
+	 * @param serializer the {@link MappingPdxSerializer} decoding the property values; must not be {@literal null}.
 	 */
-	public GemfirePropertyValueProvider(PdxReader reader) {
+	public GemfirePropertyValueProvider(PdxReader reader, MappingPdxSerializer serializer) {
 		Assert.notNull(reader);
+		Assert.notNull(serializer);
 		this.reader = reader;
+		this.serializer = serializer;
 	}
 
 	/* 
@@ -47,6 +55,12 @@ class GemfirePropertyValueProvider implements PropertyValueProvider<GemfirePersi
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T getPropertyValue(GemfirePersistentProperty property) {
-		return (T) reader.readField(property.getName());
+		try {
+			return (T) serializer.readValue(property, reader);
+		}
+		catch (Exception e) {
+			throw new MappingException(String.format("while reading value of constructor argument [%1$s] from PDX",
+				property.getName()), e);
+		}
 	}
 }
\ No newline at end of file
@@ -15,6 +15,12 @@
  */
 package org.springframework.data.gemfire.mapping;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Map;
 
@@ -27,6 +33,7 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.convert.EntityInstantiator;
 import org.springframework.data.convert.EntityInstantiators;
+import org.springframework.data.gemfire.compression.ThresholdCompressor;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.PropertyHandler;
@@ -36,6 +43,8 @@ import org.springframework.data.mapping.model.PersistentEntityParameterValueProv
 import org.springframework.data.mapping.model.SpELContext;
 import org.springframework.util.Assert;
 
+import com.gemstone.gemfire.DataSerializer;
+import com.gemstone.gemfire.compression.Compressor;
 import com.gemstone.gemfire.pdx.PdxReader;
 import com.gemstone.gemfire.pdx.PdxSerializer;
 import com.gemstone.gemfire.pdx.PdxWriter;
@@ -61,6 +70,10 @@ import com.gemstone.gemfire.pdx.PdxWriter;
  */
 public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAware {
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private Compressor compressor;
+
 	private final ConversionService conversionService;
 
 	private EntityInstantiators instantiators;
@@ -71,6 +84,8 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 
 	private Map<Class<?>, PdxSerializer> customSerializers;
 
+	private StringDictionary dictionary;
+
 	private SpELContext context;
 
 	/**
@@ -97,6 +112,7 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 		this.conversionService = conversionService;
 		this.instantiators = new EntityInstantiators();
 		this.customSerializers = Collections.emptyMap();
+		this.compressor = new ThresholdCompressor();
 		this.context = new SpELContext(PdxReaderPropertyAccessor.INSTANCE);
 	}
 
@@ -126,6 +142,39 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 		this.customSerializers = customSerializers;
 	}
 
+	/**
+	 * Configures the {@link Compressor} used for properties annotated with {@link Compressed}.
+	 * Defaults to a {@link ThresholdCompressor}.
+	 *
+	 * @param compressor must not be {@literal null}.
+	 * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+	 */
+	public void setCompressor(Compressor compressor) {
+		Assert.notNull(compressor);
+		this.compressor = compressor;
+	}
+
+	/* (non-Javadoc) */
+	protected Compressor getCompressor() {
+		return compressor;
+	}
+
+	/**
+	 * Configures the {@link StringDictionary} used to encode properties annotated with {@link Dictionary}.
+	 *
+	 * @param dictionary the {@link StringDictionary} encoding the values of dictionary properties.
+	 * @see org.springframework.data.gemfire.mapping.RegionStringDictionary
+	 */
+	public void setDictionary(StringDictionary dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	/* (non-Javadoc) */
+	protected StringDictionary getDictionary() {
+		Assert.state(dictionary != null, "a StringDictionary is required to (de)serialize @Dictionary properties");
+		return dictionary;
+	}
+
 	/* (non-Javadoc) */
 	protected Map<Class<?>, PdxSerializer> getCustomSerializers() {
 		return Collections.unmodifiableMap(customSerializers);
@@ -163,7 +212,7 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 
 		final Object instance = getInstantiatorFor(entity).createInstance(entity,
 			new PersistentEntityParameterValueProvider<GemfirePersistentProperty>(entity,
-				new GemfirePropertyValueProvider(reader), null));
+				new GemfirePropertyValueProvider(reader, this), null));
 
 		final PersistentPropertyAccessor accessor = new ConvertingPropertyAccessor(entity.getPropertyAccessor(instance),
 			getConversionService());
@@ -182,9 +231,8 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 									String.format(" using custom PdxSerializer [%1$s]", customSerializer) : "")));
 						}
 
-						value = (customSerializer != null
-							? customSerializer.fromData(persistentProperty.getType(), reader)
-							: reader.readField(persistentProperty.getName()));
+						value = (customSerializer != null ? customSerializer.fromData(persistentProperty.getType(), reader)
+							: readValue(persistentProperty, reader));
 
 						if (log.isDebugEnabled()) {
 							log.debug(String.format("with value [%1$s]", value));
@@ -238,6 +286,13 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 					if (customSerializer != null) {
 						customSerializer.toData(propertyValue, writer);
 					}
+					else if (persistentProperty.isCompressed()) {
+						writer.writeByteArray(persistentProperty.getName(), compress(persistentProperty, propertyValue));
+					}
+					else if (persistentProperty.isDictionaryEncoded()) {
+						writer.writeInt(persistentProperty.getName(), (propertyValue == null ? -1
+							: getDictionary().encode(persistentProperty.getDictionaryName(), (String) propertyValue)));
+					}
 					else {
 						writer.writeField(persistentProperty.getName(), propertyValue, (Class) persistentProperty.getType());
 					} 
@@ -261,6 +316,95 @@ public class MappingPdxSerializer implements PdxSerializer, ApplicationContextAw
 		return true;
 	}
 
+	/**
+	 * Reads the value of the given property from PDX, decompressing {@link Compressed} and decoding
+	 * {@link Dictionary} properties. Used for both constructor arguments and properties set after
+	 * the entity has been instantiated.
+	 *
+	 * @param persistentProperty the property to read.
+	 * @param reader the {@link PdxReader} to read the PDX field of the property from.
+	 * @return the value of the property.
+	 * @throws IOException if the value of a {@link Compressed} property cannot be decoded.
+	 * @throws ClassNotFoundException if the class of a {@link Compressed} property value cannot be found.
+	 * @see #decompress(GemfirePersistentProperty, byte[])
+	 */
+	protected Object readValue(GemfirePersistentProperty persistentProperty, PdxReader reader)
+			throws IOException, ClassNotFoundException {
+
+		if (persistentProperty.isCompressed()) {
+			return decompress(persistentProperty, reader.readByteArray(persistentProperty.getName()));
+		}
+		else if (persistentProperty.isDictionaryEncoded()) {
+			int id = reader.readInt(persistentProperty.getName());
+
+			return (id < 0 ? null : getDictionary().decode(persistentProperty.getDictionaryName(), id));
+		}
+		else {
+			return reader.readField(persistentProperty.getName());
+		}
+	}
+
+	/**
+	 * Encodes and compresses the value of a {@link Compressed} property.
+	 *
+	 * @param persistentProperty the compressed property.
+	 * @param value the value of the property; may be {@literal null}.
+	 * @return the compressed value or {@literal null} if the value is {@literal null}.
+	 * @throws IOException if the value cannot be encoded.
+	 * @see #getCompressor()
+	 */
+	protected byte[] compress(GemfirePersistentProperty persistentProperty, Object value) throws IOException {
+		if (value == null) {
+			return null;
+		}
+
+		byte[] bytes;
+
+		if (byte[].class.equals(persistentProperty.getType())) {
+			bytes = (byte[]) value;
+		}
+		else if (String.class.equals(persistentProperty.getType())) {
+			bytes = value.toString().getBytes(UTF_8);
+		}
+		else {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DataSerializer.writeObject(value, new DataOutputStream(out));
+			bytes = out.toByteArray();
+		}
+
+		return getCompressor().compress(bytes);
+	}
+
+	/**
+	 * Decompresses and decodes the value of a {@link Compressed} property.
+	 *
+	 * @param persistentProperty the compressed property.
+	 * @param bytes the compressed value; may be {@literal null}.
+	 * @return the value of the property or {@literal null} if the compressed value is {@literal null}.
+	 * @throws IOException if the value cannot be decoded.
+	 * @throws ClassNotFoundException if the class of the value cannot be found.
+	 * @see #getCompressor()
+	 */
+	protected Object decompress(GemfirePersistentProperty persistentProperty, byte[] bytes)
+			throws IOException, ClassNotFoundException {
+
+		if (bytes == null) {
+			return null;
+		}
+
+		byte[] decompressedBytes = getCompressor().decompress(bytes);
+
+		if (byte[].class.equals(persistentProperty.getType())) {
+			return decompressedBytes;
+		}
+		else if (String.class.equals(persistentProperty.getType())) {
+			return new String(decompressedBytes, UTF_8);
+		}
+		else {
+			return DataSerializer.readObject(new DataInputStream(new ByteArrayInputStream(decompressedBytes)));
+		}
+	}
+
 	/**
 	 * Looks up and returns a custom PdxSerializer based on the class type of the object to (de)serialize.
 	 *
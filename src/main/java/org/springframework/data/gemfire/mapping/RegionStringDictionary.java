@@ -0,0 +1,181 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.Region;
+
+/**
+ * {@link StringDictionary} backed by a GemFire {@link Region} shared by all members of the cluster
+ * (e.g. a REPLICATE Region on the servers accessed through a PROXY Region on the clients), with a local
+ * lookup cache in front of it.
+ *
+ * Ids are allocated from a per-dictionary counter stored in the Region using atomic {@link Region#putIfAbsent}
+ * and {@link Region#replace(Object, Object, Object)} operations, so concurrent members always agree on the id of
+ * a value. The local cache holds every value read or written through this dictionary and is therefore only
+ * suitable for low-cardinality values. Cached values are interned, so decoding returns canonical instances.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.Dictionary
+ * @see org.springframework.data.gemfire.mapping.StringDictionary
+ * @see com.gemstone.gemfire.cache.Region
+ */
+public class RegionStringDictionary implements StringDictionary {
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final ConcurrentMap<String, Entries> dictionaries = new ConcurrentHashMap<String, Entries>();
+
+	private final Region<String, Object> region;
+
+	/**
+	 * Constructs a dictionary backed by the given {@link Region}.
+	 *
+	 * @param region the Region storing the dictionary entries; must not be {@literal null}.
+	 */
+	public RegionStringDictionary(Region<String, Object> region) {
+		Assert.notNull(region, "Region must not be null");
+		this.region = region;
+	}
+
+	/* (non-Javadoc) */
+	protected Region<String, Object> getRegion() {
+		return region;
+	}
+
+	@Override
+	public int encode(String dictionary, String value) {
+		Assert.notNull(value, "value must not be null");
+
+		Entries entries = getEntries(dictionary);
+		Integer id = entries.ids.get(value);
+
+		if (id == null) {
+			id = resolveId(dictionary, value);
+			entries.cache(id, value);
+		}
+
+		return id;
+	}
+
+	@Override
+	public String decode(String dictionary, int id) {
+		Entries entries = getEntries(dictionary);
+		String value = entries.values.get(id);
+
+		if (value == null) {
+			Object storedValue = region.get(idKey(dictionary, id));
+
+			if (storedValue == null) {
+				throw new IllegalArgumentException(String.format("No value with id [%1$d] in dictionary [%2$s]",
+					id, dictionary));
+			}
+
+			value = entries.cache(id, storedValue.toString());
+		}
+
+		return value;
+	}
+
+	/**
+	 * Clears the local lookup cache; the entries stored in the Region are kept.
+	 */
+	public void clearCache() {
+		dictionaries.clear();
+	}
+
+	private Entries getEntries(String dictionary) {
+		Entries entries = dictionaries.get(dictionary);
+
+		if (entries == null) {
+			Entries newEntries = new Entries();
+			entries = dictionaries.putIfAbsent(dictionary, newEntries);
+			entries = (entries != null ? entries : newEntries);
+		}
+
+		return entries;
+	}
+
+	private int resolveId(String dictionary, String value) {
+		String valueKey = valueKey(dictionary, value);
+		Object existingId = region.get(valueKey);
+
+		if (existingId != null) {
+			return (Integer) existingId;
+		}
+
+		int id = nextId(dictionary);
+
+		// store the reverse mapping first so any id that can be observed on the wire can be decoded
+		region.put(idKey(dictionary, id), value);
+
+		existingId = region.putIfAbsent(valueKey, id);
+
+		return (existingId != null ? (Integer) existingId : id);
+	}
+
+	private int nextId(String dictionary) {
+		String counterKey = counterKey(dictionary);
+
+		while (true) {
+			Object currentId = region.putIfAbsent(counterKey, 1);
+
+			if (currentId == null) {
+				return 0;
+			}
+
+			if (region.replace(counterKey, currentId, (Integer) currentId + 1)) {
+				return (Integer) currentId;
+			}
+		}
+	}
+
+	static String counterKey(String dictionary) {
+		return "c:" + dictionary;
+	}
+
+	static String idKey(String dictionary, int id) {
+		return "i:" + dictionary + SEPARATOR + id;
+	}
+
+	static String valueKey(String dictionary, String value) {
+		return "v:" + dictionary + SEPARATOR + value;
+	}
+
+	/**
+	 * Local, bidirectional cache of the entries of a single dictionary.
+	 */
+	static final class Entries {
+
+		private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+		private final ConcurrentMap<Integer, String> values = new ConcurrentHashMap<Integer, String>();
+
+		String cache(Integer id, String value) {
+			String canonicalValue = value.intern();
+			String existingValue = values.putIfAbsent(id, canonicalValue);
+
+			canonicalValue = (existingValue != null ? existingValue : canonicalValue);
+			ids.putIfAbsent(canonicalValue, id);
+
+			return canonicalValue;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+/**
+ * Strategy assigning stable integer ids to the {@link String} values of {@link Dictionary} encoded properties.
+ * The ids must be the same on every member reading or writing the encoded values.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.Dictionary
+ * @see org.springframework.data.gemfire.mapping.RegionStringDictionary
+ */
+public interface StringDictionary {
+
+	/**
+	 * Returns the id of the given value in the named dictionary, assigning a new id if the value
+	 * has not been encoded before.
+	 *
+	 * @param dictionary the name of the dictionary.
+	 * @param value the value to encode; must not be {@literal null}.
+	 * @return the non-negative id of the value.
+	 */
+	int encode(String dictionary, String value);
+
+	/**
+	 * Returns the canonical {@link String} instance with the given id in the named dictionary.
+	 *
+	 * @param dictionary the name of the dictionary.
+	 * @param id the id of the value.
+	 * @return the value with the given id.
+	 * @throws IllegalArgumentException if no value with the given id exists.
+	 */
+	String decode(String dictionary, int id);
+
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.gemfire.GemfireCallback;
 import org.springframework.data.gemfire.GemfireTemplate;
+import org.springframework.data.gemfire.mapping.DeltaEntitySupport;
 import org.springframework.data.gemfire.repository.GemfireRepository;
 import org.springframework.data.gemfire.repository.Wrapper;
 import org.springframework.data.gemfire.repository.query.QueryString;
@@ -76,8 +77,9 @@ public class SimpleGemfireRepository<T, ID extends Serializable> implements Gemf
 	 */
 	@Override
 	public <U extends T> U save(U entity) {
+		// tracked entities with changes are sent as a Delta of their dirty properties by GemFire
 		template.put(entityInformation.getId(entity), entity);
-		return entity;
+		return markClean(entity);
 	}
 
 	/*
@@ -95,6 +97,10 @@ public class SimpleGemfireRepository<T, ID extends Serializable> implements Gemf
 
 		template.putAll(result);
 
+		for (U entity : result.values()) {
+			markClean(entity);
+		}
+
 		return result.values();
 	}
 
@@ -139,7 +145,7 @@ public class SimpleGemfireRepository<T, ID extends Serializable> implements Gemf
 	@Override
 	@SuppressWarnings("unchecked")
 	public T findOne(ID id) {
-		return (T) template.get(id);
+		return markClean((T) template.get(id));
 	}
 
 	/*
@@ -293,4 +299,18 @@ public class SimpleGemfireRepository<T, ID extends Serializable> implements Gemf
 		});
 	}
 
+	/**
+	 * Starts (or restarts) tracking the changes of the given entity when it supports Delta propagation.
+	 *
+	 * @param entity the entity loaded from or stored in the Region.
+	 * @return the given entity.
+	 * @see org.springframework.data.gemfire.mapping.DeltaEntitySupport#markClean()
+	 */
+	<S> S markClean(S entity) {
+		if (entity instanceof DeltaEntitySupport) {
+			((DeltaEntitySupport) entity).markClean();
+		}
+
+		return entity;
+	}
 }
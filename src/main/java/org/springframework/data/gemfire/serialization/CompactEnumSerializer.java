@@ -0,0 +1,211 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.DataSerializer;
+
+/**
+ * Compact {@link DataSerializer} for a fixed set of JDK Enums declared up front. Unlike {@link EnumSerializer},
+ * the supported enum types are never changed after registration, so serializing a value requires neither
+ * a global registry lookup nor re-registration of the serializer.
+ *
+ * Each enum type is identified on the wire by its (varint encoded) position in the registered type list,
+ * followed by the (varint encoded) ordinal of the constant. Every member of the distributed system must
+ * therefore register the same enum types in the same order.
+ *
+ * Since GemFire instantiates registered {@link DataSerializer}s reflectively, the type table is handed over
+ * through {@link #register(int, List)} (or {@link CompactEnumSerializerFactoryBean}) before registration.
+ * The class can therefore be registered with only one id and type table per class loader; registering it
+ * again with a different id or different enum types is rejected.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.EnumSerializer
+ * @see org.springframework.data.gemfire.serialization.CompactEnumSerializerFactoryBean
+ */
+@SuppressWarnings("rawtypes")
+public class CompactEnumSerializer extends DataSerializer implements Serializable {
+
+	private static final long serialVersionUID = 5244823318741063474L;
+
+	public static final int DEFAULT_ID = 1025;
+
+	private static volatile EnumTypeTable registeredTable = new EnumTypeTable(DEFAULT_ID, new Class[0]);
+
+	private static CompactEnumSerializer registeredSerializer;
+
+	private final EnumTypeTable table;
+
+	/**
+	 * Constructs a serializer for the enum types of the last {@link #register(int, List)} call. Used by GemFire
+	 * when instantiating the serializer reflectively.
+	 */
+	public CompactEnumSerializer() {
+		this(registeredTable);
+	}
+
+	CompactEnumSerializer(int id, List<Class<? extends Enum>> enumTypes) {
+		this(new EnumTypeTable(id, enumTypes.toArray(new Class[enumTypes.size()])));
+	}
+
+	private CompactEnumSerializer(EnumTypeTable table) {
+		this.table = table;
+	}
+
+	/**
+	 * Registers a {@link CompactEnumSerializer} handling the given enum types with GemFire.
+	 *
+	 * @param id the id of the serializer.
+	 * @param enumTypes the (ordered) enum types handled by the serializer.
+	 * @return the registered serializer.
+	 * @throws IllegalStateException if a serializer with a different id or different enum types
+	 * has already been registered.
+	 */
+	public static synchronized CompactEnumSerializer register(int id, List<Class<? extends Enum>> enumTypes) {
+		Assert.notEmpty(enumTypes, "at least one enum type is required");
+
+		EnumTypeTable table = new EnumTypeTable(id, enumTypes.toArray(new Class[enumTypes.size()]));
+
+		if (registeredSerializer != null) {
+			// the table of the registered serializer, read by GemFire's reflective instantiation, must not change
+			Assert.state(registeredSerializer.table.isSameAs(table), String.format(
+				"A CompactEnumSerializer with id [%1$d] and enum types %2$s is already registered;"
+					+ " cannot register it with id [%3$d] and enum types %4$s", registeredSerializer.table.id,
+				Arrays.toString(registeredSerializer.table.types), id, Arrays.toString(table.types)));
+
+			return registeredSerializer;
+		}
+
+		registeredTable = table;
+		registeredSerializer = (CompactEnumSerializer) DataSerializer.register(CompactEnumSerializer.class);
+
+		return registeredSerializer;
+	}
+
+	@Override
+	public boolean toData(Object o, DataOutput out) throws IOException {
+		if (o instanceof Enum<?>) {
+			Enum<?> enm = (Enum<?>) o;
+			Integer typeId = table.typeIds.get(enm.getDeclaringClass());
+
+			if (typeId != null) {
+				writeVarInt(typeId, out);
+				writeVarInt(enm.ordinal(), out);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public Object fromData(DataInput in) throws IOException, ClassNotFoundException {
+		int typeId = readVarInt(in);
+
+		if (typeId < 0 || typeId >= table.constants.length) {
+			throw new IOException("Unknown enum type id read from the stream - " + typeId);
+		}
+
+		Enum[] constants = table.constants[typeId];
+		int ordinal = readVarInt(in);
+
+		if (ordinal < 0 || ordinal >= constants.length) {
+			throw new IOException(String.format("Invalid ordinal [%1$d] read from the stream for enum %2$s",
+				ordinal, table.types[typeId].getName()));
+		}
+
+		return constants[ordinal];
+	}
+
+	@Override
+	public Class<?>[] getSupportedClasses() {
+		return table.types.clone();
+	}
+
+	@Override
+	public int getId() {
+		return table.id;
+	}
+
+	static void writeVarInt(int value, DataOutput out) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		out.writeByte(value);
+	}
+
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed varint read from the stream");
+	}
+
+	/**
+	 * Immutable, precomputed mapping of enum types to their type ids and constants.
+	 */
+	static final class EnumTypeTable implements Serializable {
+
+		private static final long serialVersionUID = -2386296212335924437L;
+
+		private final int id;
+		private final Class[] types;
+		private final Enum[][] constants;
+		private final Map<Class<?>, Integer> typeIds;
+
+		EnumTypeTable(int id, Class[] types) {
+			this.id = id;
+			this.types = types;
+			this.constants = new Enum[types.length][];
+			this.typeIds = new IdentityHashMap<Class<?>, Integer>(types.length);
+
+			for (int index = 0; index < types.length; index++) {
+				Assert.isTrue(types[index] != null && types[index].isEnum(),
+					String.format("[%1$s] is not an enum type", types[index]));
+				Assert.isTrue(!typeIds.containsKey(types[index]),
+					String.format("enum type [%1$s] is registered more than once", types[index].getName()));
+
+				constants[index] = (Enum[]) types[index].getEnumConstants();
+				typeIds.put(types[index], index);
+			}
+		}
+
+		boolean isSameAs(EnumTypeTable table) {
+			return (id == table.id && Arrays.equals(types, table.types));
+		}
+	}
+}
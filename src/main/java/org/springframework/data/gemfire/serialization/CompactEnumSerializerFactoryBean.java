@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.util.List;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.DataSerializer;
+
+/**
+ * {@link FactoryBean} registering a {@link CompactEnumSerializer} for a fixed set of enum types
+ * with GemFire at container startup.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.CompactEnumSerializer
+ */
+@SuppressWarnings("rawtypes")
+public class CompactEnumSerializerFactoryBean implements FactoryBean<DataSerializer>, InitializingBean {
+
+	private int id = CompactEnumSerializer.DEFAULT_ID;
+
+	private boolean autoRegister = true;
+
+	private CompactEnumSerializer serializer;
+
+	private List<Class<? extends Enum>> enumTypes;
+
+	public void afterPropertiesSet() throws Exception {
+		Assert.notEmpty(enumTypes, "no enum types for the CompactEnumSerializer");
+
+		serializer = (autoRegister ? CompactEnumSerializer.register(id, enumTypes)
+			: new CompactEnumSerializer(id, enumTypes));
+	}
+
+	public DataSerializer getObject() throws Exception {
+		return serializer;
+	}
+
+	public Class<?> getObjectType() {
+		return CompactEnumSerializer.class;
+	}
+
+	public boolean isSingleton() {
+		return true;
+	}
+
+	/**
+	 * Sets the enum types handled by the serializer. The position of each type in the list is its id on the wire,
+	 * so all members must be configured with the same types in the same order.
+	 *
+	 * @param enumTypes the enum types to set
+	 */
+	public void setEnumTypes(List<Class<? extends Enum>> enumTypes) {
+		this.enumTypes = enumTypes;
+	}
+
+	/**
+	 * Sets the id of the serializer. Default is 1025.
+	 *
+	 * @param id the id to set
+	 */
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Sets the auto-registration of the serializer during the container startup.
+	 * Default is true, meaning the registration will occur once this factory is initialized.
+	 *
+	 * @param autoRegister the autoRegister to set
+	 */
+	public void setAutoRegister(boolean autoRegister) {
+		this.autoRegister = autoRegister;
+	}
+}
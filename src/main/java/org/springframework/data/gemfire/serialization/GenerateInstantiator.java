@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link com.gemstone.gemfire.DataSerializable} type for which an {@link com.gemstone.gemfire.Instantiator}
+ * is generated at build time by the {@link InstantiatorAnnotationProcessor}. The generated instantiators are
+ * picked up by the {@link PrecompiledInstantiatorGenerator}, avoiding runtime bytecode generation.
+ *
+ * The annotated type must be a public, concrete, top-level or static nested class with a public
+ * no-arg constructor.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.InstantiatorAnnotationProcessor
+ * @see org.springframework.data.gemfire.serialization.PrecompiledInstantiatorGenerator
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateInstantiator {
+
+	/**
+	 * The class id the generated {@link com.gemstone.gemfire.Instantiator} registers the type with by default.
+	 *
+	 * @return the instantiator class id.
+	 */
+	int classId();
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor generating an {@link com.gemstone.gemfire.Instantiator} class for every type annotated with
+ * {@link GenerateInstantiator} at compile time. The generated class is named after the annotated type
+ * (see {@link PrecompiledInstantiatorGenerator#getInstantiatorClassName(String)}) and is located by
+ * the {@link PrecompiledInstantiatorGenerator} at runtime.
+ *
+ * The processor is not registered as a service, so it must be enabled explicitly, e.g. with
+ * {@literal javac -processor org.springframework.data.gemfire.serialization.InstantiatorAnnotationProcessor},
+ * the {@literal annotationProcessors} setting of the Maven compiler plugin or Gradle's {@literal options.compilerArgs}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.GenerateInstantiator
+ * @see org.springframework.data.gemfire.serialization.PrecompiledInstantiatorGenerator
+ */
+@SupportedAnnotationTypes("org.springframework.data.gemfire.serialization.GenerateInstantiator")
+public class InstantiatorAnnotationProcessor extends AbstractProcessor {
+
+	private static final String DATA_SERIALIZABLE_TYPE_NAME = "com.gemstone.gemfire.DataSerializable";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+		for (Element element : roundEnvironment.getElementsAnnotatedWith(GenerateInstantiator.class)) {
+			if (isValid(element)) {
+				TypeElement type = (TypeElement) element;
+
+				try {
+					generateInstantiator(type, type.getAnnotation(GenerateInstantiator.class).classId());
+				}
+				catch (IOException e) {
+					error(type, "Failed to generate the Instantiator for %1$s: %2$s", type, e.getMessage());
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private boolean isValid(Element element) {
+		if (element.getKind() != ElementKind.CLASS) {
+			return error(element, "@GenerateInstantiator is only supported on classes");
+		}
+
+		TypeElement type = (TypeElement) element;
+		Set<Modifier> modifiers = type.getModifiers();
+
+		if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+			return error(type, "%1$s must be a public, concrete class", type);
+		}
+
+		if (type.getNestingKind() != NestingKind.TOP_LEVEL
+				&& !(type.getNestingKind() == NestingKind.MEMBER && modifiers.contains(Modifier.STATIC))) {
+			return error(type, "%1$s must be a top-level or static nested class", type);
+		}
+
+		TypeElement dataSerializableType = processingEnv.getElementUtils().getTypeElement(DATA_SERIALIZABLE_TYPE_NAME);
+
+		if (dataSerializableType == null
+				|| !processingEnv.getTypeUtils().isAssignable(type.asType(), dataSerializableType.asType())) {
+			return error(type, "%1$s must implement %2$s", type, DATA_SERIALIZABLE_TYPE_NAME);
+		}
+
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				return true;
+			}
+		}
+
+		return error(type, "%1$s must declare a public no-arg constructor", type);
+	}
+
+	private void generateInstantiator(TypeElement type, int classId) throws IOException {
+		String instantiatorClassName = PrecompiledInstantiatorGenerator.getInstantiatorClassName(
+			processingEnv.getElementUtils().getBinaryName(type).toString());
+
+		int lastDot = instantiatorClassName.lastIndexOf('.');
+		String packageName = (lastDot > 0 ? instantiatorClassName.substring(0, lastDot) : null);
+		String simpleName = instantiatorClassName.substring(lastDot + 1);
+		String typeName = type.getQualifiedName().toString();
+
+		PrintWriter writer = new PrintWriter(processingEnv.getFiler().createSourceFile(instantiatorClassName, type)
+			.openWriter());
+
+		try {
+			if (packageName != null) {
+				writer.printf("package %1$s;%n%n", packageName);
+			}
+
+			writer.printf("/**%n * {@link com.gemstone.gemfire.Instantiator} for {@link %1$s}.%n", typeName);
+			writer.printf(" * Generated by %1$s, do not edit.%n */%n", getClass().getName());
+			writer.printf("public final class %1$s extends com.gemstone.gemfire.Instantiator {%n%n", simpleName);
+			writer.printf("\tpublic static final int CLASS_ID = %1$d;%n%n", classId);
+			writer.printf("\tpublic %1$s() {%n\t\tthis(%2$s.class, CLASS_ID);%n\t}%n%n", simpleName, typeName);
+			writer.printf("\tpublic %1$s(Class<? extends com.gemstone.gemfire.DataSerializable> type, int classId) {%n",
+				simpleName);
+			writer.printf("\t\tsuper(type, classId);%n\t}%n%n");
+			writer.printf("\t@Override%n\tpublic com.gemstone.gemfire.DataSerializable newInstance() {%n");
+			writer.printf("\t\treturn new %1$s();%n\t}%n}%n", typeName);
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	private boolean error(Element element, String message, Object... arguments) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(message, arguments), element);
+		return false;
+	}
+}
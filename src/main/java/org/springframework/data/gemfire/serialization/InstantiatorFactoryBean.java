@@ -34,7 +34,9 @@ import com.gemstone.gemfire.Instantiator;
  * {@link InstantiatorGenerator}s, inside the Spring container. 
  * 
  * By default, the returns {@link Instantiator}s (created through  {@link AsmInstantiatorGenerator} if a custom
- * generator is not specified) are registered at startup with GemFire.
+ * generator is not specified) are registered at startup with GemFire. Types annotated with
+ * {@link GenerateInstantiator} use the {@link Instantiator} generated at build time instead, if present
+ * (see {@link PrecompiledInstantiatorGenerator}).
  * 
  * @author Costin Leau
  */
@@ -54,7 +56,7 @@ public class InstantiatorFactoryBean implements BeanClassLoaderAware, FactoryBea
 		Assert.notEmpty(types, "no custom types for generating the Instantiators");
 
 		if (generator == null) {
-			generator = new AsmInstantiatorGenerator(classLoader);
+			generator = new PrecompiledInstantiatorGenerator(new AsmInstantiatorGenerator(classLoader));
 		}
 
 		list = new ArrayList<Instantiator>(types.size());
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.lang.reflect.Constructor;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import com.gemstone.gemfire.DataSerializable;
+import com.gemstone.gemfire.Instantiator;
+
+/**
+ * {@link InstantiatorGenerator} implementation returning the {@link Instantiator}s generated at build time
+ * by the {@link InstantiatorAnnotationProcessor} for types annotated with {@link GenerateInstantiator}.
+ * Types without a precompiled {@link Instantiator} are delegated to a fallback generator, if any.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.GenerateInstantiator
+ * @see org.springframework.data.gemfire.serialization.InstantiatorAnnotationProcessor
+ */
+public class PrecompiledInstantiatorGenerator implements InstantiatorGenerator {
+
+	static final String INSTANTIATOR_CLASS_NAME_SUFFIX = "_Instantiator";
+
+	private final InstantiatorGenerator fallback;
+
+	/**
+	 * Constructs a generator supporting precompiled {@link Instantiator}s only.
+	 */
+	public PrecompiledInstantiatorGenerator() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a generator delegating to the given generator for types without a precompiled {@link Instantiator}.
+	 *
+	 * @param fallback the generator used for types without a precompiled {@link Instantiator}; may be null.
+	 */
+	public PrecompiledInstantiatorGenerator(InstantiatorGenerator fallback) {
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Returns the name of the {@link Instantiator} class generated for the given type, which is placed in
+	 * the package of the type and named after its binary name (nested type names are separated
+	 * by an underscore), followed by {@literal _Instantiator}.
+	 *
+	 * @param binaryName the binary name of the {@link DataSerializable} type.
+	 * @return the name of the generated {@link Instantiator} class.
+	 */
+	public static String getInstantiatorClassName(String binaryName) {
+		int lastDot = binaryName.lastIndexOf('.');
+
+		return binaryName.substring(0, lastDot + 1) + binaryName.substring(lastDot + 1).replace('$', '_')
+			+ INSTANTIATOR_CLASS_NAME_SUFFIX;
+	}
+
+	public Instantiator getInstantiator(Class<? extends DataSerializable> clazz, int classId) {
+		String instantiatorClassName = getInstantiatorClassName(clazz.getName());
+		ClassLoader classLoader = clazz.getClassLoader();
+
+		if (ClassUtils.isPresent(instantiatorClassName, classLoader)) {
+			try {
+				Constructor<?> constructor = ClassUtils.forName(instantiatorClassName, classLoader)
+					.getConstructor(Class.class, int.class);
+
+				return (Instantiator) BeanUtils.instantiateClass(constructor, clazz, classId);
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException(String.format(
+					"Failed to create the precompiled Instantiator [%1$s] for %2$s", instantiatorClassName, clazz), e);
+			}
+		}
+
+		if (fallback == null) {
+			throw new IllegalArgumentException(String.format(
+				"No precompiled Instantiator [%1$s] found for %2$s; is the type annotated with @%3$s?",
+					instantiatorClassName, clazz, GenerateInstantiator.class.getSimpleName()));
+		}
+
+		return fallback.getInstantiator(clazz, classId);
+	}
+}
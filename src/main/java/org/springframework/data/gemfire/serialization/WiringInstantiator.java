@@ -23,6 +23,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.wiring.BeanConfigurerSupport;
+import org.springframework.data.gemfire.support.InjectionPlan;
 
 import com.gemstone.gemfire.DataSerializable;
 import com.gemstone.gemfire.Instantiator;
@@ -33,6 +34,10 @@ import com.gemstone.gemfire.Instantiator;
  * either by relying on an existing bean definition (which acts as a template) or by providing an embedded
  * configuration through annotations.
  * 
+ * Classes wired solely through {@link org.springframework.beans.factory.annotation.Autowired} singleton
+ * dependencies are wired through a precomputed {@link InjectionPlan}, avoiding the resolution of the autowiring
+ * metadata for every deserialized instance. This can be disabled through {@link #setUseInjectionPlan(boolean)}.
+ * 
  * Can reuse existing instantiators to optimize instance creation. If one is not provided, it will fallback
  * to reflection invocation.
  * 
@@ -56,6 +61,8 @@ public class WiringInstantiator extends Instantiator implements BeanFactoryAware
 	private BeanFactory beanFactory;
 	private boolean autoRegister = true;
 	private boolean distribute = false;
+	private boolean useInjectionPlan = true;
+	private volatile InjectionPlan injectionPlan;
 
 	public WiringInstantiator(Instantiator instantiator) {
 		super(instantiator.getInstantiatedClass(), instantiator.getId());
@@ -75,6 +82,10 @@ public class WiringInstantiator extends Instantiator implements BeanFactoryAware
 			configurer = new BeanConfigurerSupport();
 			configurer.setBeanFactory(beanFactory);
 			configurer.afterPropertiesSet();
+
+			if (useInjectionPlan) {
+				injectionPlan = InjectionPlan.forClass(getInstantiatedClass(), beanFactory);
+			}
 		}
 
 		if (autoRegister) {
@@ -83,6 +94,7 @@ public class WiringInstantiator extends Instantiator implements BeanFactoryAware
 	}
 
 	public void destroy() throws Exception {
+		injectionPlan = null;
 		configurer.destroy();
 	}
 
@@ -94,7 +106,15 @@ public class WiringInstantiator extends Instantiator implements BeanFactoryAware
 	@Override
 	public DataSerializable newInstance() {
 		DataSerializable instance = createInstance();
-		configurer.configureBean(instance);
+		InjectionPlan injectionPlan = this.injectionPlan;
+
+		if (injectionPlan != null && instance.getClass() == getInstantiatedClass()) {
+			injectionPlan.inject(instance);
+		}
+		else {
+			configurer.configureBean(instance);
+		}
+
 		return instance;
 	}
 
@@ -137,4 +157,16 @@ public class WiringInstantiator extends Instantiator implements BeanFactoryAware
 	public void setDistribute(boolean distribute) {
 		this.distribute = distribute;
 	}
+
+	/**
+	 * Sets whether instances wired solely through {@link org.springframework.beans.factory.annotation.Autowired}
+	 * singleton dependencies are wired through a precomputed {@link InjectionPlan} (resolved once, when this
+	 * instantiator is initialized) rather than by the configurer. Only applies when no custom configurer is set.
+	 * Default is true.
+	 *
+	 * @param useInjectionPlan whether to wire the instances through an {@link InjectionPlan}
+	 */
+	public void setUseInjectionPlan(boolean useInjectionPlan) {
+		this.useInjectionPlan = useInjectionPlan;
+	}
 }
@@ -17,12 +17,17 @@
 package org.springframework.data.gemfire.support;
 
 import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.expression.BeanFactoryAccessor;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.EnvironmentAccessor;
@@ -53,6 +58,11 @@ import com.gemstone.gemfire.cache.Region;
  * entry's class type and reflecting on any Region entries annotated with Spring Data GemFire's Expiration-based
  * Annotations.
  *
+ * The expiration annotations of each Region entry class are looked up once, and the expiration meta-data of each
+ * annotation is resolved once, or, for SpEL expressions, parsed once and only evaluated per entry. Determining the
+ * expiration of an entry, on every create and update, thus mostly comes down to map lookups. The cached meta-data
+ * is discarded when the Spring context is refreshed, as property placeholders may then resolve differently.
+ *
  * @author John Blum
  * @see java.lang.annotation.Annotation
  * @see org.springframework.beans.factory.BeanFactory
@@ -68,13 +78,20 @@ import com.gemstone.gemfire.cache.Region;
  * @since 1.7.0
  */
 @SuppressWarnings("unused")
-public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, CustomExpiry<K, V> {
+public class AnnotationBasedExpiration<K, V> implements ApplicationListener<ContextRefreshedEvent>, BeanFactoryAware,
+		CustomExpiry<K, V>, DisposableBean {
 
 	protected static final AtomicReference<BeanFactory> BEAN_FACTORY_REFERENCE = new AtomicReference<BeanFactory>(null);
 
 	protected static final AtomicReference<StandardEvaluationContext> EVALUATION_CONTEXT_REFERENCE
 		= new AtomicReference<StandardEvaluationContext>(null);
 
+	// expiration annotations of the Region entry classes, by annotation type; NO_ANNOTATION if absent
+	private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<? extends Annotation>, Object>> ANNOTATIONS
+		= new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<? extends Annotation>, Object>>();
+
+	private static final Object NO_ANNOTATION = new Object();
+
 	//private ExpirationAttributes defaultExpirationAttributes = ExpirationAttributes.DEFAULT;
 	private ExpirationAttributes defaultExpirationAttributes;
 
@@ -209,6 +226,39 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		BEAN_FACTORY_REFERENCE.set(beanFactory);
 		initEvaluationContext();
+		clearCaches();
+	}
+
+	/**
+	 * Discards the expiration meta-data resolved from the annotations of the Region entry classes when the Spring
+	 * context is refreshed, since property placeholders and SpEL expressions may then resolve differently.
+	 *
+	 * @param event the event published when the Spring context is refreshed.
+	 * @see #clearCaches()
+	 */
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		clearCaches();
+	}
+
+	/**
+	 * Discards the expiration meta-data resolved from the annotations of the Region entry classes when the Spring
+	 * context is closed, so that the entry classes, and their ClassLoader, are not referenced after a redeploy.
+	 *
+	 * @see #clearCaches()
+	 */
+	@Override
+	public void destroy() {
+		clearCaches();
+	}
+
+	/**
+	 * Discards the cached expiration annotations of the Region entry classes and the expiration meta-data
+	 * resolved from them.
+	 */
+	protected static void clearCaches() {
+		ANNOTATIONS.clear();
+		ExpirationMetaData.COMPILED_EXPIRATION_META_DATA.clear();
 	}
 
 	/**
@@ -370,12 +420,32 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 
 	/* (non-Javadoc) */
 	private <T extends Annotation> boolean isAnnotationPresent(Object obj, Class<T> annotationType) {
-		return (obj != null && obj.getClass().isAnnotationPresent(annotationType));
+		return (obj != null && getAnnotation(obj, annotationType) != null);
 	}
 
 	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
 	private <T extends Annotation> T getAnnotation(Object obj, Class<T> annotationType) {
-		return AnnotationUtils.getAnnotation(obj.getClass(), annotationType);
+		Class<?> type = obj.getClass();
+		ConcurrentMap<Class<? extends Annotation>, Object> annotations = ANNOTATIONS.get(type);
+
+		if (annotations == null) {
+			annotations = new ConcurrentHashMap<Class<? extends Annotation>, Object>(4);
+			ConcurrentMap<Class<? extends Annotation>, Object> existingAnnotations = ANNOTATIONS.putIfAbsent(type,
+				annotations);
+			annotations = (existingAnnotations != null ? existingAnnotations : annotations);
+		}
+
+		Object annotation = annotations.get(annotationType);
+
+		if (annotation == null) {
+			annotation = (type.isAnnotationPresent(annotationType)
+				? AnnotationUtils.getAnnotation(type, annotationType) : null);
+			annotation = (annotation != null ? annotation : NO_ANNOTATION);
+			annotations.put(annotationType, annotation);
+		}
+
+		return (annotation != NO_ANNOTATION ? (T) annotation : null);
 	}
 
 	/**
@@ -396,6 +466,12 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 
 		private static final ExpirationActionConverter EXPIRATION_ACTION_CONVERTER = new ExpirationActionConverter();
 
+		private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+		// expiration meta-data, resolved or compiled, by expiration annotation instance
+		static final ConcurrentMap<AnnotationReference, CompiledExpirationMetaData> COMPILED_EXPIRATION_META_DATA
+			= new ConcurrentHashMap<AnnotationReference, CompiledExpirationMetaData>();
+
 		private final int timeout;
 
 		private final ExpirationActionType action;
@@ -411,15 +487,31 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 		}
 
 		protected static ExpirationMetaData from(Expiration expiration) {
-			return new ExpirationMetaData(parseTimeout(expiration.timeout()), parseAction(expiration.action()));
+			return fromAnnotation(expiration);
 		}
 
 		protected static ExpirationMetaData from(IdleTimeoutExpiration expiration) {
-			return new ExpirationMetaData(parseTimeout(expiration.timeout()), parseAction(expiration.action()));
+			return fromAnnotation(expiration);
 		}
 
 		protected static ExpirationMetaData from(TimeToLiveExpiration expiration) {
-			return new ExpirationMetaData(parseTimeout(expiration.timeout()), parseAction(expiration.action()));
+			return fromAnnotation(expiration);
+		}
+
+		/* the 'timeout' and 'action' of the annotation are only parsed or resolved the first time */
+		private static ExpirationMetaData fromAnnotation(Annotation expiration) {
+			AnnotationReference reference = new AnnotationReference(expiration);
+			CompiledExpirationMetaData compiledExpirationMetaData = COMPILED_EXPIRATION_META_DATA.get(reference);
+
+			if (compiledExpirationMetaData == null) {
+				compiledExpirationMetaData = new CompiledExpirationMetaData(
+					compileTimeout((String) AnnotationUtils.getValue(expiration, "timeout")),
+					compileAction((String) AnnotationUtils.getValue(expiration, "action")));
+
+				COMPILED_EXPIRATION_META_DATA.putIfAbsent(reference, compiledExpirationMetaData);
+			}
+
+			return compiledExpirationMetaData.resolve();
 		}
 
 		public ExpirationAttributes toExpirationAttributes() {
@@ -427,20 +519,30 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 		}
 
 		protected static int parseTimeout(String timeout) {
+			return compileTimeout(timeout).resolve();
+		}
+
+		/* (non-Javadoc) */
+		static ExpirationValue<Integer> compileTimeout(String timeout) {
 			try {
-				return Integer.parseInt(timeout);
+				return new ResolvedValue<Integer>(Integer.parseInt(timeout));
 			}
 			catch (NumberFormatException cause) {
 				try {
 					// Next, try to parse the 'timeout' as a Spring Expression using SpEL.
-					return new SpelExpressionParser().parseExpression(timeout).getValue(
-						EVALUATION_CONTEXT_REFERENCE.get(), Integer.TYPE);
+					final Expression expression = EXPRESSION_PARSER.parseExpression(timeout);
+
+					return new ExpirationValue<Integer>() {
+						public Integer resolve() {
+							return expression.getValue(EVALUATION_CONTEXT_REFERENCE.get(), Integer.TYPE);
+						}
+					};
 				}
 				catch (ParseException e) {
 					// Finally, try to process the 'timeout' as a Spring Property Placeholder.
 					if (BEAN_FACTORY_REFERENCE.get() instanceof ConfigurableBeanFactory) {
-						return Integer.parseInt(((ConfigurableBeanFactory) BEAN_FACTORY_REFERENCE.get())
-							.resolveEmbeddedValue(timeout));
+						return new ResolvedValue<Integer>(Integer.parseInt(((ConfigurableBeanFactory)
+							BEAN_FACTORY_REFERENCE.get()).resolveEmbeddedValue(timeout)));
 					}
 
 					throw cause;
@@ -449,32 +551,40 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 		}
 
 		protected static ExpirationActionType parseAction(String action) {
+			return compileAction(action).resolve();
+		}
+
+		/* (non-Javadoc) */
+		static ExpirationValue<ExpirationActionType> compileAction(final String action) {
 			try {
-				return ExpirationActionType.valueOf(EXPIRATION_ACTION_CONVERTER.convert(action));
+				return new ResolvedValue<ExpirationActionType>(ExpirationActionType.valueOf(
+					EXPIRATION_ACTION_CONVERTER.convert(action)));
 			}
-			catch (IllegalArgumentException cause) {
-				// Next, try to parse the 'action' as a Spring Expression using SpEL.
-				EvaluationException evaluationException = new EvaluationException(String.format(
-					"'%1$s' is not resolvable as a valid ExpirationAction(Type)", action), cause);
-
-				EvaluationContext evaluationContext = EVALUATION_CONTEXT_REFERENCE.get();
-
+			catch (final IllegalArgumentException cause) {
 				try {
-					Expression expression = new SpelExpressionParser().parseExpression(action);
-					Class<?> valueType = expression.getValueType(evaluationContext);
-
-					if (String.class.equals(valueType)) {
-						return ExpirationActionType.valueOf(EXPIRATION_ACTION_CONVERTER.convert(expression.getValue(
-							evaluationContext, String.class)));
-					}
-					else if (ExpirationAction.class.equals(valueType)) {
-						return ExpirationActionType.valueOf(expression.getValue(evaluationContext, ExpirationAction.class));
-					}
-					else if (ExpirationActionType.class.equals(valueType)) {
-						return expression.getValue(evaluationContext, ExpirationActionType.class);
-					}
-
-					throw evaluationException;
+					// Next, try to parse the 'action' as a Spring Expression using SpEL.
+					final Expression expression = EXPRESSION_PARSER.parseExpression(action);
+
+					return new ExpirationValue<ExpirationActionType>() {
+						public ExpirationActionType resolve() {
+							EvaluationContext evaluationContext = EVALUATION_CONTEXT_REFERENCE.get();
+							Class<?> valueType = expression.getValueType(evaluationContext);
+
+							if (String.class.equals(valueType)) {
+								return ExpirationActionType.valueOf(EXPIRATION_ACTION_CONVERTER.convert(
+									expression.getValue(evaluationContext, String.class)));
+							}
+							else if (ExpirationAction.class.equals(valueType)) {
+								return ExpirationActionType.valueOf(expression.getValue(evaluationContext,
+									ExpirationAction.class));
+							}
+							else if (ExpirationActionType.class.equals(valueType)) {
+								return expression.getValue(evaluationContext, ExpirationActionType.class);
+							}
+
+							throw newEvaluationException(action, cause);
+						}
+					};
 				}
 				catch (ParseException e) {
 					// Finally, try to process the 'action' as a Spring Property Placeholder.
@@ -483,17 +593,24 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 							String resolvedValue = ((ConfigurableBeanFactory) BEAN_FACTORY_REFERENCE.get())
 								.resolveEmbeddedValue(action);
 
-							return ExpirationActionType.valueOf(EXPIRATION_ACTION_CONVERTER.convert(resolvedValue));
+							return new ResolvedValue<ExpirationActionType>(ExpirationActionType.valueOf(
+								EXPIRATION_ACTION_CONVERTER.convert(resolvedValue)));
 						}
 						catch (IllegalArgumentException ignore) {
 						}
 					}
 
-					throw evaluationException;
+					throw newEvaluationException(action, cause);
 				}
 			}
 		}
 
+		/* (non-Javadoc) */
+		private static EvaluationException newEvaluationException(String action, IllegalArgumentException cause) {
+			return new EvaluationException(String.format(
+				"'%1$s' is not resolvable as a valid ExpirationAction(Type)", action), cause);
+		}
+
 		public ExpirationActionType action() {
 			return action;
 		}
@@ -537,4 +654,73 @@ public class AnnotationBasedExpiration<K, V> implements BeanFactoryAware, Custom
 		}
 	}
 
+	/**
+	 * A 'timeout' or 'action' of an expiration annotation, either resolved or evaluated from a parsed expression.
+	 */
+	interface ExpirationValue<T> {
+		T resolve();
+	}
+
+	/* (non-Javadoc) */
+	static class ResolvedValue<T> implements ExpirationValue<T> {
+
+		private final T value;
+
+		ResolvedValue(T value) {
+			this.value = value;
+		}
+
+		public T resolve() {
+			return value;
+		}
+	}
+
+	/**
+	 * The expiration meta-data of an annotation; held as is when both the 'timeout' and 'action' are resolved,
+	 * otherwise created from the evaluated expressions on each resolution.
+	 */
+	static class CompiledExpirationMetaData {
+
+		private final ExpirationMetaData expirationMetaData;
+
+		private final ExpirationValue<Integer> timeout;
+
+		private final ExpirationValue<ExpirationActionType> action;
+
+		CompiledExpirationMetaData(ExpirationValue<Integer> timeout, ExpirationValue<ExpirationActionType> action) {
+			this.timeout = timeout;
+			this.action = action;
+			this.expirationMetaData = (timeout instanceof ResolvedValue && action instanceof ResolvedValue
+				? new ExpirationMetaData(timeout.resolve(), action.resolve()) : null);
+		}
+
+		ExpirationMetaData resolve() {
+			return (expirationMetaData != null ? expirationMetaData
+				: new ExpirationMetaData(timeout.resolve(), action.resolve()));
+		}
+	}
+
+	/**
+	 * Refers to an annotation instance by identity, which, unlike {@link Annotation#hashCode()}, costs nothing
+	 * to hash. Annotation instances are cached by their annotated classes.
+	 */
+	static class AnnotationReference {
+
+		private final Annotation annotation;
+
+		AnnotationReference(Annotation annotation) {
+			this.annotation = annotation;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof AnnotationReference && ((AnnotationReference) obj).annotation == annotation);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(annotation);
+		}
+	}
+
 }
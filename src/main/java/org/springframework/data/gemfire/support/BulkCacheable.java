@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the results of a method loading values for many keys at once, e.g.
+ * <code>Map&lt;Long, Customer&gt; findByIds(Collection&lt;Long&gt; ids)</code>. The first parameter of the method
+ * is the {@link java.util.Collection} of keys, and the method returns a {@link java.util.Map} of the values by key.
+ *
+ * On invocation, the values of all keys are looked up in the cache at once, and the method is invoked only with
+ * the keys missing from the cache, if any, in a single call. Its results are put in the cache at once.
+ *
+ * Applied by the {@link BulkCacheableInterceptor}, e.g. registered with the
+ * {@link BulkCacheableAnnotationBeanPostProcessor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.BulkCacheableInterceptor
+ * @see org.springframework.data.gemfire.support.GemfireCache#getAll(java.util.Collection)
+ * @see org.springframework.data.gemfire.support.GemfireCache#putAll(java.util.Map)
+ * @since 1.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BulkCacheable {
+
+	/**
+	 * The name of the cache holding the values.
+	 *
+	 * @return the cache name.
+	 */
+	String value();
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedSet;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link MethodInterceptor} applying {@link BulkCacheable} to the invoked method. The values of the keys are looked
+ * up with a single {@link GemfireCache#getAll(Collection)}, the method is invoked once with the keys missing from
+ * the cache, and the loaded values are cached with a single {@link GemfireCache#putAll(java.util.Map)}. With any
+ * other {@link Cache}, the values are looked up and cached one key at a time.
+ *
+ * The values are returned in the iteration order of the keys.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.BulkCacheable
+ * @see org.springframework.data.gemfire.support.GemfireCache
+ * @since 1.9.0
+ */
+public class BulkCacheableInterceptor implements MethodInterceptor, BeanFactoryAware {
+
+	private BeanFactory beanFactory;
+
+	private volatile CacheManager cacheManager;
+
+	/**
+	 * Constructs an interceptor resolving the {@link CacheManager} from the {@link BeanFactory} on first use.
+	 */
+	public BulkCacheableInterceptor() {
+	}
+
+	/**
+	 * Constructs an interceptor looking up caches in the given {@link CacheManager}.
+	 *
+	 * @param cacheManager the {@link CacheManager}.
+	 */
+	public BulkCacheableInterceptor(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	protected CacheManager getCacheManager() {
+		if (cacheManager == null) {
+			Assert.state(beanFactory != null, "Either a CacheManager or a BeanFactory is required");
+			cacheManager = beanFactory.getBean(CacheManager.class);
+		}
+
+		return cacheManager;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		Object target = invocation.getThis();
+
+		BulkCacheable annotation = AnnotationUtils.findAnnotation((target != null
+			? AopUtils.getMostSpecificMethod(method, target.getClass()) : method), BulkCacheable.class);
+
+		Object[] arguments = invocation.getArguments();
+
+		if (annotation == null || arguments.length == 0 || !(arguments[0] instanceof Collection)) {
+			return invocation.proceed();
+		}
+
+		Assert.state(Map.class.isAssignableFrom(method.getReturnType()), String.format(
+			"The method [%1$s] annotated with %2$s must return a Map", method, BulkCacheable.class.getName()));
+
+		Assert.state(invocation instanceof ProxyMethodInvocation, String.format(
+			"The method [%1$s] annotated with %2$s must be invoked through a Spring AOP proxy", method,
+				BulkCacheable.class.getName()));
+
+		Cache cache = getCacheManager().getCache(annotation.value());
+
+		Assert.state(cache != null, String.format("Cache [%1$s] not found for method [%2$s]",
+			annotation.value(), method));
+
+		Collection<Object> keys = (Collection<Object>) arguments[0];
+		Map<Object, Object> cachedValues = getAll(cache, keys);
+		Collection<Object> missingKeys = newKeyCollection(keys);
+
+		for (Object key : keys) {
+			if (!cachedValues.containsKey(key)) {
+				missingKeys.add(key);
+			}
+		}
+
+		Map<Object, Object> loadedValues = null;
+
+		if (!missingKeys.isEmpty()) {
+			ProxyMethodInvocation proxyInvocation = (ProxyMethodInvocation) invocation;
+			Object[] missingKeysArguments = arguments.clone();
+
+			missingKeysArguments[0] = missingKeys;
+			proxyInvocation.setArguments(missingKeysArguments);
+
+			try {
+				loadedValues = (Map<Object, Object>) invocation.proceed();
+			}
+			finally {
+				proxyInvocation.setArguments(arguments);
+			}
+
+			if (loadedValues != null) {
+				putAll(cache, loadedValues);
+			}
+		}
+
+		Map<Object, Object> values = new LinkedHashMap<Object, Object>(keys.size());
+
+		for (Object key : keys) {
+			if (cachedValues.containsKey(key)) {
+				values.put(key, cachedValues.get(key));
+			}
+			else if (loadedValues != null && loadedValues.containsKey(key)) {
+				values.put(key, loadedValues.get(key));
+			}
+		}
+
+		return values;
+	}
+
+	/* (non-Javadoc) */
+	private static Map<Object, Object> getAll(Cache cache, Collection<Object> keys) {
+		if (cache instanceof GemfireCache) {
+			return ((GemfireCache) cache).getAll(keys);
+		}
+
+		Map<Object, Object> values = new HashMap<Object, Object>(keys.size());
+
+		for (Object key : keys) {
+			Cache.ValueWrapper value = cache.get(key);
+
+			if (value != null && value.get() != null) {
+				values.put(key, value.get());
+			}
+		}
+
+		return values;
+	}
+
+	/* (non-Javadoc) */
+	private static void putAll(Cache cache, Map<Object, Object> values) {
+		if (cache instanceof GemfireCache) {
+			((GemfireCache) cache).putAll(values);
+		}
+		else {
+			for (Map.Entry<Object, Object> entry : values.entrySet()) {
+				if (entry.getValue() != null) {
+					cache.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+	}
+
+	/*
+	 * the missing keys are passed in a Collection of the same type as the keys the method was invoked with,
+	 * or of the closest type for Collections that cannot be instantiated, e.g. unmodifiable ones; sorted Sets
+	 * keep their Comparator
+	 */
+	private static Collection<Object> newKeyCollection(Collection<Object> keys) {
+		if (!(keys instanceof SortedSet || keys instanceof EnumSet)) {
+			try {
+				return CollectionFactory.createCollection(keys.getClass(), keys.size());
+			}
+			catch (IllegalArgumentException ignore) {
+			}
+		}
+
+		return CollectionFactory.createApproximateCollection(keys, keys.size());
+	}
+
+}
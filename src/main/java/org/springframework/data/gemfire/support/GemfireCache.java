@@ -16,20 +16,58 @@
 
 package org.springframework.data.gemfire.support;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
+import com.gemstone.gemfire.cache.CustomExpiry;
+import com.gemstone.gemfire.cache.ExpirationAttributes;
 import com.gemstone.gemfire.cache.GemFireCache;
 import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.RegionAttributes;
+import com.gemstone.gemfire.cache.StatisticsDisabledException;
+import com.gemstone.gemfire.distributed.DistributedLockService;
 
 /**
  * Spring Framework {@link Cache} implementation backed by a GemFire {@link Region}.
  *
  * Supports GemFire 6.5 or higher.
  *
+ * Values are loaded by {@link #get(Object, Callable)} at most once at a time per key: concurrent callers for the same
+ * key wait for, and share, the value loaded by the first, while loads of other keys proceed in parallel. With a
+ * {@link DistributedLockService}, the key is also locked cluster-wide while loading, so only one member loads it.
+ *
+ * With a refresh-ahead factor, a value accessed by {@link #get(Object, Callable)} within that fraction of its
+ * Time-To-Live (TTL) before expiring is reloaded asynchronously, on a bounded {@link Executor}, with the same value
+ * loader, while the current value is still returned. Hot entries are thus replaced before they expire, instead of
+ * all callers loading them at once after expiration. The TTL of an entry is the Region's custom entry TTL, e.g.
+ * {@link AnnotationBasedExpiration}, or else the Region's entry TTL {@link ExpirationAttributes}. Refresh-ahead
+ * requires the entry to be held locally, with statistics enabled on the Region. The caching abstraction only calls
+ * {@link #get(Object, Callable)} for {@code @Cacheable(sync = true)}, as of Spring Framework 4.3; with earlier
+ * versions, methods annotated with {@link RefreshAheadCacheable} are loaded through {@link #get(Object, Callable)}.
+ *
+ * Multiple keys are read and written in a single Region operation by {@link #getAll(Collection)} and
+ * {@link #putAll(Map)}, e.g. by the {@link BulkCacheableInterceptor}.
+ *
  * @author Costin Leau
  * @author John Blum
  * @author Oliver Gierke
@@ -38,6 +76,29 @@ import com.gemstone.gemfire.cache.Region;
  */
 public class GemfireCache implements Cache {
 
+	public static final double DEFAULT_REFRESH_AHEAD_FACTOR = 0.0d;
+
+	public static final int DEFAULT_REFRESH_QUEUE_CAPACITY = 1000;
+	public static final int DEFAULT_REFRESH_THREAD_COUNT = 2;
+
+	public static final long DEFAULT_LOCK_WAIT_TIME = -1L;
+
+	private static final Log logger = LogFactory.getLog(GemfireCache.class);
+
+	private volatile DistributedLockService lockService;
+
+	private double refreshAheadFactor = DEFAULT_REFRESH_AHEAD_FACTOR;
+
+	private volatile Executor refreshExecutor;
+
+	private long lockWaitTime = DEFAULT_LOCK_WAIT_TIME;
+
+	// value loads in flight, by key
+	private final ConcurrentMap<Object, FutureTask<Object>> loads = new ConcurrentHashMap<Object, FutureTask<Object>>();
+
+	// keys being refreshed ahead of expiration
+	private final ConcurrentMap<Object, Boolean> refreshes = new ConcurrentHashMap<Object, Boolean>();
+
 	@SuppressWarnings({ "rawtypes" })
 	private final Region region;
 
@@ -67,14 +128,14 @@ public class GemfireCache implements Cache {
 	}
 
 	public ValueWrapper get(final Object key) {
-		Object value = region.get(key);
+		Object value = lookup(key);
 
 		return (value == null ? null : new SimpleValueWrapper(value));
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T> T get(final Object key, final Class<T> type) {
-		Object value = region.get(key);
+		Object value = lookup(key);
 
 		if (value != null && type != null && !type.isInstance(value)) {
 			throw new IllegalStateException(String.format("Cached value is not of required type [%1$s]: %2$s",
@@ -84,33 +145,271 @@ public class GemfireCache implements Cache {
 		return (T) value;
 	}
 
+	/**
+	 * Looks up the value of the given key in the Region.
+	 *
+	 * @param key the key of the value.
+	 * @return the value, or {@literal null} if the Region holds no value for the key.
+	 */
+	protected Object lookup(Object key) {
+		return region.get(key);
+	}
+
+	/**
+	 * Gets the values of the given keys with a single {@link Region#getAll(Collection)}.
+	 *
+	 * @param keys the keys of the values.
+	 * @return the values by key; keys without a value in the Region are absent.
+	 */
+	public Map<Object, Object> getAll(final Collection<?> keys) {
+		return (keys == null || keys.isEmpty() ? new HashMap<Object, Object>() : lookupAll(keys));
+	}
+
+	/**
+	 * Looks up the values of the given keys in the Region.
+	 *
+	 * @param keys the keys of the values.
+	 * @return the values by key, without the keys the Region holds no value for.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Map<Object, Object> lookupAll(Collection<?> keys) {
+		Map<Object, Object> values = new HashMap<Object, Object>(region.getAll(keys));
+
+		values.values().removeAll(Collections.singleton(null));
+
+		return values;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> T get(final Object key, final Callable<T> valueLoader) {
 		T value = (T) get(key, Object.class);
 
 		if (value == null) {
-			synchronized (region) {
-				value = (T) get(key, Object.class);
+			return (T) load(key, valueLoader);
+		}
 
-				if (value == null) {
-					try {
-						value = valueLoader.call();
-						put(key, value);
-					}
-					catch (Exception e) {
-						throw new RuntimeException(String.format(
-							"Failed to load value for key [%1$s] using valueLoader [%2$s]", key,
-								ObjectUtils.nullSafeClassName(valueLoader)));
-						//TODO throw ValueRetrievalException when SDG is based on Spring Framework 4.3
-						//throw new ValueRetrievalException(key, valueLoader, e);
+		if (refreshAheadFactor > 0.0d) {
+			refreshIfExpiring(key, valueLoader);
+		}
+
+		return value;
+	}
+
+	/* reloads the value of the key in the background if it expires soon, unless it is being reloaded already */
+	private void refreshIfExpiring(Object key, Callable<?> valueLoader) {
+		if (isExpiring(key) && refreshes.putIfAbsent(key, Boolean.TRUE) == null) {
+			try {
+				getRefreshExecutor().execute(new Refresh(key, valueLoader));
+			}
+			catch (RejectedExecutionException ignore) {
+				// the refresh queue is full; the value is loaded on access after it expires
+				refreshes.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Determines whether the entry of the given key expires within the refresh-ahead fraction of its Time-To-Live.
+	 *
+	 * @param key the key of the entry.
+	 * @return a boolean indicating whether the entry expires soon; {@literal false} if the entry is not held locally,
+	 * does not expire or the Region has no statistics.
+	 */
+	@SuppressWarnings("unchecked")
+	protected boolean isExpiring(Object key) {
+		Region.Entry<Object, Object> entry = region.getEntry(key);
+
+		if (entry == null) {
+			return false;
+		}
+
+		long timeToLive = TimeUnit.SECONDS.toMillis(getTimeToLive(entry));
+
+		if (timeToLive <= 0) {
+			return false;
+		}
+
+		try {
+			long remaining = entry.getStatistics().getLastModifiedTime() + timeToLive - System.currentTimeMillis();
+
+			return (remaining <= timeToLive * refreshAheadFactor);
+		}
+		catch (StatisticsDisabledException ignore) {
+			return false;
+		}
+	}
+
+	/* the custom entry TTL (e.g. AnnotationBasedExpiration) applies, defaulting to the entry TTL of the Region */
+	@SuppressWarnings("unchecked")
+	private int getTimeToLive(Region.Entry<Object, Object> entry) {
+		RegionAttributes<Object, Object> attributes = region.getAttributes();
+		CustomExpiry<Object, Object> customExpiry = attributes.getCustomEntryTimeToLive();
+		ExpirationAttributes expiration = (customExpiry != null ? customExpiry.getExpiry(entry) : null);
+
+		expiration = (expiration != null ? expiration : attributes.getEntryTimeToLive());
+
+		return (expiration != null ? expiration.getTimeout() : 0);
+	}
+
+	/* loads the value of the key, or waits for the load of the key already in flight */
+	private Object load(final Object key, final Callable<?> valueLoader) {
+		FutureTask<Object> load = new FutureTask<Object>(new Callable<Object>() {
+			public Object call() throws Exception {
+				DistributedLockService lockService = getDistributedLockService();
+
+				if (lockService == null) {
+					return loadIfAbsent(key, valueLoader);
+				}
+
+				String lockName = getLockName(key);
+				boolean locked = lockService.lock(lockName, lockWaitTime, -1L);
+
+				try {
+					// another member may have loaded the value while this member waited for the lock
+					return loadIfAbsent(key, valueLoader);
+				}
+				finally {
+					if (locked) {
+						lockService.unlock(lockName);
 					}
 				}
 			}
+		});
+
+		FutureTask<Object> inFlight = loads.putIfAbsent(key, load);
+
+		if (inFlight == null) {
+			inFlight = load;
+
+			try {
+				load.run();
+			}
+			finally {
+				loads.remove(key, load);
+			}
+		}
+
+		try {
+			return inFlight.get();
+		}
+		catch (ExecutionException e) {
+			throw new RuntimeException(String.format(
+				"Failed to load value for key [%1$s] using valueLoader [%2$s]", key,
+					ObjectUtils.nullSafeClassName(valueLoader)), e.getCause());
+			//TODO throw ValueRetrievalException when SDG is based on Spring Framework 4.3
+			//throw new ValueRetrievalException(key, valueLoader, e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(String.format("Interrupted while waiting for the value of key [%1$s]", key), e);
+		}
+	}
+
+	/* the lock service may be shared by the caches of a manager, so keys are locked within the Region */
+	private String getLockName(Object key) {
+		return String.format("%1$s[%2$s]", region.getFullPath(), key);
+	}
+
+	private Object loadIfAbsent(Object key, Callable<?> valueLoader) throws Exception {
+		Object value = get(key, Object.class);
+
+		if (value == null) {
+			value = valueLoader.call();
+			put(key, value);
 		}
 
 		return value;
 	}
 
+	/**
+	 * Sets the fraction of the Time-To-Live of an entry, before it expires, within which an access to the entry
+	 * by {@link #get(Object, Callable)} reloads its value in the background. E.g. with a factor of 0.2 and a TTL
+	 * of 60 seconds, the value is refreshed when accessed in the last 12 seconds before it expires. Defaults to
+	 * {@value #DEFAULT_REFRESH_AHEAD_FACTOR}, i.e. no refresh-ahead. Methods are refreshed ahead when annotated with
+	 * {@link RefreshAheadCacheable}, or with {@code @Cacheable(sync = true)}, which requires Spring Framework 4.3.
+	 *
+	 * @param refreshAheadFactor the fraction of the TTL, between 0 and 1.
+	 */
+	public void setRefreshAheadFactor(double refreshAheadFactor) {
+		Assert.isTrue(refreshAheadFactor >= 0.0d && refreshAheadFactor <= 1.0d,
+			"refreshAheadFactor must be between 0 and 1");
+		this.refreshAheadFactor = refreshAheadFactor;
+	}
+
+	public double getRefreshAheadFactor() {
+		return refreshAheadFactor;
+	}
+
+	/**
+	 * Sets the {@link Executor} reloading values ahead of expiration. The {@link Executor} should be bounded;
+	 * refreshes it rejects are skipped. Defaults to {@value #DEFAULT_REFRESH_THREAD_COUNT} daemon threads
+	 * with a queue of {@value #DEFAULT_REFRESH_QUEUE_CAPACITY} refreshes.
+	 *
+	 * @param refreshExecutor the {@link Executor} running the refreshes.
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	protected Executor getRefreshExecutor() {
+		if (refreshExecutor == null) {
+			synchronized (refreshes) {
+				if (refreshExecutor == null) {
+					refreshExecutor = newRefreshExecutor();
+				}
+			}
+		}
+
+		return refreshExecutor;
+	}
+
+	/**
+	 * Creates the default, bounded {@link Executor} reloading values ahead of expiration. Its threads stop when idle.
+	 *
+	 * @return a new refresh {@link Executor}.
+	 */
+	static Executor newRefreshExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("GemfireCacheRefresh-");
+
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_REFRESH_THREAD_COUNT, DEFAULT_REFRESH_THREAD_COUNT,
+			60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(DEFAULT_REFRESH_QUEUE_CAPACITY), threadFactory);
+
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	/**
+	 * Sets the {@link DistributedLockService} locking keys cluster-wide while their value is loaded, so that
+	 * only one member of the distributed system loads the value of a key. Requires a peer cache.
+	 *
+	 * @param lockService the {@link DistributedLockService}, e.g. created with
+	 * {@link DistributedLockService#create(String, com.gemstone.gemfire.distributed.DistributedSystem)}.
+	 */
+	public void setDistributedLockService(DistributedLockService lockService) {
+		this.lockService = lockService;
+	}
+
+	public DistributedLockService getDistributedLockService() {
+		return lockService;
+	}
+
+	/**
+	 * Sets the time, in milliseconds, to wait for the cluster-wide lock of a key before loading its value anyway.
+	 * Defaults to {@value #DEFAULT_LOCK_WAIT_TIME}, i.e. wait as long as it takes.
+	 *
+	 * @param lockWaitTime the time to wait for the lock, in milliseconds, or -1 to wait as long as it takes.
+	 */
+	public void setLockWaitTime(long lockWaitTime) {
+		this.lockWaitTime = lockWaitTime;
+	}
+
+	public long getLockWaitTime() {
+		return lockWaitTime;
+	}
+
 	@SuppressWarnings("unchecked")
 	public void put(final Object key, final Object value) {
 		if (value != null) {
@@ -118,6 +417,25 @@ public class GemfireCache implements Cache {
 		}
 	}
 
+	/**
+	 * Puts the given entries with a single {@link Region#putAll(Map)}. As with {@link #put(Object, Object)},
+	 * entries with a {@literal null} value are not cached.
+	 *
+	 * @param entries the values by key.
+	 */
+	@SuppressWarnings("unchecked")
+	public void putAll(final Map<?, ?> entries) {
+		if (entries != null && !entries.isEmpty()) {
+			Map<Object, Object> values = new HashMap<Object, Object>(entries);
+
+			values.values().removeAll(Collections.singleton(null));
+
+			if (!values.isEmpty()) {
+				region.putAll(values);
+			}
+		}
+	}
+
 	/**
 	 * Implementation to satisfy extension of the {@link Cache} interface in Spring 4.1. Don't add the {@link Override}
 	 * annotation as this will break the compilation on 4.0.
@@ -131,4 +449,46 @@ public class GemfireCache implements Cache {
 		return (existingValue == null ? null : new SimpleValueWrapper(existingValue));
 	}
 
+	/**
+	 * Reloads a value ahead of its expiration. With a {@link DistributedLockService}, the value is only reloaded
+	 * if no other member is loading it.
+	 */
+	private class Refresh implements Runnable {
+
+		private final Object key;
+
+		private final Callable<?> valueLoader;
+
+		Refresh(Object key, Callable<?> valueLoader) {
+			this.key = key;
+			this.valueLoader = valueLoader;
+		}
+
+		public void run() {
+			try {
+				DistributedLockService lockService = getDistributedLockService();
+
+				if (lockService == null) {
+					put(key, valueLoader.call());
+				}
+				else if (lockService.lock(getLockName(key), 0L, -1L)) {
+					try {
+						put(key, valueLoader.call());
+					}
+					finally {
+						lockService.unlock(getLockName(key));
+					}
+				}
+			}
+			catch (Exception e) {
+				// the current value is kept until it expires
+				logger.warn(String.format("Failed to refresh value for key [%1$s] using valueLoader [%2$s]",
+					key, ObjectUtils.nullSafeClassName(valueLoader)), e);
+			}
+			finally {
+				refreshes.remove(key);
+			}
+		}
+	}
+
 }
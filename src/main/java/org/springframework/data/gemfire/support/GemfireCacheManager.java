@@ -19,6 +19,7 @@ package org.springframework.data.gemfire.support;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -26,6 +27,7 @@ import org.springframework.cache.support.AbstractCacheManager;
 import org.springframework.util.Assert;
 
 import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.distributed.DistributedLockService;
 
 /**
  * Spring Framework {@link CacheManager} backed by a Gemfire {@link com.gemstone.gemfire.cache.Cache}. Automatically
@@ -45,6 +47,12 @@ public class GemfireCacheManager extends AbstractCacheManager {
 
 	private com.gemstone.gemfire.cache.Cache gemfireCache;
 
+	private DistributedLockService lockService;
+
+	private double refreshAheadFactor = GemfireCache.DEFAULT_REFRESH_AHEAD_FACTOR;
+
+	private Executor refreshExecutor;
+
 	private Set<Region<?,?>> regions;
 
 	/**
@@ -66,36 +74,59 @@ public class GemfireCacheManager extends AbstractCacheManager {
 		Collection<Cache> caches = new LinkedHashSet<Cache>(regions.size());
 
 		for (Region<?,?> region: this.regions) {
-			caches.add(new GemfireCache(region));
+			caches.add(newGemfireCache(region));
 		}
 
 		return caches;
 	}
 
 	/**
-	 * Gets a Cache (GemFire Cache Region) by name.
+	 * Creates the Cache of a GemFire Cache Region added at runtime, which {@link #getCache(String)} then adds
+	 * to the managed caches. The creation is synchronized by {@link #getCache(String)}, so that concurrent callers
+	 * get the same Cache and only one Cache is created per Region.
 	 *
 	 * @param name a String indicating the name of the Cache to get.
-	 * @return a Cache with the given name.
-	 * @see org.springframework.cache.Cache
+	 * @return a Cache with the given name, or {@literal null} if there is no such Region.
+	 * @see org.springframework.cache.support.AbstractCacheManager#getMissingCache(String)
 	 */
 	@Override
-	public Cache getCache(String name) {
-		Cache cache = super.getCache(name);
+	protected Cache getMissingCache(String name) {
+		Region<?, ?> region = (gemfireCache != null ? gemfireCache.getRegion(name) : null);
+		return (region != null ? newGemfireCache(region) : null);
+	}
 
-		if (cache == null) {
-			// check the GemFire Cache again in case the Cache (Region) was added at runtime
-			Region<?, ?> region = gemfireCache.getRegion(name);
+	/* (non-Javadoc) */
+	private GemfireCache newGemfireCache(Region<?, ?> region) {
+		GemfireCache cache = createGemfireCache(region);
+		cache.setDistributedLockService(lockService);
+		cache.setRefreshAheadFactor(refreshAheadFactor);
 
-			if (region != null) {
-				cache = new GemfireCache(region);
-				addCache(cache);
-			}
+		if (refreshAheadFactor > 0.0d) {
+			cache.setRefreshExecutor(getRefreshExecutor());
 		}
 
 		return cache;
 	}
 
+	/* the caches share one refresh Executor */
+	private synchronized Executor getRefreshExecutor() {
+		if (refreshExecutor == null) {
+			refreshExecutor = GemfireCache.newRefreshExecutor();
+		}
+
+		return refreshExecutor;
+	}
+
+	/**
+	 * Creates the Cache backed by the given Region.
+	 *
+	 * @param region the GemFire Cache Region backing the Cache.
+	 * @return a new {@link GemfireCache} backed by the Region.
+	 */
+	protected GemfireCache createGemfireCache(Region<?, ?> region) {
+		return new GemfireCache(region);
+	}
+
 	/**
 	 * Sets the GemFire Cache backing this {@link CacheManager}.
 	 * 
@@ -116,4 +147,40 @@ public class GemfireCacheManager extends AbstractCacheManager {
 		this.regions = regions;
 	}
 
+	/**
+	 * Sets the {@link DistributedLockService} of the caches, so that only one member of the distributed system
+	 * loads the value of a key at a time.
+	 *
+	 * @param lockService the {@link DistributedLockService} locking keys while their value is loaded.
+	 * @see org.springframework.data.gemfire.support.GemfireCache#setDistributedLockService(DistributedLockService)
+	 */
+	public void setDistributedLockService(DistributedLockService lockService) {
+		this.lockService = lockService;
+	}
+
+	/**
+	 * Sets the refresh-ahead factor of the caches: the fraction of the Time-To-Live of an entry, before it expires,
+	 * within which an access to the entry reloads its value in the background. Methods are refreshed ahead when
+	 * annotated with {@link RefreshAheadCacheable}, or with {@code @Cacheable(sync = true)}, which requires
+	 * Spring Framework 4.3.
+	 *
+	 * @param refreshAheadFactor the fraction of the TTL, between 0 and 1; 0 disables refresh-ahead.
+	 * @see org.springframework.data.gemfire.support.GemfireCache#setRefreshAheadFactor(double)
+	 */
+	public void setRefreshAheadFactor(double refreshAheadFactor) {
+		Assert.isTrue(refreshAheadFactor >= 0.0d && refreshAheadFactor <= 1.0d,
+			"refreshAheadFactor must be between 0 and 1");
+		this.refreshAheadFactor = refreshAheadFactor;
+	}
+
+	/**
+	 * Sets the bounded {@link Executor}, shared by the caches, reloading values ahead of expiration.
+	 *
+	 * @param refreshExecutor the {@link Executor} running the refreshes.
+	 * @see org.springframework.data.gemfire.support.GemfireCache#setRefreshExecutor(Executor)
+	 */
+	public synchronized void setRefreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
 }
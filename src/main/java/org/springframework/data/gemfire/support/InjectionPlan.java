@@ -0,0 +1,339 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.Aware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.annotation.RequiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.context.annotation.CommonAnnotationBeanPostProcessor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Precomputed, per-class injection plan for {@link Autowired} fields and methods. The dependencies are resolved
+ * against the {@link BeanFactory} once, when the plan is created, after which wiring an instance only assigns
+ * the resolved beans to the (already accessible) fields and methods.
+ *
+ * A plan can only be created for classes whose wiring is fully described by {@link Autowired} annotations
+ * with singleton dependencies, in a {@link BeanFactory} processing {@link Autowired} annotations with an
+ * {@link AutowiredAnnotationBeanPostProcessor} and registering no {@link BeanPostProcessor}s but Spring's own
+ * annotation and context processors, whose effect on such classes the plan reproduces. For any other class
+ * (e.g. implementing {@link Aware} or {@link InitializingBean}, using {@code @Resource}, {@code @Value},
+ * {@code @Inject}, {@code @Required} or {@code @PostConstruct}, or depending on non-singleton beans), or any
+ * other {@link BeanFactory}, {@link #forClass(Class, BeanFactory)} returns {@literal null} and callers should
+ * fall back to full container wiring through {@link org.springframework.beans.factory.wiring.BeanConfigurerSupport}.
+ *
+ * Plans are cached per {@link BeanFactory} and hold on to the resolved beans. They are evicted when the
+ * {@link BeanFactory} destroys its singletons, i.e. when it is closed.
+ *
+ * @author agent
+ * @see org.springframework.beans.factory.annotation.Autowired
+ * @see org.springframework.beans.factory.wiring.BeanConfigurerSupport
+ */
+public class InjectionPlan {
+
+	// BeanPostProcessors, by class name, that have no effect on an instance wired through a plan
+	private static final Set<String> SUPPORTED_BEAN_POST_PROCESSORS = new HashSet<String>(Arrays.asList(
+		AutowiredAnnotationBeanPostProcessor.class.getName(),
+		CommonAnnotationBeanPostProcessor.class.getName(),
+		RequiredAnnotationBeanPostProcessor.class.getName(),
+		"org.springframework.context.annotation.ConfigurationClassPostProcessor$ImportAwareBeanPostProcessor",
+		"org.springframework.context.support.ApplicationContextAwareProcessor",
+		"org.springframework.context.support.ApplicationListenerDetector",
+		"org.springframework.context.support.PostProcessorRegistrationDelegate$ApplicationListenerDetector",
+		"org.springframework.context.support.PostProcessorRegistrationDelegate$BeanPostProcessorChecker"
+	));
+
+	private static final String EVICTION_BEAN_NAME = InjectionPlan.class.getName() + ".eviction";
+
+	private static final ConcurrentMap<BeanFactory, ConcurrentMap<Class<?>, InjectionPlan>> PLANS =
+		new ConcurrentHashMap<BeanFactory, ConcurrentMap<Class<?>, InjectionPlan>>();
+
+	private final boolean applicable;
+
+	private final InjectionPoint[] injectionPoints;
+
+	private InjectionPlan(List<InjectionPoint> injectionPoints) {
+		this.applicable = (injectionPoints != null);
+		this.injectionPoints = (applicable ? injectionPoints.toArray(new InjectionPoint[injectionPoints.size()])
+			: new InjectionPoint[0]);
+	}
+
+	/**
+	 * Returns the (cached) injection plan for the given type resolved against the given {@link BeanFactory},
+	 * or {@literal null} if instances of the type cannot be wired through a plan. Plans are cached per
+	 * {@link BeanFactory} and type, until the {@link BeanFactory} is closed.
+	 *
+	 * @param type the type to wire.
+	 * @param beanFactory the {@link BeanFactory} to resolve the dependencies from.
+	 * @return the injection plan or {@literal null} if the type requires full container wiring.
+	 */
+	public static InjectionPlan forClass(Class<?> type, BeanFactory beanFactory) {
+		// only BeanFactories notifying their closing are cached, all others require full container wiring anyway
+		if (!(beanFactory instanceof AbstractBeanFactory)) {
+			return null;
+		}
+
+		ConcurrentMap<Class<?>, InjectionPlan> plans = PLANS.get(beanFactory);
+
+		if (plans == null) {
+			plans = new ConcurrentHashMap<Class<?>, InjectionPlan>();
+			ConcurrentMap<Class<?>, InjectionPlan> existingPlans = PLANS.putIfAbsent(beanFactory, plans);
+
+			if (existingPlans != null) {
+				plans = existingPlans;
+			}
+			else {
+				registerEviction((AbstractBeanFactory) beanFactory);
+			}
+		}
+
+		InjectionPlan plan = plans.get(type);
+
+		if (plan == null) {
+			plan = create(type, beanFactory);
+			plans.put(type, plan);
+		}
+
+		return (plan.applicable ? plan : null);
+	}
+
+	/* evicts the plans of the BeanFactory once it destroys its singletons */
+	private static void registerEviction(final AbstractBeanFactory beanFactory) {
+		beanFactory.registerDisposableBean(EVICTION_BEAN_NAME, new DisposableBean() {
+			@Override
+			public void destroy() {
+				evict(beanFactory);
+			}
+		});
+	}
+
+	/**
+	 * Evicts all cached plans resolved against the given {@link BeanFactory}, which happens automatically
+	 * when it is closed.
+	 *
+	 * @param beanFactory the {@link BeanFactory} for which plans are evicted.
+	 */
+	public static void evict(BeanFactory beanFactory) {
+		if (beanFactory != null) {
+			PLANS.remove(beanFactory);
+		}
+	}
+
+	static InjectionPlan create(Class<?> type, BeanFactory beanFactory) {
+		InjectionPlan notApplicable = new InjectionPlan(null);
+
+		if (!(beanFactory instanceof AutowireCapableBeanFactory) || !hasOnlySupportedBeanPostProcessors(beanFactory)
+				|| beanFactory.containsBean(type.getName()) || Aware.class.isAssignableFrom(type)
+				|| InitializingBean.class.isAssignableFrom(type)) {
+
+			return notApplicable;
+		}
+
+		AutowireCapableBeanFactory autowireCapableBeanFactory = (AutowireCapableBeanFactory) beanFactory;
+		List<InjectionPoint> injectionPoints = new ArrayList<InjectionPoint>();
+		Set<String> overriddenMethods = new HashSet<String>();
+
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			// superclass members are injected first, matching the container
+			List<InjectionPoint> declaredInjectionPoints = new ArrayList<InjectionPoint>();
+
+			for (Field field : current.getDeclaredFields()) {
+				if (hasUnsupportedAnnotation(field)) {
+					return notApplicable;
+				}
+
+				Autowired autowired = AnnotationUtils.getAnnotation(field, Autowired.class);
+
+				if (autowired != null && !Modifier.isStatic(field.getModifiers())) {
+					Set<String> beanNames = new LinkedHashSet<String>();
+					Object value = autowireCapableBeanFactory.resolveDependency(
+						new DependencyDescriptor(field, autowired.required()), null, beanNames, null);
+
+					if (!isSingletons(beanFactory, beanNames)) {
+						return notApplicable;
+					}
+
+					if (value != null) {
+						declaredInjectionPoints.add(new FieldInjectionPoint(field, value));
+					}
+				}
+			}
+
+			for (Method method : current.getDeclaredMethods()) {
+				if (hasUnsupportedAnnotation(method)) {
+					return notApplicable;
+				}
+
+				Autowired autowired = AnnotationUtils.getAnnotation(method, Autowired.class);
+				String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+
+				if (autowired != null && !Modifier.isStatic(method.getModifiers()) && !method.isBridge()
+						&& !overriddenMethods.contains(signature)) {
+
+					Object[] arguments = new Object[method.getParameterTypes().length];
+					Set<String> beanNames = new LinkedHashSet<String>();
+					boolean resolved = true;
+
+					for (int index = 0; index < arguments.length; index++) {
+						arguments[index] = autowireCapableBeanFactory.resolveDependency(new DependencyDescriptor(
+							new MethodParameter(method, index), autowired.required()), null, beanNames, null);
+						resolved &= (arguments[index] != null);
+					}
+
+					if (!isSingletons(beanFactory, beanNames)) {
+						return notApplicable;
+					}
+
+					if (resolved) {
+						declaredInjectionPoints.add(new MethodInjectionPoint(method, arguments));
+					}
+				}
+
+				if (!Modifier.isPrivate(method.getModifiers())) {
+					overriddenMethods.add(signature);
+				}
+			}
+
+			injectionPoints.addAll(0, declaredInjectionPoints);
+		}
+
+		return new InjectionPlan(injectionPoints);
+	}
+
+	/* @Autowired is only injected by an AutowiredAnnotationBeanPostProcessor, and other post-processors
+	 * could change the instance, both of which only full container wiring honors */
+	private static boolean hasOnlySupportedBeanPostProcessors(BeanFactory beanFactory) {
+		if (!(beanFactory instanceof AbstractBeanFactory)) {
+			return false;
+		}
+
+		boolean autowiredAnnotationsProcessed = false;
+
+		for (BeanPostProcessor beanPostProcessor : ((AbstractBeanFactory) beanFactory).getBeanPostProcessors()) {
+			if (!SUPPORTED_BEAN_POST_PROCESSORS.contains(beanPostProcessor.getClass().getName())) {
+				return false;
+			}
+
+			autowiredAnnotationsProcessed |= (beanPostProcessor instanceof AutowiredAnnotationBeanPostProcessor);
+		}
+
+		return autowiredAnnotationsProcessed;
+	}
+
+	private static boolean hasUnsupportedAnnotation(AccessibleObject member) {
+		for (Annotation annotation : member.getAnnotations()) {
+			String annotationTypeName = annotation.annotationType().getName();
+
+			if (annotationTypeName.startsWith("javax.annotation.") || annotationTypeName.startsWith("javax.inject.")
+					|| annotationTypeName.equals("org.springframework.beans.factory.annotation.Value")
+					|| annotationTypeName.equals("org.springframework.beans.factory.annotation.Required")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean isSingletons(BeanFactory beanFactory, Set<String> beanNames) {
+		for (String beanName : beanNames) {
+			if (!beanFactory.isSingleton(beanName)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Wires the given instance by assigning the precomputed dependencies.
+	 *
+	 * @param instance the object to wire.
+	 */
+	public void inject(Object instance) {
+		for (InjectionPoint injectionPoint : injectionPoints) {
+			injectionPoint.inject(instance);
+		}
+	}
+
+	/* (non-Javadoc) */
+	int size() {
+		return injectionPoints.length;
+	}
+
+	static abstract class InjectionPoint {
+
+		abstract void inject(Object instance);
+	}
+
+	static final class FieldInjectionPoint extends InjectionPoint {
+
+		private final Field field;
+		private final Object value;
+
+		FieldInjectionPoint(Field field, Object value) {
+			ReflectionUtils.makeAccessible(field);
+			this.field = field;
+			this.value = value;
+		}
+
+		@Override
+		void inject(Object instance) {
+			ReflectionUtils.setField(field, instance, value);
+		}
+	}
+
+	static final class MethodInjectionPoint extends InjectionPoint {
+
+		private final Method method;
+		private final Object[] arguments;
+
+		MethodInjectionPoint(Method method, Object[] arguments) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+			this.arguments = arguments;
+		}
+
+		@Override
+		void inject(Object instance) {
+			ReflectionUtils.invokeMethod(method, instance, arguments);
+		}
+	}
+}
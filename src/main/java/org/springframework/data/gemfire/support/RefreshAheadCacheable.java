@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the result of a method in a {@link GemfireCache}, loading it through
+ * {@link GemfireCache#get(Object, java.util.concurrent.Callable)} with the method as the value loader. The value
+ * of a key is thus loaded at most once at a time, and reloaded ahead of its expiration with the refresh-ahead
+ * factor of the cache, which {@code @Cacheable} only provides with {@code sync = true} as of Spring Framework 4.3.
+ *
+ * The key is generated from the method arguments like the default key of {@code @Cacheable}, by the
+ * {@link org.springframework.cache.interceptor.SimpleKeyGenerator}.
+ *
+ * Applied by the {@link RefreshAheadCacheableInterceptor}, e.g. registered with the
+ * {@link RefreshAheadCacheableAnnotationBeanPostProcessor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.RefreshAheadCacheableInterceptor
+ * @see org.springframework.data.gemfire.support.GemfireCache#get(Object, java.util.concurrent.Callable)
+ * @see org.springframework.data.gemfire.support.GemfireCache#setRefreshAheadFactor(double)
+ * @since 1.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RefreshAheadCacheable {
+
+	/**
+	 * The name of the cache holding the values.
+	 *
+	 * @return the cache name.
+	 */
+	String value();
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Bean post-processor proxying beans with methods annotated with {@link RefreshAheadCacheable}, applying
+ * the {@link RefreshAheadCacheableInterceptor} to them. Caches are looked up in the given {@link CacheManager},
+ * or else in the single {@link CacheManager} bean of the application context.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.RefreshAheadCacheable
+ * @see org.springframework.data.gemfire.support.RefreshAheadCacheableInterceptor
+ * @since 1.9.0
+ */
+@SuppressWarnings("serial")
+public class RefreshAheadCacheableAnnotationBeanPostProcessor extends AbstractAdvisingBeanPostProcessor
+		implements BeanFactoryAware {
+
+	private final RefreshAheadCacheableInterceptor interceptor = new RefreshAheadCacheableInterceptor();
+
+	public RefreshAheadCacheableAnnotationBeanPostProcessor() {
+		this.advisor = new DefaultPointcutAdvisor(
+			AnnotationMatchingPointcut.forMethodAnnotation(RefreshAheadCacheable.class), interceptor);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		interceptor.setBeanFactory(beanFactory);
+	}
+
+	public void setCacheManager(CacheManager cacheManager) {
+		interceptor.setCacheManager(cacheManager);
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link MethodInterceptor} applying {@link RefreshAheadCacheable} to the invoked method. The value is looked up
+ * with {@link GemfireCache#get(Object, Callable)}, with a value loader invoking the method, on a copy of the
+ * invocation, so the cache can also invoke it in the background to refresh the value ahead of its expiration.
+ * With any other {@link Cache}, the value is looked up and cached without refresh-ahead.
+ *
+ * Exceptions thrown by the method are rethrown as is.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.RefreshAheadCacheable
+ * @see org.springframework.data.gemfire.support.GemfireCache
+ * @since 1.9.0
+ */
+public class RefreshAheadCacheableInterceptor implements MethodInterceptor, BeanFactoryAware {
+
+	private BeanFactory beanFactory;
+
+	private volatile CacheManager cacheManager;
+
+	/**
+	 * Constructs an interceptor resolving the {@link CacheManager} from the {@link BeanFactory} on first use.
+	 */
+	public RefreshAheadCacheableInterceptor() {
+	}
+
+	/**
+	 * Constructs an interceptor looking up caches in the given {@link CacheManager}.
+	 *
+	 * @param cacheManager the {@link CacheManager}.
+	 */
+	public RefreshAheadCacheableInterceptor(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	protected CacheManager getCacheManager() {
+		if (cacheManager == null) {
+			Assert.state(beanFactory != null, "Either a CacheManager or a BeanFactory is required");
+			cacheManager = beanFactory.getBean(CacheManager.class);
+		}
+
+		return cacheManager;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		Object target = invocation.getThis();
+
+		RefreshAheadCacheable annotation = AnnotationUtils.findAnnotation((target != null
+			? AopUtils.getMostSpecificMethod(method, target.getClass()) : method), RefreshAheadCacheable.class);
+
+		if (annotation == null) {
+			return invocation.proceed();
+		}
+
+		Cache cache = getCacheManager().getCache(annotation.value());
+
+		Assert.state(cache != null, String.format("Cache [%1$s] not found for method [%2$s]",
+			annotation.value(), method));
+
+		Object key = SimpleKeyGenerator.generateKey(invocation.getArguments());
+
+		if (!(cache instanceof GemfireCache)) {
+			Cache.ValueWrapper value = cache.get(key);
+
+			if (value != null) {
+				return value.get();
+			}
+
+			Object result = invocation.proceed();
+
+			if (result != null) {
+				cache.put(key, result);
+			}
+
+			return result;
+		}
+
+		Assert.state(invocation instanceof ProxyMethodInvocation, String.format(
+			"The method [%1$s] annotated with %2$s must be invoked through a Spring AOP proxy", method,
+				RefreshAheadCacheable.class.getName()));
+
+		try {
+			return ((GemfireCache) cache).get(key, new MethodValueLoader(
+				(ProxyMethodInvocation) ((ProxyMethodInvocation) invocation).invocableClone()));
+		}
+		catch (RuntimeException e) {
+			// GemfireCache wraps the failure of the value loader
+			if (e.getCause() instanceof MethodInvocationFailure) {
+				throw e.getCause().getCause();
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Loads the value by invoking the method, proceeding with a new copy of the invocation on each call,
+	 * since an invocation proceeds only once.
+	 */
+	private static class MethodValueLoader implements Callable<Object> {
+
+		private final ProxyMethodInvocation invocation;
+
+		MethodValueLoader(ProxyMethodInvocation invocation) {
+			this.invocation = invocation;
+		}
+
+		@Override
+		public Object call() {
+			try {
+				return invocation.invocableClone().proceed();
+			}
+			catch (Throwable e) {
+				throw new MethodInvocationFailure(e);
+			}
+		}
+	}
+
+	/* carries a Throwable of the method, unwrapped again by invoke(..) */
+	@SuppressWarnings("serial")
+	private static class MethodInvocationFailure extends RuntimeException {
+
+		MethodInvocationFailure(Throwable cause) {
+			super(cause);
+		}
+	}
+
+}
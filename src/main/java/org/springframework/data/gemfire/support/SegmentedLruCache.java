@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, in-memory cache evicting the least recently used entries, split into independently locked segments
+ * so that concurrent accesses to different keys rarely contend. Each segment keeps an invalidation epoch,
+ * incremented whenever one of its keys is invalidated, so that a value read from a slower store is only cached
+ * if no invalidation of its segment happened during the read. With a time-to-live, entries also expire once they
+ * have been cached for that long, bounding how stale an entry missing its invalidation can get.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.TwoLevelGemfireCache
+ * @since 1.9.0
+ */
+class SegmentedLruCache {
+
+	static final int MAX_SEGMENT_COUNT = 16;
+
+	private final long timeToLive;
+
+	private final Segment[] segments;
+
+	SegmentedLruCache(int maximumSize) {
+		this(maximumSize, 0L);
+	}
+
+	/**
+	 * @param maximumSize the maximum number of entries.
+	 * @param timeToLive the time, in milliseconds, entries are kept at most; 0 to keep entries until evicted.
+	 */
+	SegmentedLruCache(int maximumSize, long timeToLive) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		Assert.isTrue(timeToLive >= 0, "timeToLive must be greater than or equal to 0");
+
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+
+		int segmentCount = Math.min(MAX_SEGMENT_COUNT, maximumSize);
+		int segmentSize = (maximumSize + segmentCount - 1) / segmentCount;
+
+		segments = new Segment[segmentCount];
+
+		for (int index = 0; index < segmentCount; index++) {
+			segments[index] = new Segment(segmentSize);
+		}
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return segments[(hash & Integer.MAX_VALUE) % segments.length];
+	}
+
+	Object get(Object key) {
+		Segment segment = segmentFor(key);
+
+		synchronized (segment) {
+			CachedValue cachedValue = (CachedValue) segment.get(key);
+
+			if (cachedValue == null) {
+				return null;
+			}
+
+			if (timeToLive > 0 && System.nanoTime() - cachedValue.cached >= timeToLive) {
+				segment.remove(key);
+				return null;
+			}
+
+			return cachedValue.value;
+		}
+	}
+
+	/**
+	 * @param key the key about to be read from the slower store.
+	 * @return the invalidation epoch of the segment of the key, to pass to {@link #putIfCurrent(Object, Object, long)}.
+	 */
+	long epoch(Object key) {
+		Segment segment = segmentFor(key);
+
+		synchronized (segment) {
+			return segment.epoch;
+		}
+	}
+
+	/**
+	 * Caches the given value unless the segment of the key was invalidated since the given epoch.
+	 */
+	void putIfCurrent(Object key, Object value, long epoch) {
+		Segment segment = segmentFor(key);
+
+		synchronized (segment) {
+			if (segment.epoch == epoch) {
+				segment.put(key, new CachedValue(value, System.nanoTime()));
+			}
+		}
+	}
+
+	void invalidate(Object key) {
+		Segment segment = segmentFor(key);
+
+		synchronized (segment) {
+			segment.remove(key);
+			segment.epoch++;
+		}
+	}
+
+	void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+				segment.epoch++;
+			}
+		}
+	}
+
+	int size() {
+		int size = 0;
+
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	/* (non-Javadoc) */
+	static final class CachedValue {
+
+		final Object value;
+
+		final long cached;
+
+		CachedValue(Object value, long cached) {
+			this.value = value;
+			this.cached = cached;
+		}
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("serial")
+	static class Segment extends LinkedHashMap<Object, Object> {
+
+		private final int maximumSize;
+
+		long epoch;
+
+		Segment(int maximumSize) {
+			super(16, 0.75f, true);
+			this.maximumSize = maximumSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+			return (size() > maximumSize);
+		}
+	}
+
+}
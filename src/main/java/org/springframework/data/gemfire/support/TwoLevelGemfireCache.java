@@ -0,0 +1,298 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.gemstone.gemfire.cache.CacheListener;
+import com.gemstone.gemfire.cache.DataPolicy;
+import com.gemstone.gemfire.cache.EntryEvent;
+import com.gemstone.gemfire.cache.InterestResultPolicy;
+import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.RegionEvent;
+import com.gemstone.gemfire.cache.client.Pool;
+import com.gemstone.gemfire.cache.client.PoolManager;
+import com.gemstone.gemfire.cache.util.CacheListenerAdapter;
+
+/**
+ * {@link GemfireCache} keeping the most recently used values of the Region in a bounded, in-JVM level 1 (L1) cache,
+ * in front of the Region (L2). L1 hits avoid the Region read, which is a network round trip for client Regions.
+ *
+ * L1 entries are invalidated by a {@link CacheListener} registered on the Region, whenever the entry is created,
+ * updated, invalidated or destroyed, including by expiration, and whenever the Region is cleared. For client Regions,
+ * changes made by other members and expirations on the servers only reach the listener through a subscription,
+ * so the Region's Pool must have subscription enabled and interest in all keys is registered. The listener of
+ * a partitioned Region only sees the changes of the buckets hosted by this member, so partitioned Regions also
+ * require an L1 time-to-live, bounding how long L1 may serve a value changed on another member.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.GemfireCache
+ * @see org.springframework.data.gemfire.support.TwoLevelGemfireCacheManager
+ * @since 1.9.0
+ */
+public class TwoLevelGemfireCache extends GemfireCache {
+
+	private final AtomicLong l1HitCount = new AtomicLong();
+	private final AtomicLong l1MissCount = new AtomicLong();
+	private final AtomicLong l2HitCount = new AtomicLong();
+	private final AtomicLong l2MissCount = new AtomicLong();
+
+	private final boolean client;
+
+	private final CacheListener<Object, Object> invalidator = new L1Invalidator();
+
+	private final SegmentedLruCache l1;
+
+	/**
+	 * Creates a two-level cache backed by the given Region, keeping values in L1 until invalidated or evicted.
+	 *
+	 * @param region the Region (L2).
+	 * @param l1MaximumSize the maximum number of values kept in L1.
+	 * @throws IllegalArgumentException if the Region is partitioned.
+	 * @throws IllegalStateException if the Region is a client Region whose Pool has no subscription enabled.
+	 */
+	public TwoLevelGemfireCache(Region<?, ?> region, int l1MaximumSize) {
+		this(region, l1MaximumSize, 0L);
+	}
+
+	/**
+	 * Creates a two-level cache backed by the given Region.
+	 *
+	 * @param region the Region (L2).
+	 * @param l1MaximumSize the maximum number of values kept in L1.
+	 * @param l1TimeToLive the time, in milliseconds, values are kept in L1 at most; 0 to keep values
+	 * until invalidated or evicted.
+	 * @throws IllegalArgumentException if the Region is partitioned and no L1 time-to-live is given.
+	 * @throws IllegalStateException if the Region is a client Region whose Pool has no subscription enabled.
+	 */
+	@SuppressWarnings("unchecked")
+	public TwoLevelGemfireCache(Region<?, ?> region, int l1MaximumSize, long l1TimeToLive) {
+		super(region);
+
+		DataPolicy dataPolicy = region.getAttributes().getDataPolicy();
+
+		Assert.isTrue(l1TimeToLive > 0 || dataPolicy == null || !dataPolicy.withPartitioning(), String.format(
+			"Region [%1$s] is partitioned, which requires an L1 time-to-live", region.getFullPath()));
+
+		this.client = StringUtils.hasText(region.getAttributes().getPoolName());
+
+		if (client) {
+			String poolName = region.getAttributes().getPoolName();
+			Pool pool = PoolManager.find(poolName);
+
+			Assert.state(pool != null && pool.getSubscriptionEnabled(), String.format(
+				"Pool [%1$s] of client Region [%2$s] must have subscription enabled to invalidate L1",
+					poolName, region.getFullPath()));
+		}
+
+		this.l1 = new SegmentedLruCache(l1MaximumSize, l1TimeToLive);
+
+		((Region<Object, Object>) region).getAttributesMutator().addCacheListener(invalidator);
+
+		if (client) {
+			// only the events, not the values, are needed: without values, the servers send changes as invalidations,
+			// which reach afterInvalidate
+			((Region<Object, Object>) region).registerInterest("ALL_KEYS", InterestResultPolicy.NONE, false, false);
+		}
+	}
+
+	/* the value read from L2 is only kept if the key was not invalidated meanwhile, to never keep a stale value */
+	@Override
+	protected Object lookup(Object key) {
+		Object value = l1.get(key);
+
+		if (value != null) {
+			l1HitCount.incrementAndGet();
+			return value;
+		}
+
+		l1MissCount.incrementAndGet();
+
+		long epoch = l1.epoch(key);
+
+		value = super.lookup(key);
+
+		if (value != null) {
+			l2HitCount.incrementAndGet();
+			l1.putIfCurrent(key, value, epoch);
+		}
+		else {
+			l2MissCount.incrementAndGet();
+		}
+
+		return value;
+	}
+
+	/* only the keys missing L1 are read from L2, in a single Region operation */
+	@Override
+	protected Map<Object, Object> lookupAll(Collection<?> keys) {
+		Map<Object, Object> values = new HashMap<Object, Object>(keys.size());
+		Map<Object, Long> epochs = new HashMap<Object, Long>();
+		List<Object> misses = new ArrayList<Object>();
+
+		for (Object key : keys) {
+			Object value = l1.get(key);
+
+			if (value != null) {
+				l1HitCount.incrementAndGet();
+				values.put(key, value);
+			}
+			else {
+				l1MissCount.incrementAndGet();
+				epochs.put(key, l1.epoch(key));
+				misses.add(key);
+			}
+		}
+
+		if (!misses.isEmpty()) {
+			Map<Object, Object> l2Values = super.lookupAll(misses);
+
+			for (Object key : misses) {
+				Object value = l2Values.get(key);
+
+				if (value != null) {
+					l2HitCount.incrementAndGet();
+					l1.putIfCurrent(key, value, epochs.get(key));
+					values.put(key, value);
+				}
+				else {
+					l2MissCount.incrementAndGet();
+				}
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Unregisters the listener invalidating L1, and the interest of a client Region, from the Region and clears L1.
+	 */
+	@SuppressWarnings("unchecked")
+	public void close() {
+		Region<Object, Object> region = (Region<Object, Object>) getNativeCache();
+
+		if (!region.isDestroyed()) {
+			if (client) {
+				region.unregisterInterest("ALL_KEYS");
+			}
+
+			region.getAttributesMutator().removeCacheListener(invalidator);
+		}
+
+		l1.clear();
+	}
+
+	/**
+	 * @return the number of values in L1.
+	 */
+	public int getL1Size() {
+		return l1.size();
+	}
+
+	public long getL1HitCount() {
+		return l1HitCount.get();
+	}
+
+	public long getL1MissCount() {
+		return l1MissCount.get();
+	}
+
+	/**
+	 * @return the fraction of lookups served by L1.
+	 */
+	public double getL1HitRate() {
+		return hitRate(l1HitCount.get(), l1MissCount.get());
+	}
+
+	public long getL2HitCount() {
+		return l2HitCount.get();
+	}
+
+	public long getL2MissCount() {
+		return l2MissCount.get();
+	}
+
+	/**
+	 * @return the fraction of the lookups missing L1 that were served by the Region.
+	 */
+	public double getL2HitRate() {
+		return hitRate(l2HitCount.get(), l2MissCount.get());
+	}
+
+	private static double hitRate(long hits, long misses) {
+		long lookups = hits + misses;
+		return (lookups > 0 ? (double) hits / lookups : 0.0d);
+	}
+
+	/**
+	 * Resets the hit and miss counts of both levels.
+	 */
+	public void resetStatistics() {
+		l1HitCount.set(0);
+		l1MissCount.set(0);
+		l2HitCount.set(0);
+		l2MissCount.set(0);
+	}
+
+	/* (non-Javadoc) */
+	private class L1Invalidator extends CacheListenerAdapter<Object, Object> {
+
+		@Override
+		public void afterCreate(EntryEvent<Object, Object> event) {
+			l1.invalidate(event.getKey());
+		}
+
+		@Override
+		public void afterUpdate(EntryEvent<Object, Object> event) {
+			l1.invalidate(event.getKey());
+		}
+
+		@Override
+		public void afterInvalidate(EntryEvent<Object, Object> event) {
+			l1.invalidate(event.getKey());
+		}
+
+		@Override
+		public void afterDestroy(EntryEvent<Object, Object> event) {
+			l1.invalidate(event.getKey());
+		}
+
+		@Override
+		public void afterRegionClear(RegionEvent<Object, Object> event) {
+			l1.clear();
+		}
+
+		@Override
+		public void afterRegionInvalidate(RegionEvent<Object, Object> event) {
+			l1.clear();
+		}
+
+		@Override
+		public void afterRegionDestroy(RegionEvent<Object, Object> event) {
+			l1.clear();
+		}
+	}
+
+}
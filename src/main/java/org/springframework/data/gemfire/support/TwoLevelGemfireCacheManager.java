@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+
+import com.gemstone.gemfire.cache.Region;
+
+/**
+ * {@link GemfireCacheManager} managing {@link TwoLevelGemfireCache TwoLevelGemfireCaches}, which keep the most recently
+ * used values of their Region in a bounded, in-JVM level 1 cache.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.GemfireCacheManager
+ * @see org.springframework.data.gemfire.support.TwoLevelGemfireCache
+ * @since 1.9.0
+ */
+public class TwoLevelGemfireCacheManager extends GemfireCacheManager implements DisposableBean {
+
+	public static final int DEFAULT_L1_MAXIMUM_SIZE = 10000;
+
+	public static final long DEFAULT_L1_TIME_TO_LIVE = 0L;
+
+	private int l1MaximumSize = DEFAULT_L1_MAXIMUM_SIZE;
+
+	private long l1TimeToLive = DEFAULT_L1_TIME_TO_LIVE;
+
+	@Override
+	protected GemfireCache createGemfireCache(Region<?, ?> region) {
+		return new TwoLevelGemfireCache(region, l1MaximumSize, l1TimeToLive);
+	}
+
+	/**
+	 * Sets the maximum number of values kept in the level 1 cache of each Cache.
+	 * Defaults to {@value #DEFAULT_L1_MAXIMUM_SIZE}.
+	 *
+	 * @param l1MaximumSize the maximum number of values kept in memory per Cache.
+	 */
+	public void setL1MaximumSize(int l1MaximumSize) {
+		Assert.isTrue(l1MaximumSize > 0, "l1MaximumSize must be greater than 0");
+		this.l1MaximumSize = l1MaximumSize;
+	}
+
+	public int getL1MaximumSize() {
+		return l1MaximumSize;
+	}
+
+	/**
+	 * Sets the time, in milliseconds, values are kept in the level 1 cache of each Cache at most, which
+	 * partitioned Regions require. Defaults to {@value #DEFAULT_L1_TIME_TO_LIVE}, keeping values until
+	 * invalidated or evicted.
+	 *
+	 * @param l1TimeToLive the time-to-live of values in memory.
+	 * @see TwoLevelGemfireCache#TwoLevelGemfireCache(Region, int, long)
+	 */
+	public void setL1TimeToLive(long l1TimeToLive) {
+		Assert.isTrue(l1TimeToLive >= 0, "l1TimeToLive must be greater than or equal to 0");
+		this.l1TimeToLive = l1TimeToLive;
+	}
+
+	public long getL1TimeToLive() {
+		return l1TimeToLive;
+	}
+
+	/**
+	 * Unregisters the listeners invalidating the level 1 caches from their Regions.
+	 */
+	@Override
+	public void destroy() {
+		for (String name : getCacheNames()) {
+			Cache cache = getCache(name);
+
+			if (cache instanceof TwoLevelGemfireCache) {
+				((TwoLevelGemfireCache) cache).close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.compression;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.compression.CompressionException;
+
+/**
+ * Unit tests for {@link ThresholdCompressor} and {@link LzfCodec}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.compression.LzfCodec
+ * @see org.springframework.data.gemfire.compression.ThresholdCompressor
+ */
+public class ThresholdCompressorTest {
+
+	private static byte[] repetitive(int length) {
+		byte[] bytes = new byte[length];
+		byte[] pattern = "{\"status\":\"ACTIVE\",\"country\":\"US\"}".getBytes();
+
+		for (int index = 0; index < length; index++) {
+			bytes[index] = pattern[index % pattern.length];
+		}
+
+		return bytes;
+	}
+
+	private static byte[] random(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+	@Test
+	public void compressesValuesAboveThreshold() {
+		ThresholdCompressor compressor = new ThresholdCompressor();
+		byte[] input = repetitive(8192);
+		byte[] compressed = compressor.compress(input);
+
+		assertThat(compressed[0], is(equalTo(ThresholdCompressor.FORMAT_LZF)));
+		assertThat(compressed.length, is(lessThan(input.length / 4)));
+		assertThat(compressor.decompress(compressed), is(equalTo(input)));
+		assertThat(compressor.getStatistics().getCompressedCount(), is(equalTo(1L)));
+		assertThat(compressor.getStatistics().getDecompressedCount(), is(equalTo(1L)));
+		assertThat(compressor.getStatistics().getCompressionRatio(), is(lessThan(0.25d)));
+	}
+
+	@Test
+	public void storesValuesBelowThresholdAsIs() {
+		ThresholdCompressor compressor = new ThresholdCompressor();
+		byte[] input = repetitive(100);
+		byte[] compressed = compressor.compress(input);
+
+		assertThat(compressed[0], is(equalTo(ThresholdCompressor.FORMAT_UNCOMPRESSED)));
+		assertThat(compressed.length, is(equalTo(input.length + 1)));
+		assertThat(compressor.decompress(compressed), is(equalTo(input)));
+		assertThat(compressor.getStatistics().getSkippedCount(), is(equalTo(1L)));
+	}
+
+	@Test
+	public void storesIncompressibleValuesAsIs() {
+		ThresholdCompressor compressor = new ThresholdCompressor();
+		byte[] input = random(4096);
+		byte[] compressed = compressor.compress(input);
+
+		assertThat(compressed[0], is(equalTo(ThresholdCompressor.FORMAT_UNCOMPRESSED)));
+		assertThat(compressor.decompress(compressed), is(equalTo(input)));
+	}
+
+	@Test
+	public void roundTripsArbitraryInput() {
+		ThresholdCompressor compressor = new ThresholdCompressor();
+		compressor.setThreshold(0);
+
+		Random random = new Random(42);
+
+		for (int count = 0; count < 500; count++) {
+			byte[] input = new byte[random.nextInt(20000)];
+
+			for (int index = 0; index < input.length; index++) {
+				input[index] = (byte) (count % 2 == 0 ? random.nextInt(256) : random.nextInt(4));
+			}
+
+			assertThat(compressor.decompress(compressor.compress(input)), is(equalTo(input)));
+		}
+	}
+
+	@Test(expected = CompressionException.class)
+	public void failsOnUnknownFormat() {
+		new ThresholdCompressor().decompress(new byte[] { 7, 1, 2 });
+	}
+
+	@Test(expected = CompressionException.class)
+	public void failsOnCorruptInput() {
+		ThresholdCompressor compressor = new ThresholdCompressor();
+		byte[] compressed = compressor.compress(repetitive(4096));
+
+		compressor.decompress(Arrays.copyOf(compressed, compressed.length / 2));
+	}
+}
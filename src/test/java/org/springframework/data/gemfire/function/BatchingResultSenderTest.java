@@ -13,11 +13,14 @@
 package org.springframework.data.gemfire.function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.junit.Test;
@@ -50,6 +53,72 @@ public class BatchingResultSenderTest {
 		testBatchingResultSender(new TestListResultSender(),1000);
 	}
 	
+	@Test
+	public void sendsFinalArrayChunkAsLastResult() {
+		TestArrayResultSender resultSender = new TestArrayResultSender();
+
+		new BatchingResultSender(10, resultSender).sendArrayResults(new Integer[25]);
+
+		assertEquals(3, resultSender.getChunkCount());
+		assertTrue(resultSender.isLastResultSent());
+	}
+
+	@Test
+	public void sendsFinalListChunkAsLastResult() {
+		TestListResultSender resultSender = new TestListResultSender();
+
+		new BatchingResultSender(10, resultSender).sendResults(new ArrayList<Object>(Arrays.asList(new Object[20])));
+
+		assertEquals(2, resultSender.getChunkCount());
+		assertTrue(resultSender.isLastResultSent());
+	}
+
+	@Test
+	public void sendsEmptyResultsAsLastResult() {
+		TestListResultSender resultSender = new TestListResultSender();
+
+		new BatchingResultSender(10, resultSender).sendResults(new LinkedList<Object>());
+
+		assertEquals(1, resultSender.getChunkCount());
+		assertTrue(resultSender.isLastResultSent());
+	}
+
+	@Test
+	public void chunksPrimitiveArraysBySize() {
+		final List<long[]> chunks = new ArrayList<long[]>();
+
+		ResultSender<Object> resultSender = new TestArrayResultSender() {
+			@Override
+			protected void addResults(Object item, List<Object> results) {
+				chunks.add((long[]) item);
+			}
+		};
+
+		long[] result = new long[100];
+
+		for (int index = 0; index < result.length; index++) {
+			result[index] = index;
+		}
+
+		new BatchingResultSender(0, 8 * 30, resultSender).sendArrayResults(result);
+
+		assertEquals(4, chunks.size());
+		assertEquals(30, chunks.get(0).length);
+		assertEquals(10, chunks.get(3).length);
+		assertEquals(99L, chunks.get(3)[9]);
+	}
+
+	@Test
+	public void chunkLengthIsBoundedByBatchSizeAndBytes() {
+		ResultSender<Object> resultSender = new TestArrayResultSender();
+
+		assertEquals(16, new BatchingResultSender(100, 128, resultSender).getChunkLength(double.class));
+		assertEquals(10, new BatchingResultSender(10, 128, resultSender).getChunkLength(double.class));
+		assertEquals(10, new BatchingResultSender(10, 128, resultSender).getChunkLength(Object.class));
+		assertEquals(0, new BatchingResultSender(0, 128, resultSender).getChunkLength(Object.class));
+		assertEquals(1, new BatchingResultSender(0, 2, resultSender).getChunkLength(long.class));
+	}
+
 	private void testBatchingResultSender(AbstractTestResultSender resultSender, int batchSize){
 		BatchingResultSender brs = new BatchingResultSender(batchSize, resultSender);
 		
@@ -74,12 +143,19 @@ public class BatchingResultSenderTest {
 	
 	public static abstract class AbstractTestResultSender implements ResultSender<Object> {
 		private List<Object> results = new ArrayList<Object>();
+
+		private int chunkCount;
+
+		private boolean lastResultSent;
 		
 		/* (non-Javadoc)
 		 * @see com.gemstone.gemfire.cache.execute.ResultSender#lastResult(java.lang.Object)
 		 */
 		@Override
 		public void lastResult(Object arg0) {
+			assertFalse(lastResultSent);
+			lastResultSent = true;
+			chunkCount++;
 			if (arg0 == null) {
 				return;
 			}
@@ -100,6 +176,8 @@ public class BatchingResultSenderTest {
 		 */
 		@Override
 		public void sendResult(Object arg0) {
+			assertFalse(lastResultSent);
+			chunkCount++;
 			if (arg0 == null) {
 				return;
 			}
@@ -111,6 +189,14 @@ public class BatchingResultSenderTest {
 		public List<Object> getResults() {
 			return this.results;
 		}
+
+		public int getChunkCount() {
+			return this.chunkCount;
+		}
+
+		public boolean isLastResultSent() {
+			return this.lastResultSent;
+		}
 		
 		
 	}
@@ -286,6 +286,52 @@ public class FunctionArgumentResolverTest {
         assertSame(resultSender, args[1]);
     }
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMethodWithFilterBeforeRegion() throws NoSuchMethodException {
+		RegionFunctionContext functionContext = mock(RegionFunctionContext.class);
+		Region<Object, Object> region = mock(Region.class);
+		Set<String> keys = new HashSet<String>();
+		Method method = TestFunction.class.getDeclaredMethod("methodWithFilterBeforeRegion", Set.class,
+			String.class, Region.class);
+
+		when(functionContext.getArguments()).thenReturn(new Object[] { "hello" });
+		when(functionContext.getDataSet()).thenReturn(region);
+		when(functionContext.getFilter()).thenReturn(keys);
+
+		Object[] args = new FunctionContextInjectingArgumentResolver(method).resolveFunctionArguments(functionContext);
+
+		assertEquals(3, args.length);
+		assertSame(keys, args[0]);
+		assertEquals("hello", args[1]);
+		assertSame(region, args[2]);
+	}
+
+	@Test
+	public void testMethodWithRegionTypeAndNonRegionFunctionContext() throws NoSuchMethodException {
+		FunctionContext functionContext = mock(FunctionContext.class);
+		Object region = new Object();
+		Method method = TestFunction.class.getDeclaredMethod("methodWithRegionType", String.class, Region.class);
+
+		when(functionContext.getArguments()).thenReturn(new Object[] { "hello", region });
+
+		Object[] args = new FunctionContextInjectingArgumentResolver(method).resolveFunctionArguments(functionContext);
+
+		assertEquals(2, args.length);
+		assertSame(region, args[1]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMethodWithWrongNumberOfArguments() throws NoSuchMethodException {
+		FunctionContext functionContext = mock(FunctionContext.class);
+		Method method = TestFunction.class.getDeclaredMethod("methodWithNoSpecialArgs", String.class, int.class,
+			boolean.class);
+
+		when(functionContext.getArguments()).thenReturn(new Object[] { "hello" });
+
+		new FunctionContextInjectingArgumentResolver(method).resolveFunctionArguments(functionContext);
+	}
+
 	@SuppressWarnings("unused")
     static class TestFunction {
 
@@ -310,6 +356,9 @@ public class FunctionArgumentResolverTest {
         public void methodWithFilterAndRegion(@RegionData Map<String, Object> region, @Filter Set<String> keys, Object arg) {
         }
 
+        public void methodWithFilterBeforeRegion(@Filter Set<String> keys, String s1, Region<?, ?> region) {
+        }
+
         //Invalid Method Signatures
         public void methodWithMultipleRegionData(@RegionData Map<?, ?> r1, @RegionData Map<?, ?> r2) {
         }
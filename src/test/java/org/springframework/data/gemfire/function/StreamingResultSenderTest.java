@@ -0,0 +1,176 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.cache.execute.ResultSender;
+import com.gemstone.gemfire.cache.util.ObjectSizer;
+
+/**
+ * Unit tests for {@link StreamingResultSender}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.StreamingResultSender
+ */
+public class StreamingResultSenderTest {
+
+	private static final ObjectSizer TEN_BYTES = new ObjectSizer() {
+		@Override
+		public int sizeof(Object o) {
+			return 10;
+		}
+	};
+
+	private static Iterator<Integer> range(final int count) {
+		return new Iterator<Integer>() {
+			int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < count;
+			}
+
+			@Override
+			public Integer next() {
+				return next++;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	@Test
+	public void sendsIteratorInChunksOfBatchSize() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(10, 0, null, resultSender).sendResults(range(25));
+
+		assertEquals(3, resultSender.chunks.size());
+		assertEquals(10, resultSender.chunks.get(0).size());
+		assertEquals(5, resultSender.chunks.get(2).size());
+		assertResults(resultSender, 25);
+	}
+
+	@Test
+	public void sendsExactMultipleOfBatchSizeWithFullLastChunk() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(10, 0, null, resultSender).sendResults(range(20));
+
+		assertEquals(2, resultSender.chunks.size());
+		assertEquals(10, resultSender.chunks.get(1).size());
+		assertResults(resultSender, 20);
+	}
+
+	@Test
+	public void boundsChunksByEstimatedBytes() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(0, 35, TEN_BYTES, resultSender).sendResults(range(10));
+
+		assertEquals(3, resultSender.chunks.size());
+		assertEquals(4, resultSender.chunks.get(0).size());
+		assertResults(resultSender, 10);
+	}
+
+	@Test
+	public void usesDefaultBatchSizeWhenUnbounded() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(0, 0, null, resultSender).sendResults(range(250));
+
+		assertEquals(StreamingResultSender.DEFAULT_BATCH_SIZE, resultSender.chunks.get(0).size());
+		assertResults(resultSender, 250);
+	}
+
+	@Test
+	public void sendsEmptyLastChunkForNoResults() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(10, 0, null, resultSender).sendResults(Collections.emptyList().iterator());
+
+		assertEquals(1, resultSender.chunks.size());
+		assertResults(resultSender, 0);
+	}
+
+	@Test
+	public void sendsResultsOfProducer() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new StreamingResultSender(7, 0, null, resultSender).sendResults(new ResultProducer<Integer>() {
+			@Override
+			public void produce(Sink<? super Integer> sink) {
+				for (int index = 0; index < 30; index++) {
+					sink.accept(index);
+				}
+			}
+		});
+
+		assertEquals(5, resultSender.chunks.size());
+		assertResults(resultSender, 30);
+	}
+
+	private void assertResults(RecordingResultSender resultSender, int count) {
+		assertTrue(resultSender.last);
+
+		List<Object> results = new ArrayList<Object>();
+
+		for (Collection<?> chunk : resultSender.chunks) {
+			results.addAll(chunk);
+		}
+
+		assertEquals(count, results.size());
+
+		for (int index = 0; index < count; index++) {
+			assertEquals(index, results.get(index));
+		}
+	}
+
+	static class RecordingResultSender implements ResultSender<Object> {
+
+		final List<Collection<?>> chunks = new ArrayList<Collection<?>>();
+
+		boolean last;
+
+		@Override
+		public void sendResult(Object result) {
+			assertTrue("result sent after the last result", !last);
+			chunks.add(new ArrayList<Object>((Collection<?>) result));
+		}
+
+		@Override
+		public void lastResult(Object result) {
+			sendResult(result);
+			last = true;
+		}
+
+		@Override
+		public void sendException(Throwable t) {
+			fail();
+		}
+	}
+}
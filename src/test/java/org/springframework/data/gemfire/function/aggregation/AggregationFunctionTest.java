@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.function.aggregation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.execute.RegionFunctionContext;
+import com.gemstone.gemfire.cache.execute.ResultSender;
+
+/**
+ * Unit tests for {@link AggregationFunction}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.aggregation.AggregationFunction
+ */
+public class AggregationFunctionTest {
+
+	static final Mapper<String, Integer, String, Integer> BY_FIRST_LETTER = new Mapper<String, Integer, String, Integer>() {
+		@Override
+		public void map(String key, Integer value, Emitter<String, Integer> emitter) {
+			emitter.emit(key.substring(0, 1), value);
+		}
+	};
+
+	static final Combiner<Integer> SUM = new Combiner<Integer>() {
+		@Override
+		public Integer combine(Integer aggregate, Integer value) {
+			return aggregate + value;
+		}
+	};
+
+	private static Map<String, Integer> data() {
+		Map<String, Integer> data = new TreeMap<String, Integer>();
+		data.put("apple", 1);
+		data.put("avocado", 2);
+		data.put("banana", 3);
+		data.put("blueberry", 4);
+		data.put("cherry", 5);
+		return data;
+	}
+
+	@Test
+	public void aggregatesAllEntries() {
+		Map<String, Integer> aggregates = AggregationFunction.aggregate(data(), null, BY_FIRST_LETTER, SUM);
+
+		assertThat(aggregates.size(), is(equalTo(3)));
+		assertThat(aggregates.get("a"), is(equalTo(3)));
+		assertThat(aggregates.get("b"), is(equalTo(7)));
+		assertThat(aggregates.get("c"), is(equalTo(5)));
+	}
+
+	@Test
+	public void aggregatesFilteredEntriesOnly() {
+		Map<String, Integer> aggregates = AggregationFunction.aggregate(data(),
+			new HashSet<String>(Arrays.asList("avocado", "blueberry", "unknown")), BY_FIRST_LETTER, SUM);
+
+		assertThat(aggregates.size(), is(equalTo(2)));
+		assertThat(aggregates.get("a"), is(equalTo(2)));
+		assertThat(aggregates.get("b"), is(equalTo(4)));
+		assertThat(aggregates.get("c"), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void sendsPartialAggregatesAsLastResult() {
+		RegionFunctionContext mockFunctionContext = mock(RegionFunctionContext.class);
+		Region<Object, Object> mockRegion = mock(Region.class);
+		ResultSender<Object> mockResultSender = mock(ResultSender.class);
+
+		when(mockFunctionContext.getArguments()).thenReturn(new Object[] { BY_FIRST_LETTER, SUM });
+		when(mockFunctionContext.getDataSet()).thenReturn(mockRegion);
+		when(mockFunctionContext.getResultSender()).thenReturn(mockResultSender);
+		when(mockRegion.entrySet()).thenReturn((Set) data().entrySet());
+
+		new AggregationFunction().execute(mockFunctionContext);
+
+		Map<String, Integer> expected = AggregationFunction.aggregate(data(), null, BY_FIRST_LETTER, SUM);
+
+		verify(mockResultSender).lastResult(expected);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.function.aggregation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+
+/**
+ * Unit tests for {@link ReducingResultCollector}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.aggregation.ReducingResultCollector
+ */
+public class ReducingResultCollectorTest {
+
+	private final ReducingResultCollector<String, Long> resultCollector = new ReducingResultCollector<String, Long>(
+		new Reducer<Long>() {
+			@Override
+			public Long reduce(Long aggregate, Long partialAggregate) {
+				return Math.max(aggregate, partialAggregate);
+			}
+		});
+
+	private static Map<String, Long> partialAggregates(Object... groupsAndValues) {
+		Map<String, Long> partialAggregates = new HashMap<String, Long>();
+
+		for (int index = 0; index < groupsAndValues.length; index += 2) {
+			partialAggregates.put((String) groupsAndValues[index], (Long) groupsAndValues[index + 1]);
+		}
+
+		return partialAggregates;
+	}
+
+	@Test
+	public void reducesPartialAggregatesOfAllMembers() throws Exception {
+		resultCollector.addResult(null, partialAggregates("a", 1L, "b", 7L));
+		resultCollector.addResult(null, partialAggregates("a", 5L, "c", 2L));
+		resultCollector.addResult(null, partialAggregates("b", 3L));
+		resultCollector.endResults();
+
+		Map<String, Long> aggregates = resultCollector.getResult(1, TimeUnit.SECONDS);
+
+		assertThat(aggregates, is(equalTo(partialAggregates("a", 5L, "b", 7L, "c", 2L))));
+	}
+
+	@Test(expected = FunctionException.class)
+	public void failsWithExceptionResultOfMember() {
+		resultCollector.addResult(null, partialAggregates("a", 1L));
+		resultCollector.addResult(null, new IllegalStateException("test"));
+		resultCollector.endResults();
+		resultCollector.getResult();
+	}
+
+	@Test(expected = FunctionException.class)
+	public void timesOutWaitingForMembers() throws Exception {
+		resultCollector.addResult(null, Collections.emptyMap());
+		resultCollector.getResult(50, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void clearResultsDiscardsPartialAggregates() {
+		resultCollector.addResult(null, partialAggregates("a", 1L));
+		resultCollector.clearResults();
+		resultCollector.endResults();
+
+		assertThat(resultCollector.getResult().isEmpty(), is(true));
+	}
+
+	@Test
+	public void clearResultsWhileWaitingWaitsForResultsOfRetry() throws Exception {
+		FutureTask<Map<String, Long>> result = new FutureTask<Map<String, Long>>(new Callable<Map<String, Long>>() {
+			@Override
+			public Map<String, Long> call() throws Exception {
+				return resultCollector.getResult(5, TimeUnit.SECONDS);
+			}
+		});
+
+		Thread waiter = new Thread(result);
+
+		waiter.start();
+
+		while (waiter.getState() != Thread.State.TIMED_WAITING && !result.isDone()) {
+			Thread.sleep(10);
+		}
+
+		resultCollector.addResult(null, partialAggregates("a", 9L));
+		resultCollector.clearResults();
+		resultCollector.addResult(null, partialAggregates("a", 4L));
+
+		assertThat(result.isDone(), is(false));
+
+		resultCollector.endResults();
+
+		assertThat(result.get(5, TimeUnit.SECONDS), is(equalTo(partialAggregates("a", 4L))));
+	}
+}
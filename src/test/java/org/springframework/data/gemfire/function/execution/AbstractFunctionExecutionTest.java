@@ -18,11 +18,13 @@ package org.springframework.data.gemfire.function.execution;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -35,7 +37,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -43,6 +50,8 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
 
 import com.gemstone.gemfire.cache.execute.Execution;
 import com.gemstone.gemfire.cache.execute.Function;
@@ -196,4 +205,120 @@ public class AbstractFunctionExecutionTest {
 		functionExecution.setFunctionId("TestFunction").executeAndExtract();
 	}
 
+	@Test
+	public void executeAsyncCompletesWithResults() throws Exception {
+		final List<String> results = Arrays.asList("one", "two");
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override <T> Iterable<T> execute() {
+				return (Iterable<T>) results;
+			}
+		};
+
+		Future<Iterable<Object>> future = functionExecution.setTimeout(1000)
+			.executeAsync(new SyncTaskExecutor());
+
+		assertThat(future.isDone(), is(true));
+		assertThat(future.get(), is(equalTo((Iterable<Object>) (List) results)));
+	}
+
+	@Test
+	public void cancellingAsyncExecutionInterruptsWaitingForResults() throws Exception {
+		final CountDownLatch waiting = new CountDownLatch(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+
+			@Override <T> Iterable<T> execute() {
+				try {
+					waiting.countDown();
+					Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+					return null;
+				}
+				catch (InterruptedException e) {
+					interrupted.countDown();
+					throw new FunctionException(e);
+				}
+			}
+		};
+
+		Future<Iterable<Object>> future = functionExecution.setTimeout(TimeUnit.SECONDS.toMillis(60))
+			.executeAsync(new SimpleAsyncTaskExecutor());
+
+		assertThat(waiting.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(future.cancel(true), is(true));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(future.isCancelled(), is(true));
+	}
+
+	@Test
+	public void executeAndExtractAsyncFailsWithCause() throws Exception {
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override <T> Iterable<T> execute() {
+				return Collections.singletonList((T) new IllegalArgumentException("test"));
+			}
+		};
+
+		Future<Object> future = functionExecution.setFunctionId("TestFunction").setTimeout(1000)
+			.executeAndExtractAsync(new SyncTaskExecutor());
+
+		expectedException.expect(ExecutionException.class);
+		expectedException.expectCause(isA(FunctionException.class));
+
+		future.get();
+	}
+
+	@Test
+	public void asyncExecutionTimesOutWhileWaitingForThread() throws Exception {
+		final AtomicBoolean executed = new AtomicBoolean(false);
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+
+			@Override <T> Iterable<T> execute() {
+				executed.set(true);
+				return null;
+			}
+		};
+
+		Future<Iterable<Object>> future = functionExecution.setFunctionId("TestFunction").setTimeout(20)
+			.executeAsync(new Executor() {
+				@Override public void execute(Runnable task) {
+					try {
+						// the execution is queued behind other executions
+						Thread.sleep(100);
+					}
+					catch (InterruptedException ignore) {
+						Thread.currentThread().interrupt();
+					}
+
+					task.run();
+				}
+			});
+
+		try {
+			future.get();
+			fail("expected the execution to time out before it started");
+		}
+		catch (ExecutionException expected) {
+			assertThat(expected.getCause(), is(instanceOf(FunctionException.class)));
+			assertThat(executed.get(), is(false));
+		}
+	}
+
 }
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -221,4 +222,52 @@ public class AbstractFunctionTemplateTest {
 		verify(mockFunctionExecution, times(1)).execute(eq(false));
 	}
 
+	@Test
+	public void executeAsyncWithoutTimeoutUsesAsyncTimeout() {
+		Object[] args = { "test" };
+
+		when(mockFunctionExecution.setArgs(args)).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setFunctionId("TestFunction")).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setResultCollector(null)).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setTimeout(2000)).thenReturn(mockFunctionExecution);
+
+		AbstractFunctionTemplate functionTemplate = new AbstractFunctionTemplate() {
+			@Override protected AbstractFunctionExecution getFunctionExecution() {
+				return mockFunctionExecution;
+			}
+		};
+
+		functionTemplate.setAsyncTimeout(2000);
+		functionTemplate.executeAsync("TestFunction", args);
+
+		verify(mockFunctionExecution, times(1)).setTimeout(2000);
+		verify(mockFunctionExecution, times(1)).executeAsync(eq(functionTemplate.getTaskExecutor()));
+
+		functionTemplate.setTimeout(500);
+
+		assertThat(functionTemplate.getAsyncTimeout(), is(equalTo(500L)));
+	}
+
+	@Test
+	public void executeAsyncWithTimeoutUsesGivenTimeout() {
+		Object[] args = { "test" };
+
+		when(mockFunctionExecution.setArgs(args)).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setFunctionId("TestFunction")).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setResultCollector(null)).thenReturn(mockFunctionExecution);
+		when(mockFunctionExecution.setTimeout(3000)).thenReturn(mockFunctionExecution);
+
+		AbstractFunctionTemplate functionTemplate = new AbstractFunctionTemplate() {
+			@Override protected AbstractFunctionExecution getFunctionExecution() {
+				return mockFunctionExecution;
+			}
+		};
+
+		functionTemplate.setTimeout(500);
+		functionTemplate.executeAsync("TestFunction", args, 3, TimeUnit.SECONDS);
+
+		verify(mockFunctionExecution, times(1)).setTimeout(3000);
+		verify(mockFunctionExecution, times(1)).executeAsync(eq(functionTemplate.getTaskExecutor()));
+	}
+
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.function.execution;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FunctionResultCache}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.execution.FunctionResultCache
+ */
+public class FunctionResultCacheTest {
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	private final Callable<Object> execution = new Callable<Object>() {
+		@Override
+		public Object call() {
+			return executions.incrementAndGet();
+		}
+	};
+
+	@Test
+	public void cachesResultsByFunctionIdAndArguments() {
+		FunctionResultCache resultCache = new FunctionResultCache();
+
+		assertThat(resultCache.get("f", new Object[] { "a", new int[] { 1 } }, 60000, execution), is(equalTo((Object) 1)));
+		assertThat(resultCache.get("f", new Object[] { "a", new int[] { 1 } }, 60000, execution), is(equalTo((Object) 1)));
+		assertThat(resultCache.get("f", new Object[] { "b" }, 60000, execution), is(equalTo((Object) 2)));
+		assertThat(resultCache.get("g", new Object[] { "a", new int[] { 1 } }, 60000, execution), is(equalTo((Object) 3)));
+		assertThat(resultCache.size(), is(equalTo(3)));
+	}
+
+	@Test
+	public void cachesResultsPerTarget() {
+		FunctionResultCache resultCache = new FunctionResultCache();
+
+		Object regionOneTemplate = new Object();
+		Object regionTwoTemplate = new Object();
+
+		assertThat(resultCache.get(regionOneTemplate, "f", new Object[] { "a" }, 60000, execution),
+			is(equalTo((Object) 1)));
+		assertThat(resultCache.get(regionTwoTemplate, "f", new Object[] { "a" }, 60000, execution),
+			is(equalTo((Object) 2)));
+		assertThat(resultCache.get(regionOneTemplate, "f", new Object[] { "a" }, 60000, execution),
+			is(equalTo((Object) 1)));
+		assertThat(resultCache.size(), is(equalTo(2)));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	@SuppressWarnings("unchecked")
+	public void cachedCollectionResultsAreUnmodifiable() {
+		FunctionResultCache resultCache = new FunctionResultCache();
+
+		Callable<Object> listExecution = new Callable<Object>() {
+			@Override
+			public Object call() {
+				return new ArrayList<String>(Arrays.asList("a", "b"));
+			}
+		};
+
+		List<String> result = (List<String>) resultCache.get("f", null, 60000, listExecution);
+
+		assertThat(result, is(equalTo(Arrays.asList("a", "b"))));
+
+		((List<String>) resultCache.get("f", null, 60000, listExecution)).clear();
+	}
+
+	@Test
+	public void expiresResultsAfterTimeToLive() throws Exception {
+		FunctionResultCache resultCache = new FunctionResultCache();
+
+		resultCache.get("f", null, 10, execution);
+		Thread.sleep(50);
+
+		assertThat(resultCache.get("f", null, 10, execution), is(equalTo((Object) 2)));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedResults() {
+		FunctionResultCache resultCache = new FunctionResultCache(2);
+
+		resultCache.get("f", new Object[] { 1 }, 60000, execution);
+		resultCache.get("f", new Object[] { 2 }, 60000, execution);
+		resultCache.get("f", new Object[] { 1 }, 60000, execution);
+		resultCache.get("f", new Object[] { 3 }, 60000, execution);
+
+		assertThat(resultCache.size(), is(equalTo(2)));
+		assertThat(resultCache.get("f", new Object[] { 1 }, 60000, execution), is(equalTo((Object) 1)));
+		assertThat(resultCache.get("f", new Object[] { 2 }, 60000, execution), is(equalTo((Object) 4)));
+	}
+
+	@Test
+	public void invalidatesResultsOfFunction() {
+		FunctionResultCache resultCache = new FunctionResultCache();
+
+		resultCache.get("f", null, 60000, execution);
+		resultCache.get("g", null, 60000, execution);
+		resultCache.invalidate("f");
+
+		assertThat(resultCache.get("f", null, 60000, execution), is(equalTo((Object) 3)));
+		assertThat(resultCache.get("g", null, 60000, execution), is(equalTo((Object) 2)));
+
+		resultCache.invalidate();
+
+		assertThat(resultCache.size(), is(equalTo(0)));
+	}
+
+	@Test
+	public void collapsesConcurrentInvocations() throws Exception {
+		final FunctionResultCache resultCache = new FunctionResultCache();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final Callable<Object> slowExecution = new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				started.countDown();
+				release.await();
+				return executions.incrementAndGet();
+			}
+		};
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+		try {
+			Callable<Object> invocation = new Callable<Object>() {
+				@Override
+				public Object call() {
+					return resultCache.get("f", new Object[] { "a" }, 60000, slowExecution);
+				}
+			};
+
+			Future<Object> first = executorService.submit(invocation);
+
+			assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+			Future<Object> second = executorService.submit(invocation);
+			Future<Object> third = executorService.submit(invocation);
+
+			Thread.sleep(100);
+			release.countDown();
+
+			assertThat(first.get(5, TimeUnit.SECONDS), is(equalTo((Object) 1)));
+			assertThat(second.get(5, TimeUnit.SECONDS), is(equalTo((Object) 1)));
+			assertThat(third.get(5, TimeUnit.SECONDS), is(equalTo((Object) 1)));
+			assertThat(executions.get(), is(equalTo(1)));
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rethrowsFailureOfExecution() {
+		new FunctionResultCache().get("f", null, 60000, new Callable<Object>() {
+			@Override
+			public Object call() {
+				throw new IllegalStateException("test");
+			}
+		});
+	}
+}
@@ -21,6 +21,7 @@ package org.springframework.data.gemfire.function.execution;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +34,7 @@ import java.util.Map;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.data.gemfire.function.annotation.CachedResult;
 import org.springframework.data.gemfire.function.annotation.FunctionId;
  
 /**
@@ -88,6 +90,25 @@ public class GemfireFunctionProxyFactoryBeanTests {
 	
 	
 	
+	@Test
+	public void testInvokeWithCachedResult() throws Throwable {
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("cached", String.class)
+			.withArguments("key");
+
+		when(functionOperations.executeAndExtract("cached", invocation.getArguments())).thenReturn(1, 2);
+
+		assertEquals(1, proxy.invoke(invocation));
+		assertEquals(1, proxy.invoke(invocation));
+
+		verify(functionOperations, times(1)).executeAndExtract("cached", invocation.getArguments());
+
+		proxy.getResultCache().invalidate("cached");
+
+		assertEquals(2, proxy.invoke(invocation));
+	}
+
 	static class TestInvocation implements MethodInvocation {
 		
 		private Class<?>[] argTypes;
@@ -179,6 +200,9 @@ public class GemfireFunctionProxyFactoryBeanTests {
 
 		public abstract Map<String, Integer> getMapWithNoArgs();
 
+		@CachedResult(timeToLive = 60000)
+		public abstract Integer cached(String key);
+
 	}
 	
 	
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.function.execution;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.data.util.CloseableIterator;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+
+/**
+ * Unit tests for {@link StreamingResultCollector}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.execution.StreamingResultCollector
+ */
+public class StreamingResultCollectorTest {
+
+	@Test
+	public void iteratesResultsInOrderOfArrival() {
+		StreamingResultCollector<String> resultCollector = new StreamingResultCollector<String>(4);
+
+		resultCollector.addResult(null, "one");
+		resultCollector.addResult(null, null);
+		resultCollector.addResult(null, "three");
+		resultCollector.endResults();
+
+		List<String> results = new ArrayList<String>();
+
+		for (CloseableIterator<String> it = resultCollector.getResult(); it.hasNext();) {
+			results.add(it.next());
+		}
+
+		assertThat(results.size(), is(equalTo(3)));
+		assertThat(results.get(0), is(equalTo("one")));
+		assertThat(results.get(1), is(nullValue()));
+		assertThat(results.get(2), is(equalTo("three")));
+	}
+
+	@Test
+	public void blocksProducerUntilResultIsConsumed() throws Exception {
+		final StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(1);
+		final CountDownLatch added = new CountDownLatch(1);
+
+		resultCollector.addResult(null, 0);
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				resultCollector.addResult(null, 1);
+				added.countDown();
+				resultCollector.endResults();
+			}
+		});
+
+		producer.start();
+
+		assertThat(added.await(100, TimeUnit.MILLISECONDS), is(false));
+
+		CloseableIterator<Integer> it = resultCollector.getResult(5, TimeUnit.SECONDS);
+
+		assertThat(it.next(), is(equalTo(0)));
+		assertThat(added.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(it.next(), is(equalTo(1)));
+		assertThat(it.hasNext(), is(false));
+
+		producer.join(5000);
+	}
+
+	@Test
+	public void failsWhenNoResultIsConsumedWithinBufferTimeout() {
+		StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(1, 50);
+
+		resultCollector.addResult(null, 0);
+		resultCollector.addResult(null, 1);
+		resultCollector.endResults();
+
+		CloseableIterator<Integer> it = resultCollector.getResult();
+
+		assertThat(it.next(), is(equalTo(0)));
+
+		try {
+			it.hasNext();
+			fail("expected a FunctionException for the results not consumed within the buffer timeout");
+		}
+		catch (FunctionException expected) {
+			assertThat(resultCollector.isClosed(), is(true));
+		}
+	}
+
+	@Test
+	public void failsWithoutBlockingProducerWhenBufferIsFullWithoutBufferTimeout() {
+		StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(2, 0);
+
+		for (int index = 0; index < 10; index++) {
+			resultCollector.addResult(null, index);
+		}
+
+		resultCollector.endResults();
+
+		CloseableIterator<Integer> it = resultCollector.getResult();
+
+		assertThat(it.next(), is(equalTo(0)));
+		assertThat(it.next(), is(equalTo(1)));
+
+		try {
+			it.hasNext();
+			fail("expected a FunctionException for the results exceeding the buffer capacity");
+		}
+		catch (FunctionException expected) {
+			assertThat(resultCollector.isClosed(), is(true));
+		}
+	}
+
+	@Test
+	public void consumedResultsFreeBufferCapacity() throws Exception {
+		final StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(2);
+		final CountDownLatch consumed = new CountDownLatch(1);
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					resultCollector.addResult(null, 0);
+					resultCollector.addResult(null, 1);
+					consumed.await();
+					resultCollector.addResult(null, 2);
+					resultCollector.endResults();
+				}
+				catch (InterruptedException ignore) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		producer.start();
+
+		CloseableIterator<Integer> it = resultCollector.getResult(5, TimeUnit.SECONDS);
+
+		assertThat(it.next(), is(equalTo(0)));
+		assertThat(it.next(), is(equalTo(1)));
+
+		consumed.countDown();
+
+		assertThat(it.next(), is(equalTo(2)));
+		assertThat(it.hasNext(), is(false));
+
+		producer.join(5000);
+	}
+
+	@Test
+	public void closingDiscardsFurtherResults() {
+		StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(1);
+
+		resultCollector.addResult(null, 0);
+
+		CloseableIterator<Integer> it = resultCollector.getResult();
+
+		assertThat(it.next(), is(equalTo(0)));
+
+		it.close();
+
+		for (int index = 1; index < 100; index++) {
+			resultCollector.addResult(null, index);
+		}
+
+		resultCollector.endResults();
+
+		assertThat(it.hasNext(), is(false));
+		assertThat(resultCollector.isClosed(), is(true));
+	}
+
+	@Test
+	public void clearsResultsOfRetryBeforeConsumption() {
+		StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>(1, 0);
+
+		resultCollector.addResult(null, 0);
+		resultCollector.clearResults();
+		resultCollector.addResult(null, 1);
+		resultCollector.endResults();
+
+		CloseableIterator<Integer> it = resultCollector.getResult();
+
+		assertThat(it.next(), is(equalTo(1)));
+		assertThat(it.hasNext(), is(false));
+	}
+
+	@Test
+	public void failsRetryAfterResultsWereConsumed() {
+		StreamingResultCollector<Integer> resultCollector = new StreamingResultCollector<Integer>();
+
+		resultCollector.addResult(null, 0);
+
+		CloseableIterator<Integer> it = resultCollector.getResult();
+
+		assertThat(it.next(), is(equalTo(0)));
+
+		resultCollector.clearResults();
+		resultCollector.addResult(null, 0);
+		resultCollector.endResults();
+
+		try {
+			it.hasNext();
+			fail("expected a FunctionException for the execution retried after results were consumed");
+		}
+		catch (FunctionException expected) {
+			assertThat(resultCollector.isClosed(), is(true));
+		}
+	}
+
+	@Test(expected = FunctionException.class)
+	public void rethrowsFailure() {
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<Object>();
+
+		resultCollector.fail(new IllegalStateException("test"));
+		resultCollector.getResult().hasNext();
+	}
+
+	@Test(expected = FunctionException.class)
+	public void rethrowsExceptionResult() {
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<Object>();
+
+		resultCollector.addResult(null, new IllegalArgumentException("test"));
+		resultCollector.endResults();
+		resultCollector.getResult().next();
+	}
+
+	@Test(expected = FunctionException.class)
+	public void timesOutWaitingForNextResult() {
+		new StreamingResultCollector<Object>().getResult(50, TimeUnit.MILLISECONDS).hasNext();
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.cache.execute.FunctionException;
+import com.gemstone.gemfire.cache.execute.ResultSender;
+
+/**
+ * Unit tests for {@link RegionScanIterator} and {@link BucketScanFunction}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.scan.RegionScanIterator
+ * @see org.springframework.data.gemfire.function.scan.BucketScanFunction
+ */
+public class RegionScanIteratorTest {
+
+	private static final Executor SYNCHRONOUS_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	/* bucket n holds the keys n * 10 + 1 .. n * 10 + n */
+	private static class TestBucketReader implements RegionScanIterator.BucketReader {
+
+		final int totalNumberOfBuckets;
+
+		final Map<Integer, Integer> failures = new HashMap<Integer, Integer>();
+
+		final List<Integer> reads = new ArrayList<Integer>();
+
+		TestBucketReader(int totalNumberOfBuckets) {
+			this.totalNumberOfBuckets = totalNumberOfBuckets;
+		}
+
+		@Override
+		public int getTotalNumberOfBuckets() {
+			return totalNumberOfBuckets;
+		}
+
+		@Override
+		public List<Map<?, ?>> read(int bucketId) {
+			reads.add(bucketId);
+
+			Integer remainingFailures = failures.get(bucketId);
+
+			if (remainingFailures != null && remainingFailures > 0) {
+				failures.put(bucketId, remainingFailures - 1);
+				throw new FunctionException("bucket " + bucketId + " moved");
+			}
+
+			Map<Integer, String> chunk = new HashMap<Integer, String>();
+
+			for (int index = 1; index <= bucketId; index++) {
+				chunk.put(bucketId * 10 + index, "value");
+			}
+
+			return Collections.<Map<?, ?>>singletonList(chunk);
+		}
+	}
+
+	private static List<Integer> keys(RegionScanIterator<Integer, String> iterator) {
+		List<Integer> keys = new ArrayList<Integer>();
+
+		while (iterator.hasNext()) {
+			keys.add(iterator.next().getKey());
+		}
+
+		return keys;
+	}
+
+	@Test
+	public void scansAllBucketsInOrder() {
+		TestBucketReader reader = new TestBucketReader(4);
+		RegionScanIterator<Integer, String> iterator = new RegionScanIterator<Integer, String>(reader,
+			SYNCHRONOUS_EXECUTOR, 0, 2, 0);
+
+		List<Integer> keys = keys(iterator);
+		Collections.sort(keys);
+
+		assertEquals(Arrays.asList(11, 21, 22, 31, 32, 33), keys);
+		assertEquals(Arrays.asList(0, 1, 2, 3), reader.reads);
+		assertEquals(4, iterator.getCheckpoint());
+	}
+
+	@Test
+	public void readsAtMostBucketsInFlightAhead() {
+		final List<Runnable> submitted = new ArrayList<Runnable>();
+
+		new RegionScanIterator<Integer, String>(new TestBucketReader(10), new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				submitted.add(command);
+			}
+		}, 0, 3, 0);
+
+		assertEquals(3, submitted.size());
+	}
+
+	@Test
+	public void retriesFailedBuckets() {
+		TestBucketReader reader = new TestBucketReader(3);
+		reader.failures.put(2, 1);
+
+		RegionScanIterator<Integer, String> iterator = new RegionScanIterator<Integer, String>(reader,
+			SYNCHRONOUS_EXECUTOR, 0, 1, 1);
+
+		assertEquals(3, keys(iterator).size());
+		assertEquals(Arrays.asList(0, 1, 2, 2), reader.reads);
+	}
+
+	@Test
+	public void failsWithCheckpointAndResumes() {
+		TestBucketReader reader = new TestBucketReader(4);
+		reader.failures.put(2, 1);
+
+		RegionScanIterator<Integer, String> iterator = new RegionScanIterator<Integer, String>(reader,
+			SYNCHRONOUS_EXECUTOR, 0, 1, 0);
+
+		assertEquals(Integer.valueOf(11), iterator.next().getKey());
+		assertEquals(2, iterator.getCheckpoint());
+
+		try {
+			iterator.hasNext();
+			fail("expected a RegionScanException");
+		}
+		catch (RegionScanException expected) {
+			assertEquals(2, expected.getCheckpoint());
+		}
+
+		assertFalse(iterator.hasNext());
+
+		List<Integer> keys = keys(new RegionScanIterator<Integer, String>(reader, SYNCHRONOUS_EXECUTOR,
+			iterator.getCheckpoint(), 2, 0));
+		Collections.sort(keys);
+
+		assertEquals(Arrays.asList(21, 22, 31, 32, 33), keys);
+	}
+
+	@Test
+	public void sendsEntriesInChunks() {
+		final List<Object> sent = new ArrayList<Object>();
+
+		Map<Integer, String> data = new HashMap<Integer, String>();
+		data.put(1, "one");
+		data.put(2, "two");
+		data.put(3, null);
+		data.put(4, "four");
+
+		BucketScanFunction.sendEntries(data, 2, new ResultSender<Object>() {
+			@Override
+			public void lastResult(Object lastResult) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void sendResult(Object oneResult) {
+				sent.add(oneResult);
+			}
+
+			@Override
+			public void sendException(Throwable t) {
+				throw new UnsupportedOperationException();
+			}
+		});
+
+		assertEquals(2, sent.size());
+		assertEquals(2, ((Map<?, ?>) sent.get(0)).size());
+		assertEquals(1, ((Map<?, ?>) sent.get(1)).size());
+	}
+
+	@Test
+	public void getChunksRequiresExactlyOnePrimary() {
+		Map<Integer, String> chunk = Collections.singletonMap(1, "one");
+
+		assertEquals(1, BucketScanFunction.getChunks(0, Arrays.<Object>asList(chunk, true, false)).size());
+
+		try {
+			BucketScanFunction.getChunks(0, Arrays.<Object>asList(false, false));
+			fail("expected a FunctionException");
+		}
+		catch (FunctionException expected) {
+			assertTrue(expected.getMessage().contains("read by 0 members"));
+		}
+
+		assertEquals(113, BucketScanFunction.getTotalNumberOfBuckets(Arrays.<Object>asList(113, 113)));
+	}
+
+	@Test
+	public void getChunksReadsUnallocatedBucketsAsEmpty() {
+		assertTrue(BucketScanFunction.getChunks(0, Arrays.<Object>asList(BucketScanFunction.UNALLOCATED_BUCKET,
+			BucketScanFunction.UNALLOCATED_BUCKET)).isEmpty());
+
+		try {
+			BucketScanFunction.getChunks(0, Arrays.<Object>asList(BucketScanFunction.UNALLOCATED_BUCKET, false));
+			fail("expected a FunctionException");
+		}
+		catch (FunctionException expected) {
+			assertTrue(expected.getMessage().contains("read by 0 members"));
+		}
+	}
+
+	@Test
+	public void scansRegionWithEmptyBuckets() {
+		TestBucketReader reader = new TestBucketReader(4) {
+			@Override
+			public List<Map<?, ?>> read(int bucketId) {
+				return (bucketId % 2 == 0 ? super.read(bucketId) : BucketScanFunction.getChunks(bucketId,
+					Arrays.<Object>asList(BucketScanFunction.UNALLOCATED_BUCKET)));
+			}
+		};
+		RegionScanIterator<Integer, String> iterator = new RegionScanIterator<Integer, String>(reader,
+			SYNCHRONOUS_EXECUTOR, 0, 2, 0);
+
+		List<Integer> keys = keys(iterator);
+		Collections.sort(keys);
+
+		assertEquals(Arrays.asList(21, 22), keys);
+		assertEquals(4, iterator.getCheckpoint());
+	}
+}
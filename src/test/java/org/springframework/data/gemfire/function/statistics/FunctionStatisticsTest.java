@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import com.gemstone.gemfire.Statistics;
+
+/**
+ * Unit tests for {@link FunctionStatistics}, {@link LatencyHistogram} and the {@link FunctionStatisticsRegistry}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.function.statistics.FunctionStatistics
+ */
+public class FunctionStatisticsTest {
+
+	@Test
+	public void histogramReportsPercentilesAsBucketUpperBounds() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int index = 0; index < 99; index++) {
+			histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+		}
+
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(4, histogram.getPercentile(50.0d));
+		assertEquals(4, histogram.getPercentile(99.0d));
+		assertEquals(1024, histogram.getPercentile(100.0d));
+
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(99.0d));
+	}
+
+	@Test
+	public void histogramCapsLongLatenciesInTheLastBucket() {
+		assertEquals(0, LatencyHistogram.bucketOf(0));
+		assertEquals(1, LatencyHistogram.bucketOf(1));
+		assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void recordsExecutions() {
+		FunctionStatistics statistics = new FunctionStatistics("server", "test");
+
+		statistics.recordArgumentResolution(TimeUnit.MICROSECONDS.toNanos(5));
+		statistics.recordExecution(TimeUnit.MICROSECONDS.toNanos(10));
+		statistics.recordExecution(TimeUnit.MICROSECONDS.toNanos(30));
+		statistics.recordFailure();
+		statistics.recordTimeout();
+		statistics.recordResultChunks(3, 300);
+
+		assertEquals(2, statistics.getExecutionCount());
+		assertEquals(5, statistics.getArgumentResolutionTime());
+		assertEquals(40, statistics.getExecutionTime());
+		assertEquals(20.0d, statistics.getAverageExecutionTime(), 0.0d);
+		assertEquals(30, statistics.getMaxExecutionTime());
+		assertEquals(32, statistics.getExecutionTime99thPercentile());
+		assertEquals(1, statistics.getFailureCount());
+		assertEquals(1, statistics.getTimeoutCount());
+		assertEquals(3, statistics.getResultChunkCount());
+		assertEquals(300, statistics.getResultBytes());
+
+		statistics.reset();
+
+		assertEquals(0, statistics.getExecutionCount());
+		assertEquals(0, statistics.getMaxExecutionTime());
+		assertEquals(0.0d, statistics.getAverageExecutionTime(), 0.0d);
+	}
+
+	@Test
+	public void mirrorsCountersToGemfireStatistics() {
+		Statistics gemfireStatistics = mock(Statistics.class);
+
+		for (int statistic = 0; statistic < FunctionStatistics.STATISTIC_NAMES.length; statistic++) {
+			when(gemfireStatistics.nameToId(FunctionStatistics.STATISTIC_NAMES[statistic])).thenReturn(statistic + 10);
+		}
+
+		FunctionStatistics statistics = new FunctionStatistics("client", "test");
+
+		statistics.recordFailure();
+		statistics.bind(gemfireStatistics);
+
+		verify(gemfireStatistics).setLong(FunctionStatistics.FAILURES + 10, 1);
+
+		statistics.recordExecution(1000);
+		statistics.recordResultChunks(2, 0);
+
+		verify(gemfireStatistics).incLong(FunctionStatistics.EXECUTIONS + 10, 1);
+		verify(gemfireStatistics).incLong(FunctionStatistics.EXECUTION_TIME + 10, 1000);
+		verify(gemfireStatistics).incLong(FunctionStatistics.RESULT_CHUNKS + 10, 2);
+		assertSame(gemfireStatistics, statistics.getGemfireStatistics());
+	}
+
+	@Test
+	public void registryCreatesStatisticsOncePerFunction() {
+		FunctionStatisticsRegistry registry = new FunctionStatisticsRegistry("server");
+		final int[] created = new int[1];
+
+		registry.addListener(new FunctionStatisticsRegistry.Listener() {
+			@Override
+			public void statisticsCreated(FunctionStatistics statistics) {
+				created[0]++;
+			}
+		});
+
+		FunctionStatistics statistics = registry.getStatistics("test");
+
+		assertSame(statistics, registry.getStatistics("test"));
+		assertEquals("server", statistics.getSide());
+		assertEquals(1, created[0]);
+		assertEquals(1, registry.getAllStatistics().size());
+	}
+
+	@Test
+	public void exportsStatisticsAsMBeans() throws Exception {
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		FunctionStatisticsRegistry registry = new FunctionStatisticsRegistry("client");
+
+		registry.getStatistics("before").recordExecution(1000);
+
+		FunctionStatisticsMBeanExporter exporter = new FunctionStatisticsMBeanExporter();
+
+		exporter.setServer(server);
+		exporter.setRegistries(Collections.singletonList(registry));
+		exporter.afterPropertiesSet();
+
+		registry.getStatistics("after");
+
+		ObjectName before = new ObjectName(
+			"org.springframework.data.gemfire:type=FunctionStatistics,side=client,function=\"before\"");
+
+		assertTrue(server.isRegistered(before));
+		assertTrue(server.isRegistered(new ObjectName(
+			"org.springframework.data.gemfire:type=FunctionStatistics,side=client,function=\"after\"")));
+		assertEquals(1L, server.getAttribute(before, "ExecutionCount"));
+
+		exporter.destroy();
+
+		assertFalse(server.isRegistered(before));
+	}
+}
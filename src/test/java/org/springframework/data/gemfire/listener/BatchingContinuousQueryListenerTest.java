@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.gemfire.listener.adapter.ContinuousQueryListenerAdapter;
+
+import com.gemstone.gemfire.cache.query.CqEvent;
+
+/**
+ * Unit tests for {@link BatchingContinuousQueryListener}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.BatchingContinuousQueryListener
+ */
+public class BatchingContinuousQueryListenerTest {
+
+	private final List<List<CqEvent>> batches = Collections.synchronizedList(new ArrayList<List<CqEvent>>());
+
+	private BatchingContinuousQueryListener listener;
+
+	@After
+	public void tearDown() {
+		if (listener != null) {
+			listener.destroy();
+		}
+	}
+
+	private static CqEvent mockEvent(Object key) {
+		CqEvent event = mock(CqEvent.class, "CqEvent-" + key);
+		when(event.getKey()).thenReturn(key);
+		return event;
+	}
+
+	private ContinuousQueryBatchListener recordingListener() {
+		return new ContinuousQueryBatchListener() {
+			@Override
+			public void onEvents(List<CqEvent> events) {
+				batches.add(events);
+			}
+		};
+	}
+
+	@Test
+	public void deliversFullWindows() {
+		listener = new BatchingContinuousQueryListener(recordingListener(), 2, 60000L, false);
+
+		CqEvent one = mockEvent(1);
+		CqEvent two = mockEvent(1);
+		CqEvent three = mockEvent(2);
+
+		listener.onEvent(one);
+		listener.onEvent(two);
+		listener.onEvent(three);
+
+		assertThat(batches.size(), is(equalTo(1)));
+		assertThat(batches.get(0), contains(one, two));
+		assertThat(listener.getPendingEventCount(), is(equalTo(1)));
+
+		listener.flush();
+
+		assertThat(batches.size(), is(equalTo(2)));
+		assertThat(batches.get(1), contains(three));
+	}
+
+	@Test
+	public void coalescesEventsByKey() {
+		listener = new BatchingContinuousQueryListener(recordingListener(), 10, 60000L, true);
+
+		CqEvent first = mockEvent("a");
+		CqEvent second = mockEvent("b");
+		CqEvent third = mockEvent("a");
+		CqEvent error = mockEvent(null);
+
+		listener.onEvent(first);
+		listener.onEvent(second);
+		listener.onEvent(third);
+		listener.onEvent(error);
+
+		assertThat(listener.getPendingEventCount(), is(equalTo(3)));
+
+		listener.flush();
+
+		assertThat(batches.get(0), contains(second, third, error));
+	}
+
+	@Test
+	public void deliversWindowsAfterMaxDelay() throws InterruptedException {
+		final CountDownLatch delivered = new CountDownLatch(1);
+
+		listener = new BatchingContinuousQueryListener(new ContinuousQueryBatchListener() {
+			@Override
+			public void onEvents(List<CqEvent> events) {
+				batches.add(events);
+				delivered.countDown();
+			}
+		}, 100, 50L, false);
+
+		listener.onEvent(mockEvent(1));
+
+		assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		assertThat(batches.get(0).size(), is(equalTo(1)));
+		assertThat(listener.getPendingEventCount(), is(equalTo(0)));
+	}
+
+	@Test
+	public void adapterDelegatesBatchesToListMethod() {
+		final List<List<CqEvent>> delegated = new ArrayList<List<CqEvent>>();
+
+		listener = new BatchingContinuousQueryListener(new ContinuousQueryListenerAdapter(new Object() {
+			@SuppressWarnings("unused")
+			public void handleEvent(List<CqEvent> events) {
+				delegated.add(events);
+			}
+		}));
+
+		CqEvent event = mockEvent(1);
+
+		listener.onEvent(event);
+		listener.flush();
+
+		assertThat(delegated.size(), is(equalTo(1)));
+		assertThat(delegated.get(0), contains(event));
+	}
+
+	@Test
+	public void adapterFallsBackToEventMethod() {
+		final List<Object> keys = new ArrayList<Object>();
+
+		listener = new BatchingContinuousQueryListener(new ContinuousQueryListenerAdapter(new Object() {
+			@SuppressWarnings("unused")
+			public void handleEvent(Object key) {
+				keys.add(key);
+			}
+		}));
+
+		listener.onEvent(mockEvent(1));
+		listener.onEvent(mockEvent(2));
+		listener.flush();
+
+		assertThat(keys, contains((Object) 1, 2));
+	}
+}
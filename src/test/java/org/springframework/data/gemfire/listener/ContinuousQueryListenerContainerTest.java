@@ -17,14 +17,18 @@
 
 package org.springframework.data.gemfire.listener;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -33,12 +37,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.data.gemfire.GemfireUtils;
@@ -47,7 +57,12 @@ import org.springframework.data.gemfire.config.GemfireConstants;
 
 import com.gemstone.gemfire.cache.RegionService;
 import com.gemstone.gemfire.cache.client.Pool;
+import com.gemstone.gemfire.cache.query.CqAttributes;
+import com.gemstone.gemfire.cache.query.CqEvent;
+import com.gemstone.gemfire.cache.query.CqQuery;
+import com.gemstone.gemfire.cache.query.CqResults;
 import com.gemstone.gemfire.cache.query.QueryService;
+import com.gemstone.gemfire.cache.query.Struct;
 import com.gemstone.gemfire.internal.cache.PoolManagerImpl;
 
 /**
@@ -332,7 +347,7 @@ public class ContinuousQueryListenerContainerTest {
 
 	@Test
 	public void initializesDefaultTaskExecutor() {
-		assertThat(listenerContainer.initExecutor(), is(instanceOf(Executor.class)));
+		assertThat(listenerContainer.initExecutor(), is(instanceOf(StripedTaskExecutor.class)));
 	}
 
 	@Test
@@ -363,4 +378,99 @@ public class ContinuousQueryListenerContainerTest {
 		assertThat(listenerContainer.isAutoStartup(), is(true));
 	}
 
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deliversInitialResultsBeforeEvents() throws Exception {
+		QueryService mockQueryService = mock(QueryService.class);
+		final CqQuery mockCq = mock(CqQuery.class);
+		final CqAttributes[] cqAttributes = new CqAttributes[1];
+
+		when(mockQueryService.newCq(eq("Example"), eq("SELECT * FROM /Example"), any(CqAttributes.class),
+			anyBoolean())).thenAnswer(new Answer<CqQuery>() {
+				@Override
+				public CqQuery answer(InvocationOnMock invocation) throws Throwable {
+					cqAttributes[0] = (CqAttributes) invocation.getArguments()[2];
+					return mockCq;
+				}
+			});
+
+		Struct mockRow = mock(Struct.class);
+
+		when(mockRow.get(eq("key"))).thenReturn(1);
+		when(mockRow.get(eq("value"))).thenReturn("one");
+
+		final CqResults<Object> mockResults = mock(CqResults.class);
+
+		when(mockResults.iterator()).thenReturn(Arrays.<Object>asList(mockRow).iterator());
+
+		// an event received while executing the CQ is delivered after the initial results
+		when(mockCq.executeWithInitialResults()).thenAnswer(new Answer<CqResults<Object>>() {
+			@Override
+			public CqResults<Object> answer(InvocationOnMock invocation) throws Throwable {
+				CqEvent mockEvent = mock(CqEvent.class);
+				when(mockEvent.getKey()).thenReturn(2);
+				cqAttributes[0].getCqListener().onEvent(mockEvent);
+				return mockResults;
+			}
+		});
+
+		final List<Object> keys = new ArrayList<Object>();
+
+		listenerContainer.setQueryService(mockQueryService);
+		listenerContainer.setTaskExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+		listenerContainer.addListener(new ContinuousQueryDefinition("Example", "SELECT * FROM /Example",
+			new ContinuousQueryListener() {
+				@Override
+				public void onEvent(CqEvent event) {
+					keys.add(event.getKey());
+				}
+			}, false, true));
+		listenerContainer.start();
+
+		assertThat(keys, contains((Object) 1, 2));
+		verify(mockCq, never()).execute();
+	}
+
+	@Test
+	public void executesQueriesInParallelOnStart() throws Exception {
+		QueryService mockQueryService = mock(QueryService.class);
+		final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+
+		for (final String name : Arrays.asList("A", "B", "C")) {
+			CqQuery mockCq = mock(CqQuery.class, name);
+
+			when(mockQueryService.newCq(eq(name), anyString(), any(CqAttributes.class), anyBoolean()))
+				.thenReturn(mockCq);
+
+			doAnswer(new Answer<Void>() {
+				@Override
+				public Void answer(InvocationOnMock invocation) throws Throwable {
+					executed.add(name);
+					return null;
+				}
+			}).when(mockCq).execute();
+		}
+
+		ContinuousQueryListener listener = mock(ContinuousQueryListener.class);
+
+		listenerContainer.setQueryService(mockQueryService);
+		listenerContainer.setStartupConcurrency(2);
+
+		for (String name : Arrays.asList("A", "B", "C")) {
+			listenerContainer.addListener(new ContinuousQueryDefinition(name, "SELECT * FROM /" + name, listener));
+		}
+
+		listenerContainer.start();
+
+		Collections.sort(executed);
+
+		assertThat(executed, contains("A", "B", "C"));
+		assertThat(listenerContainer.isRunning(), is(true));
+	}
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DiskOverflowQueue}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.DiskOverflowQueue
+ */
+public class DiskOverflowQueueTest {
+
+	// each record takes 16 bytes: the length, the enqueue time and the id
+	private static final int RECORD_LENGTH = 16;
+
+	private DiskOverflowQueue queue;
+
+	@After
+	public void tearDown() throws IOException {
+		if (queue != null) {
+			queue.close();
+		}
+	}
+
+	private static class IdTask implements Runnable {
+
+		final int id;
+
+		IdTask(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public void run() {
+		}
+	}
+
+	private static final StripedTaskExecutor.TaskCodec CODEC = new StripedTaskExecutor.TaskCodec() {
+		@Override
+		public boolean write(Runnable task, DataOutput out) throws IOException {
+			out.writeInt(((IdTask) task).id);
+			return true;
+		}
+
+		@Override
+		public Runnable read(DataInput in) throws IOException {
+			return new IdTask(in.readInt());
+		}
+	};
+
+	private int poll() throws Exception {
+		return ((IdTask) queue.poll().task).id;
+	}
+
+	@Test
+	public void compactsFileOfQueueThatNeverDrains() throws Exception {
+		queue = new DiskOverflowQueue(new File(System.getProperty("java.io.tmpdir")), "DiskOverflowQueueTest-",
+			CODEC, 4 * RECORD_LENGTH);
+
+		queue.offer(new IdTask(0), System.nanoTime());
+		queue.offer(new IdTask(1), System.nanoTime());
+
+		for (int id = 2; id < 1000; id++) {
+			queue.offer(new IdTask(id), System.nanoTime());
+
+			assertThat(poll(), is(equalTo(id - 2)));
+			assertThat(queue.size(), is(equalTo(2)));
+			assertThat(queue.length(), is(lessThan(8L * RECORD_LENGTH)));
+		}
+
+		assertThat(poll(), is(equalTo(998)));
+		assertThat(poll(), is(equalTo(999)));
+		assertThat(queue.length(), is(equalTo(0L)));
+	}
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Unit tests for {@link StripedTaskExecutor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.StripedTaskExecutor
+ */
+public class StripedTaskExecutorTest {
+
+	private final StripedTaskExecutor executor = new StripedTaskExecutor(4, 1000,
+		new CustomizableThreadFactory("StripedTaskExecutorTest-"));
+
+	@After
+	public void tearDown() {
+		executor.destroy();
+	}
+
+	@Test
+	public void runsTasksOfTheSameKeyInOrder() throws InterruptedException {
+		final Map<Integer, List<Integer>> sequences = new ConcurrentHashMap<Integer, List<Integer>>();
+		final CountDownLatch done = new CountDownLatch(400);
+
+		for (int key = 0; key < 4; key++) {
+			sequences.put(key, Collections.synchronizedList(new ArrayList<Integer>()));
+		}
+
+		for (int sequence = 0; sequence < 100; sequence++) {
+			for (int key = 0; key < 4; key++) {
+				final int currentKey = key;
+				final int currentSequence = sequence;
+
+				executor.execute(key, new Runnable() {
+					@Override
+					public void run() {
+						sequences.get(currentKey).add(currentSequence);
+						done.countDown();
+					}
+				});
+			}
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+
+		for (List<Integer> sequence : sequences.values()) {
+			for (int index = 0; index < sequence.size(); index++) {
+				assertThat(sequence.get(index), is(equalTo(index)));
+			}
+		}
+	}
+
+	@Test
+	public void routesKeysToStableStripes() {
+		assertThat(executor.stripeOf("key"), is(equalTo(executor.stripeOf("key"))));
+		assertThat(executor.stripeOf(Integer.MIN_VALUE) >= 0, is(true));
+		assertThat(executor.getStripeCount(), is(equalTo(4)));
+	}
+
+	@Test
+	public void recordsQueueDepthAndHighWaterMark() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		executor.execute("key", new Runnable() {
+			@Override
+			public void run() {
+				blocked.countDown();
+
+				try {
+					release.await();
+				}
+				catch (InterruptedException ignore) {
+				}
+			}
+		});
+
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+		for (int index = 0; index < 3; index++) {
+			executor.execute("key", new Runnable() {
+				@Override
+				public void run() {
+				}
+			});
+		}
+
+		assertThat(executor.getQueueDepth(), is(equalTo(3)));
+		assertThat(executor.getQueueDepth(executor.stripeOf("key")), is(equalTo(3)));
+		assertThat(executor.getHighWaterMark(), is(equalTo(3)));
+
+		release.countDown();
+	}
+
+	@Test(expected = TaskRejectedException.class)
+	public void rejectsTasksAfterShutdown() {
+		executor.destroy();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+	}
+
+	private static Runnable blockingTask(final CountDownLatch blocked, final CountDownLatch release) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				blocked.countDown();
+
+				try {
+					release.await();
+				}
+				catch (InterruptedException ignore) {
+				}
+			}
+		};
+	}
+
+	private static class RecordingTask implements Runnable {
+
+		final int id;
+
+		final List<Integer> runs;
+
+		final CountDownLatch done;
+
+		RecordingTask(int id, List<Integer> runs, CountDownLatch done) {
+			this.id = id;
+			this.runs = runs;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			runs.add(id);
+			done.countDown();
+		}
+	}
+
+	/* runs the tasks submitted with the given policy on a single stripe of capacity 2, once all are submitted */
+	private List<Integer> runWithPolicy(OverflowPolicy policy, final int count, boolean coalescing)
+			throws InterruptedException {
+
+		final List<Integer> runs = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(1);
+
+		StripedTaskExecutor executor = new StripedTaskExecutor(1, 2,
+			new CustomizableThreadFactory("StripedTaskExecutorTest-"));
+
+		executor.setOverflowPolicy(policy);
+		executor.setTaskCodec(new StripedTaskExecutor.TaskCodec() {
+			@Override
+			public boolean write(Runnable task, DataOutput out) throws IOException {
+				out.writeInt(((RecordingTask) task).id);
+				return true;
+			}
+
+			@Override
+			public Runnable read(DataInput in) throws IOException {
+				int id = in.readInt();
+				return new RecordingTask(id, runs, (id == count - 1 ? done : new CountDownLatch(1)));
+			}
+		});
+
+		try {
+			CountDownLatch blocked = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+
+			executor.execute("key", blockingTask(blocked, release));
+			assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+			for (int id = 0; id < count; id++) {
+				executor.execute("key", (coalescing ? "key" : null), new RecordingTask(id, runs,
+					(id == count - 1 ? done : new CountDownLatch(1))));
+			}
+
+			assertThat(executor.getLag() >= 0, is(true));
+
+			release.countDown();
+
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+
+			return runs;
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+
+	@Test
+	public void dropsOldestTasks() throws InterruptedException {
+		assertThat(runWithPolicy(OverflowPolicy.DROP_OLDEST, 5, false), contains(3, 4));
+	}
+
+	@Test
+	public void coalescesTasksByKey() throws InterruptedException {
+		assertThat(runWithPolicy(OverflowPolicy.COALESCE_BY_KEY, 5, true), contains(4));
+	}
+
+	@Test
+	public void spillsTasksToDiskInOrder() throws InterruptedException {
+		assertThat(runWithPolicy(OverflowPolicy.SPILL_TO_DISK, 5, false), contains(0, 1, 2, 3, 4));
+	}
+
+	@Test
+	public void lagIncludesSpilledTasks() throws InterruptedException {
+		final List<Integer> runs = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(1);
+
+		StripedTaskExecutor executor = new StripedTaskExecutor(1, 1,
+			new CustomizableThreadFactory("StripedTaskExecutorTest-"));
+
+		executor.setOverflowPolicy(OverflowPolicy.SPILL_TO_DISK);
+		executor.setTaskCodec(new StripedTaskExecutor.TaskCodec() {
+			@Override
+			public boolean write(Runnable task, DataOutput out) throws IOException {
+				out.writeInt(((RecordingTask) task).id);
+				return true;
+			}
+
+			@Override
+			public Runnable read(DataInput in) throws IOException {
+				return new RecordingTask(in.readInt(), runs, done);
+			}
+		});
+
+		try {
+			CountDownLatch firstBlocked = new CountDownLatch(1);
+			CountDownLatch firstRelease = new CountDownLatch(1);
+			CountDownLatch secondBlocked = new CountDownLatch(1);
+			CountDownLatch secondRelease = new CountDownLatch(1);
+
+			executor.execute("key", blockingTask(firstBlocked, firstRelease));
+			assertTrue(firstBlocked.await(10, TimeUnit.SECONDS));
+
+			executor.execute("key", blockingTask(secondBlocked, secondRelease));
+			executor.execute("key", new RecordingTask(0, runs, done));
+
+			assertThat(executor.getOverflowDepth(), is(equalTo(1)));
+
+			// the worker takes the second task from memory, leaving only the spilled task waiting
+			firstRelease.countDown();
+			assertTrue(secondBlocked.await(10, TimeUnit.SECONDS));
+
+			Thread.sleep(50);
+
+			assertThat(executor.getLag() >= 50, is(true));
+
+			secondRelease.countDown();
+
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			assertThat(runs, contains(0));
+			assertThat(executor.getLag(), is(equalTo(0L)));
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+
+	@Test
+	public void unwritableTaskWaitsForSpilledTasks() throws InterruptedException {
+		final List<Integer> runs = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(3);
+
+		final StripedTaskExecutor executor = new StripedTaskExecutor(1, 2,
+			new CustomizableThreadFactory("StripedTaskExecutorTest-"));
+
+		executor.setOverflowPolicy(OverflowPolicy.SPILL_TO_DISK);
+		executor.setTaskCodec(new StripedTaskExecutor.TaskCodec() {
+			@Override
+			public boolean write(Runnable task, DataOutput out) throws IOException {
+				int id = ((RecordingTask) task).id;
+				out.writeInt(id);
+				return (id != 2);
+			}
+
+			@Override
+			public Runnable read(DataInput in) throws IOException {
+				return new RecordingTask(in.readInt(), runs, done);
+			}
+		});
+
+		try {
+			CountDownLatch firstBlocked = new CountDownLatch(1);
+			CountDownLatch firstRelease = new CountDownLatch(1);
+			CountDownLatch secondBlocked = new CountDownLatch(1);
+			CountDownLatch secondRelease = new CountDownLatch(1);
+
+			executor.execute("key", blockingTask(firstBlocked, firstRelease));
+			assertTrue(firstBlocked.await(10, TimeUnit.SECONDS));
+
+			executor.execute("key", blockingTask(secondBlocked, secondRelease));
+			executor.execute("key", new RecordingTask(0, runs, done));
+			executor.execute("key", new RecordingTask(1, runs, done));
+
+			assertThat(executor.getOverflowDepth(), is(equalTo(1)));
+
+			// the worker takes the second task from memory, leaving room in memory while a task is spilled
+			firstRelease.countDown();
+			assertTrue(secondBlocked.await(10, TimeUnit.SECONDS));
+
+			final CountDownLatch submitted = new CountDownLatch(1);
+
+			Thread producer = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					executor.execute("key", new RecordingTask(2, runs, done));
+					submitted.countDown();
+				}
+			});
+
+			producer.start();
+
+			assertThat(submitted.await(100, TimeUnit.MILLISECONDS), is(false));
+
+			secondRelease.countDown();
+
+			assertTrue(submitted.await(10, TimeUnit.SECONDS));
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			assertThat(runs, contains(0, 1, 2));
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+}
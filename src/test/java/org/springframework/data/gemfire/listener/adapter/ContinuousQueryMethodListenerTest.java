@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.adapter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.gemfire.listener.ContinuousQueryDefinition;
+import org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer;
+import org.springframework.data.gemfire.listener.annotation.ContinuousQuery;
+import org.springframework.data.gemfire.listener.annotation.ContinuousQueryListenerBeanPostProcessor;
+
+import com.gemstone.gemfire.cache.Operation;
+import com.gemstone.gemfire.cache.query.CqEvent;
+import com.gemstone.gemfire.pdx.PdxInstance;
+
+/**
+ * Unit tests for {@link ContinuousQueryMethodListener} and the
+ * {@link ContinuousQueryListenerBeanPostProcessor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.listener.adapter.ContinuousQueryMethodListener
+ * @see org.springframework.data.gemfire.listener.annotation.ContinuousQueryListenerBeanPostProcessor
+ */
+public class ContinuousQueryMethodListenerTest {
+
+	private static CqEvent mockEvent(Object key, Object newValue) {
+		CqEvent event = mock(CqEvent.class);
+		when(event.getKey()).thenReturn(key);
+		when(event.getNewValue()).thenReturn(newValue);
+		when(event.getBaseOperation()).thenReturn(Operation.CREATE);
+		when(event.getQueryOperation()).thenReturn(Operation.UPDATE);
+		return event;
+	}
+
+	@Test
+	public void resolvesKeyValueAndOperations() throws Exception {
+		TestListener delegate = new TestListener();
+		Method method = TestListener.class.getMethod("onOrder", Long.class, String.class, Operation.class,
+			Operation.class);
+
+		new ContinuousQueryMethodListener(delegate, method).onEvent(mockEvent(1L, "order"));
+
+		assertThat(delegate.key, is(equalTo((Object) 1L)));
+		assertThat(delegate.value, is(equalTo((Object) "order")));
+		assertThat(delegate.baseOperation, is(sameInstance(Operation.CREATE)));
+		assertThat(delegate.queryOperation, is(sameInstance(Operation.UPDATE)));
+	}
+
+	@Test
+	public void resolvesSinglePayloadAsDeserializedNewValue() throws Exception {
+		TestListener delegate = new TestListener();
+		PdxInstance pdxInstance = mock(PdxInstance.class);
+
+		when(pdxInstance.getObject()).thenReturn("order");
+
+		new ContinuousQueryMethodListener(delegate, TestListener.class.getMethod("onValue", String.class))
+			.onEvent(mockEvent(1L, pdxInstance));
+
+		assertThat(delegate.value, is(equalTo((Object) "order")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMoreThanTwoPayloadParameters() throws Exception {
+		new ContinuousQueryMethodListener(new TestListener(), TestListener.class.getMethod("invalid",
+			Object.class, Object.class, Object.class));
+	}
+
+	@Test
+	public void registersAnnotatedMethodsWithTheContainer() {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		ContinuousQueryListenerContainer container = mock(ContinuousQueryListenerContainer.class);
+
+		when(beanFactory.getBean(ContinuousQueryListenerContainer.class)).thenReturn(container);
+
+		ContinuousQueryListenerBeanPostProcessor beanPostProcessor = new ContinuousQueryListenerBeanPostProcessor();
+
+		beanPostProcessor.setBeanFactory(beanFactory);
+		beanPostProcessor.postProcessAfterInitialization(new TestListener(), "testListener");
+		beanPostProcessor.afterSingletonsInstantiated();
+
+		ArgumentCaptor<ContinuousQueryDefinition> definition = ArgumentCaptor.forClass(ContinuousQueryDefinition.class);
+
+		verify(container).addListener(definition.capture());
+
+		assertThat(definition.getValue().getName(), is(equalTo("Orders")));
+		assertThat(definition.getValue().getQuery(), is(equalTo("SELECT * FROM /Orders")));
+		assertThat(definition.getValue().isDurable(), is(true));
+		assertThat(definition.getValue().getListener(), is(instanceOf(ContinuousQueryMethodListener.class)));
+	}
+
+	@Test
+	public void registersAnnotatedMethodsOfBeansCreatedAfterSingletonsDirectly() {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		ContinuousQueryListenerContainer container = mock(ContinuousQueryListenerContainer.class);
+
+		when(beanFactory.getBean(ContinuousQueryListenerContainer.class)).thenReturn(container);
+
+		ContinuousQueryListenerBeanPostProcessor beanPostProcessor = new ContinuousQueryListenerBeanPostProcessor();
+
+		beanPostProcessor.setBeanFactory(beanFactory);
+		beanPostProcessor.afterSingletonsInstantiated();
+		beanPostProcessor.postProcessAfterInitialization(new TestListener(), "lazyTestListener");
+
+		verify(container).addListener(any(ContinuousQueryDefinition.class));
+	}
+
+	@Test
+	public void rejectsAnnotatedMethodsOfNonSingletonBeans() {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		ContinuousQueryListenerContainer container = mock(ContinuousQueryListenerContainer.class);
+
+		when(beanFactory.getBean(ContinuousQueryListenerContainer.class)).thenReturn(container);
+		when(beanFactory.containsBean("prototypeTestListener")).thenReturn(true);
+		when(beanFactory.isSingleton("prototypeTestListener")).thenReturn(false);
+
+		ContinuousQueryListenerBeanPostProcessor beanPostProcessor = new ContinuousQueryListenerBeanPostProcessor();
+
+		beanPostProcessor.setBeanFactory(beanFactory);
+		beanPostProcessor.afterSingletonsInstantiated();
+
+		try {
+			beanPostProcessor.postProcessAfterInitialization(new TestListener(), "prototypeTestListener");
+			fail("expected the listener methods of a prototype bean to be rejected");
+		}
+		catch (IllegalArgumentException expected) {
+			assertThat(expected.getMessage(), containsString("prototypeTestListener"));
+		}
+
+		verify(container, never()).addListener(any(ContinuousQueryDefinition.class));
+	}
+
+	@Test
+	public void registersAnnotatedMethodsOfJdkProxies() {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		ContinuousQueryListenerContainer container = mock(ContinuousQueryListenerContainer.class);
+
+		when(beanFactory.getBean(ContinuousQueryListenerContainer.class)).thenReturn(container);
+
+		ContinuousQueryListenerBeanPostProcessor beanPostProcessor = new ContinuousQueryListenerBeanPostProcessor();
+
+		ProxiedTestListener target = new ProxiedTestListener();
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+
+		proxyFactory.addInterface(OrderListener.class);
+
+		Object proxy = proxyFactory.getProxy();
+
+		assertThat(proxy, is(not(instanceOf(ProxiedTestListener.class))));
+
+		beanPostProcessor.setBeanFactory(beanFactory);
+		beanPostProcessor.postProcessAfterInitialization(proxy, "proxiedTestListener");
+		beanPostProcessor.afterSingletonsInstantiated();
+
+		ArgumentCaptor<ContinuousQueryDefinition> definition = ArgumentCaptor.forClass(ContinuousQueryDefinition.class);
+
+		verify(container).addListener(definition.capture());
+
+		definition.getValue().getListener().onEvent(mockEvent(1L, "order"));
+
+		assertThat(target.value, is(equalTo("order")));
+	}
+
+	public interface OrderListener {
+
+		void onOrder(String value);
+
+	}
+
+	public static class ProxiedTestListener implements OrderListener {
+
+		String value;
+
+		@Override
+		@ContinuousQuery(query = "SELECT * FROM /Orders")
+		public void onOrder(String value) {
+			this.value = value;
+		}
+	}
+
+	public static class TestListener {
+
+		Object key;
+		Object value;
+
+		Operation baseOperation;
+		Operation queryOperation;
+
+		@ContinuousQuery(name = "Orders", query = "SELECT * FROM /Orders", durable = true)
+		public void onOrder(Long key, String value, Operation baseOperation, Operation queryOperation) {
+			this.key = key;
+			this.value = value;
+			this.baseOperation = baseOperation;
+			this.queryOperation = queryOperation;
+		}
+
+		public void onValue(String value) {
+			this.value = value;
+		}
+
+		public void invalid(Object one, Object two, Object three) {
+		}
+	}
+}
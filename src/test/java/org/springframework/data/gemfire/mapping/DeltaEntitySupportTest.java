@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+
+import com.gemstone.gemfire.InvalidDeltaException;
+
+/**
+ * Unit tests for {@link DeltaEntitySupport}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.DeltaEntitySupport
+ */
+public class DeltaEntitySupportTest {
+
+	private static Account newAccount() {
+		Account account = new Account();
+		account.id = 1L;
+		account.owner = "jonDoe";
+		account.balance = 100;
+		account.tags.add("checking");
+		return account;
+	}
+
+	private static byte[] toDelta(DeltaEntitySupport entity) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		entity.toDelta(new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	@Test
+	public void untrackedEntityHasNoDelta() {
+		Account account = newAccount();
+
+		assertThat(account.isTracked(), is(false));
+		assertThat(account.hasDelta(), is(false));
+	}
+
+	@Test
+	public void cleanEntityHasNoDelta() {
+		Account account = newAccount();
+		account.markClean();
+
+		assertThat(account.isTracked(), is(true));
+		assertThat(account.hasDelta(), is(false));
+	}
+
+	@Test
+	public void detectsChangedProperties() {
+		Account account = newAccount();
+		account.markClean();
+		account.balance = 200;
+		account.tags.add("savings");
+
+		assertThat(account.hasDelta(), is(true));
+		assertThat(account.getDirtyProperties(), contains("balance", "tags"));
+	}
+
+	@Test
+	public void includesExplicitlyDirtyProperties() {
+		Account account = newAccount();
+		account.markClean();
+		account.markDirty("owner");
+
+		assertThat(account.getDirtyProperties(), contains("owner"));
+
+		account.markClean();
+
+		assertThat(account.hasDelta(), is(false));
+	}
+
+	@Test
+	public void deltaContainsOnlyDirtyPropertiesAndIsApplied() throws Exception {
+		Account source = newAccount();
+		source.markClean();
+		source.balance = 250;
+
+		Account target = newAccount();
+		target.owner = "janeDoe";
+		target.fromDelta(new DataInputStream(new ByteArrayInputStream(toDelta(source))));
+
+		assertThat(target.balance, is(equalTo(250)));
+		assertThat(target.owner, is(equalTo("janeDoe")));
+	}
+
+	@Test(expected = InvalidDeltaException.class)
+	public void rejectsDeltaForUnknownProperty() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeInt(1);
+		out.writeUTF("nonExistingProperty");
+
+		newAccount().fromDelta(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	static class Account extends DeltaEntitySupport {
+
+		@Id
+		Long id;
+
+		String owner;
+
+		int balance;
+
+		List<String> tags = new ArrayList<String>();
+	}
+}
@@ -24,6 +24,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -36,10 +37,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceConstructor;
 import org.springframework.data.convert.EntityInstantiator;
 import org.springframework.data.gemfire.repository.sample.Address;
 import org.springframework.data.gemfire.repository.sample.Person;
@@ -232,4 +236,175 @@ public class MappingPdxSerializerUnitTests {
 		}
 	}
 
+	@Test
+	public void compressedPropertiesRoundTrip() {
+		StringBuilder content = new StringBuilder();
+
+		for (int count = 0; count < 200; count++) {
+			content.append("{\"status\":\"ACTIVE\",\"currency\":\"USD\"}");
+		}
+
+		Document document = new Document();
+		document.id = 1L;
+		document.content = content.toString();
+
+		serializer.setDictionary(mock(StringDictionary.class));
+
+		ArgumentCaptor<byte[]> compressedContent = ArgumentCaptor.forClass(byte[].class);
+
+		assertThat(serializer.toData(document, mockWriter), is(true));
+
+		verify(mockWriter, times(1)).writeField(eq("id"), eq(1L), eq(Long.class));
+		verify(mockWriter, times(1)).writeByteArray(eq("content"), compressedContent.capture());
+		verify(mockWriter, never()).writeField(eq("content"), any(), any(Class.class));
+
+		assertThat(compressedContent.getValue().length < document.content.length(), is(true));
+
+		when(mockReader.readField(eq("id"))).thenReturn(1L);
+		when(mockReader.readByteArray(eq("content"))).thenReturn(compressedContent.getValue());
+
+		Document copy = (Document) serializer.fromData(Document.class, mockReader);
+
+		assertThat(copy.id, is(equalTo(1L)));
+		assertThat(copy.content, is(equalTo(document.content)));
+	}
+
+	@Test
+	public void compressedConstructorArgumentsAreDecompressed() {
+		StringBuilder content = new StringBuilder();
+
+		for (int count = 0; count < 200; count++) {
+			content.append("{\"status\":\"ACTIVE\",\"currency\":\"USD\"}");
+		}
+
+		ImmutableDocument document = new ImmutableDocument(1L, content.toString());
+
+		ArgumentCaptor<byte[]> compressedContent = ArgumentCaptor.forClass(byte[].class);
+
+		assertThat(serializer.toData(document, mockWriter), is(true));
+
+		verify(mockWriter, times(1)).writeByteArray(eq("content"), compressedContent.capture());
+
+		when(mockReader.readField(eq("id"))).thenReturn(1L);
+		when(mockReader.readByteArray(eq("content"))).thenReturn(compressedContent.getValue());
+
+		ImmutableDocument copy = (ImmutableDocument) serializer.fromData(ImmutableDocument.class, mockReader);
+
+		assertThat(copy.id, is(equalTo(1L)));
+		assertThat(copy.content, is(equalTo(document.content)));
+		verify(mockReader, never()).readField(eq("content"));
+	}
+
+	@Test
+	public void dictionaryPropertiesAreWrittenAsIds() {
+		StringDictionary mockDictionary = mock(StringDictionary.class);
+		String dictionaryName = Document.class.getName() + ".status";
+
+		when(mockDictionary.encode(eq(dictionaryName), eq("ACTIVE"))).thenReturn(3);
+		when(mockDictionary.decode(eq(dictionaryName), eq(3))).thenReturn("ACTIVE");
+
+		serializer.setDictionary(mockDictionary);
+
+		Document document = new Document();
+		document.id = 1L;
+		document.status = "ACTIVE";
+		document.currency = null;
+
+		assertThat(serializer.toData(document, mockWriter), is(true));
+
+		verify(mockWriter, times(1)).writeInt(eq("status"), eq(3));
+		verify(mockWriter, times(1)).writeInt(eq("currency"), eq(-1));
+
+		when(mockReader.readField(eq("id"))).thenReturn(1L);
+		when(mockReader.readInt(eq("status"))).thenReturn(3);
+		when(mockReader.readInt(eq("currency"))).thenReturn(-1);
+
+		Document copy = (Document) serializer.fromData(Document.class, mockReader);
+
+		assertThat(copy.status, is(equalTo("ACTIVE")));
+		assertThat(copy.currency, is(equalTo(null)));
+	}
+
+	@Test
+	public void dictionaryConstructorArgumentsAreDecoded() {
+		StringDictionary mockDictionary = mock(StringDictionary.class);
+
+		when(mockDictionary.decode(eq("status"), eq(3))).thenReturn("ACTIVE");
+
+		serializer.setDictionary(mockDictionary);
+
+		when(mockReader.readField(eq("id"))).thenReturn(1L);
+		when(mockReader.readInt(eq("status"))).thenReturn(3);
+
+		ImmutableOrder copy = (ImmutableOrder) serializer.fromData(ImmutableOrder.class, mockReader);
+
+		assertThat(copy.id, is(equalTo(1L)));
+		assertThat(copy.status, is(equalTo("ACTIVE")));
+		verify(mockReader, never()).readField(eq("status"));
+	}
+
+	@Test
+	public void dictionaryPropertiesMustBeStrings() {
+		expectedException.expect(MappingException.class);
+		expectedException.expectMessage(String.format(
+			"@Dictionary property [status] of entity [%1$s] must be of type String, but was [java.lang.Integer]",
+				IntegerStatusOrder.class.getName()));
+
+		context.getPersistentEntity(IntegerStatusOrder.class);
+	}
+
+	static class Document {
+
+		@Id
+		Long id;
+
+		@Compressed
+		String content;
+
+		@Dictionary
+		String status;
+
+		@Dictionary("currency")
+		String currency;
+	}
+
+	static class ImmutableDocument {
+
+		@Id
+		final Long id;
+
+		@Compressed
+		final String content;
+
+		@PersistenceConstructor
+		ImmutableDocument(Long id, String content) {
+			this.id = id;
+			this.content = content;
+		}
+	}
+
+	static class ImmutableOrder {
+
+		@Id
+		final Long id;
+
+		@Dictionary("status")
+		final String status;
+
+		@PersistenceConstructor
+		ImmutableOrder(Long id, String status) {
+			this.id = id;
+			this.status = status;
+		}
+	}
+
+	static class IntegerStatusOrder {
+
+		@Id
+		Long id;
+
+		@Dictionary
+		Integer status;
+	}
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.gemstone.gemfire.cache.Region;
+
+/**
+ * Unit tests for {@link RegionStringDictionary}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.mapping.RegionStringDictionary
+ */
+public class RegionStringDictionaryTest {
+
+	private final ConcurrentMap<String, Object> entries = new ConcurrentHashMap<String, Object>();
+
+	private Region<String, Object> mockRegion;
+
+	private RegionStringDictionary dictionary;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		mockRegion = mock(Region.class, "MockDictionaryRegion");
+
+		when(mockRegion.get(anyString())).thenAnswer(new Answer<Object>() {
+			@Override public Object answer(InvocationOnMock invocation) throws Throwable {
+				return entries.get(invocation.getArguments()[0]);
+			}
+		});
+
+		when(mockRegion.put(anyString(), any())).thenAnswer(new Answer<Object>() {
+			@Override public Object answer(InvocationOnMock invocation) throws Throwable {
+				return entries.put((String) invocation.getArguments()[0], invocation.getArguments()[1]);
+			}
+		});
+
+		when(mockRegion.putIfAbsent(anyString(), any())).thenAnswer(new Answer<Object>() {
+			@Override public Object answer(InvocationOnMock invocation) throws Throwable {
+				return entries.putIfAbsent((String) invocation.getArguments()[0], invocation.getArguments()[1]);
+			}
+		});
+
+		when(mockRegion.replace(anyString(), any(), any())).thenAnswer(new Answer<Boolean>() {
+			@Override public Boolean answer(InvocationOnMock invocation) throws Throwable {
+				return entries.replace((String) invocation.getArguments()[0], invocation.getArguments()[1],
+					invocation.getArguments()[2]);
+			}
+		});
+
+		dictionary = new RegionStringDictionary(mockRegion);
+	}
+
+	@Test
+	public void assignsSequentialIdsPerDictionary() {
+		assertThat(dictionary.encode("currency", "USD"), is(equalTo(0)));
+		assertThat(dictionary.encode("currency", "EUR"), is(equalTo(1)));
+		assertThat(dictionary.encode("currency", "USD"), is(equalTo(0)));
+		assertThat(dictionary.encode("status", "ACTIVE"), is(equalTo(0)));
+	}
+
+	@Test
+	public void encodesFromLocalCache() {
+		dictionary.encode("currency", "USD");
+		dictionary.encode("currency", "USD");
+		dictionary.encode("currency", "USD");
+
+		verify(mockRegion, times(1)).get(RegionStringDictionary.valueKey("currency", "USD"));
+	}
+
+	@Test
+	public void sharesIdsAcrossMembers() {
+		RegionStringDictionary otherMemberDictionary = new RegionStringDictionary(mockRegion);
+
+		int id = dictionary.encode("country", "US");
+
+		assertThat(otherMemberDictionary.encode("country", "US"), is(equalTo(id)));
+		assertThat(otherMemberDictionary.decode("country", id), is(equalTo("US")));
+	}
+
+	@Test
+	public void decodesToCanonicalInstances() {
+		String value = new String("ACTIVE");
+
+		assertThat(value, is(not(sameInstance("ACTIVE"))));
+
+		int id = dictionary.encode("status", value);
+
+		dictionary.clearCache();
+
+		assertThat(dictionary.decode("status", id), is(sameInstance("ACTIVE")));
+		assertThat(dictionary.decode("status", id), is(sameInstance(dictionary.decode("status", id))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void decodingUnknownIdFails() {
+		dictionary.decode("status", 42);
+	}
+}
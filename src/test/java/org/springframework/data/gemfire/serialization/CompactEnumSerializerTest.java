@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CompactEnumSerializer}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.CompactEnumSerializer
+ */
+@SuppressWarnings("rawtypes")
+public class CompactEnumSerializerTest {
+
+	enum Color { RED, GREEN, BLUE }
+
+	enum Operation {
+		PLUS { int apply(int x, int y) { return x + y; } },
+		MINUS { int apply(int x, int y) { return x - y; } };
+
+		abstract int apply(int x, int y);
+	}
+
+	enum Unregistered { ONE }
+
+	@SuppressWarnings("unchecked")
+	private final CompactEnumSerializer serializer = new CompactEnumSerializer(2048,
+		Arrays.<Class<? extends Enum>>asList(Color.class, Operation.class));
+
+	private byte[] write(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		assertThat(serializer.toData(value, new DataOutputStream(bytes)), is(true));
+		return bytes.toByteArray();
+	}
+
+	private Object read(byte[] bytes) throws Exception {
+		return serializer.fromData(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+
+	@Test
+	public void roundTripsRegisteredEnums() throws Exception {
+		assertThat(read(write(Color.BLUE)), is(sameInstance((Object) Color.BLUE)));
+		assertThat(read(write(Operation.MINUS)), is(sameInstance((Object) Operation.MINUS)));
+	}
+
+	@Test
+	public void writesTypeIdAndOrdinalInTwoBytes() throws Exception {
+		assertThat(write(Operation.MINUS), is(equalTo(new byte[] { 1, 1 })));
+	}
+
+	@Test
+	public void ignoresUnregisteredTypes() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		assertThat(serializer.toData(Unregistered.ONE, new DataOutputStream(bytes)), is(false));
+		assertThat(serializer.toData("RED", new DataOutputStream(bytes)), is(false));
+		assertThat(bytes.size(), is(equalTo(0)));
+	}
+
+	@Test(expected = IOException.class)
+	public void failsOnUnknownTypeId() throws Exception {
+		read(new byte[] { 5, 0 });
+	}
+
+	@Test
+	public void exposesIdAndSupportedClasses() {
+		List<Class<?>> supportedClasses = Arrays.<Class<?>>asList(serializer.getSupportedClasses());
+
+		assertThat(serializer.getId(), is(equalTo(2048)));
+		assertThat(supportedClasses, is(equalTo(Arrays.<Class<?>>asList(Color.class, Operation.class))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void rejectsReRegistrationWithDifferentIdOrTypes() {
+		CompactEnumSerializer registered = CompactEnumSerializer.register(4711,
+			Arrays.<Class<? extends Enum>>asList(Color.class, Operation.class));
+
+		assertThat(CompactEnumSerializer.register(4711, Arrays.<Class<? extends Enum>>asList(Color.class,
+			Operation.class)), is(sameInstance(registered)));
+
+		try {
+			CompactEnumSerializer.register(4712, Arrays.<Class<? extends Enum>>asList(Color.class, Operation.class));
+			fail("re-registration with a different id must be rejected");
+		}
+		catch (IllegalStateException expected) {
+		}
+
+		try {
+			CompactEnumSerializer.register(4711, Arrays.<Class<? extends Enum>>asList(Color.class));
+			fail("re-registration with different enum types must be rejected");
+		}
+		catch (IllegalStateException expected) {
+		}
+
+		assertThat(registered.getId(), is(equalTo(4711)));
+		assertThat(new CompactEnumSerializer().getSupportedClasses().length, is(equalTo(2)));
+	}
+
+	@Test
+	public void varIntRoundTrips() throws IOException {
+		for (int value : new int[] { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE }) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			CompactEnumSerializer.writeVarInt(value, new DataOutputStream(bytes));
+
+			assertThat(CompactEnumSerializer.readVarInt(new DataInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()))), is(equalTo(value)));
+		}
+	}
+}
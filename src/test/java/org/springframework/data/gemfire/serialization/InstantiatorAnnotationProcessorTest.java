@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.FileSystemUtils;
+
+import com.gemstone.gemfire.DataSerializable;
+import com.gemstone.gemfire.Instantiator;
+
+/**
+ * Tests for {@link InstantiatorAnnotationProcessor} and {@link PrecompiledInstantiatorGenerator}, compiling
+ * annotated sources with the processor through the JDK compiler.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.serialization.InstantiatorAnnotationProcessor
+ * @see org.springframework.data.gemfire.serialization.PrecompiledInstantiatorGenerator
+ */
+public class InstantiatorAnnotationProcessorTest {
+
+	private File outputDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		assumeThat(ToolProvider.getSystemJavaCompiler(), is(not(equalTo((JavaCompiler) null))));
+		outputDirectory = createTempDirectory();
+	}
+
+	@After
+	public void tearDown() {
+		FileSystemUtils.deleteRecursively(outputDirectory);
+	}
+
+	static File createTempDirectory() throws IOException {
+		File directory = File.createTempFile("sdg-instantiators", "");
+		directory.delete();
+		directory.mkdirs();
+		return directory;
+	}
+
+	static String dataSerializableSource(String packageName, String className, int classId) {
+		return String.format("package %1$s;%n"
+			+ "@org.springframework.data.gemfire.serialization.GenerateInstantiator(classId = %3$d)%n"
+			+ "public class %2$s implements com.gemstone.gemfire.DataSerializable {%n"
+			+ "  public void toData(java.io.DataOutput out) {}%n"
+			+ "  public void fromData(java.io.DataInput in) {}%n"
+			+ "}%n", packageName, className, classId);
+	}
+
+	/**
+	 * Compiles the given sources (keyed by fully-qualified class name) with the {@link InstantiatorAnnotationProcessor}
+	 * into the given directory and returns a {@link ClassLoader} for the compiled classes.
+	 */
+	static ClassLoader compile(File outputDirectory, Map<String, String> sources) throws IOException {
+		List<String> arguments = new ArrayList<String>(Arrays.asList("-processor",
+			InstantiatorAnnotationProcessor.class.getName(), "-classpath", System.getProperty("java.class.path"),
+				"-d", outputDirectory.getAbsolutePath(), "-s", outputDirectory.getAbsolutePath()));
+
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			File sourceFile = new File(outputDirectory, source.getKey().replace('.', File.separatorChar) + ".java");
+			sourceFile.getParentFile().mkdirs();
+
+			FileWriter writer = new FileWriter(sourceFile);
+
+			try {
+				writer.write(source.getValue());
+			}
+			finally {
+				writer.close();
+			}
+
+			arguments.add(sourceFile.getAbsolutePath());
+		}
+
+		int result = ToolProvider.getSystemJavaCompiler().run(null, null, null,
+			arguments.toArray(new String[arguments.size()]));
+
+		assertThat(result, is(equalTo(0)));
+
+		return new URLClassLoader(new URL[] { outputDirectory.toURI().toURL() },
+			InstantiatorAnnotationProcessorTest.class.getClassLoader());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void generatesInstantiatorForAnnotatedType() throws Exception {
+		Map<String, String> sources = new LinkedHashMap<String, String>();
+		sources.put("test.sdg.Order", dataSerializableSource("test.sdg", "Order", 1234));
+
+		ClassLoader classLoader = compile(outputDirectory, sources);
+
+		Class<? extends DataSerializable> orderType = (Class<? extends DataSerializable>)
+			classLoader.loadClass("test.sdg.Order");
+
+		Class<?> instantiatorType = classLoader.loadClass("test.sdg.Order_Instantiator");
+
+		assertThat(instantiatorType.getField("CLASS_ID").getInt(null), is(equalTo(1234)));
+
+		Instantiator instantiator = new PrecompiledInstantiatorGenerator().getInstantiator(orderType, 4321);
+
+		assertThat(instantiator, is(instanceOf(instantiatorType)));
+		assertThat(instantiator.getId(), is(equalTo(4321)));
+		assertThat(instantiator.getInstantiatedClass(), is(equalTo((Class) orderType)));
+		assertThat(instantiator.newInstance(), is(instanceOf(orderType)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failsWithoutPrecompiledInstantiatorOrFallback() {
+		new PrecompiledInstantiatorGenerator().getInstantiator(WiringInstantiatorTest.TypeA.class, 1025);
+	}
+
+	@Test
+	public void delegatesToFallbackWithoutPrecompiledInstantiator() {
+		Instantiator instantiator = new PrecompiledInstantiatorGenerator(new AsmInstantiatorGenerator())
+			.getInstantiator(WiringInstantiatorTest.TypeA.class, 1025);
+
+		assertThat(instantiator.newInstance(), is(instanceOf(WiringInstantiatorTest.TypeA.class)));
+	}
+
+	@Test
+	public void instantiatorClassNames() {
+		assertThat(PrecompiledInstantiatorGenerator.getInstantiatorClassName("com.acme.Order"),
+			is(equalTo("com.acme.Order_Instantiator")));
+		assertThat(PrecompiledInstantiatorGenerator.getInstantiatorClassName("com.acme.Order$Line"),
+			is(equalTo("com.acme.Order_Line_Instantiator")));
+		assertThat(PrecompiledInstantiatorGenerator.getInstantiatorClassName("Order"),
+			is(equalTo("Order_Instantiator")));
+	}
+}
@@ -38,6 +38,7 @@ import org.mockito.Matchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.gemfire.ExpirationActionType;
@@ -410,6 +411,35 @@ public class AnnotationBasedExpirationTest {
 			expirationMetaData.expirationAction());
 	}
 
+	@Test
+	public void expirationMetaDataIsResolvedOnceUntilContextRefresh() {
+		TimeToLiveExpiration expiration = RegionEntryValueWithTimeToLiveExpiration.class.getAnnotation(
+			TimeToLiveExpiration.class);
+
+		ExpirationMetaData expirationMetaData = ExpirationMetaData.from(expiration);
+
+		assertThat(ExpirationMetaData.from(expiration), is(sameInstance(expirationMetaData)));
+
+		noDefaultExpiration.onApplicationEvent(mock(ContextRefreshedEvent.class));
+
+		ExpirationMetaData refreshedExpirationMetaData = ExpirationMetaData.from(expiration);
+
+		assertThat(refreshedExpirationMetaData, is(not(sameInstance(expirationMetaData))));
+		assertThat(refreshedExpirationMetaData, is(equalTo(expirationMetaData)));
+	}
+
+	@Test
+	public void expirationMetaDataIsDiscardedOnDestroy() {
+		TimeToLiveExpiration expiration = RegionEntryValueWithTimeToLiveExpiration.class.getAnnotation(
+			TimeToLiveExpiration.class);
+
+		ExpirationMetaData expirationMetaData = ExpirationMetaData.from(expiration);
+
+		noDefaultExpiration.destroy();
+
+		assertThat(ExpirationMetaData.from(expiration), is(not(sameInstance(expirationMetaData))));
+	}
+
 	@Expiration(timeout = "60", action = "INVALIDATE")
 	@IdleTimeoutExpiration(timeout = "120", action = "LOCAL_INVALIDATE")
 	@TimeToLiveExpiration(timeout = "300", action = "LOCAL_DESTROY")
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Unit tests for {@link BulkCacheableInterceptor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.BulkCacheableInterceptor
+ */
+public class BulkCacheableInterceptorTest {
+
+	private GemfireCache cache;
+
+	private TestRepository repository;
+
+	private TestRepositoryImpl target;
+
+	@Before
+	public void setUp() {
+		cache = mock(GemfireCache.class);
+		target = new TestRepositoryImpl();
+
+		CacheManager cacheManager = mock(CacheManager.class);
+
+		when(cacheManager.getCache("Customers")).thenReturn(cache);
+
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+
+		proxyFactory.addAdvice(new BulkCacheableInterceptor(cacheManager));
+
+		repository = (TestRepository) proxyFactory.getProxy();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void loadsOnlyMissingKeysInOneBatch() {
+		when(cache.getAll(anyCollection())).thenReturn(Collections.<Object, Object>singletonMap(2L, "cached"));
+
+		Map<Long, String> customers = repository.findByIds(Arrays.asList(1L, 2L, 3L));
+
+		assertThat(customers.keySet(), contains(1L, 2L, 3L));
+		assertThat(customers.get(2L), is(equalTo("cached")));
+		assertThat(customers.get(3L), is(equalTo("customer-3")));
+		assertThat(target.invocations.size(), is(equalTo(1)));
+		assertThat(target.invocations.get(0), contains(1L, 3L));
+
+		Map<Object, Object> loaded = new HashMap<Object, Object>();
+
+		loaded.put(1L, "customer-1");
+		loaded.put(3L, "customer-3");
+
+		verify(cache).putAll(loaded);
+	}
+
+	@Test
+	public void skipsInvocationWhenAllKeysAreCached() {
+		Map<Object, Object> cached = new HashMap<Object, Object>();
+
+		cached.put(1L, "one");
+		cached.put(2L, "two");
+
+		when(cache.getAll(anyCollection())).thenReturn(cached);
+
+		assertThat(repository.findByIds(Arrays.asList(2L, 1L)).values(), contains("two", "one"));
+		assertThat(target.invocations.isEmpty(), is(true));
+
+		verify(cache, never()).putAll(any(Map.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void passesMissingKeysInCollectionOfTheSameType() {
+		when(cache.getAll(anyCollection())).thenReturn(Collections.<Object, Object>singletonMap(2L, "cached"));
+
+		ArrayDeque<Long> ids = new ArrayDeque<Long>(Arrays.asList(1L, 2L, 3L));
+
+		assertThat(repository.findByIds(ids).keySet(), contains(1L, 2L, 3L));
+		assertThat(repository.findByIds(new LinkedList<Long>(ids)).keySet(), contains(1L, 2L, 3L));
+		assertThat(repository.findByIds(Collections.unmodifiableList(new ArrayList<Long>(ids))).keySet(),
+			contains(1L, 2L, 3L));
+
+		assertThat(target.argumentTypes, is(equalTo(Arrays.<Class<?>>asList(ArrayDeque.class, LinkedList.class,
+			ArrayList.class))));
+		assertThat(target.invocations.get(0), contains(1L, 3L));
+	}
+
+	public interface TestRepository {
+
+		Map<Long, String> findByIds(Collection<Long> ids);
+
+	}
+
+	public static class TestRepositoryImpl implements TestRepository {
+
+		final List<List<Long>> invocations = new ArrayList<List<Long>>();
+
+		final List<Class<?>> argumentTypes = new ArrayList<Class<?>>();
+
+		@Override
+		@BulkCacheable("Customers")
+		public Map<Long, String> findByIds(Collection<Long> ids) {
+			invocations.add(new ArrayList<Long>(ids));
+			argumentTypes.add(ids.getClass());
+
+			Map<Long, String> customers = new HashMap<Long, String>();
+
+			for (Long id : ids) {
+				customers.put(id, "customer-" + id);
+			}
+
+			return customers;
+		}
+	}
+
+}
@@ -17,12 +17,21 @@
 package org.springframework.data.gemfire.support;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
-
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -31,7 +40,11 @@ import org.springframework.cache.Cache;
 import org.springframework.data.gemfire.GemfireUtils;
 
 import com.gemstone.gemfire.cache.CacheFactory;
+import com.gemstone.gemfire.cache.ExpirationAction;
+import com.gemstone.gemfire.cache.ExpirationAttributes;
 import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.RegionFactory;
+import com.gemstone.gemfire.distributed.DistributedLockService;
 
 import edu.umd.cs.mtc.MultithreadedTestCase;
 import edu.umd.cs.mtc.TestFramework;
@@ -160,7 +173,7 @@ public class GemfireCacheTest extends AbstractNativeCacheTest<Region<Object, Obj
 			new IllegalStateException("test"));
 
 		expectedException.expect(RuntimeException.class);
-		expectedException.expectCause(is(nullValue(IllegalStateException.class)));
+		expectedException.expectCause(is(instanceOf(IllegalStateException.class)));
 		expectedException.expectMessage(String.format("Failed to load value for key [key] using valueLoader [%1$s]",
 			exceptionThrowingCacheLoader.getClass().getName()));
 
@@ -229,6 +242,147 @@ public class GemfireCacheTest extends AbstractNativeCacheTest<Region<Object, Obj
 		}
 	}
 
+	@Test
+	public void cacheGetWithValueLoaderLoadsDifferentKeysConcurrently() throws Throwable {
+		TestFramework.runOnce(new CacheGetWithValueLoaderLoadsDifferentKeysConcurrently());
+	}
+
+	@SuppressWarnings("unused")
+	protected class CacheGetWithValueLoaderLoadsDifferentKeysConcurrently extends MultithreadedTestCase {
+
+		private GemfireCache cache;
+
+		@Override
+		public void initialize() {
+			super.initialize();
+
+			try {
+				cache = createCache();
+			}
+			catch (Exception e) {
+				throw new RuntimeException("failed to create Cache", e);
+			}
+		}
+
+		public void thread1() {
+			String value = cache.get("slowKey", new TestCacheLoader<String>("slow") {
+				@Override public String call() throws Exception {
+					waitForTick(2);
+					return super.call();
+				}
+			});
+
+			assertTick(2);
+			assertThat(value, is(equalTo("slow")));
+		}
+
+		public void thread2() {
+			waitForTick(1);
+
+			// not blocked by the load of the other key
+			assertThat(cache.get("fastKey", new TestCacheLoader<String>("fast")), is(equalTo("fast")));
+			assertTick(1);
+		}
+	}
+
+	@Test
+	public void cacheGetWithValueLoaderLocksKeyWithDistributedLockService() throws Exception {
+		GemfireCache cache = createCache();
+		DistributedLockService mockLockService = mock(DistributedLockService.class);
+		String lockName = String.format("/%1$s[key]", CACHE_NAME);
+
+		when(mockLockService.lock(eq(lockName), eq(GemfireCache.DEFAULT_LOCK_WAIT_TIME), eq(-1L))).thenReturn(true);
+
+		cache.setDistributedLockService(mockLockService);
+
+		assertThat(cache.get("key", new TestCacheLoader<String>("test")), is(equalTo("test")));
+
+		verify(mockLockService).lock(eq(lockName), eq(GemfireCache.DEFAULT_LOCK_WAIT_TIME), eq(-1L));
+		verify(mockLockService).unlock(eq(lockName));
+	}
+
+	@Test
+	public void getAllReturnsOnlyCachedValues() throws Exception {
+		GemfireCache cache = createCache();
+
+		cache.put("one", 1);
+		cache.put("two", 2);
+
+		Map<Object, Object> values = cache.getAll(Arrays.asList("one", "two", "three"));
+
+		assertThat(values.size(), is(equalTo(2)));
+		assertThat(values.get("one"), is(equalTo((Object) 1)));
+		assertThat(values.get("two"), is(equalTo((Object) 2)));
+		assertThat(values.containsKey("three"), is(false));
+	}
+
+	@Test
+	public void putAllSkipsNullValues() throws Exception {
+		GemfireCache cache = createCache();
+		Map<Object, Object> entries = new HashMap<Object, Object>();
+
+		entries.put("one", 1);
+		entries.put("two", null);
+
+		cache.putAll(entries);
+
+		assertThat(cache.get("one", Integer.class), is(equalTo(1)));
+		assertThat(cache.getNativeCache().containsKey("two"), is(false));
+	}
+
+	private GemfireCache createRefreshAheadCache(double refreshAheadFactor) throws Exception {
+		createNativeCache();
+
+		com.gemstone.gemfire.cache.Cache gemfireCache = GemfireUtils.getCache();
+
+		Region<Object, Object> region = gemfireCache.getRegion("RefreshAhead");
+
+		if (region == null) {
+			RegionFactory<Object, Object> regionFactory = gemfireCache.createRegionFactory();
+
+			regionFactory.setStatisticsEnabled(true);
+			regionFactory.setEntryTimeToLive(new ExpirationAttributes(60, ExpirationAction.DESTROY));
+
+			region = regionFactory.create("RefreshAhead");
+		}
+
+		region.clear();
+
+		GemfireCache cache = new GemfireCache(region);
+
+		cache.setRefreshAheadFactor(refreshAheadFactor);
+		cache.setRefreshExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+
+		return cache;
+	}
+
+	@Test
+	public void cacheGetWithValueLoaderRefreshesValueAheadOfExpiration() throws Exception {
+		GemfireCache cache = createRefreshAheadCache(1.0d);
+
+		cache.put("key", "old");
+
+		assertThat(cache.get("key", new TestCacheLoader<String>("new")), is(equalTo("old")));
+		assertThat(cache.get("key", String.class), is(equalTo("new")));
+	}
+
+	@Test
+	public void cacheGetWithValueLoaderDoesNotRefreshValueFarFromExpiration() throws Exception {
+		GemfireCache cache = createRefreshAheadCache(0.5d);
+		TestCacheLoader<String> valueLoader = new TestCacheLoader<String>("new");
+
+		cache.put("key", "old");
+
+		assertThat(cache.get("key", valueLoader), is(equalTo("old")));
+		assertThat(cache.get("key", String.class), is(equalTo("old")));
+		assertThat(valueLoader.wasCalled(), is(false));
+	}
+
 	protected static class TestCacheLoader<T> implements Callable<T> {
 
 		protected static final TestCacheLoader<Object> NULL_VALUE = new TestCacheLoader<Object>();
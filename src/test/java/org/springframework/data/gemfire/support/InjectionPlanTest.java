@@ -0,0 +1,221 @@
+/*
+ * Copyright 2010-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Point;
+import java.awt.geom.Area;
+
+import javax.annotation.Resource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Unit tests for {@link InjectionPlan}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.InjectionPlan
+ */
+public class InjectionPlanTest {
+
+	private DefaultListableBeanFactory beanFactory;
+
+	private Point point;
+	private Area area;
+
+	@Before
+	public void setup() {
+		point = new Point(1, 2);
+		area = new Area();
+		beanFactory = newBeanFactory();
+		beanFactory.registerSingleton("point", point);
+		beanFactory.registerSingleton("area", area);
+	}
+
+	@After
+	public void tearDown() {
+		InjectionPlan.evict(beanFactory);
+	}
+
+	private static DefaultListableBeanFactory newBeanFactory() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor autowiredAnnotationBeanPostProcessor =
+			new AutowiredAnnotationBeanPostProcessor();
+
+		autowiredAnnotationBeanPostProcessor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(autowiredAnnotationBeanPostProcessor);
+
+		return beanFactory;
+	}
+
+	@Test
+	public void injectsAutowiredFieldsAndMethods() {
+		InjectionPlan plan = InjectionPlan.forClass(AutowiredBean.class, beanFactory);
+
+		assertThat(plan, is(notNullValue()));
+		assertThat(plan.size(), is(equalTo(3)));
+
+		AutowiredBean bean = new AutowiredBean();
+		plan.inject(bean);
+
+		assertThat(bean.point, is(sameInstance(point)));
+		assertThat(bean.area, is(sameInstance(area)));
+		assertThat(bean.inheritedPoint, is(sameInstance(point)));
+		assertThat(bean.optionalValue, is(nullValue()));
+	}
+
+	@Test
+	public void cachesPlanPerBeanFactory() {
+		InjectionPlan plan = InjectionPlan.forClass(AutowiredBean.class, beanFactory);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(sameInstance(plan)));
+
+		DefaultListableBeanFactory otherBeanFactory = newBeanFactory();
+		otherBeanFactory.registerSingleton("point", new Point());
+		otherBeanFactory.registerSingleton("area", new Area());
+
+		InjectionPlan otherPlan = InjectionPlan.forClass(AutowiredBean.class, otherBeanFactory);
+
+		assertThat(otherPlan, is(notNullValue()));
+		assertThat(otherPlan, is(not(sameInstance(plan))));
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, otherBeanFactory), is(sameInstance(otherPlan)));
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(sameInstance(plan)));
+
+		InjectionPlan.evict(otherBeanFactory);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(sameInstance(plan)));
+	}
+
+	@Test
+	public void evictsPlansOfBeanFactory() {
+		InjectionPlan plan = InjectionPlan.forClass(AutowiredBean.class, beanFactory);
+
+		InjectionPlan.evict(beanFactory);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(not(sameInstance(plan))));
+	}
+
+	@Test
+	public void evictsPlansWhenBeanFactoryIsClosed() {
+		InjectionPlan plan = InjectionPlan.forClass(AutowiredBean.class, beanFactory);
+
+		beanFactory.destroySingletons();
+		beanFactory.registerSingleton("point", point);
+		beanFactory.registerSingleton("area", area);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(not(sameInstance(plan))));
+	}
+
+	@Test
+	public void unsupportedWithoutAutowiredAnnotationBeanPostProcessor() {
+		DefaultListableBeanFactory bareBeanFactory = new DefaultListableBeanFactory();
+		bareBeanFactory.registerSingleton("point", point);
+		bareBeanFactory.registerSingleton("area", area);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, bareBeanFactory), is(nullValue()));
+	}
+
+	@Test
+	public void unsupportedWithCustomBeanPostProcessors() {
+		beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean;
+			}
+		});
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, beanFactory), is(nullValue()));
+	}
+
+	@Test
+	public void unsupportedForResourceAnnotations() {
+		assertThat(InjectionPlan.forClass(ResourceBean.class, beanFactory), is(nullValue()));
+	}
+
+	@Test
+	public void unsupportedForPrototypeDependencies() {
+		DefaultListableBeanFactory prototypeBeanFactory = newBeanFactory();
+		RootBeanDefinition pointDefinition = new RootBeanDefinition(Point.class);
+
+		pointDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		prototypeBeanFactory.registerBeanDefinition("point", pointDefinition);
+		prototypeBeanFactory.registerSingleton("area", area);
+
+		assertThat(InjectionPlan.forClass(AutowiredBean.class, prototypeBeanFactory), is(nullValue()));
+	}
+
+	@Test
+	public void unsupportedForTemplateBeans() {
+		beanFactory.registerBeanDefinition(TemplateBean.class.getName(), new RootBeanDefinition(TemplateBean.class));
+
+		assertThat(InjectionPlan.forClass(TemplateBean.class, beanFactory), is(nullValue()));
+	}
+
+	static class BaseBean {
+
+		@Autowired
+		Point inheritedPoint;
+	}
+
+	static class AutowiredBean extends BaseBean {
+
+		@Autowired
+		Point point;
+
+		Area area;
+
+		@Autowired(required = false)
+		StringBuilder optionalValue;
+
+		@Autowired
+		void setArea(Area area) {
+			this.area = area;
+		}
+	}
+
+	static class ResourceBean {
+
+		@Resource
+		Point point;
+	}
+
+	static class TemplateBean {
+
+		@Autowired
+		Point point;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.gemstone.gemfire.cache.Region;
+
+/**
+ * Unit tests for {@link RefreshAheadCacheableInterceptor}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.RefreshAheadCacheableInterceptor
+ */
+public class RefreshAheadCacheableInterceptorTest {
+
+	private final TestRepositoryImpl target = new TestRepositoryImpl();
+
+	private TestRepository proxy(Cache cache) {
+		CacheManager cacheManager = mock(CacheManager.class);
+
+		when(cacheManager.getCache("Customers")).thenReturn(cache);
+
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+
+		proxyFactory.addAdvice(new RefreshAheadCacheableInterceptor(cacheManager));
+
+		return (TestRepository) proxyFactory.getProxy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Region<Object, Object> mapRegion() {
+		final Map<Object, Object> entries = new HashMap<Object, Object>();
+
+		Region<Object, Object> region = mock(Region.class);
+
+		when(region.get(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				return entries.get(invocation.getArguments()[0]);
+			}
+		});
+
+		when(region.put(any(), any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				return entries.put(invocation.getArguments()[0], invocation.getArguments()[1]);
+			}
+		});
+
+		return region;
+	}
+
+	@Test
+	public void loadsValueOnceThroughGemfireCache() {
+		TestRepository repository = proxy(new GemfireCache(mapRegion()));
+
+		assertThat(repository.findById(1L), is(equalTo("customer-1")));
+		assertThat(repository.findById(1L), is(equalTo("customer-1")));
+		assertThat(target.invocations, contains(1L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void valueLoaderInvokesMethodAgainToRefresh() throws Exception {
+		final List<Callable<Object>> valueLoaders = new ArrayList<Callable<Object>>();
+
+		GemfireCache cache = mock(GemfireCache.class);
+
+		when(cache.get(eq((Object) 1L), any(Callable.class))).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Exception {
+				Callable<Object> valueLoader = (Callable<Object>) invocation.getArguments()[1];
+				valueLoaders.add(valueLoader);
+				return valueLoader.call();
+			}
+		});
+
+		assertThat(proxy(cache).findById(1L), is(equalTo("customer-1")));
+
+		// the cache refreshes the value in the background with the same value loader
+		assertThat(valueLoaders.get(0).call(), is(equalTo((Object) "customer-1")));
+		assertThat(target.invocations, contains(1L, 1L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rethrowsExceptionOfMethod() {
+		proxy(new GemfireCache(mapRegion())).findById(-1L);
+	}
+
+	public interface TestRepository {
+
+		String findById(Long id);
+
+	}
+
+	public static class TestRepositoryImpl implements TestRepository {
+
+		final List<Long> invocations = new ArrayList<Long>();
+
+		@Override
+		@RefreshAheadCacheable("Customers")
+		public String findById(Long id) {
+			invocations.add(id);
+
+			if (id < 0) {
+				throw new IllegalArgumentException("id must not be negative");
+			}
+
+			return "customer-" + id;
+		}
+	}
+
+}
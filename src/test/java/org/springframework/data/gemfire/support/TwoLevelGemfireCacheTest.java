@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.support;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.gemfire.GemfireUtils;
+
+import com.gemstone.gemfire.cache.AttributesMutator;
+import com.gemstone.gemfire.cache.CacheFactory;
+import com.gemstone.gemfire.cache.CacheListener;
+import com.gemstone.gemfire.cache.DataPolicy;
+import com.gemstone.gemfire.cache.EntryEvent;
+import com.gemstone.gemfire.cache.Region;
+import com.gemstone.gemfire.cache.RegionAttributes;
+
+/**
+ * Unit tests for {@link TwoLevelGemfireCache}.
+ *
+ * @author agent
+ * @see org.springframework.data.gemfire.support.TwoLevelGemfireCache
+ */
+public class TwoLevelGemfireCacheTest {
+
+	private Region<Object, Object> region;
+
+	private TwoLevelGemfireCache cache;
+
+	@Before
+	public void setUp() {
+		Properties gemfireProperties = new Properties();
+
+		gemfireProperties.setProperty("name", TwoLevelGemfireCacheTest.class.getName());
+		gemfireProperties.setProperty("mcast-port", "0");
+		gemfireProperties.setProperty("log-level", "warning");
+
+		com.gemstone.gemfire.cache.Cache gemfireCache = GemfireUtils.getCache();
+
+		gemfireCache = (gemfireCache != null ? gemfireCache : new CacheFactory(gemfireProperties).create());
+
+		region = gemfireCache.getRegion("TwoLevelCache");
+		region = (region != null ? region : gemfireCache.createRegionFactory().<Object, Object>create("TwoLevelCache"));
+		region.clear();
+
+		cache = new TwoLevelGemfireCache(region, 2);
+	}
+
+	@After
+	public void tearDown() {
+		cache.close();
+	}
+
+	@Test
+	public void servesRepeatedLookupsFromL1() {
+		region.put("key", "value");
+
+		assertThat(String.valueOf(cache.get("key").get()), is(equalTo("value")));
+		assertThat(cache.get("key", String.class), is(equalTo("value")));
+
+		assertThat(cache.getL1HitCount(), is(equalTo(1L)));
+		assertThat(cache.getL1MissCount(), is(equalTo(1L)));
+		assertThat(cache.getL2HitCount(), is(equalTo(1L)));
+		assertThat(cache.getL1HitRate(), is(equalTo(0.5d)));
+	}
+
+	@Test
+	public void invalidatesL1OnRegionChanges() {
+		region.put("key", "one");
+
+		assertThat(cache.get("key", String.class), is(equalTo("one")));
+
+		region.put("key", "two");
+
+		assertThat(cache.get("key", String.class), is(equalTo("two")));
+
+		region.destroy("key");
+
+		assertThat(cache.get("key"), is(nullValue()));
+		assertThat(cache.getL2MissCount(), is(equalTo(1L)));
+	}
+
+	@Test
+	public void clearsL1WhenRegionIsCleared() {
+		cache.put("key", "value");
+		cache.get("key");
+
+		assertThat(cache.getL1Size(), is(equalTo(1)));
+
+		cache.clear();
+
+		assertThat(cache.getL1Size(), is(equalTo(0)));
+		assertThat(cache.get("key"), is(nullValue()));
+	}
+
+	@Test
+	public void getAllReadsOnlyL1MissesFromL2() {
+		region.put(1, "one");
+		region.put(2, "two");
+
+		cache.get(1);
+
+		Map<Object, Object> values = cache.getAll(Arrays.asList(1, 2, 3));
+
+		assertThat(values.size(), is(equalTo(2)));
+		assertThat(values.get(2), is(equalTo((Object) "two")));
+		assertThat(cache.getL1HitCount(), is(equalTo(1L)));
+		assertThat(cache.getL2HitCount(), is(equalTo(2L)));
+		assertThat(cache.getL2MissCount(), is(equalTo(1L)));
+		assertThat(cache.getL1Size(), is(equalTo(2)));
+	}
+
+	@Test
+	public void boundsL1Size() {
+		for (int key = 0; key < 10; key++) {
+			region.put(key, "value");
+			cache.get(key);
+		}
+
+		assertThat(cache.getL1Size() <= 2, is(true));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Region<Object, Object> mockRegion(DataPolicy dataPolicy, String poolName) {
+		Region<Object, Object> region = mock(Region.class);
+		RegionAttributes<Object, Object> attributes = mock(RegionAttributes.class);
+
+		when(region.getFullPath()).thenReturn("/Mock");
+		when(region.getAttributes()).thenReturn(attributes);
+		when(region.getAttributesMutator()).thenReturn(mock(AttributesMutator.class));
+		when(attributes.getDataPolicy()).thenReturn(dataPolicy);
+		when(attributes.getPoolName()).thenReturn(poolName);
+
+		return region;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CacheListener<Object, Object> registeredListener(Region<Object, Object> region) {
+		ArgumentCaptor<CacheListener> listener = ArgumentCaptor.forClass(CacheListener.class);
+
+		verify(region.getAttributesMutator()).addCacheListener(listener.capture());
+
+		return listener.getValue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void invalidatesL1OnRemoteUpdates() {
+		Region<Object, Object> region = mockRegion(DataPolicy.NORMAL, null);
+
+		when(region.get("key")).thenReturn("one", "two");
+
+		TwoLevelGemfireCache cache = new TwoLevelGemfireCache(region, 2);
+
+		assertThat(cache.get("key", String.class), is(equalTo("one")));
+		assertThat(cache.get("key", String.class), is(equalTo("one")));
+
+		// the update made by another member only reaches this member as an event
+		EntryEvent<Object, Object> event = mock(EntryEvent.class);
+
+		when(event.getKey()).thenReturn("key");
+
+		registeredListener(region).afterUpdate(event);
+
+		assertThat(cache.get("key", String.class), is(equalTo("two")));
+		verify(region, times(2)).get("key");
+	}
+
+	@Test
+	public void expiresL1ValuesAfterTimeToLive() throws InterruptedException {
+		Region<Object, Object> region = mockRegion(DataPolicy.PARTITION, null);
+
+		when(region.get("key")).thenReturn("one", "two");
+
+		TwoLevelGemfireCache cache = new TwoLevelGemfireCache(region, 2, 50L);
+
+		assertThat(cache.get("key", String.class), is(equalTo("one")));
+		assertThat(cache.get("key", String.class), is(equalTo("one")));
+
+		Thread.sleep(100L);
+
+		assertThat(cache.get("key", String.class), is(equalTo("two")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void partitionedRegionsRequireL1TimeToLive() {
+		new TwoLevelGemfireCache(mockRegion(DataPolicy.PARTITION, null), 2);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void clientRegionsRequireSubscription() {
+		new TwoLevelGemfireCache(mockRegion(DataPolicy.EMPTY, "TwoLevelGemfireCacheTestPool"), 2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void closeUnregistersListener() {
+		Region<Object, Object> region = mockRegion(DataPolicy.NORMAL, null);
+		TwoLevelGemfireCache cache = new TwoLevelGemfireCache(region, 2);
+
+		cache.close();
+
+		verify(region.getAttributesMutator()).removeCacheListener(any(CacheListener.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void cacheManagerCreatesOneCachePerRegionAddedAtRuntime() throws Exception {
+		Region<Object, Object> runtimeRegion = mockRegion(DataPolicy.NORMAL, null);
+		final AtomicInteger created = new AtomicInteger();
+
+		com.gemstone.gemfire.cache.Cache gemfireCache = mock(com.gemstone.gemfire.cache.Cache.class);
+
+		when(gemfireCache.rootRegions()).thenReturn(Collections.<Region<?, ?>>emptySet());
+		when(gemfireCache.getRegion("Runtime")).thenReturn(runtimeRegion);
+
+		final TwoLevelGemfireCacheManager cacheManager = new TwoLevelGemfireCacheManager() {
+			@Override
+			protected GemfireCache createGemfireCache(Region<?, ?> region) {
+				created.incrementAndGet();
+
+				try {
+					// widens the window in which a concurrent caller also misses the Cache
+					Thread.sleep(100L);
+				}
+				catch (InterruptedException ignore) {
+					Thread.currentThread().interrupt();
+				}
+
+				return super.createGemfireCache(region);
+			}
+		};
+
+		cacheManager.setCache(gemfireCache);
+		cacheManager.afterPropertiesSet();
+
+		final AtomicReference<org.springframework.cache.Cache> concurrentCache =
+			new AtomicReference<org.springframework.cache.Cache>();
+
+		Thread concurrentCaller = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				concurrentCache.set(cacheManager.getCache("Runtime"));
+			}
+		});
+
+		concurrentCaller.start();
+
+		org.springframework.cache.Cache cache = cacheManager.getCache("Runtime");
+
+		concurrentCaller.join(10000L);
+
+		assertThat(concurrentCache.get(), is(sameInstance(cache)));
+		assertThat(created.get(), is(equalTo(1)));
+		verify(runtimeRegion.getAttributesMutator(), times(1)).addCacheListener(any(CacheListener.class));
+	}
+}